@@ -0,0 +1,79 @@
+package bench;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import deck.Card;
+import deck.DealRanking;
+import deck.Deck;
+import deck.RemovingTooManyCards;
+
+/**
+ * \brief Benchmarks of the deck
+ *
+ * DeckBenchmark : Building and shuffling the deck before a round, taking
+ * cards out of it, and ranking a deal of numberCards cards to 4 players.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    @Param({ "5" })
+    public int numberCards;
+
+    private Deck deck;
+    private SplittableRandom random;
+    private DealRanking ranking;
+    private int[] hands;
+
+    @Setup
+    public void setup() {
+        deck = new Deck();
+        deck.buildDeck();
+        random = new SplittableRandom(42);
+        ranking = new DealRanking(4, numberCards);
+        hands = new int[4];
+        ranking.unrank(random.nextLong(ranking.count()), hands);
+    }
+
+    @Benchmark
+    public Deck buildDeckAndShuffle() {
+        deck.buildDeck();
+        deck.shuffle(random);
+        return deck;
+    }
+
+    @Benchmark
+    public List<Card> removeCards() throws RemovingTooManyCards {
+        deck.rewind();
+        return deck.removeCards(numberCards);
+    }
+
+    @Benchmark
+    public long rankDeal() {
+        return ranking.rank(hands);
+    }
+
+    @Benchmark
+    public int[] unrankDeal() {
+        ranking.unrank(random.nextLong(ranking.count()), hands);
+        return hands;
+    }
+}
@@ -0,0 +1,96 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import deck.Card;
+import deck.DealSource;
+import deck.RemovingTooManyCards;
+import game.Game;
+import game.GameListener;
+import game.NotEnoughCardsInDeckException;
+import game.Trick;
+import people.Player;
+import people.TooManyCardsException;
+import simulation.Tournament;
+
+/**
+ * \brief Benchmarks of the game engine
+ *
+ * GameBenchmark : Dealing a round, resolving a trick and playing a whole
+ * headless game between bots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    // Cards of the tricks resolved, one line per trick, the last one with the Fool
+    private static final int[][] TRICKS = {
+            { 3, 17, 9, 12 },
+            { 21, 1, 5, 14 },
+            { 8, 2, Card.MAX_VALUE, 20 },
+    };
+
+    @Param({ "5" })
+    public int numberCards;
+
+    private DealSource deals;
+    private GameListener listener;
+    private Game game;
+    private Player[] players;
+    private long gameIndex;
+    private int trickIndex;
+
+    @Setup
+    public void setup() {
+        deals = new DealSource(42);
+        listener = new GameListener() {
+        };
+        game = Tournament.createGame(deals, 0, listener);
+        players = game.getPlayersAlive().toArray(new Player[0]);
+        gameIndex = 0;
+        trickIndex = 0;
+    }
+
+    @Benchmark
+    public Game distributeCards()
+            throws NotEnoughCardsInDeckException, TooManyCardsException, RemovingTooManyCards {
+        game.getDeck().rewind();
+        game.distributeCards(numberCards);
+        return game;
+    }
+
+    @Benchmark
+    public Trick evaluateCards() {
+        int[] values = TRICKS[trickIndex];
+        trickIndex = trickIndex + 1 == TRICKS.length ? 0 : trickIndex + 1;
+        Trick trick = game.getTrick();
+        trick.clear();
+        for (int i = 0; i < players.length; i++) {
+            trick.play(players[i], Card.of(values[i]));
+        }
+        game.evaluateCards(trick);
+        return trick;
+    }
+
+    @Benchmark
+    public Player fullGame() {
+        gameIndex += 1;
+        return Tournament.createGame(deals, gameIndex, listener).play();
+    }
+}
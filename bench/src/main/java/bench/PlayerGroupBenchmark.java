@@ -0,0 +1,75 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.Game;
+import people.NegativeLifeValueException;
+import people.Player;
+import people.PlayerGroup;
+import people.PlayerNameTooLongException;
+
+/**
+ * \brief Benchmarks of the group of players
+ *
+ * PlayerGroupBenchmark : Rotating the players between two rounds and removing
+ * the dead ones, with nobody dead as after most rounds and with one player
+ * dead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerGroupBenchmark {
+
+    private PlayerGroup group;
+    private List<Player> playersWithDead;
+    private PlayerGroup groupWithDead;
+
+    @Setup
+    public void setup() throws PlayerNameTooLongException, NegativeLifeValueException {
+        List<Player> players = new ArrayList<>(Game.NUMBER_PLAYERS);
+        for (int seat = 0; seat < Game.NUMBER_PLAYERS; seat++) {
+            players.add(new Player("Seat" + seat));
+        }
+        group = new PlayerGroup(players);
+
+        playersWithDead = new ArrayList<>(players);
+        Player dead = new Player("Dead");
+        dead.setLife(0);
+        playersWithDead.set(1, dead);
+        groupWithDead = new PlayerGroup(Game.NUMBER_PLAYERS);
+    }
+
+    @Benchmark
+    public PlayerGroup rotatingPlayers() {
+        group.rotatingPlayers();
+        return group;
+    }
+
+    @Benchmark
+    public List<Player> removeDeadPlayersNone() {
+        return group.removeDeadPlayers();
+    }
+
+    @Benchmark
+    public List<Player> removeDeadPlayersOne() {
+        // The dead player has to be seated again before every removal
+        groupWithDead.setPlayers(playersWithDead);
+        return groupWithDead.removeDeadPlayers();
+    }
+}
@@ -0,0 +1,181 @@
+package ai;
+
+import java.util.random.RandomGenerator;
+
+import deck.Card;
+import deck.CardSet;
+import deck.DealRanking;
+import game.Game;
+
+/**
+ * \brief The bets of a round as a CfrGame
+ *
+ * BettingGame : Every player gets numberRound cards and bets, in turn order,
+ * the number of tricks they will win. The last bettor can't make the total
+ * equal to the number of cards. A player loses as many life points as the
+ * difference between their bet and their tricks.
+ *
+ * A player sees what a SeatController sees when it bets: their hand, the total
+ * of the bets before them and whether they bet last. The players before the
+ * last one share their information sets, whatever their position.
+ *
+ * The cards are then played by a fixed model, the same for everybody: a player
+ * plays their highest card while they need tricks and their lowest one after,
+ * and gives the Fool the value they need. The player at position 0 leads every
+ * trick, as in a round of the game.
+ */
+final class BettingGame implements CfrGame {
+
+    // Number of different values of a card
+    private static final int NUMBER_VALUES = Card.MAX_VALUE;
+
+    private final int numberPlayers;
+    private final int numberRound;
+    // Number of possible totals of the bets before a player
+    private final int numberTotals;
+
+    /**
+     * \brief Constructor BettingGame
+     * BettingGame(int numberPlayers, int numberRound): create the bets of a round
+     * of numberRound cards between numberPlayers players.
+     * \param int numberPlayers, int numberRound
+     */
+    BettingGame(int numberPlayers, int numberRound) {
+        if (numberPlayers < 2 || numberPlayers > Game.NUMBER_PLAYERS) {
+            throw new IllegalArgumentException("The bets are taken by 2 to " + Game.NUMBER_PLAYERS + " players.");
+        }
+        if (numberRound < 2 || numberRound > Game.ROUND_MAX) {
+            throw new IllegalArgumentException("The players bet in the rounds of 2 to " + Game.ROUND_MAX
+                    + " cards.");
+        }
+        this.numberPlayers = numberPlayers;
+        this.numberRound = numberRound;
+        this.numberTotals = (numberPlayers - 1) * numberRound + 1;
+    }
+
+    @Override
+    public int getKind() {
+        return BETTING;
+    }
+
+    @Override
+    public int getNumberPlayers() {
+        return numberPlayers;
+    }
+
+    @Override
+    public int getNumberRound() {
+        return numberRound;
+    }
+
+    @Override
+    public int getNumberInfosets() {
+        return DealRanking.binomial(NUMBER_VALUES, numberRound) * numberTotals * 2;
+    }
+
+    @Override
+    public int getNumberActions() {
+        return numberRound + 1;
+    }
+
+    @Override
+    public void deal(RandomGenerator random, int[] hands) {
+        int dealt = 0;
+        for (int i = 0; i < numberPlayers; i++) {
+            int hand = 0;
+            for (int j = 0; j < numberRound; j++) {
+                int value;
+                do {
+                    value = 1 + random.nextInt(NUMBER_VALUES);
+                } while (CardSet.contains(dealt, value));
+                dealt = CardSet.add(dealt, value);
+                hand = CardSet.add(hand, value);
+            }
+            hands[i] = hand;
+        }
+    }
+
+    @Override
+    public int infoset(int[] hands, int[] actions, int position) {
+        int totalBet = 0;
+        for (int i = 0; i < position; i++) {
+            totalBet += actions[i];
+        }
+        return infoset(hands[position], totalBet, position == numberPlayers - 1);
+    }
+
+    /**
+     * \brief Information set of a bet
+     * infoset(int hand, int totalBet, boolean lastBettor) : Return the information
+     * set of a player holding the CardSet hand, after bets totalling totalBet.
+     * \param int hand, int totalBet, boolean lastBettor
+     * \return int
+     */
+    int infoset(int hand, int totalBet, boolean lastBettor) {
+        if (CardSet.size(hand) != numberRound || totalBet < 0 || totalBet >= numberTotals) {
+            throw new IllegalArgumentException("The hand must hold " + numberRound
+                    + " cards and the total of the bets be between 0 and " + (numberTotals - 1) + ".");
+        }
+        return (rank(hand) * numberTotals + totalBet) * 2 + (lastBettor ? 1 : 0);
+    }
+
+    @Override
+    public int legalActions(int[] hands, int[] actions, int position) {
+        int totalBet = 0;
+        for (int i = 0; i < position; i++) {
+            totalBet += actions[i];
+        }
+        return legalBets(totalBet, position == numberPlayers - 1);
+    }
+
+    /**
+     * \brief Legal bets
+     * legalBets(int totalBet, boolean lastBettor) : Return the bit mask of the bets
+     * a player may take after bets totalling totalBet.
+     * \param int totalBet, boolean lastBettor
+     * \return int
+     */
+    int legalBets(int totalBet, boolean lastBettor) {
+        int legal = (1 << (numberRound + 1)) - 1;
+        // The last bettor can't make the total equal to the number of cards
+        if (lastBettor && totalBet <= numberRound) {
+            legal &= ~(1 << (numberRound - totalBet));
+        }
+        return legal;
+    }
+
+    @Override
+    public double utility(int[] hands, int[] actions, int player) {
+        int[] left = new int[numberPlayers];
+        System.arraycopy(hands, 0, left, 0, numberPlayers);
+        int[] tricks = new int[numberPlayers];
+        for (int turn = 0; turn < numberRound; turn++) {
+            int winner = -1;
+            int highest = -1;
+            for (int i = 0; i < numberPlayers; i++) {
+                boolean needsTricks = actions[i] > tricks[i];
+                int card = needsTricks ? CardSet.highest(left[i]) : CardSet.lowest(left[i]);
+                left[i] = CardSet.remove(left[i], card);
+                int value = card == Card.MAX_VALUE && !needsTricks ? 0 : card;
+                if (value > highest) {
+                    highest = value;
+                    winner = i;
+                }
+            }
+            tricks[winner] += 1;
+        }
+        return -Math.abs(actions[player] - tricks[player]);
+    }
+
+    /**
+     * \brief Rank of a hand
+     * rank(int hand) : Return the index of the CardSet hand among the hands of the
+     * same size, from 0 to the number of these hands minus 1.
+     * \param int hand
+     * \return int
+     */
+    static int rank(int hand) {
+        // The card of value v is the bit v - 1 of the subset
+        return DealRanking.rankSubset(hand >>> 1);
+    }
+}
@@ -0,0 +1,31 @@
+package ai;
+
+import java.util.random.RandomGenerator;
+
+import game.Trick;
+import people.Player;
+import simulation.RandomController;
+
+/**
+ * \brief Bot solving the blind round
+ *
+ * BlindRoundController : Bot playing at random, except in the blind round
+ * where it takes the decision of the BlindRoundSolver.
+ */
+public class BlindRoundController extends RandomController {
+
+    /**
+     * \brief Constructor BlindRoundController
+     * BlindRoundController(RandomGenerator random): create a bot using random for
+     * every decision except the blind round.
+     * \param RandomGenerator random
+     */
+    public BlindRoundController(RandomGenerator random) {
+        super(random);
+    }
+
+    @Override
+    public boolean chooseLastRound(Player player, Trick opponents) {
+        return BlindRoundSolver.decide(opponents);
+    }
+}
@@ -0,0 +1,149 @@
+package ai;
+
+import java.util.random.RandomGenerator;
+
+import deck.Card;
+import deck.CardSet;
+import game.Trick;
+
+/**
+ * \brief The blind round as a CfrGame
+ *
+ * BlindRoundGame : Every player gets one card they can't see, sees the cards of
+ * the others and decides in turn order whether they win the round. The Fool is
+ * the highest card. A player loses one life point when their decision is
+ * wrong. The information sets are the ones of the BlindRoundSolver: the cards
+ * seen in turn order and the decisions taken before.
+ */
+final class BlindRoundGame implements CfrGame {
+
+    /// Actions of a player
+    static final int LOSE = 0;
+    static final int WIN = 1;
+
+    // Number of different values of a card, the Fool being the highest
+    private static final int NUMBER_VALUES = Card.MAX_VALUE;
+
+    private final int numberPlayers;
+    // First information set of every position
+    private final int[] offsets;
+
+    /**
+     * \brief Constructor BlindRoundGame
+     * BlindRoundGame(int numberPlayers): create the blind round of numberPlayers
+     * players.
+     * \param int numberPlayers
+     */
+    BlindRoundGame(int numberPlayers) {
+        if (numberPlayers < 2 || numberPlayers > BlindRoundSolver.PLAYERS_MAX) {
+            throw new IllegalArgumentException("The blind round is played by 2 to " + BlindRoundSolver.PLAYERS_MAX
+                    + " players.");
+        }
+        this.numberPlayers = numberPlayers;
+        int numberIndexes = 1;
+        for (int i = 1; i < numberPlayers; i++) {
+            numberIndexes *= NUMBER_VALUES;
+        }
+        this.offsets = new int[numberPlayers + 1];
+        for (int position = 0; position < numberPlayers; position++) {
+            offsets[position + 1] = offsets[position] + (numberIndexes << position);
+        }
+    }
+
+    @Override
+    public int getKind() {
+        return BLIND_ROUND;
+    }
+
+    @Override
+    public int getNumberPlayers() {
+        return numberPlayers;
+    }
+
+    @Override
+    public int getNumberRound() {
+        return 1;
+    }
+
+    @Override
+    public int getNumberInfosets() {
+        return offsets[numberPlayers];
+    }
+
+    @Override
+    public int getNumberActions() {
+        return 2;
+    }
+
+    @Override
+    public void deal(RandomGenerator random, int[] hands) {
+        int dealt = 0;
+        for (int i = 0; i < numberPlayers; i++) {
+            int value;
+            do {
+                value = 1 + random.nextInt(NUMBER_VALUES);
+            } while (CardSet.contains(dealt, value));
+            dealt = CardSet.add(dealt, value);
+            hands[i] = CardSet.of(value);
+        }
+    }
+
+    @Override
+    public int infoset(int[] hands, int[] actions, int position) {
+        int index = 0;
+        for (int i = 0; i < numberPlayers; i++) {
+            if (i != position) {
+                index = index * NUMBER_VALUES + CardSet.lowest(hands[i]) - 1;
+            }
+        }
+        int decisions = 0;
+        for (int i = 0; i < position; i++) {
+            decisions |= actions[i] << i;
+        }
+        return offsets[position] + ((index << position) | decisions);
+    }
+
+    /**
+     * \brief Information set of a trick
+     * infoset(Trick opponents) : Return the information set of the player who
+     * decides after the decisions of opponents, the trick built by the game.
+     * \param Trick opponents
+     * \return int
+     */
+    int infoset(Trick opponents) {
+        if (opponents.getNumberCards() + 1 != numberPlayers) {
+            throw new IllegalArgumentException("The trick must show the cards of " + (numberPlayers - 1)
+                    + " opponents.");
+        }
+        int index = 0;
+        for (int i = 0; i < opponents.getNumberCards(); i++) {
+            index = index * NUMBER_VALUES + opponents.getCard(i).getValue() - 1;
+        }
+        // The players who decided are the first ones in turn order
+        int position = opponents.getNumberDecisions();
+        int decisions = 0;
+        for (int i = 0; i < position; i++) {
+            if (opponents.getDecision(opponents.getDecisionSeat(i))) {
+                decisions |= 1 << i;
+            }
+        }
+        return offsets[position] + ((index << position) | decisions);
+    }
+
+    @Override
+    public int legalActions(int[] hands, int[] actions, int position) {
+        return (1 << LOSE) | (1 << WIN);
+    }
+
+    @Override
+    public double utility(int[] hands, int[] actions, int player) {
+        int winner = 0;
+        for (int i = 1; i < numberPlayers; i++) {
+            if (hands[i] > hands[winner]) {
+                winner = i;
+            }
+        }
+        boolean right = (actions[player] == WIN) == (player == winner);
+        return right ? 0 : -1;
+    }
+}
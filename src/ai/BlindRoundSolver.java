@@ -0,0 +1,278 @@
+package ai;
+
+import deck.Card;
+import game.Trick;
+
+/**
+ * \brief Exact solver of the blind round
+ *
+ * BlindRoundSolver : In the round with one card, a player sees the card of
+ * every opponent but not their own, and the decisions of the players before
+ * them. The card they can't see is one of the cards nobody shows, but the
+ * decisions taken before also depend on it: every opponent before them saw it.
+ *
+ * The solver assumes every player follows the same policy: bet to win only if
+ * it is strictly more likely than losing, which is the decision losing the
+ * fewest life points on average. The cards the player may hold are then the
+ * ones for which every decision taken so far matches this policy, and they are
+ * all as likely. When no card matches, an opponent didn't follow the policy
+ * and the solver falls back to counting every card nobody shows.
+ *
+ * Every answer is computed once, when the class is loaded, in a table indexed
+ * by the cards seen, in turn order, and the decisions taken so far. A query is
+ * only one read of this table.
+ */
+public final class BlindRoundSolver {
+
+    /// Maximum number of players in the blind round
+    public static final int PLAYERS_MAX = 4;
+
+    // Number of different values of a card, the Fool being the highest
+    private static final int NUMBER_VALUES = Card.MAX_VALUE;
+
+    // Layout of an entry of the table
+    private static final int COUNT_BITS = 5;
+    private static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+    private static final int CONSISTENT = 1 << (2 * COUNT_BITS);
+
+    // TABLES[numberPlayers][position]: entries of a player at this position
+    private static final short[][][] TABLES = buildTables();
+
+    private BlindRoundSolver() {
+    }
+
+    /**
+     * \brief Probability to win
+     * winProbability(Trick opponents) : Return the exact probability that the card
+     * of the player deciding wins the blind round. opponents is the trick built by
+     * the game for this player: the cards of the opponents in turn order and the
+     * decisions taken so far.
+     * \param Trick opponents
+     * \return double
+     */
+    public static double winProbability(Trick opponents) {
+        return probability(lookup(opponents));
+    }
+
+    /**
+     * \brief Best decision
+     * decide(Trick opponents) : Return true if the player should bet they win the
+     * blind round, which loses the fewest life points on average.
+     * \param Trick opponents
+     * \return boolean
+     */
+    public static boolean decide(Trick opponents) {
+        return decision(lookup(opponents));
+    }
+
+    /**
+     * \brief Consistent decisions
+     * isConsistent(Trick opponents) : Return false if no card of the player
+     * explains the decisions taken so far, so the answer is the estimate counting
+     * every card nobody shows.
+     * \param Trick opponents
+     * \return boolean
+     */
+    public static boolean isConsistent(Trick opponents) {
+        return (lookup(opponents) & CONSISTENT) != 0;
+    }
+
+    /**
+     * \brief Probability to win
+     * winProbability(int[] visible, int numberVisible, int decisions, int position) :
+     * Return the exact probability to win of the player number position in turn
+     * order. visible holds the values of the cards of the opponents in turn order,
+     * and the bit i of decisions is set if the player number i bet to win.
+     * \param int[] visible, int numberVisible, int decisions, int position
+     * \return double
+     */
+    public static double winProbability(int[] visible, int numberVisible, int decisions, int position) {
+        return probability(lookup(visible, numberVisible, decisions, position));
+    }
+
+    /**
+     * \brief Best decision
+     * decide(int[] visible, int numberVisible, int decisions, int position) :
+     * Return true if the player number position should bet to win.
+     * \param int[] visible, int numberVisible, int decisions, int position
+     * \return boolean
+     */
+    public static boolean decide(int[] visible, int numberVisible, int decisions, int position) {
+        return decision(lookup(visible, numberVisible, decisions, position));
+    }
+
+    /**
+     * \brief Entry of a trick
+     * lookup(Trick opponents) : Return the entry of the table of the player who
+     * decides after the decisions of opponents.
+     * \param Trick opponents
+     * \return int
+     */
+    private static int lookup(Trick opponents) {
+        int numberVisible = opponents.getNumberCards();
+        checkPlayers(numberVisible + 1);
+        int index = 0;
+        for (int i = 0; i < numberVisible; i++) {
+            index = index * NUMBER_VALUES + opponents.getCard(i).getValue() - 1;
+        }
+        // The players who decided are the first ones in turn order
+        int position = opponents.getNumberDecisions();
+        int decisions = 0;
+        for (int i = 0; i < position; i++) {
+            if (opponents.getDecision(opponents.getDecisionSeat(i))) {
+                decisions |= 1 << i;
+            }
+        }
+        return TABLES[numberVisible + 1][position][(index << position) | decisions];
+    }
+
+    /**
+     * \brief Entry of cards
+     * lookup(int[] visible, int numberVisible, int decisions, int position) :
+     * Return the entry of the table of the player number position.
+     * \param int[] visible, int numberVisible, int decisions, int position
+     * \return int
+     */
+    private static int lookup(int[] visible, int numberVisible, int decisions, int position) {
+        checkPlayers(numberVisible + 1);
+        if (position < 0 || position > numberVisible) {
+            throw new IllegalArgumentException("The position must be between 0 and " + numberVisible + ".");
+        }
+        int index = 0;
+        int shown = 0;
+        for (int i = 0; i < numberVisible; i++) {
+            if (visible[i] < 1 || visible[i] > NUMBER_VALUES || (shown & (1 << visible[i])) != 0) {
+                throw new IllegalArgumentException("The cards seen must be different values between 1 and "
+                        + NUMBER_VALUES + ".");
+            }
+            shown |= 1 << visible[i];
+            index = index * NUMBER_VALUES + visible[i] - 1;
+        }
+        int mask = (1 << position) - 1;
+        return TABLES[numberVisible + 1][position][(index << position) | (decisions & mask)];
+    }
+
+    private static double probability(int entry) {
+        return (double) (entry & COUNT_MASK) / ((entry >> COUNT_BITS) & COUNT_MASK);
+    }
+
+    private static boolean decision(int entry) {
+        // Bet to win only if it is strictly more likely than losing
+        return 2 * (entry & COUNT_MASK) > ((entry >> COUNT_BITS) & COUNT_MASK);
+    }
+
+    private static void checkPlayers(int numberPlayers) {
+        if (numberPlayers < 2 || numberPlayers > PLAYERS_MAX) {
+            throw new IllegalArgumentException("The blind round is played by 2 to " + PLAYERS_MAX + " players.");
+        }
+    }
+
+    /**
+     * \brief Build the tables
+     * buildTables() : Compute the entry of every player, number of players and
+     * position after position, since a decision depends on the policy of the
+     * players deciding before.
+     * \return short[][][]
+     */
+    private static short[][][] buildTables() {
+        short[][][] tables = new short[PLAYERS_MAX + 1][][];
+        for (int numberPlayers = 2; numberPlayers <= PLAYERS_MAX; numberPlayers++) {
+            tables[numberPlayers] = new short[numberPlayers][];
+            int numberIndexes = pow(NUMBER_VALUES, numberPlayers - 1);
+            for (int position = 0; position < numberPlayers; position++) {
+                short[] table = new short[numberIndexes << position];
+                tables[numberPlayers][position] = table;
+                for (int index = 0; index < numberIndexes; index++) {
+                    for (int decisions = 0; decisions < 1 << position; decisions++) {
+                        table[(index << position) | decisions] = solve(tables[numberPlayers], numberPlayers, position,
+                                index, decisions);
+                    }
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * \brief Solve one entry
+     * solve(short[][] tables, int numberPlayers, int position, int index, int decisions) :
+     * Count the cards the player can hold which explain the decisions and the ones
+     * among them which win.
+     * \param short[][] tables, int numberPlayers, int position, int index, int decisions
+     * \return short
+     */
+    private static short solve(short[][] tables, int numberPlayers, int position, int index, int decisions) {
+        // Values of every card in turn order, the one of the player included
+        int[] cards = new int[numberPlayers];
+        int shown = 0;
+        int highest = 0;
+        int rest = index;
+        for (int i = numberPlayers - 1; i >= 0; i--) {
+            if (i == position) {
+                continue;
+            }
+            cards[i] = rest % NUMBER_VALUES + 1;
+            rest /= NUMBER_VALUES;
+            if ((shown & (1 << cards[i])) != 0) {
+                // Two players can't have the same card
+                return 0;
+            }
+            shown |= 1 << cards[i];
+            highest = Math.max(highest, cards[i]);
+        }
+
+        int candidates = 0;
+        int wins = 0;
+        int hidden = 0;
+        int hiddenWins = 0;
+        for (int card = 1; card <= NUMBER_VALUES; card++) {
+            if ((shown & (1 << card)) != 0) {
+                continue;
+            }
+            hidden += 1;
+            hiddenWins += card > highest ? 1 : 0;
+            cards[position] = card;
+            if (explains(tables, cards, position, decisions)) {
+                candidates += 1;
+                wins += card > highest ? 1 : 0;
+            }
+        }
+        if (candidates == 0) {
+            return (short) (hiddenWins | (hidden << COUNT_BITS));
+        }
+        return (short) (wins | (candidates << COUNT_BITS) | CONSISTENT);
+    }
+
+    /**
+     * \brief Decisions explained
+     * explains(short[][] tables, int[] cards, int position, int decisions) : Return
+     * true if every player before position took the decision of the policy with
+     * these cards.
+     * \param short[][] tables, int[] cards, int position, int decisions
+     * \return boolean
+     */
+    private static boolean explains(short[][] tables, int[] cards, int position, int decisions) {
+        for (int player = 0; player < position; player++) {
+            int index = 0;
+            for (int i = 0; i < cards.length; i++) {
+                if (i != player) {
+                    index = index * NUMBER_VALUES + cards[i] - 1;
+                }
+            }
+            int mask = (1 << player) - 1;
+            boolean expected = decision(tables[player][(index << player) | (decisions & mask)]);
+            if (expected != ((decisions & (1 << player)) != 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int pow(int base, int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
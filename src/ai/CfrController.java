@@ -0,0 +1,73 @@
+package ai;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import game.Game;
+import game.GameListener;
+import game.Trick;
+import people.Player;
+import simulation.RandomController;
+
+/**
+ * \brief Bot betting with CFR policies
+ *
+ * CfrController : Bot taking its bets and its decision in the blind round from
+ * the policies of the CfrTrainer, and playing its cards at random. Without a
+ * policy for the current round and number of players, it bets at random and
+ * takes the decision of the BlindRoundSolver. The bot follows the game as a
+ * listener to know how many players are alive.
+ */
+public class CfrController extends RandomController implements GameListener {
+
+    private final RandomGenerator random;
+    // Policies indexed by number of players then number of cards, 1 for the blind round
+    private final CfrPolicy[][] policies;
+    private int numberPlayers;
+
+    /**
+     * \brief Constructor CfrController
+     * CfrController(RandomGenerator random, CfrPolicy... policies): create a bot
+     * using policies and drawing its decisions with random.
+     * \param RandomGenerator random, CfrPolicy... policies
+     */
+    public CfrController(RandomGenerator random, CfrPolicy... policies) {
+        super(random);
+        this.random = random;
+        this.policies = new CfrPolicy[Game.NUMBER_PLAYERS + 1][Game.ROUND_MAX + 1];
+        for (CfrPolicy policy : policies) {
+            this.policies[policy.getNumberPlayers()][policy.getNumberRound()] = policy;
+        }
+        this.numberPlayers = Game.NUMBER_PLAYERS;
+    }
+
+    @Override
+    public int chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) {
+        CfrPolicy policy = policies[numberPlayers][numberRound];
+        if (policy == null || totalBet > (numberPlayers - 1) * numberRound) {
+            return super.chooseBet(player, numberRound, totalBet, lastBettor);
+        }
+        return policy.chooseBet(player.getCardSet(), totalBet, lastBettor, random);
+    }
+
+    @Override
+    public boolean chooseLastRound(Player player, Trick opponents) {
+        int players = opponents.getNumberCards() + 1;
+        CfrPolicy policy = players < policies.length ? policies[players][1] : null;
+        if (policy == null) {
+            return BlindRoundSolver.decide(opponents);
+        }
+        return policy.chooseLastRound(opponents, random);
+    }
+
+    @Override
+    public void onCardsPlayed(Trick trick) {
+        // Every player alive plays in every trick
+        this.numberPlayers = trick.getNumberCards();
+    }
+
+    @Override
+    public void onPlayersDead(List<Player> playersDead) {
+        this.numberPlayers = Math.max(1, this.numberPlayers - playersDead.size());
+    }
+}
@@ -0,0 +1,135 @@
+package ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * \brief Files of the regret minimization
+ *
+ * CfrFiles : Read and write the checkpoints of the CfrTrainer and the policies
+ * it computes. A file starts with a header, then holds its tables of floats,
+ * big-endian. A file is first written next to its path then moved over it, so
+ * a training stopped while saving keeps its last checkpoint.
+ */
+final class CfrFiles {
+
+    /// First int of a checkpoint and of a policy
+    static final int CHECKPOINT_MAGIC = 0x43465243;
+    static final int POLICY_MAGIC = 0x43465250;
+
+    // Floats written at once
+    private static final int CHUNK_FLOATS = 1 << 14;
+
+    private CfrFiles() {
+    }
+
+    /**
+     * \brief Header of a file
+     * header(int magic, CfrGame game, int extraBytes) : Return a buffer with the
+     * magic number and the game, with room for extraBytes more bytes.
+     * \param int magic, CfrGame game, int extraBytes
+     * \return ByteBuffer
+     */
+    static ByteBuffer header(int magic, CfrGame game, int extraBytes) {
+        ByteBuffer header = ByteBuffer.allocate(4 * Integer.BYTES + extraBytes);
+        header.putInt(magic).putInt(game.getKind()).putInt(game.getNumberPlayers()).putInt(game.getNumberRound());
+        return header;
+    }
+
+    /**
+     * \brief Write a file
+     * write(Path path, ByteBuffer header, float[]... tables) : Write the header,
+     * then every table, and replace the file at path with them.
+     * \param Path path, ByteBuffer header, float[]... tables
+     */
+    static void write(Path path, ByteBuffer header, float[]... tables) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            header.flip();
+            writeFully(channel, header);
+            ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_FLOATS * Float.BYTES);
+            FloatBuffer floats = chunk.asFloatBuffer();
+            for (float[] table : tables) {
+                for (int first = 0; first < table.length; first += CHUNK_FLOATS) {
+                    int length = Math.min(CHUNK_FLOATS, table.length - first);
+                    floats.clear();
+                    floats.put(table, first, length);
+                    chunk.clear().limit(length * Float.BYTES);
+                    writeFully(channel, chunk);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * \brief Read a file
+     * read(Path path, int magic) : Map the file at path and return it, positioned
+     * after its magic number, or throw an IOException if it doesn't start with
+     * magic.
+     * \param Path path, int magic
+     * \return ByteBuffer
+     */
+    static ByteBuffer read(Path path, int magic) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < Integer.BYTES || buffer.getInt() != magic) {
+            throw new IOException(path + " is not a file of this kind.");
+        }
+        return buffer;
+    }
+
+    /**
+     * \brief Read the game
+     * readGame(ByteBuffer buffer) : Read the game saved in the header.
+     * \param ByteBuffer buffer
+     * \return CfrGame
+     */
+    static CfrGame readGame(ByteBuffer buffer) throws IOException {
+        int kind = buffer.getInt();
+        int numberPlayers = buffer.getInt();
+        int numberRound = buffer.getInt();
+        try {
+            switch (kind) {
+                case CfrGame.BLIND_ROUND:
+                    return new BlindRoundGame(numberPlayers);
+                case CfrGame.BETTING:
+                    return new BettingGame(numberPlayers, numberRound);
+                default:
+                    throw new IOException("Unknown kind of game: " + kind + ".");
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    /**
+     * \brief Read a table
+     * readTable(ByteBuffer buffer, float[] table) : Fill table with the next floats
+     * of the file.
+     * \param ByteBuffer buffer, float[] table
+     */
+    static void readTable(ByteBuffer buffer, float[] table) throws IOException {
+        if (buffer.remaining() < (long) table.length * Float.BYTES) {
+            throw new IOException("The file is too short for its game.");
+        }
+        buffer.asFloatBuffer().get(table);
+        buffer.position(buffer.position() + table.length * Float.BYTES);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ai;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * \brief Game solved by regret minimization
+ *
+ * CfrGame : A small game where every player takes one decision, in turn order,
+ * after a random deal. A player only sees part of the deal and the decisions
+ * taken before them, summed up by the index of their information set. The
+ * CfrTrainer only knows the games through this interface.
+ */
+interface CfrGame {
+
+    /// Kinds of game, saved in the files of the trainer
+    int BLIND_ROUND = 1;
+    int BETTING = 2;
+
+    /**
+     * \brief Getter kind
+     * getKind() : Return BLIND_ROUND or BETTING.
+     * \return int
+     */
+    int getKind();
+
+    /**
+     * \brief Getter numberPlayers
+     * getNumberPlayers() : Return the number of players deciding.
+     * \return int
+     */
+    int getNumberPlayers();
+
+    /**
+     * \brief Getter numberRound
+     * getNumberRound() : Return the number of cards dealt to every player.
+     * \return int
+     */
+    int getNumberRound();
+
+    /**
+     * \brief Getter numberInfosets
+     * getNumberInfosets() : Return the number of information sets, every index is
+     * below it.
+     * \return int
+     */
+    int getNumberInfosets();
+
+    /**
+     * \brief Getter numberActions
+     * getNumberActions() : Return the number of actions of every information set,
+     * some of them may be illegal.
+     * \return int
+     */
+    int getNumberActions();
+
+    /**
+     * \brief Deal the cards
+     * deal(RandomGenerator random, int[] hands) : Deal a hand to every player, as
+     * a CardSet, in turn order.
+     * \param RandomGenerator random, int[] hands
+     */
+    void deal(RandomGenerator random, int[] hands);
+
+    /**
+     * \brief Information set
+     * infoset(int[] hands, int[] actions, int position) : Return the index of what
+     * the player number position sees before deciding, the players before them
+     * having taken actions.
+     * \param int[] hands, int[] actions, int position
+     * \return int
+     */
+    int infoset(int[] hands, int[] actions, int position);
+
+    /**
+     * \brief Legal actions
+     * legalActions(int[] hands, int[] actions, int position) : Return the bit mask
+     * of the actions the player number position may take.
+     * \param int[] hands, int[] actions, int position
+     * \return int
+     */
+    int legalActions(int[] hands, int[] actions, int position);
+
+    /**
+     * \brief Utility
+     * utility(int[] hands, int[] actions, int player) : Return the utility of
+     * player once everybody decided, minus the life points they lose.
+     * \param int[] hands, int[] actions, int player
+     * \return double
+     */
+    double utility(int[] hands, int[] actions, int player);
+}
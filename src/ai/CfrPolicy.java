@@ -0,0 +1,220 @@
+package ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.random.RandomGenerator;
+
+import game.Trick;
+
+/**
+ * \brief Strategy computed by the CfrTrainer
+ *
+ * CfrPolicy : The probability of every action in every information set of the
+ * bets of a round or of the blind round. The strategy is mixed: a bot draws its
+ * decision with these probabilities. A policy is saved in one file and loaded
+ * with a single read of a mapped file, so a bot can load it when it starts.
+ */
+public class CfrPolicy {
+
+    private final CfrGame game;
+    private final long iterations;
+    // Probabilities indexed by infoset * numberActions + action
+    private final float[] probabilities;
+
+    /**
+     * \brief Constructor CfrPolicy
+     * CfrPolicy(CfrGame game, long iterations, float[] probabilities): create the
+     * policy of game, probabilities being kept as they are. An information set
+     * with only zeros picks a legal action at random.
+     * \param CfrGame game, long iterations, float[] probabilities
+     */
+    CfrPolicy(CfrGame game, long iterations, float[] probabilities) {
+        this.game = game;
+        this.iterations = iterations;
+        this.probabilities = probabilities;
+    }
+
+    /**
+     * \brief Load a policy
+     * load(Path path) : Return the policy saved at path.
+     * \param Path path
+     * \return CfrPolicy
+     */
+    public static CfrPolicy load(Path path) throws IOException {
+        ByteBuffer buffer = CfrFiles.read(path, CfrFiles.POLICY_MAGIC);
+        CfrGame game = CfrFiles.readGame(buffer);
+        long iterations = buffer.getLong();
+        float[] probabilities = new float[game.getNumberInfosets() * game.getNumberActions()];
+        CfrFiles.readTable(buffer, probabilities);
+        return new CfrPolicy(game, iterations, probabilities);
+    }
+
+    /**
+     * \brief Save the policy
+     * save(Path path) : Save the policy at path.
+     * \param Path path
+     */
+    public void save(Path path) throws IOException {
+        ByteBuffer header = CfrFiles.header(CfrFiles.POLICY_MAGIC, game, Long.BYTES);
+        header.putLong(iterations);
+        CfrFiles.write(path, header, probabilities);
+    }
+
+    /**
+     * \brief Blind round
+     * isBlindRound() : Return true if the policy is the one of the blind round,
+     * false if it is the one of the bets.
+     * \return boolean
+     */
+    public boolean isBlindRound() {
+        return game.getKind() == CfrGame.BLIND_ROUND;
+    }
+
+    /**
+     * \brief Getter numberPlayers
+     * getNumberPlayers() : Return the number of players of the policy.
+     * \return int
+     */
+    public int getNumberPlayers() {
+        return game.getNumberPlayers();
+    }
+
+    /**
+     * \brief Getter numberRound
+     * getNumberRound() : Return the number of cards of the round of the policy.
+     * \return int
+     */
+    public int getNumberRound() {
+        return game.getNumberRound();
+    }
+
+    /**
+     * \brief Getter iterations
+     * getIterations() : Return the number of iterations of the training.
+     * \return long
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * \brief Probability of a bet
+     * betProbability(int hand, int totalBet, boolean lastBettor, int bet) : Return
+     * the probability to bet bet with the CardSet hand, after bets totalling
+     * totalBet.
+     * \param int hand, int totalBet, boolean lastBettor, int bet
+     * \return double
+     */
+    public double betProbability(int hand, int totalBet, boolean lastBettor, int bet) {
+        BettingGame betting = betting();
+        return probability(betting.infoset(hand, totalBet, lastBettor), betting.legalBets(totalBet, lastBettor), bet);
+    }
+
+    /**
+     * \brief Choose a bet
+     * chooseBet(int hand, int totalBet, boolean lastBettor, RandomGenerator random) :
+     * Draw a legal bet for the CardSet hand, after bets totalling totalBet.
+     * \param int hand, int totalBet, boolean lastBettor, RandomGenerator random
+     * \return int
+     */
+    public int chooseBet(int hand, int totalBet, boolean lastBettor, RandomGenerator random) {
+        BettingGame betting = betting();
+        return sample(betting.infoset(hand, totalBet, lastBettor), betting.legalBets(totalBet, lastBettor), random);
+    }
+
+    /**
+     * \brief Probability to bet to win
+     * winProbability(Trick opponents) : Return the probability to bet to win the
+     * blind round, opponents being the trick built by the game for the player.
+     * \param Trick opponents
+     * \return double
+     */
+    public double winProbability(Trick opponents) {
+        int legal = (1 << BlindRoundGame.LOSE) | (1 << BlindRoundGame.WIN);
+        return probability(blindRound().infoset(opponents), legal, BlindRoundGame.WIN);
+    }
+
+    /**
+     * \brief Choose a decision
+     * chooseLastRound(Trick opponents, RandomGenerator random) : Draw the decision
+     * of the blind round, true to bet to win.
+     * \param Trick opponents, RandomGenerator random
+     * \return boolean
+     */
+    public boolean chooseLastRound(Trick opponents, RandomGenerator random) {
+        int legal = (1 << BlindRoundGame.LOSE) | (1 << BlindRoundGame.WIN);
+        return sample(blindRound().infoset(opponents), legal, random) == BlindRoundGame.WIN;
+    }
+
+    private BettingGame betting() {
+        if (!(game instanceof BettingGame betting)) {
+            throw new IllegalStateException("This policy is the one of the blind round.");
+        }
+        return betting;
+    }
+
+    private BlindRoundGame blindRound() {
+        if (!(game instanceof BlindRoundGame blindRound)) {
+            throw new IllegalStateException("This policy is the one of the bets.");
+        }
+        return blindRound;
+    }
+
+    /**
+     * \brief Probability of an action
+     * probability(int infoset, int legal, int action) : Return the probability of
+     * action among the legal ones.
+     * \param int infoset, int legal, int action
+     * \return double
+     */
+    private double probability(int infoset, int legal, int action) {
+        if ((legal & (1 << action)) == 0) {
+            return 0;
+        }
+        int base = infoset * game.getNumberActions();
+        double sum = 0;
+        for (int a = 0; a < game.getNumberActions(); a++) {
+            if ((legal & (1 << a)) != 0) {
+                sum += probabilities[base + a];
+            }
+        }
+        return sum > 0 ? probabilities[base + action] / sum : 1.0 / Integer.bitCount(legal);
+    }
+
+    /**
+     * \brief Draw an action
+     * sample(int infoset, int legal, RandomGenerator random) : Draw one of the
+     * legal actions with their probabilities.
+     * \param int infoset, int legal, RandomGenerator random
+     * \return int
+     */
+    private int sample(int infoset, int legal, RandomGenerator random) {
+        int base = infoset * game.getNumberActions();
+        double sum = 0;
+        for (int a = 0; a < game.getNumberActions(); a++) {
+            if ((legal & (1 << a)) != 0) {
+                sum += probabilities[base + a];
+            }
+        }
+        if (sum <= 0) {
+            int skip = random.nextInt(Integer.bitCount(legal));
+            for (; skip > 0; skip--) {
+                legal &= legal - 1;
+            }
+            return Integer.numberOfTrailingZeros(legal);
+        }
+        double draw = random.nextDouble() * sum;
+        int chosen = Integer.numberOfTrailingZeros(legal);
+        for (int a = 0; a < game.getNumberActions(); a++) {
+            if ((legal & (1 << a)) != 0 && probabilities[base + a] > 0) {
+                chosen = a;
+                draw -= probabilities[base + a];
+                if (draw < 0) {
+                    break;
+                }
+            }
+        }
+        return chosen;
+    }
+}
@@ -0,0 +1,427 @@
+package ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import deck.DealSource;
+
+/**
+ * \brief Regret minimization trainer
+ *
+ * CfrTrainer : Compute a strategy close to an equilibrium of the bets of a
+ * round or of the blind round with Monte Carlo CFR+. Every iteration samples
+ * deals; for each deal and each player, the player tries all their actions
+ * while the others sample one from their current strategy. The regrets are
+ * floored at 0 after every iteration and the average strategy weights the
+ * iteration t by t.
+ *
+ * The regrets and the average strategy are two flat tables of floats, indexed
+ * by information set then action. The deals of an iteration are split between
+ * the workers of a fork/join pool; every worker collects its updates on its
+ * own, and they are added to the tables in the order of the deals once the
+ * workers are done. The deals only depend on the seed and the number of the
+ * iteration, so the training gives the same tables on any number of threads.
+ */
+public class CfrTrainer {
+
+    /// Number of deals sampled by default in one iteration
+    public static final int DEFAULT_DEALS_PER_ITERATION = 1024;
+
+    // Number of deals a worker walks in one task
+    static final int DEALS_PER_TASK = 64;
+
+    private final CfrGame game;
+    private final ForkJoinPool pool;
+    private final long seed;
+    private final int dealsPerIteration;
+    private final DealSource deals;
+    // Tables indexed by infoset * numberActions + action
+    private final float[] regrets;
+    private final float[] strategySums;
+    private long iterations;
+
+    /**
+     * \brief Constructor CfrTrainer
+     * CfrTrainer(CfrGame game, int parallelism, long seed, int dealsPerIteration):
+     * create a trainer of game running on parallelism threads. The same seed
+     * always gives the same tables.
+     * \param CfrGame game, int parallelism, long seed, int dealsPerIteration
+     */
+    CfrTrainer(CfrGame game, int parallelism, long seed, int dealsPerIteration) {
+        if (dealsPerIteration < 1) {
+            throw new IllegalArgumentException("An iteration needs at least one deal.");
+        }
+        this.game = game;
+        this.pool = new ForkJoinPool(parallelism);
+        this.seed = seed;
+        this.dealsPerIteration = dealsPerIteration;
+        this.deals = new DealSource(seed);
+        long size = (long) game.getNumberInfosets() * game.getNumberActions();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("The game has too many information sets.");
+        }
+        this.regrets = new float[(int) size];
+        this.strategySums = new float[(int) size];
+    }
+
+    /**
+     * \brief Trainer of the blind round
+     * forBlindRound(int numberPlayers, int parallelism, long seed) : Return a
+     * trainer of the blind round between numberPlayers players.
+     * \param int numberPlayers, int parallelism, long seed
+     * \return CfrTrainer
+     */
+    public static CfrTrainer forBlindRound(int numberPlayers, int parallelism, long seed) {
+        return new CfrTrainer(new BlindRoundGame(numberPlayers), parallelism, seed, DEFAULT_DEALS_PER_ITERATION);
+    }
+
+    /**
+     * \brief Trainer of the bets
+     * forBetting(int numberPlayers, int numberRound, int parallelism, long seed) :
+     * Return a trainer of the bets of a round of numberRound cards between
+     * numberPlayers players.
+     * \param int numberPlayers, int numberRound, int parallelism, long seed
+     * \return CfrTrainer
+     */
+    public static CfrTrainer forBetting(int numberPlayers, int numberRound, int parallelism, long seed) {
+        return new CfrTrainer(new BettingGame(numberPlayers, numberRound), parallelism, seed,
+                DEFAULT_DEALS_PER_ITERATION);
+    }
+
+    /**
+     * \brief Getter iterations
+     * getIterations() : Return the number of iterations done, checkpoints
+     * included.
+     * \return long
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * \brief Train
+     * train(long numberIterations) : Run numberIterations more iterations.
+     * \param long numberIterations
+     */
+    public void train(long numberIterations) {
+        for (long i = 0; i < numberIterations; i++) {
+            iterate();
+        }
+    }
+
+    /**
+     * \brief Train with checkpoints
+     * train(long numberIterations, Path checkpoint, long checkpointEvery) : Run
+     * numberIterations more iterations and save a checkpoint at path checkpoint
+     * every checkpointEvery iterations and at the end.
+     * \param long numberIterations, Path checkpoint, long checkpointEvery
+     */
+    public void train(long numberIterations, Path checkpoint, long checkpointEvery) throws IOException {
+        for (long i = 1; i <= numberIterations; i++) {
+            iterate();
+            if (i % checkpointEvery == 0 || i == numberIterations) {
+                saveCheckpoint(checkpoint);
+            }
+        }
+    }
+
+    /**
+     * \brief Policy
+     * getPolicy() : Return the average strategy of the iterations done so far.
+     * \return CfrPolicy
+     */
+    public CfrPolicy getPolicy() {
+        int numberActions = game.getNumberActions();
+        float[] probabilities = new float[strategySums.length];
+        for (int base = 0; base < strategySums.length; base += numberActions) {
+            double sum = 0;
+            for (int a = 0; a < numberActions; a++) {
+                sum += strategySums[base + a];
+            }
+            // An information set never reached stays at 0, the policy picks a legal action at random
+            if (sum > 0) {
+                for (int a = 0; a < numberActions; a++) {
+                    probabilities[base + a] = (float) (strategySums[base + a] / sum);
+                }
+            }
+        }
+        return new CfrPolicy(game, iterations, probabilities);
+    }
+
+    /**
+     * \brief Save a checkpoint
+     * saveCheckpoint(Path path) : Save the tables and the number of iterations at
+     * path, to go on with the training later.
+     * \param Path path
+     */
+    public void saveCheckpoint(Path path) throws IOException {
+        ByteBuffer header = CfrFiles.header(CfrFiles.CHECKPOINT_MAGIC, game, 2 * Long.BYTES + Integer.BYTES);
+        header.putLong(seed).putLong(iterations).putInt(dealsPerIteration);
+        CfrFiles.write(path, header, regrets, strategySums);
+    }
+
+    /**
+     * \brief Load a checkpoint
+     * loadCheckpoint(Path path, int parallelism) : Return the trainer saved at
+     * path, running on parallelism threads.
+     * \param Path path, int parallelism
+     * \return CfrTrainer
+     */
+    public static CfrTrainer loadCheckpoint(Path path, int parallelism) throws IOException {
+        ByteBuffer buffer = CfrFiles.read(path, CfrFiles.CHECKPOINT_MAGIC);
+        CfrGame game = CfrFiles.readGame(buffer);
+        long seed = buffer.getLong();
+        long iterations = buffer.getLong();
+        int dealsPerIteration = buffer.getInt();
+        CfrTrainer trainer = new CfrTrainer(game, parallelism, seed, dealsPerIteration);
+        trainer.iterations = iterations;
+        CfrFiles.readTable(buffer, trainer.regrets);
+        CfrFiles.readTable(buffer, trainer.strategySums);
+        return trainer;
+    }
+
+    /**
+     * \brief Stop the trainer
+     * shutdown() : Stop the threads of the trainer.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * \brief One iteration
+     * iterate() : Walk the deals of the next iteration on every thread, then add
+     * their updates to the tables.
+     */
+    private void iterate() {
+        iterations += 1;
+        long iteration = iterations;
+        List<Callable<Updates>> tasks = new ArrayList<>();
+        for (int first = 0; first < dealsPerIteration; first += DEALS_PER_TASK) {
+            int last = Math.min(dealsPerIteration, first + DEALS_PER_TASK);
+            int firstDeal = first;
+            tasks.add(() -> new Walker(iteration).walkDeals(firstDeal, last));
+        }
+
+        List<Updates> updates = new ArrayList<>(tasks.size());
+        try {
+            for (Future<Updates> future : pool.invokeAll(tasks)) {
+                updates.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The training was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("An iteration failed.", e.getCause());
+        }
+
+        for (Updates update : updates) {
+            for (int i = 0; i < update.numberRegrets; i++) {
+                regrets[update.regretIndexes[i]] += update.regretValues[i];
+            }
+            for (int i = 0; i < update.numberStrategies; i++) {
+                strategySums[update.strategyIndexes[i]] += update.strategyValues[i];
+            }
+        }
+        // CFR+ forgets the negative regrets
+        for (Updates update : updates) {
+            for (int i = 0; i < update.numberRegrets; i++) {
+                int index = update.regretIndexes[i];
+                if (regrets[index] < 0) {
+                    regrets[index] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * \brief Updates of a worker
+     *
+     * Updates : The changes a worker makes to the regrets and to the average
+     * strategy, kept aside until every worker is done.
+     */
+    private static final class Updates {
+        int[] regretIndexes = new int[256];
+        float[] regretValues = new float[256];
+        int numberRegrets;
+        int[] strategyIndexes = new int[256];
+        float[] strategyValues = new float[256];
+        int numberStrategies;
+
+        void addRegret(int index, double value) {
+            if (numberRegrets == regretIndexes.length) {
+                regretIndexes = Arrays.copyOf(regretIndexes, 2 * numberRegrets);
+                regretValues = Arrays.copyOf(regretValues, 2 * numberRegrets);
+            }
+            regretIndexes[numberRegrets] = index;
+            regretValues[numberRegrets] = (float) value;
+            numberRegrets += 1;
+        }
+
+        void addStrategy(int index, double value) {
+            if (numberStrategies == strategyIndexes.length) {
+                strategyIndexes = Arrays.copyOf(strategyIndexes, 2 * numberStrategies);
+                strategyValues = Arrays.copyOf(strategyValues, 2 * numberStrategies);
+            }
+            strategyIndexes[numberStrategies] = index;
+            strategyValues[numberStrategies] = (float) value;
+            numberStrategies += 1;
+        }
+    }
+
+    /**
+     * \brief Walk of the deals
+     *
+     * Walker : Walk the game tree of some deals of one iteration, reading the
+     * regrets of the previous iterations only.
+     */
+    private final class Walker {
+
+        private final long iteration;
+        private final DealSource source;
+        private final Updates updates = new Updates();
+        private final int numberPlayers = game.getNumberPlayers();
+        private final int numberActions = game.getNumberActions();
+        private final int[] hands = new int[numberPlayers];
+        private final int[] actions = new int[numberPlayers];
+        // Strategy and values of the actions at every depth
+        private final double[][] strategies = new double[numberPlayers][numberActions];
+        private final double[][] values = new double[numberPlayers][numberActions];
+
+        Walker(long iteration) {
+            this.iteration = iteration;
+            this.source = deals.forGame(iteration);
+        }
+
+        Updates walkDeals(int first, int last) {
+            for (int deal = first; deal < last; deal++) {
+                source.select(deal);
+                game.deal(source, hands);
+                for (int traverser = 0; traverser < numberPlayers; traverser++) {
+                    walk(0, traverser);
+                }
+            }
+            return updates;
+        }
+
+        /**
+         * \brief Walk the tree
+         * walk(int position, int traverser) : Return the value for traverser of the
+         * decision of the player number position, the players before them having
+         * taken their actions.
+         * \param int position, int traverser
+         * \return double
+         */
+        private double walk(int position, int traverser) {
+            if (position == numberPlayers) {
+                return game.utility(hands, actions, traverser);
+            }
+            int legal = game.legalActions(hands, actions, position);
+            int base = game.infoset(hands, actions, position) * numberActions;
+            double[] strategy = strategies[position];
+            regretMatching(base, legal, strategy);
+
+            if (position == traverser) {
+                double[] actionValues = values[position];
+                double value = 0;
+                for (int a = 0; a < numberActions; a++) {
+                    if ((legal & (1 << a)) != 0) {
+                        actions[position] = a;
+                        actionValues[a] = walk(position + 1, traverser);
+                        value += strategy[a] * actionValues[a];
+                    }
+                }
+                for (int a = 0; a < numberActions; a++) {
+                    if ((legal & (1 << a)) != 0) {
+                        updates.addRegret(base + a, actionValues[a] - value);
+                    }
+                }
+                return value;
+            }
+
+            // The other players add their strategy to the average and sample one action
+            double sample = source.nextDouble();
+            int chosen = -1;
+            int lastLegal = -1;
+            for (int a = 0; a < numberActions; a++) {
+                if ((legal & (1 << a)) != 0) {
+                    updates.addStrategy(base + a, iteration * strategy[a]);
+                    lastLegal = a;
+                    if (chosen < 0 && sample < strategy[a]) {
+                        chosen = a;
+                    } else {
+                        sample -= strategy[a];
+                    }
+                }
+            }
+            actions[position] = chosen < 0 ? lastLegal : chosen;
+            return walk(position + 1, traverser);
+        }
+
+        /**
+         * \brief Regret matching
+         * regretMatching(int base, int legal, double[] strategy) : Fill strategy with
+         * the legal actions in proportion to their regrets, all as likely if none
+         * has a positive regret.
+         * \param int base, int legal, double[] strategy
+         */
+        private void regretMatching(int base, int legal, double[] strategy) {
+            double sum = 0;
+            int numberLegal = 0;
+            for (int a = 0; a < numberActions; a++) {
+                strategy[a] = 0;
+                if ((legal & (1 << a)) != 0) {
+                    strategy[a] = Math.max(regrets[base + a], 0);
+                    sum += strategy[a];
+                    numberLegal += 1;
+                }
+            }
+            for (int a = 0; a < numberActions; a++) {
+                if ((legal & (1 << a)) != 0) {
+                    strategy[a] = sum > 0 ? strategy[a] / sum : 1.0 / numberLegal;
+                }
+            }
+        }
+    }
+
+    /**
+     * \brief Run a training
+     * main(String[] args) : Train the game args[0] ("blind" or "bet") of args[1]
+     * players and args[2] cards for args[3] iterations, with a checkpoint at
+     * args[4] which is loaded first if it exists, and save the policy at args[5].
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 6) {
+            System.out.println("Usage: CfrTrainer blind|bet numberPlayers numberRound iterations checkpoint policy");
+            return;
+        }
+        int numberPlayers = Integer.parseInt(args[1]);
+        int numberRound = Integer.parseInt(args[2]);
+        long numberIterations = Long.parseLong(args[3]);
+        Path checkpoint = Path.of(args[4]);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        CfrTrainer trainer;
+        if (Files.exists(checkpoint)) {
+            trainer = loadCheckpoint(checkpoint, parallelism);
+        } else if (args[0].equals("blind")) {
+            trainer = forBlindRound(numberPlayers, parallelism, System.nanoTime());
+        } else {
+            trainer = forBetting(numberPlayers, numberRound, parallelism, System.nanoTime());
+        }
+        long start = System.nanoTime();
+        trainer.train(numberIterations, checkpoint, Math.max(1, numberIterations / 10));
+        trainer.getPolicy().save(Path.of(args[5]));
+        trainer.shutdown();
+        System.out.printf("%d iterations in %.1f s%n", trainer.getIterations(), (System.nanoTime() - start) / 1e9);
+    }
+}
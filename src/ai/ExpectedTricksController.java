@@ -0,0 +1,45 @@
+package ai;
+
+import java.util.random.RandomGenerator;
+
+import game.GameListener;
+import people.Player;
+import simulation.RandomController;
+
+/**
+ * \brief Bot betting the expected tricks
+ *
+ * ExpectedTricksController : Bot taking the bet the game suggests from its
+ * table of expected tricks, and playing at random otherwise. The bot listens to
+ * the game to receive the suggestions; without one, it bets at random.
+ */
+public class ExpectedTricksController extends RandomController implements GameListener {
+
+    private Player suggestedPlayer;
+    private int suggestedBet;
+
+    /**
+     * \brief Constructor ExpectedTricksController
+     * ExpectedTricksController(RandomGenerator random): create a bot using random
+     * for every decision but the bets.
+     * \param RandomGenerator random
+     */
+    public ExpectedTricksController(RandomGenerator random) {
+        super(random);
+    }
+
+    @Override
+    public int chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) {
+        if (player != suggestedPlayer) {
+            return super.chooseBet(player, numberRound, totalBet, lastBettor);
+        }
+        suggestedPlayer = null;
+        return suggestedBet;
+    }
+
+    @Override
+    public void onBetSuggestion(Player player, int bet, double expectedTricks) {
+        this.suggestedPlayer = player;
+        this.suggestedBet = bet;
+    }
+}
@@ -0,0 +1,297 @@
+package ai;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import deck.Card;
+import deck.CardSet;
+import game.Game;
+import game.GameListener;
+import game.SeatController;
+import game.Trick;
+import people.Player;
+
+/**
+ * \brief Bot searching its bets and cards
+ *
+ * IsmctsController : Bot choosing its bets and its cards with an information
+ * set Monte Carlo tree search. The bot only uses what its seat can see: its own
+ * hand, the bets, and the cards played, which it follows as a listener of the
+ * game. The same bot can play several seats of a game, it only remembers what
+ * every seat sees.
+ *
+ * Every decision runs one search per thread, each with its own tree, until the
+ * time budget of a move is spent. The trees are then merged at the root and the
+ * most visited move is played. A search late after the deadline is cancelled
+ * and left out, so the bot always answers in time.
+ */
+public class IsmctsController implements SeatController, GameListener, AutoCloseable {
+
+    /// Default time budget of a move, in nanoseconds
+    public static final long DEFAULT_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    // Time given to the searches to return once the deadline is reached
+    private static final long GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int numberThreads;
+    private final long budgetNanos;
+    private final long maxIterations;
+    private final SplittableRandom random;
+    private int numberNames;
+    // Exact results of the small rounds, none when null
+    private Tablebase tablebase;
+
+    // What every seat sees of the current round
+    private int numberPlayers;
+    private int numberRound;
+    private int playedCards;
+
+    // Create a Logger
+    Logger logger = Logger.getLogger(IsmctsController.class.getName());
+
+    /**
+     * \brief Constructor IsmctsController
+     * IsmctsController(int numberThreads, long budgetNanos): create a bot
+     * searching on numberThreads threads of its own for budgetNanos per move. The
+     * threads are daemons, so a bot never closed doesn't keep the JVM alive. It
+     * looks up the small rounds in the Tablebase saved at Tablebase.FILE, if any.
+     * \param int numberThreads, long budgetNanos
+     */
+    public IsmctsController(int numberThreads, long budgetNanos) {
+        this(numberThreads > 1
+                ? Executors.newFixedThreadPool(numberThreads, Thread.ofPlatform().daemon().name("ismcts-", 0).factory())
+                : null, true, numberThreads, budgetNanos, Long.MAX_VALUE, System.nanoTime());
+        try {
+            this.tablebase = Tablebase.loadIfPresent(Tablebase.FILE);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Every round is searched: " + e.getMessage());
+        }
+    }
+
+    /**
+     * \brief Constructor IsmctsController
+     * IsmctsController(ExecutorService executor, int numberThreads, long budgetNanos,
+     * long maxIterations, long seed): create a bot running numberThreads searches
+     * on executor, each stopping after budgetNanos or maxIterations iterations. A
+     * null executor runs a single search on the thread of the game. The searches
+     * are reproducible with seed when they are stopped by maxIterations.
+     * \param ExecutorService executor, int numberThreads, long budgetNanos, long maxIterations, long seed
+     */
+    public IsmctsController(ExecutorService executor, int numberThreads, long budgetNanos, long maxIterations,
+            long seed) {
+        this(executor, false, numberThreads, budgetNanos, maxIterations, seed);
+    }
+
+    private IsmctsController(ExecutorService executor, boolean ownsExecutor, int numberThreads, long budgetNanos,
+            long maxIterations, long seed) {
+        if (numberThreads < 1 || budgetNanos <= 0 || maxIterations <= 0) {
+            throw new IllegalArgumentException("The bot needs at least one thread, some time and some iterations.");
+        }
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor && executor != null;
+        this.numberThreads = executor == null ? 1 : numberThreads;
+        this.budgetNanos = budgetNanos;
+        this.maxIterations = maxIterations;
+        this.random = new SplittableRandom(seed);
+        this.numberPlayers = Game.NUMBER_PLAYERS;
+    }
+
+    /**
+     * \brief Setter tablebase
+     * setTablebase(Tablebase tablebase) : Look up the bets of the rounds held by
+     * tablebase instead of searching them. null searches every round.
+     * \param Tablebase tablebase
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * \brief Getter tablebase
+     * getTablebase() : Return the tablebase of the small rounds, null if every
+     * round is searched.
+     * \return Tablebase
+     */
+    public Tablebase getTablebase() {
+        return this.tablebase;
+    }
+
+    @Override
+    public String chooseName() {
+        numberNames += 1;
+        return "Mcts" + numberNames;
+    }
+
+    @Override
+    public int chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) {
+        int[] bets = new int[numberRound + 1];
+        int numberBets = 0;
+        for (int bet = 0; bet <= numberRound; bet++) {
+            // The last bettor can't make the total equal to the number of cards
+            if (!lastBettor || totalBet + bet != numberRound) {
+                bets[numberBets++] = bet;
+            }
+        }
+        int[] legalBets = Arrays.copyOf(bets, numberBets);
+
+        int hand = player.getCardSet();
+        int position = lastBettor ? numberPlayers - 1 : RoundObservation.UNKNOWN_POSITION;
+        RoundObservation observation = new RoundObservation(numberPlayers, position, numberRound, hand,
+                CardSet.FULL & ~hand & ~playedCards, new int[0], 0, 0);
+        long[] visits = search(legalBets.length,
+                (search, deadline) -> search.searchBet(observation, legalBets, deadline, maxIterations));
+        return legalBets[mostVisited(visits, 0)];
+    }
+
+    @Override
+    public int chooseCard(Player player, Trick trick) {
+        if (player.getNumberCards() == 1) {
+            return 1;
+        }
+        int hand = player.getCardSet();
+        int position = trick.getNumberCards();
+        int[] table = new int[position];
+        int tableCards = 0;
+        for (int i = 0; i < position; i++) {
+            table[i] = trick.getCard(i).getValue();
+            tableCards = CardSet.add(tableCards, table[i]);
+        }
+        RoundObservation observation = new RoundObservation(Math.max(numberPlayers, position + 1), position,
+                Math.max(numberRound, player.getNumberCards()), hand, CardSet.FULL & ~hand & ~playedCards & ~tableCards,
+                table, player.getBetTricks(), player.getCurrentTricks());
+        long[] visits = search(Card.MAX_VALUE + 1,
+                (search, deadline) -> search.searchCard(observation, deadline, maxIterations));
+        int card = mostVisited(visits, CardSet.lowest(hand));
+        return player.getCards().indexOf(Card.of(card)) + 1;
+    }
+
+    @Override
+    public boolean chooseLastRound(Player player, Trick opponents) {
+        return BlindRoundSolver.decide(opponents);
+    }
+
+    @Override
+    public int chooseFoolValue(Player player, Card card) {
+        // The Fool wins the trick at 22 and loses it at 0
+        return player.getBetTricks() > player.getCurrentTricks() ? Card.MAX_VALUE : 0;
+    }
+
+    @Override
+    public void onRoundStart(int numberRound) {
+        this.numberRound = numberRound;
+        this.playedCards = 0;
+    }
+
+    @Override
+    public void onCardsPlayed(Trick trick) {
+        // Every player alive plays in every trick
+        this.numberPlayers = trick.getNumberCards();
+        for (int i = 0; i < trick.getNumberCards(); i++) {
+            this.playedCards = CardSet.add(this.playedCards, trick.getCard(i).getValue());
+        }
+    }
+
+    @Override
+    public void onPlayersDead(List<Player> playersDead) {
+        this.numberPlayers = Math.max(1, this.numberPlayers - playersDead.size());
+    }
+
+    /**
+     * \brief Close the bot
+     * close() : Stop the threads the bot created for itself.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * \brief Search of one thread
+     *
+     * Search : A search run by one thread until the deadline, returning the
+     * visits of every move at the root.
+     */
+    private interface Search {
+        long[] run(IsmctsSearch search, long deadline);
+    }
+
+    /**
+     * \brief Run the searches
+     * search(int numberMoves, Search task) : Run the searches until the deadline
+     * and return the visits of every move, added over the trees which answered in
+     * time.
+     * \param int numberMoves, Search task
+     * \return long[]
+     */
+    private long[] search(int numberMoves, Search task) {
+        long deadline = System.nanoTime() + budgetNanos;
+        long[] visits = new long[numberMoves];
+        if (executor == null) {
+            add(visits, task.run(new IsmctsSearch(random.split(), tablebase), deadline));
+            return visits;
+        }
+
+        List<Future<long[]>> futures = new ArrayList<>(numberThreads);
+        for (int i = 0; i < numberThreads; i++) {
+            IsmctsSearch search = new IsmctsSearch(random.split(), tablebase);
+            Callable<long[]> callable = () -> task.run(search, deadline);
+            futures.add(executor.submit(callable));
+        }
+        for (Future<long[]> future : futures) {
+            try {
+                long wait = Math.max(0, deadline + GRACE_NANOS - System.nanoTime());
+                add(visits, future.get(wait, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+            } catch (ExecutionException e) {
+                logger.log(Level.WARNING, "A search failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                break;
+            }
+        }
+        return visits;
+    }
+
+    private static void add(long[] visits, long[] treeVisits) {
+        for (int i = 0; i < visits.length; i++) {
+            visits[i] += treeVisits[i];
+        }
+    }
+
+    /**
+     * \brief Most visited move
+     * mostVisited(long[] visits, int fallback) : Return the move with the most
+     * visits, fallback if no move was visited.
+     * \param long[] visits, int fallback
+     * \return int
+     */
+    private static int mostVisited(long[] visits, int fallback) {
+        int best = fallback;
+        long bestVisits = 0;
+        for (int i = 0; i < visits.length; i++) {
+            if (visits[i] > bestVisits) {
+                bestVisits = visits[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,344 @@
+package ai;
+
+import java.util.SplittableRandom;
+
+import deck.Card;
+import deck.CardSet;
+
+/**
+ * \brief Information set Monte Carlo tree search
+ *
+ * IsmctsSearch : One tree search of a seat which can't see the other hands.
+ * Every iteration samples the hands of the other players among the cards
+ * nobody saw, then walks down a single tree of card moves, only through the
+ * moves this sample allows. The tree follows the seat: it plays to lose the
+ * fewest life points and every other player plays against it, as in the
+ * TrickSolver. A search is used by one thread, the trees of several searches
+ * are merged at the root by the caller.
+ */
+final class IsmctsSearch {
+
+    // Weight of the exploration in the selection of a move
+    private static final double EXPLORATION = 0.7;
+    private static final int NO_FOOL = -1;
+
+    private final SplittableRandom random;
+    // Exact results of the small rounds, none when null
+    private final Tablebase tablebase;
+
+    // Sampled round: hands and table indexed by position in turn order
+    private int numberPlayers;
+    private int me;
+    private int numberRound;
+    private int bet;
+    private int tricks;
+    private final int[] hands;
+    private final int[] table;
+    private int played;
+    private int foolPosition;
+    // Cards the other players may hold, to sample their hands
+    private final int[] pool;
+    // Nodes from the root to the current one
+    private final Node[] path;
+
+    /**
+     * \brief Node of the tree
+     *
+     * Node : A card played, with the statistics of the iterations which played
+     * it. The reward is always the one of the seat searching.
+     */
+    private static final class Node {
+        final int card;
+        final boolean byMe;
+        Node[] children = new Node[2];
+        int numberChildren;
+        // CardSet of the cards of the children
+        int childCards;
+        long visits;
+        long availability;
+        double reward;
+
+        Node(int card, boolean byMe) {
+            this.card = card;
+            this.byMe = byMe;
+        }
+
+        Node addChild(int card, boolean byMe) {
+            if (numberChildren == children.length) {
+                Node[] grown = new Node[2 * children.length];
+                System.arraycopy(children, 0, grown, 0, numberChildren);
+                children = grown;
+            }
+            Node child = new Node(card, byMe);
+            children[numberChildren] = child;
+            numberChildren += 1;
+            childCards = CardSet.add(childCards, card);
+            return child;
+        }
+    }
+
+    /**
+     * \brief Constructor IsmctsSearch
+     * IsmctsSearch(SplittableRandom random, Tablebase tablebase): create a search
+     * sampling the hands and the moves with random. The bets of the rounds in
+     * tablebase are looked up instead of played out, tablebase may be null.
+     * \param SplittableRandom random, Tablebase tablebase
+     */
+    IsmctsSearch(SplittableRandom random, Tablebase tablebase) {
+        this.random = random;
+        this.tablebase = tablebase;
+        this.hands = new int[Card.MAX_VALUE];
+        this.table = new int[Card.MAX_VALUE];
+        this.pool = new int[Card.MAX_VALUE];
+        this.path = new Node[Card.MAX_VALUE + 2];
+    }
+
+    /**
+     * \brief Search a card
+     * searchCard(RoundObservation observation, long deadline, long maxIterations) :
+     * Search the card to play until the deadline, in System.nanoTime(), or the
+     * number of iterations is reached. Return the number of visits of every card
+     * of the hand, indexed by value.
+     * \param RoundObservation observation, long deadline, long maxIterations
+     * \return long[]
+     */
+    long[] searchCard(RoundObservation observation, long deadline, long maxIterations) {
+        Node root = new Node(0, false);
+        for (long iteration = 0; iteration < maxIterations && System.nanoTime() < deadline; iteration++) {
+            sample(observation, observation.position);
+            bet = observation.bet;
+            Node node = root;
+            int depth = 0;
+            path[depth++] = root;
+
+            // Selection, until a move of this sample was never tried
+            while (!isOver()) {
+                int mover = played;
+                int legal = hands[mover];
+                int untried = legal & ~node.childCards;
+                if (untried != 0) {
+                    int card = randomCard(untried);
+                    node = node.addChild(card, mover == me);
+                    play(mover, card);
+                    path[depth++] = node;
+                    break;
+                }
+                node = select(node, legal);
+                play(mover, node.card);
+                path[depth++] = node;
+            }
+
+            double reward = playout();
+            for (int i = 0; i < depth; i++) {
+                path[i].visits += 1;
+                path[i].reward += reward;
+            }
+        }
+
+        long[] visits = new long[Card.MAX_VALUE + 1];
+        for (int i = 0; i < root.numberChildren; i++) {
+            visits[root.children[i].card] = root.children[i].visits;
+        }
+        return visits;
+    }
+
+    /**
+     * \brief Search a bet
+     * searchBet(RoundObservation observation, int[] bets, long deadline, long maxIterations) :
+     * Try the bets at the root, each sample of the hands being played to the end
+     * of the round, or looked up in the tablebase when it holds the round. Return the number of visits of every bet, in the order of
+     * bets.
+     * \param RoundObservation observation, int[] bets, long deadline, long maxIterations
+     * \return long[]
+     */
+    long[] searchBet(RoundObservation observation, int[] bets, long deadline, long maxIterations) {
+        long[] visits = new long[bets.length];
+        double[] rewards = new double[bets.length];
+        boolean exact = tablebase != null && tablebase.contains(observation.numberPlayers, observation.numberRound)
+                && observation.table.length == 0;
+        for (long iteration = 0; iteration < maxIterations && System.nanoTime() < deadline; iteration++) {
+            // Without knowing its position, the seat is any of the players betting before the last one
+            int position = observation.position;
+            if (position == RoundObservation.UNKNOWN_POSITION) {
+                position = random.nextInt(Math.max(1, observation.numberPlayers - 1));
+            }
+            sample(observation, position);
+
+            int chosen = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < bets.length; i++) {
+                double value = visits[i] == 0 ? Double.POSITIVE_INFINITY
+                        : rewards[i] / visits[i] + EXPLORATION * Math.sqrt(Math.log(iteration) / visits[i]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    chosen = i;
+                }
+            }
+            bet = bets[chosen];
+            visits[chosen] += 1;
+            if (exact) {
+                int loss = tablebase.loss(hands, numberPlayers, me, bet);
+                rewards[chosen] += 1.0 - (double) loss / Math.max(numberRound, bet);
+            } else {
+                rewards[chosen] += playout();
+            }
+        }
+        return visits;
+    }
+
+    /**
+     * \brief Select a child
+     * select(Node node, int legal) : Return the child, among the cards of legal,
+     * with the best upper confidence bound for the player moving.
+     * \param Node node, int legal
+     * \return Node
+     */
+    private Node select(Node node, int legal) {
+        Node best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < node.numberChildren; i++) {
+            Node child = node.children[i];
+            if (!CardSet.contains(legal, child.card)) {
+                continue;
+            }
+            child.availability += 1;
+            double average = child.reward / child.visits;
+            double value = (child.byMe ? average : 1 - average)
+                    + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * \brief Sample the hands
+     * sample(RoundObservation observation, int position) : Deal the cards nobody
+     * saw to the other players, the seat being the player number position.
+     * \param RoundObservation observation, int position
+     */
+    private void sample(RoundObservation observation, int position) {
+        numberPlayers = observation.numberPlayers;
+        me = position;
+        numberRound = Math.max(1, observation.numberRound);
+        tricks = observation.tricks;
+        played = observation.table.length;
+        foolPosition = NO_FOOL;
+        for (int i = 0; i < played; i++) {
+            table[i] = observation.table[i];
+            if (table[i] == Card.MAX_VALUE) {
+                foolPosition = i;
+            }
+        }
+
+        int poolSize = 0;
+        for (int cards = observation.unseen; cards != 0; cards &= cards - 1) {
+            pool[poolSize++] = Integer.numberOfTrailingZeros(cards);
+        }
+        int handSize = CardSet.size(observation.hand);
+        for (int i = 0; i < numberPlayers; i++) {
+            if (i == me) {
+                hands[i] = observation.hand;
+                continue;
+            }
+            // The players before the seat already played in this trick
+            int size = i < played ? handSize - 1 : handSize;
+            int hand = 0;
+            for (int j = 0; j < size && poolSize > 0; j++) {
+                int index = random.nextInt(poolSize);
+                hand = CardSet.add(hand, pool[index]);
+                pool[index] = pool[--poolSize];
+            }
+            hands[i] = hand;
+        }
+    }
+
+    /**
+     * \brief Play to the end
+     * playout() : Play the rest of the sampled round and return the reward of the
+     * seat, between 0 and 1. The seat plays its highest card while it needs tricks
+     * and its lowest one after, the others play at random.
+     * \return double
+     */
+    private double playout() {
+        while (!isOver()) {
+            int mover = played;
+            int hand = hands[mover];
+            int card;
+            if (mover == me) {
+                card = bet > tricks ? CardSet.highest(hand) : CardSet.lowest(hand);
+            } else {
+                card = randomCard(hand);
+            }
+            play(mover, card);
+        }
+        return 1.0 - (double) Math.abs(bet - tricks) / Math.max(numberRound, bet);
+    }
+
+    private boolean isOver() {
+        return played == 0 && hands[0] == 0;
+    }
+
+    /**
+     * \brief Play a card
+     * play(int position, int card) : The player number position plays card, and
+     * the trick ends once everybody played.
+     * \param int position, int card
+     */
+    private void play(int position, int card) {
+        hands[position] = CardSet.remove(hands[position], card);
+        table[position] = card;
+        if (card == Card.MAX_VALUE) {
+            foolPosition = position;
+        }
+        played += 1;
+        if (played == numberPlayers) {
+            endTrick();
+        }
+    }
+
+    /**
+     * \brief End of a trick
+     * endTrick() : Find the winner of the trick. The player of the Fool gives it
+     * the value best for them: the seat wins with it only when it needs tricks,
+     * and the others make the seat lose what it needs.
+     */
+    private void endTrick() {
+        int winnerLow = NO_FOOL;
+        int highest = 0;
+        for (int i = 0; i < numberPlayers; i++) {
+            if (table[i] != Card.MAX_VALUE && table[i] > highest) {
+                highest = table[i];
+                winnerLow = i;
+            }
+        }
+        int winner = winnerLow;
+        if (foolPosition != NO_FOOL) {
+            boolean needsTricks = bet > tricks;
+            boolean high = foolPosition == me ? needsTricks : winnerLow != me || needsTricks;
+            if (high || winnerLow == NO_FOOL) {
+                winner = foolPosition;
+            }
+        }
+        if (winner == me) {
+            tricks += 1;
+        }
+        played = 0;
+        foolPosition = NO_FOOL;
+    }
+
+    /**
+     * \brief Random card
+     * randomCard(int cards) : Return one card of the set cards, all as likely.
+     * \param int cards
+     * \return int
+     */
+    private int randomCard(int cards) {
+        for (int skip = random.nextInt(CardSet.size(cards)); skip > 0; skip--) {
+            cards &= cards - 1;
+        }
+        return Integer.numberOfTrailingZeros(cards);
+    }
+}
@@ -0,0 +1,50 @@
+package ai;
+
+/**
+ * \brief What a seat knows about a round
+ *
+ * RoundObservation : Everything a seat can see when it decides: its hand, the
+ * cards it saw played, the cards on the table and the tricks it needs. The
+ * hands of the other seats are not in it, the search samples them among the
+ * cards nobody saw.
+ */
+final class RoundObservation {
+
+    /// The seat doesn't know its position in the turn yet
+    static final int UNKNOWN_POSITION = -1;
+
+    // Players of the round, in turn order
+    final int numberPlayers;
+    // Position of the seat in the turn, or UNKNOWN_POSITION
+    final int position;
+    // Cards dealt to every player for this round
+    final int numberRound;
+    // CardSet of the hand of the seat
+    final int hand;
+    // CardSet of the cards the other players may hold
+    final int unseen;
+    // Values of the cards already played in the current trick, in turn order
+    final int[] table;
+    final int bet;
+    final int tricks;
+
+    /**
+     * \brief Constructor RoundObservation
+     * RoundObservation(int numberPlayers, int position, int numberRound, int hand,
+     * int unseen, int[] table, int bet, int tricks): create the observation, table
+     * is kept as it is.
+     * \param int numberPlayers, int position, int numberRound, int hand, int unseen,
+     * int[] table, int bet, int tricks
+     */
+    RoundObservation(int numberPlayers, int position, int numberRound, int hand, int unseen, int[] table,
+            int bet, int tricks) {
+        this.numberPlayers = numberPlayers;
+        this.position = position;
+        this.numberRound = numberRound;
+        this.hand = hand;
+        this.unseen = unseen;
+        this.table = table;
+        this.bet = bet;
+        this.tricks = tricks;
+    }
+}
@@ -0,0 +1,360 @@
+package ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import deck.Card;
+import deck.CardSet;
+import deck.DealRanking;
+
+/**
+ * \brief Tablebase of the small rounds
+ *
+ * Tablebase : The exact result of every deal of the rounds of 1 and 2 cards,
+ * for 3 to PLAYERS_MAX players: for every seat and every bet it could take, the
+ * life points it loses when it plays its best and the other seats play against
+ * it, as computed by the TrickSolver.
+ *
+ * Only the order of the cards dealt matters, so a deal is first relabelled:
+ * its cards become 1, 2, 3... in the same order, the Fool staying the Fool.
+ * The relabelled deal is then numbered by which hand holds every card. The
+ * first player leads every trick, so turning the seats around the table
+ * changes the result and is not used.
+ *
+ * Every deal takes one int, 2 bits per seat and bet. A tablebase loaded from a
+ * file maps it and reads the ints in place.
+ */
+public final class Tablebase {
+
+    /// Players and cards of the tablebase
+    public static final int PLAYERS_MIN = 3;
+    public static final int PLAYERS_MAX = 5;
+    public static final int CARDS_MAX = 2;
+    /// File the bots load the tablebase from, at the root of the project
+    public static final Path FILE = Path.of("tablebase.bin");
+
+    // First int of a file
+    private static final int MAGIC = 0x54424153;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    // Bits of the loss of one seat for one bet
+    private static final int LOSS_BITS = 2;
+    private static final int LOSS_MASK = (1 << LOSS_BITS) - 1;
+
+    // Number of deals a worker solves without splitting its range again
+    private static final int DEALS_PER_TASK = 256;
+
+    private final ByteBuffer ints;
+    private final int playersMin;
+    private final int playersMax;
+    // OFFSETS[numberPlayers][numberCards]: first int of these deals, without then with the Fool
+    private final int[][] offsets = new int[PLAYERS_MAX + 1][CARDS_MAX + 1];
+
+    private Tablebase(ByteBuffer ints, int playersMin, int playersMax) {
+        this.ints = ints;
+        this.playersMin = playersMin;
+        this.playersMax = playersMax;
+        int offset = 0;
+        for (int numberPlayers = playersMin; numberPlayers <= playersMax; numberPlayers++) {
+            for (int numberCards = 1; numberCards <= CARDS_MAX; numberCards++) {
+                offsets[numberPlayers][numberCards] = offset;
+                offset += 2 * numberDeals(numberPlayers, numberCards);
+            }
+        }
+    }
+
+    /**
+     * \brief Build a tablebase
+     * build(int playersMin, int playersMax, int parallelism) : Solve every deal of
+     * playersMin to playersMax players on parallelism threads.
+     * \param int playersMin, int playersMax, int parallelism
+     * \return Tablebase
+     */
+    public static Tablebase build(int playersMin, int playersMax, int parallelism) {
+        checkPlayers(playersMin, playersMax);
+        int numberInts = numberInts(playersMin, playersMax);
+        int[] entries = new int[numberInts];
+        Tablebase layout = new Tablebase(null, playersMin, playersMax);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int numberPlayers = playersMin; numberPlayers <= playersMax; numberPlayers++) {
+                for (int numberCards = 1; numberCards <= CARDS_MAX; numberCards++) {
+                    int numberDeals = numberDeals(numberPlayers, numberCards);
+                    for (int fool = 0; fool < 2; fool++) {
+                        int offset = layout.offsets[numberPlayers][numberCards] + fool * numberDeals;
+                        pool.invoke(new DealsTask(entries, offset, numberPlayers, numberCards, fool == 1, 0,
+                                numberDeals));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        ByteBuffer ints = ByteBuffer.allocate(HEADER_BYTES + Integer.BYTES * numberInts);
+        ints.putInt(MAGIC).putInt(playersMin).putInt(playersMax);
+        ints.asIntBuffer().put(entries);
+        return new Tablebase(ints.clear(), playersMin, playersMax);
+    }
+
+    /**
+     * \brief Load a tablebase
+     * load(Path path) : Map the tablebase saved at path.
+     * \param Path path
+     * \return Tablebase
+     */
+    public static Tablebase load(Path path) throws IOException {
+        ByteBuffer ints;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ints = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (ints.capacity() < HEADER_BYTES || ints.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a tablebase.");
+        }
+        int playersMin = ints.getInt(Integer.BYTES);
+        int playersMax = ints.getInt(2 * Integer.BYTES);
+        if (playersMin < PLAYERS_MIN || playersMax > PLAYERS_MAX || playersMin > playersMax
+                || ints.capacity() != HEADER_BYTES + (long) Integer.BYTES * numberInts(playersMin, playersMax)) {
+            throw new IOException(path + " is not a tablebase.");
+        }
+        return new Tablebase(ints, playersMin, playersMax);
+    }
+
+    /**
+     * \brief Load a tablebase
+     * loadIfPresent(Path path) : Map the tablebase saved at path, or return null
+     * if there is none.
+     * \param Path path
+     * \return Tablebase
+     */
+    public static Tablebase loadIfPresent(Path path) throws IOException {
+        return Files.exists(path) ? load(path) : null;
+    }
+
+    /**
+     * \brief Save the tablebase
+     * save(Path path) : Save the tablebase at path, first next to it then moved
+     * over it.
+     * \param Path path
+     */
+    public void save(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer content = ints.duplicate().clear();
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * \brief Round in the tablebase
+     * contains(int numberPlayers, int numberCards) : Return true if the deals of
+     * numberPlayers players and numberCards cards are in the tablebase.
+     * \param int numberPlayers, int numberCards
+     * \return boolean
+     */
+    public boolean contains(int numberPlayers, int numberCards) {
+        return numberPlayers >= playersMin && numberPlayers <= playersMax && numberCards >= 1
+                && numberCards <= CARDS_MAX;
+    }
+
+    /**
+     * \brief Life points lost
+     * loss(int[] hands, int seat, int bet) : Return the life points the player
+     * number seat loses with the bet bet, hands holding the CardSet of every
+     * player in turn order.
+     * \param int[] hands, int seat, int bet
+     * \return int
+     */
+    public int loss(int[] hands, int seat, int bet) {
+        return loss(hands, hands.length, seat, bet);
+    }
+
+    /**
+     * \brief Life points lost
+     * loss(int[] hands, int numberPlayers, int seat, int bet) : Return the life
+     * points the player number seat loses with the bet bet, the numberPlayers
+     * first CardSets of hands being the hands in turn order.
+     * \param int[] hands, int numberPlayers, int seat, int bet
+     * \return int
+     */
+    int loss(int[] hands, int numberPlayers, int seat, int bet) {
+        int numberCards = CardSet.size(hands[0]);
+        if (!contains(numberPlayers, numberCards) || seat < 0 || seat >= numberPlayers || bet < 0
+                || bet > numberCards) {
+            throw new IllegalArgumentException("The tablebase holds the rounds of 1 to " + CARDS_MAX
+                    + " cards between " + playersMin + " and " + playersMax + " players.");
+        }
+        int entry = ints.getInt(HEADER_BYTES + Integer.BYTES * index(hands, numberPlayers, numberCards));
+        return (entry >>> (LOSS_BITS * (seat * (numberCards + 1) + bet))) & LOSS_MASK;
+    }
+
+    /**
+     * \brief Index of a deal
+     * index(int[] hands, int numberPlayers, int numberCards) : Return the int of the
+     * relabelled deal.
+     * \param int[] hands, int numberPlayers, int numberCards
+     * \return int
+     */
+    private int index(int[] hands, int numberPlayers, int numberCards) {
+        int dealt = CardSet.EMPTY;
+        for (int i = 0; i < numberPlayers; i++) {
+            int hand = hands[i];
+            if (CardSet.size(hand) != numberCards || (hand & ~CardSet.FULL) != 0 || (dealt & hand) != 0) {
+                throw new IllegalArgumentException("Every player must hold as many cards, all different.");
+            }
+            dealt |= hand;
+        }
+        boolean fool = CardSet.contains(dealt, Card.MAX_VALUE);
+        // The hands as sets of ranks among the cards dealt: the rank of a card is the
+        // number of cards dealt below it
+        int rest = (1 << (numberPlayers * numberCards)) - 1;
+        int index = 0;
+        int radix = 1;
+        for (int i = 0; i < numberPlayers - 1; i++) {
+            int ranks = Integer.compress(hands[i], dealt);
+            index += radix * DealRanking.rankSubset(Integer.compress(ranks, rest));
+            radix *= DealRanking.binomial(Integer.bitCount(rest), numberCards);
+            rest &= ~ranks;
+        }
+        int numberDeals = numberDeals(numberPlayers, numberCards);
+        return offsets[numberPlayers][numberCards] + (fool ? numberDeals : 0) + index;
+    }
+
+    /**
+     * \brief Number of deals
+     * numberDeals(int numberPlayers, int numberCards) : Return the number of
+     * relabelled deals, with or without the Fool.
+     * \param int numberPlayers, int numberCards
+     * \return int
+     */
+    private static int numberDeals(int numberPlayers, int numberCards) {
+        int deals = 1;
+        for (int left = numberPlayers * numberCards; left > 0; left -= numberCards) {
+            deals *= DealRanking.binomial(left, numberCards);
+        }
+        return deals;
+    }
+
+    private static int numberInts(int playersMin, int playersMax) {
+        int numberInts = 0;
+        for (int numberPlayers = playersMin; numberPlayers <= playersMax; numberPlayers++) {
+            for (int numberCards = 1; numberCards <= CARDS_MAX; numberCards++) {
+                numberInts += 2 * numberDeals(numberPlayers, numberCards);
+            }
+        }
+        return numberInts;
+    }
+
+    private static void checkPlayers(int playersMin, int playersMax) {
+        if (playersMin < PLAYERS_MIN || playersMax > PLAYERS_MAX || playersMin > playersMax) {
+            throw new IllegalArgumentException("The tablebase holds " + PLAYERS_MIN + " to " + PLAYERS_MAX
+                    + " players.");
+        }
+    }
+
+    /**
+     * \brief Range of deals
+     *
+     * DealsTask : Solve the relabelled deals first (included) to last (excluded)
+     * of numberPlayers players and numberCards cards. The range is split in two
+     * while it is larger than DEALS_PER_TASK.
+     */
+    @SuppressWarnings("serial")
+    private static final class DealsTask extends RecursiveAction {
+
+        private final int[] entries;
+        private final int offset;
+        private final int numberPlayers;
+        private final int numberCards;
+        private final boolean fool;
+        private final int first;
+        private final int last;
+
+        DealsTask(int[] entries, int offset, int numberPlayers, int numberCards, boolean fool, int first,
+                int last) {
+            this.entries = entries;
+            this.offset = offset;
+            this.numberPlayers = numberPlayers;
+            this.numberCards = numberCards;
+            this.fool = fool;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > DEALS_PER_TASK) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new DealsTask(entries, offset, numberPlayers, numberCards, fool, first, middle),
+                        new DealsTask(entries, offset, numberPlayers, numberCards, fool, middle, last));
+                return;
+            }
+            TrickSolver solver = new TrickSolver(8);
+            int[] hands = new int[numberPlayers];
+            int[] bets = new int[numberPlayers];
+            for (int index = first; index < last; index++) {
+                deal(index, hands);
+                int entry = 0;
+                for (int seat = 0; seat < numberPlayers; seat++) {
+                    for (int bet = 0; bet <= numberCards; bet++) {
+                        bets[seat] = bet;
+                        int loss = solver.solve(hands, bets, seat).getLoss();
+                        entry |= loss << (LOSS_BITS * (seat * (numberCards + 1) + bet));
+                    }
+                    bets[seat] = 0;
+                }
+                entries[offset + index] = entry;
+            }
+        }
+
+        /**
+         * \brief Deal of an index
+         * deal(int index, int[] hands) : Fill hands with the relabelled deal index,
+         * the cards being 1, 2, 3... and the highest one the Fool if fool is set.
+         * \param int index, int[] hands
+         */
+        private void deal(int index, int[] hands) {
+            int numberDealt = numberPlayers * numberCards;
+            int rest = (1 << numberDealt) - 1;
+            for (int i = 0; i < numberPlayers - 1; i++) {
+                int radix = DealRanking.binomial(Integer.bitCount(rest), numberCards);
+                int ranks = Integer.expand(DealRanking.unrankSubset(index % radix, numberCards), rest);
+                index /= radix;
+                hands[i] = ranks;
+                rest &= ~ranks;
+            }
+            hands[numberPlayers - 1] = rest;
+            for (int i = 0; i < numberPlayers; i++) {
+                // The rank r becomes the card r + 1, the highest one the Fool
+                int cards = hands[i] << 1;
+                if (fool && CardSet.contains(cards, numberDealt)) {
+                    cards = CardSet.add(CardSet.remove(cards, numberDealt), Card.MAX_VALUE);
+                }
+                hands[i] = cards;
+            }
+        }
+    }
+
+    /**
+     * \brief Build a tablebase
+     * main(String[] args) : Build the tablebase of PLAYERS_MIN to PLAYERS_MAX
+     * players on every core and save it at args[0], FILE by default.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Path.of(args[0]) : FILE;
+        long start = System.nanoTime();
+        Tablebase tablebase = build(PLAYERS_MIN, PLAYERS_MAX, Runtime.getRuntime().availableProcessors());
+        tablebase.save(path);
+        System.out.printf("Tablebase built in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+}
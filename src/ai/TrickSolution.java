@@ -0,0 +1,101 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * \brief Solution of the trick phase
+ *
+ * TrickSolution : Result of the TrickSolver for one seat: the life points it
+ * loses at worst with its best play, the cards played along the best line and
+ * the number of tricks every seat wins at the end of this line.
+ */
+public final class TrickSolution {
+
+    private final int loss;
+    private final int[] play;
+    private final int[] foolValues;
+    private final int[] tricks;
+
+    /**
+     * \brief Constructor TrickSolution
+     * TrickSolution(int loss, int[] play, int[] foolValues, int[] tricks): create
+     * the solution, the arrays are kept as they are.
+     * \param int loss, int[] play, int[] foolValues, int[] tricks
+     */
+    TrickSolution(int loss, int[] play, int[] foolValues, int[] tricks) {
+        this.loss = loss;
+        this.play = play;
+        this.foolValues = foolValues;
+        this.tricks = tricks;
+    }
+
+    /**
+     * \brief Getter loss
+     * getLoss() : Return the life points the seat loses at worst when it plays
+     * the best it can, the difference between its bet and its tricks.
+     * \return int
+     */
+    public int getLoss() {
+        return this.loss;
+    }
+
+    /**
+     * \brief Card of the best line
+     * getCard(int trick, int position) : Return the value of the card played by
+     * the player number position in the trick number trick of the best line.
+     * \param int trick, int position
+     * \return int
+     */
+    public int getCard(int trick, int position) {
+        return this.play[trick * this.tricks.length + position];
+    }
+
+    /**
+     * \brief Best line
+     * getPlay() : Return the values of every card of the best line, in the order
+     * they are played.
+     * \return int[]
+     */
+    public int[] getPlay() {
+        return this.play.clone();
+    }
+
+    /**
+     * \brief Value of the Fool
+     * getFoolValue(int trick) : Return the value given to the Fool in the trick
+     * number trick of the best line, -1 if the Fool isn't played in it.
+     * \param int trick
+     * \return int
+     */
+    public int getFoolValue(int trick) {
+        return this.foolValues[trick];
+    }
+
+    /**
+     * \brief Tricks of a seat
+     * getTricks(int position) : Return the tricks won by the player number
+     * position at the end of the best line.
+     * \param int position
+     * \return int
+     */
+    public int getTricks(int position) {
+        return this.tricks[position];
+    }
+
+    /**
+     * \brief toString
+     *
+     * toString() : Return the string representation of a TrickSolution.
+     * \return String
+     */
+    public String toString() {
+        StringBuilder result = new StringBuilder("Loss: " + this.loss + "\n");
+        for (int trick = 0; trick < this.foolValues.length; trick++) {
+            result.append("Trick " + trick + ": " + Arrays.toString(
+                    Arrays.copyOfRange(this.play, trick * this.tricks.length, (trick + 1) * this.tricks.length))
+                    + "\n");
+        }
+        result.append("Tricks: " + Arrays.toString(this.tricks));
+        return result.toString();
+    }
+}
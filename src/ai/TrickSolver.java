@@ -0,0 +1,407 @@
+package ai;
+
+import java.util.Arrays;
+
+import deck.Card;
+import deck.CardSet;
+import deck.DealSource;
+
+/**
+ * \brief Solver of the trick phase
+ *
+ * TrickSolver : Solve the tricks of a round once the bets are taken, every hand
+ * being known. The players play in the same order for every trick of a round,
+ * the highest card wins the trick and the player of the Fool gives it its value
+ * once every card is on the table.
+ *
+ * The game has more than two players, so the solver searches for one seat at a
+ * time: this seat plays to lose the fewest life points and every other seat
+ * plays against it. The search is an alpha-beta on the cards, played and taken
+ * back in the same arrays. At the start of every trick, the result is kept in a
+ * transposition table keyed by a Zobrist hash of the cards left in every hand,
+ * the seat searched for and the tricks it still needs: the order of play never
+ * changes during a round, and the losses of the seat only depend on its own
+ * tricks.
+ *
+ * A solver keeps its table between two searches and must only be used by one
+ * thread at a time.
+ */
+public final class TrickSolver {
+
+    /// Default number of bits of the size of the transposition table
+    public static final int DEFAULT_TABLE_BITS = 16;
+    /// Maximum number of players, every player holding at least one card
+    public static final int PLAYERS_MAX = Card.MAX_VALUE;
+
+    private static final int NO_FOOL = -1;
+    private static final int INFINITY = 100;
+
+    // Kind of result kept in the table
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+
+    // Zobrist keys of every card in the hand of every position
+    private static final long[][] CARD_KEYS = new long[PLAYERS_MAX][Card.MAX_VALUE + 1];
+
+    static {
+        long seed = 0x5eedL;
+        for (long[] positionKeys : CARD_KEYS) {
+            for (int card = 0; card < positionKeys.length; card++) {
+                seed += 0x9e3779b97f4a7c15L;
+                positionKeys[card] = DealSource.mix(seed);
+            }
+        }
+    }
+
+    // Transposition table
+    private final long[] keys;
+    private final byte[] values;
+    private final byte[] bounds;
+    private final int tableMask;
+
+    // State of the search, indexed by position in turn order
+    private int numberPlayers;
+    private int seat;
+    private int[] hands;
+    private int[] bets;
+    private int[] tricks;
+    // Cards on the table and position of the Fool, for every trick
+    private int[][] tables;
+    private int[] foolPositions;
+    // Number of the trick being played
+    private int depth;
+    private long hash;
+    // Part of the key given by the seat searched for
+    private long seatKey;
+    private long nodes;
+
+    /**
+     * \brief Constructor TrickSolver
+     * TrickSolver(): create a solver with the default transposition table.
+     */
+    public TrickSolver() {
+        this(DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * \brief Constructor TrickSolver
+     * TrickSolver(int tableBits): create a solver with a transposition table of
+     * 2^tableBits entries.
+     * \param int tableBits
+     */
+    public TrickSolver(int tableBits) {
+        if (tableBits < 1 || tableBits > 28) {
+            throw new IllegalArgumentException("The table must have between 2^1 and 2^28 entries.");
+        }
+        int size = 1 << tableBits;
+        this.keys = new long[size];
+        this.values = new byte[size];
+        this.bounds = new byte[size];
+        this.tableMask = size - 1;
+    }
+
+    /**
+     * \brief Solve the tricks
+     * solve(int[] hands, int[] bets, int seat) : Return the best play of the
+     * player number seat and the tricks of every seat along it. hands holds the
+     * CardSet of every player in turn order, the first one leading every trick,
+     * and bets their bets.
+     * \param int[] hands, int[] bets, int seat
+     * \return TrickSolution
+     */
+    public TrickSolution solve(int[] hands, int[] bets, int seat) {
+        start(hands, bets, seat);
+        int numberTricks = CardSet.size(hands[0]);
+        int[] play = new int[numberTricks * numberPlayers];
+        int[] foolValues = new int[numberTricks];
+        int value = search(0, -INFINITY, INFINITY);
+
+        // Follow the best line: the first card which keeps the value of the round,
+        // checked with a null window around it
+        for (int trick = 0; trick < numberTricks; trick++) {
+            for (int position = 0; position < numberPlayers; position++) {
+                int best = 0;
+                for (int cards = this.hands[position]; cards != 0 && best == 0; cards &= cards - 1) {
+                    int card = Integer.numberOfTrailingZeros(cards);
+                    play(position, card);
+                    if (keepsValue(position == seat, search(position + 1, value - 1, value + 1), value)) {
+                        best = card;
+                    }
+                    unplay(position, card);
+                }
+                play(position, best);
+                play[trick * numberPlayers + position] = best;
+            }
+            foolValues[trick] = NO_FOOL;
+            int winner = winner(Card.MAX_VALUE);
+            int foolPosition = foolPositions[depth];
+            if (foolPosition != NO_FOOL) {
+                int winnerLow = winner(0);
+                boolean high = keepsValue(foolPosition == seat, nextTrick(winner, value - 1, value + 1), value);
+                foolValues[trick] = high ? Card.MAX_VALUE : 0;
+                winner = high ? winner : winnerLow;
+            }
+            endTrick(winner);
+        }
+        return new TrickSolution(-value, play, foolValues, this.tricks.clone());
+    }
+
+    /**
+     * \brief Keeps the value
+     * keepsValue(boolean maximize, int value, int expected) : Return true if a
+     * move whose value was searched around expected reaches it, for the seat
+     * maximizing or for the others minimizing.
+     * \param boolean maximize, int value, int expected
+     * \return boolean
+     */
+    private static boolean keepsValue(boolean maximize, int value, int expected) {
+        return maximize ? value >= expected : value <= expected;
+    }
+
+    /**
+     * \brief Nodes searched
+     * getNodes() : Return the number of positions searched since the solver was
+     * created.
+     * \return long
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * \brief Clear the table
+     * clear() : Forget every result of the transposition table.
+     */
+    public void clear() {
+        Arrays.fill(this.keys, 0);
+    }
+
+    /**
+     * \brief Start a search
+     * start(int[] hands, int[] bets, int seat) : Check the round and copy it in
+     * the state of the search.
+     * \param int[] hands, int[] bets, int seat
+     */
+    private void start(int[] hands, int[] bets, int seat) {
+        if (hands.length < 2 || hands.length > PLAYERS_MAX || hands.length != bets.length
+                || seat < 0 || seat >= hands.length) {
+            throw new IllegalArgumentException("Every player needs a hand and a bet, and seat must be one of them.");
+        }
+        int allCards = 0;
+        for (int hand : hands) {
+            if (CardSet.size(hand) != CardSet.size(hands[0]) || (hand & ~CardSet.FULL) != 0
+                    || (allCards & hand) != 0) {
+                throw new IllegalArgumentException("Every player must hold as many cards, all different.");
+            }
+            allCards |= hand;
+        }
+        if (CardSet.size(hands[0]) == 0) {
+            throw new IllegalArgumentException("The players must hold at least one card.");
+        }
+        this.numberPlayers = hands.length;
+        this.seat = seat;
+        this.hands = hands.clone();
+        this.bets = bets.clone();
+        this.tricks = new int[numberPlayers];
+        this.tables = new int[CardSet.size(hands[0]) + 1][numberPlayers];
+        this.foolPositions = new int[CardSet.size(hands[0]) + 1];
+        Arrays.fill(this.foolPositions, NO_FOOL);
+        this.depth = 0;
+        this.hash = 0;
+        for (int position = 0; position < numberPlayers; position++) {
+            for (int cards = hands[position]; cards != 0; cards &= cards - 1) {
+                this.hash ^= CARD_KEYS[position][Integer.numberOfTrailingZeros(cards)];
+            }
+        }
+        this.seatKey = DealSource.mix(~(long) seat);
+    }
+
+    /**
+     * \brief Alpha-beta search
+     * search(int position, int alpha, int beta) : Return the value for the seat,
+     * minus the life points it loses, when the player number position plays next.
+     * Once every player played, the trick is over.
+     * \param int position, int alpha, int beta
+     * \return int
+     */
+    private int search(int position, int alpha, int beta) {
+        nodes += 1;
+        if (position == numberPlayers) {
+            return endOfTrick(alpha, beta);
+        }
+
+        boolean maximize = position == seat;
+        int best = maximize ? -INFINITY : INFINITY;
+        // Cards of the others and on the table, to skip the cards equal to the previous one
+        int others = 0;
+        for (int i = 0; i < numberPlayers; i++) {
+            others |= i == position ? 0 : hands[i];
+            others |= i < position ? CardSet.of(tables[depth][i]) : 0;
+        }
+        int previous = 0;
+        for (int cards = hands[position]; cards != 0; cards &= cards - 1) {
+            int card = Integer.numberOfTrailingZeros(cards);
+            // Two cards with no card of anybody else between them lead to the same results
+            if (previous != 0 && card != Card.MAX_VALUE
+                    && (others & CardSet.above(CardSet.below(CardSet.FULL, card), previous)) == 0) {
+                previous = card;
+                continue;
+            }
+            previous = card;
+            play(position, card);
+            int value = search(position + 1, alpha, beta);
+            unplay(position, card);
+            if (maximize) {
+                best = Math.max(best, value);
+                alpha = Math.max(alpha, value);
+            } else {
+                best = Math.min(best, value);
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * \brief End of a trick
+     * endOfTrick(int alpha, int beta) : Give the trick to its winner and search
+     * the next one. The player of the Fool chooses its value first.
+     * \param int alpha, int beta
+     * \return int
+     */
+    private int endOfTrick(int alpha, int beta) {
+        int winnerHigh = winner(Card.MAX_VALUE);
+        int foolPosition = foolPositions[depth];
+        if (foolPosition == NO_FOOL) {
+            return nextTrick(winnerHigh, alpha, beta);
+        }
+        int winnerLow = winner(0);
+        int high = nextTrick(winnerHigh, alpha, beta);
+        if (foolPosition == seat) {
+            return high >= beta ? high : Math.max(high, nextTrick(winnerLow, Math.max(alpha, high), beta));
+        }
+        return high <= alpha ? high : Math.min(high, nextTrick(winnerLow, alpha, Math.min(beta, high)));
+    }
+
+    /**
+     * \brief Next trick
+     * nextTrick(int winner, int alpha, int beta) : Give the trick to the player
+     * number winner and search the rest of the round from the table.
+     * \param int winner, int alpha, int beta
+     * \return int
+     */
+    private int nextTrick(int winner, int alpha, int beta) {
+        tricks[winner] += 1;
+        depth += 1;
+        int value;
+        if (hands[0] == 0) {
+            value = -Math.abs(bets[seat] - tricks[seat]);
+        } else {
+            value = searchTrick(alpha, beta);
+        }
+        depth -= 1;
+        tricks[winner] -= 1;
+        return value;
+    }
+
+    /**
+     * \brief Search a trick
+     * searchTrick(int alpha, int beta) : Search the rest of the round from the
+     * start of a trick, using the transposition table.
+     * \param int alpha, int beta
+     * \return int
+     */
+    private int searchTrick(int alpha, int beta) {
+        // The tricks left only move the tricks of the seat between these bounds
+        int tricksLeft = CardSet.size(hands[0]);
+        int lowest = bets[seat] - tricks[seat];
+        int bestValue = -Math.max(0, Math.max(lowest - tricksLeft, -lowest));
+        int worstValue = -Math.max(Math.abs(lowest), Math.abs(lowest - tricksLeft));
+        if (bestValue <= alpha || bestValue == worstValue) {
+            return bestValue;
+        }
+        if (worstValue >= beta) {
+            return worstValue;
+        }
+
+        long key = hash ^ DealSource.mix(seatKey + lowest);
+        int index = (int) key & tableMask;
+        if (keys[index] == key) {
+            int value = values[index];
+            int bound = bounds[index];
+            if (bound == EXACT || (bound == LOWER && value >= beta) || (bound == UPPER && value <= alpha)) {
+                return value;
+            }
+        }
+
+        int value = search(0, alpha, beta);
+        keys[index] = key;
+        values[index] = (byte) value;
+        bounds[index] = (byte) (value <= alpha ? UPPER : value >= beta ? LOWER : EXACT);
+        return value;
+    }
+
+    /**
+     * \brief Winner of the trick
+     * winner(int foolValue) : Return the position of the highest card on the
+     * table, the Fool having the value foolValue.
+     * \param int foolValue
+     * \return int
+     */
+    private int winner(int foolValue) {
+        int winner = 0;
+        int highest = -1;
+        int[] table = tables[depth];
+        for (int position = 0; position < numberPlayers; position++) {
+            int value = table[position] == Card.MAX_VALUE ? foolValue : table[position];
+            if (value > highest) {
+                highest = value;
+                winner = position;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * \brief Play a card
+     * play(int position, int card) : The player number position plays card.
+     * \param int position, int card
+     */
+    private void play(int position, int card) {
+        hands[position] = CardSet.remove(hands[position], card);
+        tables[depth][position] = card;
+        hash ^= CARD_KEYS[position][card];
+        if (card == Card.MAX_VALUE) {
+            foolPositions[depth] = position;
+        }
+    }
+
+    /**
+     * \brief Take back a card
+     * unplay(int position, int card) : The player number position takes back
+     * card in their hand.
+     * \param int position, int card
+     */
+    private void unplay(int position, int card) {
+        hands[position] = CardSet.add(hands[position], card);
+        tables[depth][position] = 0;
+        hash ^= CARD_KEYS[position][card];
+        if (card == Card.MAX_VALUE) {
+            foolPositions[depth] = NO_FOOL;
+        }
+    }
+
+    /**
+     * \brief End a trick of the best line
+     * endTrick(int winner) : Give the trick to winner and go to the next one.
+     * \param int winner
+     */
+    private void endTrick(int winner) {
+        tricks[winner] += 1;
+        depth += 1;
+    }
+}
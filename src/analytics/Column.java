@@ -0,0 +1,28 @@
+package analytics;
+
+/**
+ * \brief Columns of the round rows
+ *
+ * Column : One row is written for every player alive in every round of a
+ * game. Every column holds one int per row.
+ */
+public enum Column {
+    /// Number of the game in its tournament
+    GAME,
+    /// Index of the round in its game, counted from 0
+    ROUND,
+    /// Number of cards dealt in the round
+    NUMBER_CARDS,
+    /// Seat of the player
+    SEAT,
+    /// Turn of the player in the round, 0 for the player beginning it
+    POSITION,
+    /// Number of tricks bet, 1 or 0 for a call of the blind round
+    BET,
+    /// Number of tricks won
+    TRICKS,
+    /// Life points lost at the end of the round
+    LIFE_LOST,
+    /// Cards dealt to the player, as a CardSet
+    CARDS
+}
@@ -0,0 +1,92 @@
+package analytics;
+
+import java.util.Arrays;
+
+/**
+ * \brief Rows held in memory
+ *
+ * ColumnBatch : Rows stored column by column, one array of ints per Column,
+ * growing as rows are added.
+ */
+public final class ColumnBatch {
+
+    private static final Column[] COLUMNS = Column.values();
+
+    private final int[][] values;
+    private int size;
+
+    /**
+     * \brief Constructor ColumnBatch
+     * ColumnBatch(int capacity): create an empty batch with room for capacity
+     * rows.
+     * \param int capacity
+     */
+    public ColumnBatch(int capacity) {
+        this.values = new int[COLUMNS.length][Math.max(capacity, 1)];
+        this.size = 0;
+    }
+
+    /**
+     * \brief Add a row
+     * addRow() : Add a row whose values are all 0 and return its index.
+     * \return int
+     */
+    public int addRow() {
+        if (size == values[0].length) {
+            for (int column = 0; column < values.length; column++) {
+                values[column] = Arrays.copyOf(values[column], 2 * size);
+            }
+        }
+        for (int[] column : values) {
+            column[size] = 0;
+        }
+        return size++;
+    }
+
+    /**
+     * \brief Setter value
+     * set(int row, Column column, int value) : Write value in column of row.
+     * \param int row, Column column, int value
+     */
+    public void set(int row, Column column, int value) {
+        values[column.ordinal()][row] = value;
+    }
+
+    /**
+     * \brief Getter value
+     * get(int row, Column column) : Return the value of column in row.
+     * \param int row, Column column
+     * \return int
+     */
+    public int get(int row, Column column) {
+        return values[column.ordinal()][row];
+    }
+
+    /**
+     * \brief Values of a column
+     * values(Column column) : Return the array holding the values of column, only
+     * valid up to size() and until the next row is added.
+     * \param Column column
+     * \return int[]
+     */
+    public int[] values(Column column) {
+        return values[column.ordinal()];
+    }
+
+    /**
+     * \brief Getter size
+     * size() : Return the number of rows.
+     * \return int
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * \brief Remove every row
+     * clear() : Remove every row, keeping the arrays.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+}
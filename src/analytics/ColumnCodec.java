@@ -0,0 +1,268 @@
+package analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * \brief Encoding of the values of a column
+ *
+ * ColumnCodec : Write and read the values of one column of a batch with an
+ * Encoding. The decoding loops only read primitives, a column of a batch of
+ * 65536 rows is decoded in tens of microseconds.
+ */
+final class ColumnCodec {
+
+    /// Most distinct values of a dictionary
+    static final int MAX_DICTIONARY = 256;
+
+    // Slots of the hash table counting the distinct values, twice the dictionary
+    private static final int SLOTS = 2 * MAX_DICTIONARY;
+
+    // Distinct values of the last column examined, sorted
+    private final int[] dictionary;
+    private int dictionarySize;
+    private final int[] slotKeys;
+    private final boolean[] slotUsed;
+
+    ColumnCodec() {
+        this.dictionary = new int[MAX_DICTIONARY];
+        this.slotKeys = new int[SLOTS];
+        this.slotUsed = new boolean[SLOTS];
+    }
+
+    /**
+     * \brief Encode a column
+     * encode(int[] values, int size, ByteBuffer out) : Write the first size
+     * values with the shortest encoding, preceded by its ordinal on one byte, and
+     * return the encoding. out needs room for maxBytes(size) bytes.
+     * \param int[] values, int size, ByteBuffer out
+     * \return Encoding
+     */
+    Encoding encode(int[] values, int size, ByteBuffer out) {
+        long plain = (long) Integer.BYTES * size;
+        long delta = deltaBytes(values, size);
+        long dictionaryBytes = findDictionary(values, size) ? dictionaryBytes(size) : Long.MAX_VALUE;
+        Encoding encoding;
+        if (dictionaryBytes <= delta && dictionaryBytes <= plain) {
+            encoding = Encoding.DICTIONARY;
+        } else if (delta < plain) {
+            encoding = Encoding.DELTA;
+        } else {
+            encoding = Encoding.PLAIN;
+        }
+        out.put((byte) encoding.ordinal());
+        switch (encoding) {
+            case PLAIN -> {
+                for (int i = 0; i < size; i++) {
+                    out.putInt(values[i]);
+                }
+            }
+            case DELTA -> encodeDelta(values, size, out);
+            case DICTIONARY -> encodeDictionary(values, size, out);
+        }
+        return encoding;
+    }
+
+    /**
+     * \brief Longest encoding
+     * maxBytes(int size) : Return the most bytes encode writes for size values.
+     * \param int size
+     * \return int
+     */
+    static int maxBytes(int size) {
+        return 1 + Integer.BYTES * size;
+    }
+
+    /**
+     * \brief Decode a column
+     * decode(ByteBuffer in, int size, int[] values) : Read size values written by
+     * encode, from the position of in, into values.
+     * \param ByteBuffer in, int size, int[] values
+     */
+    static void decode(ByteBuffer in, int size, int[] values) {
+        int ordinal = in.get();
+        if (ordinal < 0 || ordinal >= Encoding.values().length) {
+            throw new IllegalStateException("Unknown encoding " + ordinal + ".");
+        }
+        switch (Encoding.values()[ordinal]) {
+            case PLAIN -> {
+                for (int i = 0; i < size; i++) {
+                    values[i] = in.getInt();
+                }
+            }
+            case DELTA -> decodeDelta(in, size, values);
+            case DICTIONARY -> decodeDictionary(in, size, values);
+        }
+    }
+
+    /**
+     * \brief Encoding of a column
+     * encodingOf(ByteBuffer in) : Return the encoding of the column written at
+     * the position of in.
+     * \param ByteBuffer in
+     * \return Encoding
+     */
+    static Encoding encodingOf(ByteBuffer in) {
+        return Encoding.values()[in.get(in.position())];
+    }
+
+    private static long deltaBytes(int[] values, int size) {
+        if (size == 0) {
+            return 0;
+        }
+        long bytes = Integer.BYTES;
+        for (int i = 1; i < size; i++) {
+            bytes += varintBytes(zigzag(values[i] - values[i - 1]));
+        }
+        return bytes;
+    }
+
+    private static void encodeDelta(int[] values, int size, ByteBuffer out) {
+        if (size == 0) {
+            return;
+        }
+        out.putInt(values[0]);
+        for (int i = 1; i < size; i++) {
+            int value = zigzag(values[i] - values[i - 1]);
+            while ((value & ~0x7f) != 0) {
+                out.put((byte) (value | 0x80));
+                value >>>= 7;
+            }
+            out.put((byte) value);
+        }
+    }
+
+    private static void decodeDelta(ByteBuffer in, int size, int[] values) {
+        if (size == 0) {
+            return;
+        }
+        int previous = in.getInt();
+        values[0] = previous;
+        for (int i = 1; i < size; i++) {
+            int value = 0;
+            int current;
+            int shift = 0;
+            do {
+                current = in.get();
+                value |= (current & 0x7f) << shift;
+                shift += 7;
+            } while (current < 0);
+            // Differences overflow and wrap around, the sum wraps back
+            previous += (value >>> 1) ^ -(value & 1);
+            values[i] = previous;
+        }
+    }
+
+    /**
+     * \brief Distinct values
+     * findDictionary(int[] values, int size) : Fill the dictionary with the
+     * distinct values, sorted, and return true, or return false if there are more
+     * than MAX_DICTIONARY of them.
+     * \param int[] values, int size
+     * \return boolean
+     */
+    private boolean findDictionary(int[] values, int size) {
+        Arrays.fill(slotUsed, false);
+        dictionarySize = 0;
+        for (int i = 0; i < size; i++) {
+            int slot = slotOf(values[i]);
+            if (!slotUsed[slot]) {
+                if (dictionarySize == MAX_DICTIONARY) {
+                    return false;
+                }
+                slotUsed[slot] = true;
+                slotKeys[slot] = values[i];
+                dictionary[dictionarySize++] = values[i];
+            }
+        }
+        Arrays.sort(dictionary, 0, dictionarySize);
+        return true;
+    }
+
+    private int slotOf(int value) {
+        int slot = (value * 0x9e3779b9) >>> (Integer.SIZE - Integer.numberOfTrailingZeros(SLOTS));
+        while (slotUsed[slot] && slotKeys[slot] != value) {
+            slot = (slot + 1) & (SLOTS - 1);
+        }
+        return slot;
+    }
+
+    private long dictionaryBytes(int size) {
+        int bits = indexBits(dictionarySize);
+        long words = bits == 0 ? 0 : ((long) size * bits + Long.SIZE - 1) / Long.SIZE;
+        return Short.BYTES + (long) Integer.BYTES * dictionarySize + Long.BYTES * words;
+    }
+
+    private void encodeDictionary(int[] values, int size, ByteBuffer out) {
+        out.putShort((short) dictionarySize);
+        for (int i = 0; i < dictionarySize; i++) {
+            out.putInt(dictionary[i]);
+        }
+        int bits = indexBits(dictionarySize);
+        if (bits == 0) {
+            return;
+        }
+        long word = 0;
+        int shift = 0;
+        for (int i = 0; i < size; i++) {
+            word |= (long) Arrays.binarySearch(dictionary, 0, dictionarySize, values[i]) << shift;
+            shift += bits;
+            if (shift == Long.SIZE) {
+                out.putLong(word);
+                word = 0;
+                shift = 0;
+            }
+        }
+        if (shift > 0) {
+            out.putLong(word);
+        }
+    }
+
+    private static void decodeDictionary(ByteBuffer in, int size, int[] values) {
+        int dictionarySize = in.getShort();
+        int[] dictionary = new int[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = in.getInt();
+        }
+        int bits = indexBits(dictionarySize);
+        if (bits == 0) {
+            Arrays.fill(values, 0, size, dictionarySize == 0 ? 0 : dictionary[0]);
+            return;
+        }
+        // The indexes never cross two longs, bits dividing 64
+        int perWord = Long.SIZE / bits;
+        long mask = (1L << bits) - 1;
+        int i = 0;
+        while (i < size) {
+            long word = in.getLong();
+            int end = Math.min(size, i + perWord);
+            for (; i < end; i++) {
+                values[i] = dictionary[(int) (word & mask)];
+                word >>>= bits;
+            }
+        }
+    }
+
+    /**
+     * \brief Bits of an index
+     * indexBits(int dictionarySize) : Return the bits of an index in a dictionary
+     * of dictionarySize values, 0, 1, 2, 4 or 8.
+     * \param int dictionarySize
+     * \return int
+     */
+    private static int indexBits(int dictionarySize) {
+        if (dictionarySize <= 1) {
+            return 0;
+        }
+        int bits = Integer.SIZE - Integer.numberOfLeadingZeros(dictionarySize - 1);
+        return Integer.highestOneBit(bits) == bits ? bits : Integer.highestOneBit(bits) << 1;
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int varintBytes(int value) {
+        return 1 + (31 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+    }
+}
@@ -0,0 +1,320 @@
+package analytics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * \brief Column file read in parallel
+ *
+ * ColumnFile : A column file written by a ColumnWriter, mapped in memory.
+ * A query scans one column: every batch of the column is decoded into an
+ * array of ints and given to a BatchConsumer, the batches being split among
+ * the threads of the common ForkJoinPool. No row nor Player is ever built, a
+ * scan of 100 million rows reads a few hundred megabytes at the speed of
+ * memory.
+ */
+public final class ColumnFile {
+
+    private static final Column[] COLUMNS = Column.values();
+    // Largest part of the file mapped at once
+    private static final long MAX_MAPPING = Integer.MAX_VALUE;
+    // Batches scanned by a task, decoded in the same array
+    private static final int BATCHES_PER_TASK = 4;
+
+    /**
+     * \brief Consumer of batches
+     *
+     * BatchConsumer : Add the values of a batch of a column to a partial result.
+     */
+    @FunctionalInterface
+    public interface BatchConsumer<R> {
+
+        /**
+         * \brief Consume a batch
+         * accept(R result, int[] values, int size) : Add the first size values to
+         * result. values is reused for the next batch.
+         * \param R result, int[] values, int size
+         */
+        void accept(R result, int[] values, int size);
+    }
+
+    // columns[batch][column]: bytes of the column in the batch
+    private final ByteBuffer[][] columns;
+    private final int[] batchRows;
+    private final long numberRows;
+    private final int maxBatchRows;
+
+    private ColumnFile(ByteBuffer[][] columns, int[] batchRows) {
+        this.columns = columns;
+        this.batchRows = batchRows;
+        long rows = 0;
+        int max = 0;
+        for (int size : batchRows) {
+            rows += size;
+            max = Math.max(max, size);
+        }
+        this.numberRows = rows;
+        this.maxBatchRows = max;
+    }
+
+    /**
+     * \brief Open a column file
+     * open(Path path) : Return the column file at path. Throw an IOException if it
+     * is not a column file or if its last batch is cut.
+     * \param Path path
+     * \return ColumnFile
+     */
+    public static ColumnFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES);
+            readFully(channel, header, 0, path);
+            if (header.getInt(0) != ColumnWriter.MAGIC || header.getInt(Integer.BYTES) != COLUMNS.length) {
+                throw new IOException(path + " is not a column file.");
+            }
+            // Find the batches, then map them in parts of at most MAX_MAPPING bytes
+            List<long[]> batches = new ArrayList<>();
+            long position = header.capacity();
+            while (position < size) {
+                long[] batch = new long[COLUMNS.length + 2];
+                batch[0] = position;
+                readFully(channel, header.clear().limit(Integer.BYTES), position, path);
+                int rows = header.getInt(0);
+                position += Integer.BYTES;
+                for (int column = 0; column < COLUMNS.length; column++) {
+                    readFully(channel, header.clear().limit(Integer.BYTES), position, path);
+                    int length = header.getInt(0);
+                    if (rows < 0 || length < 0) {
+                        throw new IOException(path + " holds a batch of a wrong length.");
+                    }
+                    position += Integer.BYTES;
+                    batch[column + 1] = position;
+                    position += length;
+                }
+                batch[COLUMNS.length + 1] = rows;
+                if (position > size) {
+                    throw new IOException(path + " ends in the middle of a batch.");
+                }
+                batches.add(batch);
+            }
+
+            ByteBuffer[][] columns = new ByteBuffer[batches.size()][COLUMNS.length];
+            int[] batchRows = new int[batches.size()];
+            MappedByteBuffer mapping = null;
+            long mappingStart = 0;
+            for (int i = 0; i < batches.size(); i++) {
+                long[] batch = batches.get(i);
+                long end = i + 1 < batches.size() ? batches.get(i + 1)[0] : size;
+                if (mapping == null || end - mappingStart > mapping.capacity()) {
+                    mappingStart = batch[0];
+                    long length = Math.min(MAX_MAPPING, size - mappingStart);
+                    if (end - mappingStart > length) {
+                        throw new IOException(path + " holds a batch larger than " + MAX_MAPPING + " bytes.");
+                    }
+                    mapping = channel.map(FileChannel.MapMode.READ_ONLY, mappingStart, length);
+                }
+                for (int column = 0; column < COLUMNS.length; column++) {
+                    long columnEnd = column + 1 < COLUMNS.length ? batch[column + 2] - Integer.BYTES : end;
+                    columns[i][column] = mapping.slice((int) (batch[column + 1] - mappingStart),
+                            (int) (columnEnd - batch[column + 1])).asReadOnlyBuffer();
+                }
+                batchRows[i] = (int) batch[COLUMNS.length + 1];
+            }
+            return new ColumnFile(columns, batchRows);
+        }
+    }
+
+    /**
+     * \brief Getter numberRows
+     * getNumberRows() : Return the number of rows of the file.
+     * \return long
+     */
+    public long getNumberRows() {
+        return this.numberRows;
+    }
+
+    /**
+     * \brief Getter numberBatches
+     * getNumberBatches() : Return the number of batches of the file.
+     * \return int
+     */
+    public int getNumberBatches() {
+        return this.batchRows.length;
+    }
+
+    /**
+     * \brief Rows of a batch
+     * getBatchRows(int batch) : Return the number of rows of the batch.
+     * \param int batch
+     * \return int
+     */
+    public int getBatchRows(int batch) {
+        return this.batchRows[batch];
+    }
+
+    /**
+     * \brief Encoding of a column
+     * getEncoding(int batch, Column column) : Return the encoding of column in the
+     * batch.
+     * \param int batch, Column column
+     * \return Encoding
+     */
+    public Encoding getEncoding(int batch, Column column) {
+        return ColumnCodec.encodingOf(columns[batch][column.ordinal()]);
+    }
+
+    /**
+     * \brief Read a column
+     * read(int batch, Column column, int[] values) : Decode column of the batch
+     * into values, allocated if it is null or too short, and return it.
+     * \param int batch, Column column, int[] values
+     * \return int[]
+     */
+    public int[] read(int batch, Column column, int[] values) {
+        int size = batchRows[batch];
+        if (values == null || values.length < size) {
+            values = new int[size];
+        }
+        // Every reader decodes from its own view of the mapping
+        ColumnCodec.decode(columns[batch][column.ordinal()].duplicate(), size, values);
+        return values;
+    }
+
+    /**
+     * \brief Scan a column
+     * scan(Column column, Supplier<R> supplier, BatchConsumer<R> consumer,
+     * BinaryOperator<R> combiner) : Give every batch of column to consumer, with a
+     * result from supplier for every thread, and return the results combined.
+     * \param Column column, Supplier<R> supplier, BatchConsumer<R> consumer, BinaryOperator<R> combiner
+     * \return R
+     */
+    public <R> R scan(Column column, Supplier<R> supplier, BatchConsumer<R> consumer, BinaryOperator<R> combiner) {
+        return new ScanTask<>(column, supplier, consumer, combiner, 0, batchRows.length).invoke();
+    }
+
+    /**
+     * \brief Sum of a column
+     * sum(Column column) : Return the sum of the values of column.
+     * \param Column column
+     * \return long
+     */
+    public long sum(Column column) {
+        return scan(column, () -> new long[1], (total, values, size) -> {
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+            total[0] += sum;
+        }, ColumnFile::add)[0];
+    }
+
+    /**
+     * \brief Count of values
+     * count(Column column, IntPredicate predicate) : Return the number of rows
+     * whose value of column matches predicate.
+     * \param Column column, IntPredicate predicate
+     * \return long
+     */
+    public long count(Column column, IntPredicate predicate) {
+        return scan(column, () -> new long[1], (total, values, size) -> {
+            long count = 0;
+            for (int i = 0; i < size; i++) {
+                if (predicate.test(values[i])) {
+                    count += 1;
+                }
+            }
+            total[0] += count;
+        }, ColumnFile::add)[0];
+    }
+
+    /**
+     * \brief Histogram of a column
+     * histogram(Column column, int bound) : Return the number of rows of every
+     * value of column, from 0 to bound - 1. Throw an IllegalArgumentException if
+     * a value is out of these bounds.
+     * \param Column column, int bound
+     * \return long[]
+     */
+    public long[] histogram(Column column, int bound) {
+        return scan(column, () -> new long[bound], (counts, values, size) -> {
+            for (int i = 0; i < size; i++) {
+                int value = values[i];
+                if (value < 0 || value >= bound) {
+                    throw new IllegalArgumentException(column + " holds " + value + ", out of 0 to " + bound + ".");
+                }
+                counts[value] += 1;
+            }
+        }, ColumnFile::add);
+    }
+
+    private static long[] add(long[] left, long[] right) {
+        for (int i = 0; i < left.length; i++) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, Path path)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException(path + " ends in the middle of a batch.");
+            }
+        }
+    }
+
+    /**
+     * \brief Range of batches
+     *
+     * ScanTask : Scan the batches from first (included) to last (excluded), split
+     * in two while there are more than BATCHES_PER_TASK batches.
+     */
+    @SuppressWarnings("serial")
+    private final class ScanTask<R> extends RecursiveTask<R> {
+
+        private final Column column;
+        private final Supplier<R> supplier;
+        private final BatchConsumer<R> consumer;
+        private final BinaryOperator<R> combiner;
+        private final int first;
+        private final int last;
+
+        ScanTask(Column column, Supplier<R> supplier, BatchConsumer<R> consumer, BinaryOperator<R> combiner,
+                int first, int last) {
+            this.column = column;
+            this.supplier = supplier;
+            this.consumer = consumer;
+            this.combiner = combiner;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected R compute() {
+            if (last - first <= BATCHES_PER_TASK) {
+                R result = supplier.get();
+                int[] values = new int[maxBatchRows];
+                for (int batch = first; batch < last; batch++) {
+                    consumer.accept(result, read(batch, column, values), batchRows[batch]);
+                }
+                return result;
+            }
+            int middle = (first + last) >>> 1;
+            ScanTask<R> left = new ScanTask<>(column, supplier, consumer, combiner, first, middle);
+            ScanTask<R> right = new ScanTask<>(column, supplier, consumer, combiner, middle, last);
+            left.fork();
+            R result = right.compute();
+            return combiner.apply(left.join(), result);
+        }
+    }
+}
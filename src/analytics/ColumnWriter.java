@@ -0,0 +1,148 @@
+package analytics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * \brief Writer of a column file
+ *
+ * ColumnWriter : Write rows in a column file, by batches of batchRows rows.
+ * The file starts with its magic number and its number of columns, then every
+ * batch is its number of rows followed by every column, in the order of
+ * Column: the length of its bytes, then its values encoded (see Encoding).
+ * Several RoundCollectors may append to the same writer from different threads.
+ */
+public final class ColumnWriter implements AutoCloseable {
+
+    /// First int of a column file
+    public static final int MAGIC = 0x54524346;
+    /// Default number of rows of a batch
+    public static final int BATCH_ROWS = 1 << 16;
+
+    private static final Column[] COLUMNS = Column.values();
+
+    private final FileChannel channel;
+    private final int batchRows;
+    private final ColumnBatch batch;
+    private final ColumnCodec codec;
+    private final ByteBuffer buffer;
+    private long numberRows;
+
+    private ColumnWriter(FileChannel channel, int batchRows) {
+        this.channel = channel;
+        this.batchRows = batchRows;
+        this.batch = new ColumnBatch(batchRows);
+        this.codec = new ColumnCodec();
+        this.buffer = ByteBuffer.allocate(Integer.BYTES
+                + COLUMNS.length * (Integer.BYTES + ColumnCodec.maxBytes(batchRows)));
+        this.numberRows = 0;
+    }
+
+    /**
+     * \brief Open a writer
+     * open(Path path) : Return a writer of a new column file at path, replacing
+     * the file if it exists.
+     * \param Path path
+     * \return ColumnWriter
+     */
+    public static ColumnWriter open(Path path) throws IOException {
+        return open(path, BATCH_ROWS);
+    }
+
+    /**
+     * \brief Open a writer
+     * open(Path path, int batchRows) : Return a writer of a new column file at
+     * path, writing batches of batchRows rows.
+     * \param Path path, int batchRows
+     * \return ColumnWriter
+     */
+    public static ColumnWriter open(Path path, int batchRows) throws IOException {
+        if (batchRows < 1) {
+            throw new IllegalArgumentException("A batch holds at least one row.");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ColumnWriter writer = new ColumnWriter(channel, batchRows);
+        try {
+            writer.buffer.putInt(MAGIC).putInt(COLUMNS.length).flip();
+            writer.writeBuffer();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return writer;
+    }
+
+    /**
+     * \brief Append rows
+     * append(ColumnBatch rows) : Write the rows after the ones already appended.
+     * \param ColumnBatch rows
+     */
+    public synchronized void append(ColumnBatch rows) throws IOException {
+        int row = 0;
+        while (row < rows.size()) {
+            int copied = Math.min(rows.size() - row, batchRows - batch.size());
+            for (int i = 0; i < copied; i++) {
+                batch.addRow();
+            }
+            int start = batch.size() - copied;
+            for (Column column : COLUMNS) {
+                System.arraycopy(rows.values(column), row, batch.values(column), start, copied);
+            }
+            row += copied;
+            if (batch.size() == batchRows) {
+                writeBatch();
+            }
+        }
+        numberRows += rows.size();
+    }
+
+    /**
+     * \brief Getter numberRows
+     * getNumberRows() : Return the number of rows appended.
+     * \return long
+     */
+    public synchronized long getNumberRows() {
+        return this.numberRows;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (batch.size() > 0) {
+                writeBatch();
+            }
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * \brief Write the batch
+     * writeBatch() : Encode the rows of the batch, write them and empty it.
+     */
+    private void writeBatch() throws IOException {
+        buffer.clear();
+        buffer.putInt(batch.size());
+        for (Column column : COLUMNS) {
+            int lengthPosition = buffer.position();
+            buffer.position(lengthPosition + Integer.BYTES);
+            codec.encode(batch.values(column), batch.size(), buffer);
+            buffer.putInt(lengthPosition, buffer.position() - lengthPosition - Integer.BYTES);
+        }
+        buffer.flip();
+        writeBuffer();
+        batch.clear();
+    }
+
+    private void writeBuffer() throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,16 @@
+package analytics;
+
+/**
+ * \brief Encodings of a column
+ *
+ * Encoding : How the values of a column are written in a batch. The writer
+ * takes the shortest one for every column of every batch.
+ */
+public enum Encoding {
+    /// One int per value
+    PLAIN,
+    /// The first value, then the difference with the previous value on a varint
+    DELTA,
+    /// The distinct values, then the index of every value on 1, 2, 4 or 8 bits
+    DICTIONARY
+}
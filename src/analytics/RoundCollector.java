@@ -0,0 +1,116 @@
+package analytics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import deck.DealSource;
+import game.Game;
+import game.GameListener;
+import people.Player;
+
+/**
+ * \brief Collector of round rows
+ *
+ * RoundCollector : Listener writing one row per player alive and per round of
+ * the games it follows (see Column). The rows of a game are kept until it is
+ * over, then appended to a ColumnWriter at once.
+ */
+public class RoundCollector implements GameListener {
+
+    private final ColumnWriter writer;
+    private final ColumnBatch rows;
+    // Row of every seat in the current round
+    private final int[] rowOfSeat;
+    private int game;
+    private int numberDeals;
+
+    /**
+     * \brief Constructor RoundCollector
+     * RoundCollector(ColumnWriter writer): create a collector appending the rows
+     * of every game to writer.
+     * \param ColumnWriter writer
+     */
+    public RoundCollector(ColumnWriter writer) {
+        this.writer = writer;
+        this.rows = new ColumnBatch(Game.NUMBER_PLAYERS * 4 * Game.ROUND_MAX);
+        this.rowOfSeat = new int[Game.NUMBER_PLAYERS];
+    }
+
+    /**
+     * \brief Setter game
+     * setGame(long game) : The next game is written as the game number game.
+     * Throw an IllegalArgumentException if game doesn't fit in an int.
+     * \param long game
+     */
+    public void setGame(long game) {
+        if (game < 0 || game > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The column GAME cannot hold the game " + game + ".");
+        }
+        this.game = (int) game;
+    }
+
+    @Override
+    public void onGameNumber(long game, DealSource deals) {
+        setGame(game);
+    }
+
+    @Override
+    public void onGameStart(List<Player> players) {
+        rows.clear();
+        numberDeals = 0;
+    }
+
+    @Override
+    public void onCardsDealt(List<Player> players) {
+        for (int position = 0; position < players.size(); position++) {
+            Player player = players.get(position);
+            int row = rows.addRow();
+            rows.set(row, Column.GAME, game);
+            rows.set(row, Column.ROUND, numberDeals);
+            rows.set(row, Column.NUMBER_CARDS, player.getNumberCards());
+            rows.set(row, Column.SEAT, player.getSeat());
+            rows.set(row, Column.POSITION, position);
+            rows.set(row, Column.CARDS, player.getCardSet());
+            rowOfSeat[player.getSeat()] = row;
+        }
+        numberDeals += 1;
+    }
+
+    @Override
+    public void onBet(Player player, int betTricks) {
+        rows.set(rowOfSeat[player.getSeat()], Column.BET, betTricks);
+    }
+
+    @Override
+    public void onBlindCall(Player player, boolean win) {
+        rows.set(rowOfSeat[player.getSeat()], Column.BET, win ? 1 : 0);
+    }
+
+    @Override
+    public void onTrickWon(Player winner) {
+        int row = rowOfSeat[winner.getSeat()];
+        rows.set(row, Column.TRICKS, rows.get(row, Column.TRICKS) + 1);
+    }
+
+    @Override
+    public void onLifeLost(Player player, int lifePoints) {
+        int row = rowOfSeat[player.getSeat()];
+        rows.set(row, Column.LIFE_LOST, rows.get(row, Column.LIFE_LOST) + lifePoints);
+    }
+
+    @Override
+    public void onGameOver(Player winner) {
+        try {
+            writer.append(rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rows.clear();
+    }
+
+    @Override
+    public void onGameAbandoned() {
+        rows.clear();
+    }
+}
@@ -1,8 +1,11 @@
 package deck;
 
-public class Card {
-    private String name;
-    private int value;
+import java.util.Arrays;
+import java.util.List;
+
+public final class Card {
+    private final String name;
+    private final int value;
 
     public static final int MAX_NAME = 8;
 
@@ -13,6 +16,22 @@ public class Card {
     // for the last round
     public static final int MAX_VALUE = 22;
 
+    // Canonical cards, index is the value of the card. Cards are immutable so
+    // they are created once and shared by every deck, hand and thread.
+    private static final Card[] CARDS = new Card[MAX_VALUE + 1];
+
+    static {
+        for (int value = MIN_VALUE; value <= MAX_VALUE; value++) {
+            CARDS[value] = new Card(value);
+        }
+    }
+
+    /// The Fool, its value in a trick is chosen by the player who played it
+    public static final Card FOOL = CARDS[MAX_VALUE];
+
+    /// Every card of the deck from 1 to the Fool
+    public static final List<Card> ALL_CARDS = List.of(Arrays.copyOfRange(CARDS, MIN_VALUE, MAX_VALUE + 1));
+
     /**
      * \brief Constructor of Card
      *
@@ -44,43 +63,50 @@ public class Card {
     }
 
     /**
-     * \brief Getter name
+     * \brief Constructor of a canonical card
      *
-     * getName() : Return the card name.
-     * \return String
+     * Card(int value) : Create the card of a value already known to be valid,
+     * named after its value, or Fool.
      */
-    public String getName() {
-        return this.name;
+    private Card(int value) {
+        this.name = value == MAX_VALUE ? "Fool" : Integer.toString(value);
+        this.value = value;
     }
 
     /**
-     * \brief Setter name
+     * \brief Canonical card
      *
-     * setName() : Return the card name.
-     * \param String name
+     * of(int value) : Return the shared card of this value.
+     * \param int value
+     * \return Card
+     * 
+     * @throws IllegalArgumentException if there is no card of this value
      */
-    public void setName(String name) {
-        this.name = name;
+    public static Card of(int value) {
+        if (value < MIN_VALUE || value > MAX_VALUE) {
+            throw new IllegalArgumentException("The value of the card is > 22 or < 1. Use one between 1 and 22.");
+        }
+        return CARDS[value];
     }
 
     /**
-     * \brief Getter value
+     * \brief Getter name
      *
-     * getValue() : Return the card value.
-     * \return int value
+     * getName() : Return the card name.
+     * \return String
      */
-    public int getValue() {
-        return this.value;
+    public String getName() {
+        return this.name;
     }
 
     /**
-     * \brief Setter value
+     * \brief Getter value
      *
-     * setValue() : Return the card value.
-     * \param int value
+     * getValue() : Return the card value.
+     * \return int value
      */
-    public void setValue(int value) {
-        this.value = value;
+    public int getValue() {
+        return this.value;
     }
 
     /**
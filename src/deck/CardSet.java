@@ -0,0 +1,197 @@
+package deck;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * \brief Set of cards in an int
+ *
+ * CardSet : There are only 21 trumps and the Fool, so any set of cards fits in
+ * one int where the bit n is set when the card of value n is in the set. Every
+ * operation works on the primitive value, nothing is allocated.
+ */
+public final class CardSet {
+
+    /// Set without any card
+    public static final int EMPTY = 0;
+    /// Set with every card of the deck, from 1 to the Fool
+    public static final int FULL = ((1 << (Card.MAX_VALUE + 1)) - 1) & ~1;
+
+    private CardSet() {
+    }
+
+    /**
+     * \brief Set of one card
+     *
+     * of(int value) : Return the set with only the card of this value.
+     * \param int value
+     * \return int
+     */
+    public static int of(int value) {
+        return 1 << value;
+    }
+
+    /**
+     * \brief Add a card
+     *
+     * add(int set, int value) : Return the set with the card of this value.
+     * \param int set, int value
+     * \return int
+     */
+    public static int add(int set, int value) {
+        return set | (1 << value);
+    }
+
+    /**
+     * \brief Remove a card
+     *
+     * remove(int set, int value) : Return the set without the card of this value.
+     * \param int set, int value
+     * \return int
+     */
+    public static int remove(int set, int value) {
+        return set & ~(1 << value);
+    }
+
+    /**
+     * \brief Contains a card
+     *
+     * contains(int set, int value) : Return true if the card of this value is in
+     * the set.
+     * \param int set, int value
+     * \return boolean
+     */
+    public static boolean contains(int set, int value) {
+        return (set & (1 << value)) != 0;
+    }
+
+    /**
+     * \brief Size of a set
+     *
+     * size(int set) : Return the number of cards in the set.
+     * \param int set
+     * \return int
+     */
+    public static int size(int set) {
+        return Integer.bitCount(set);
+    }
+
+    /**
+     * \brief Empty set
+     *
+     * isEmpty(int set) : Return true if there is no card in the set.
+     * \param int set
+     * \return boolean
+     */
+    public static boolean isEmpty(int set) {
+        return set == EMPTY;
+    }
+
+    /**
+     * \brief Highest card
+     *
+     * highest(int set) : Return the value of the highest card of the set, 0 if
+     * the set is empty.
+     * \param int set
+     * \return int
+     */
+    public static int highest(int set) {
+        return set == EMPTY ? 0 : 31 - Integer.numberOfLeadingZeros(set);
+    }
+
+    /**
+     * \brief Lowest card
+     *
+     * lowest(int set) : Return the value of the lowest card of the set, 0 if the
+     * set is empty.
+     * \param int set
+     * \return int
+     */
+    public static int lowest(int set) {
+        return set == EMPTY ? 0 : Integer.numberOfTrailingZeros(set);
+    }
+
+    /**
+     * \brief Remove the lowest card
+     *
+     * removeLowest(int set) : Return the set without its lowest card. Used to go
+     * through the cards of a set with lowest().
+     * \param int set
+     * \return int
+     */
+    public static int removeLowest(int set) {
+        return set & (set - 1);
+    }
+
+    /**
+     * \brief Cards above a value
+     *
+     * above(int set, int value) : Return the cards of the set strictly higher than
+     * value.
+     * \param int set, int value
+     * \return int
+     */
+    public static int above(int set, int value) {
+        return set & (-2 << value);
+    }
+
+    /**
+     * \brief Cards below a value
+     *
+     * below(int set, int value) : Return the cards of the set strictly lower than
+     * value.
+     * \param int set, int value
+     * \return int
+     */
+    public static int below(int set, int value) {
+        return set & ((1 << value) - 1);
+    }
+
+    /**
+     * \brief Set of a list of cards
+     *
+     * fromCards(List<Card> cards) : Return the set of the cards.
+     * \param List<Card> cards
+     * \return int
+     */
+    public static int fromCards(List<Card> cards) {
+        int set = EMPTY;
+        for (int i = 0; i < cards.size(); i++) {
+            set = add(set, cards.get(i).getValue());
+        }
+        return set;
+    }
+
+    /**
+     * \brief List of cards of a set
+     *
+     * toCards(int set) : Return the cards of the set from the lowest to the
+     * highest.
+     * \param int set
+     * \return List<Card>
+     */
+    public static List<Card> toCards(int set) {
+        List<Card> cards = new ArrayList<>(size(set));
+        for (int rest = set; rest != EMPTY; rest = removeLowest(rest)) {
+            cards.add(Card.of(lowest(rest)));
+        }
+        return cards;
+    }
+
+    /**
+     * \brief toString
+     *
+     * toString(int set) : Return the string representation of a set.
+     * \return String
+     */
+    public static String toString(int set) {
+        StringBuilder result = new StringBuilder("[");
+        for (int rest = set; rest != EMPTY; rest = removeLowest(rest)) {
+            result.append(lowest(rest));
+            if (removeLowest(rest) != EMPTY) {
+                result.append(", ");
+            }
+        }
+        return result.append("]").toString();
+    }
+}
@@ -0,0 +1,230 @@
+package deck;
+
+/**
+ * \brief Ranking of the deals
+ *
+ * DealRanking : Bijection between the deals of numberCards cards to each of
+ * numberPlayers players and the integers from 0 to count() - 1, the cards not
+ * dealt being the rest of the deck. A deal is stored in one long, and a table
+ * of deals is indexed directly by rank.
+ *
+ * The rank is written in mixed radix: the digit i is the rank of the hand of
+ * the player i among the sets of numberCards cards left by the previous
+ * players, the cards left being renumbered from 0 with Integer.compress. The rank
+ * of a set of cards is its colexicographic rank, a sum of binomials read from
+ * a table, so a deal is ranked or unranked without any allocation.
+ */
+public final class DealRanking {
+
+    /// Number of cards in the deck
+    public static final int NUMBER_VALUES = Card.MAX_VALUE;
+
+    // BINOMIALS[n][k]: number of ways to choose k cards among n
+    private static final int[][] BINOMIALS = new int[NUMBER_VALUES + 1][NUMBER_VALUES + 1];
+
+    // Sets of at most TABLED_CARDS cards are unranked by reading a table
+    private static final int TABLED_CARDS = 5;
+    // SUBSETS[k][rank]: set of k bits of this rank
+    private static final int[][] SUBSETS = new int[TABLED_CARDS + 1][];
+
+    static {
+        for (int n = 0; n <= NUMBER_VALUES; n++) {
+            BINOMIALS[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + BINOMIALS[n - 1][k];
+            }
+        }
+        for (int k = 0; k <= TABLED_CARDS; k++) {
+            SUBSETS[k] = new int[BINOMIALS[NUMBER_VALUES][k]];
+            for (int rank = 0; rank < SUBSETS[k].length; rank++) {
+                SUBSETS[k][rank] = searchSubset(rank, k);
+            }
+        }
+    }
+
+    private final int numberPlayers;
+    private final int numberCards;
+    private final long count;
+    // radices[i]: number of hands of the player i, once the previous players are served
+    private final int[] radices;
+
+    /**
+     * \brief Constructor DealRanking
+     * DealRanking(int numberPlayers, int numberCards): create the ranking of the
+     * deals of numberCards cards to numberPlayers players. Throw an
+     * IllegalArgumentException if there are not enough cards or if the deals
+     * don't fit in a long.
+     * \param int numberPlayers, int numberCards
+     */
+    public DealRanking(int numberPlayers, int numberCards) {
+        if (numberPlayers < 1 || numberCards < 0 || numberPlayers * numberCards > NUMBER_VALUES) {
+            throw new IllegalArgumentException(
+                    "Cannot deal " + numberCards + " cards to " + numberPlayers + " players.");
+        }
+        this.numberPlayers = numberPlayers;
+        this.numberCards = numberCards;
+        this.radices = new int[numberPlayers];
+        long deals = 1;
+        try {
+            for (int i = 0; i < numberPlayers; i++) {
+                radices[i] = BINOMIALS[NUMBER_VALUES - i * numberCards][numberCards];
+                deals = Math.multiplyExact(deals, radices[i]);
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "The deals of " + numberCards + " cards to " + numberPlayers + " players don't fit in a long.");
+        }
+        this.count = deals;
+    }
+
+    /**
+     * \brief Getter numberPlayers
+     * getNumberPlayers() : Return the number of hands of a deal.
+     * \return int
+     */
+    public int getNumberPlayers() {
+        return this.numberPlayers;
+    }
+
+    /**
+     * \brief Getter numberCards
+     * getNumberCards() : Return the number of cards of a hand.
+     * \return int
+     */
+    public int getNumberCards() {
+        return this.numberCards;
+    }
+
+    /**
+     * \brief Number of deals
+     * count() : Return the number of deals, the ranks going from 0 to count() - 1.
+     * \return long
+     */
+    public long count() {
+        return this.count;
+    }
+
+    /**
+     * \brief Rank of a deal
+     * rank(int[] hands) : Return the rank of the deal whose first numberPlayers
+     * CardSets are the hands. Throw an IllegalArgumentException if a hand doesn't
+     * have numberCards cards or if a card is dealt twice.
+     * \param int[] hands
+     * \return long
+     */
+    public long rank(int[] hands) {
+        long rank = 0;
+        long radix = 1;
+        int rest = CardSet.FULL;
+        for (int i = 0; i < numberPlayers; i++) {
+            int hand = hands[i];
+            if (Integer.bitCount(hand) != numberCards || (hand & ~rest) != 0) {
+                throw new IllegalArgumentException("Every player must hold " + numberCards + " cards, all different.");
+            }
+            rank += radix * rankSubset(Integer.compress(hand, rest));
+            radix *= radices[i];
+            rest &= ~hand;
+        }
+        return rank;
+    }
+
+    /**
+     * \brief Deal of a rank
+     * unrank(long rank, int[] hands) : Fill the first numberPlayers CardSets of
+     * hands with the deal of this rank. Throw an IllegalArgumentException if rank
+     * is not between 0 and count() - 1.
+     * \param long rank, int[] hands
+     */
+    public void unrank(long rank, int[] hands) {
+        if (rank < 0 || rank >= count) {
+            throw new IllegalArgumentException("There is no deal of rank " + rank + ".");
+        }
+        int rest = CardSet.FULL;
+        int i = 0;
+        // Divisions of longs are slower, they stop once the rank fits in an int
+        for (; rank > Integer.MAX_VALUE; i++) {
+            long quotient = rank / radices[i];
+            int hand = Integer.expand(unrankSubset((int) (rank - quotient * radices[i]), numberCards), rest);
+            rank = quotient;
+            hands[i] = hand;
+            rest &= ~hand;
+        }
+        int small = (int) rank;
+        for (; i < numberPlayers; i++) {
+            int quotient = small / radices[i];
+            int hand = Integer.expand(unrankSubset(small - quotient * radices[i], numberCards), rest);
+            small = quotient;
+            hands[i] = hand;
+            rest &= ~hand;
+        }
+    }
+
+    /**
+     * \brief Rest of a deal
+     * rest(int[] hands) : Return the CardSet of the cards not dealt to the first
+     * numberPlayers hands.
+     * \param int[] hands
+     * \return int
+     */
+    public int rest(int[] hands) {
+        int rest = CardSet.FULL;
+        for (int i = 0; i < numberPlayers; i++) {
+            rest &= ~hands[i];
+        }
+        return rest;
+    }
+
+    /**
+     * \brief Binomial coefficient
+     * binomial(int n, int k) : Return the number of ways to choose k cards among
+     * n, n being at most NUMBER_VALUES.
+     * \param int n, int k
+     * \return int
+     */
+    public static int binomial(int n, int k) {
+        return k < 0 || k > n ? 0 : BINOMIALS[n][k];
+    }
+
+    /**
+     * \brief Rank of a subset
+     * rankSubset(int subset) : Return the index of subset among the sets of as
+     * many bits in colexicographic order, the bits being below NUMBER_VALUES.
+     * \param int subset
+     * \return int
+     */
+    public static int rankSubset(int subset) {
+        int rank = 0;
+        int k = 1;
+        for (int bits = subset; bits != 0; bits &= bits - 1) {
+            rank += BINOMIALS[Integer.numberOfTrailingZeros(bits)][k];
+            k += 1;
+        }
+        return rank;
+    }
+
+    /**
+     * \brief Subset of a rank
+     * unrankSubset(int rank, int k) : Return the set of k bits whose index in
+     * colexicographic order is rank.
+     * \param int rank, int k
+     * \return int
+     */
+    public static int unrankSubset(int rank, int k) {
+        // The search mispredicts a branch for every bit, the table is much faster
+        return k <= TABLED_CARDS ? SUBSETS[k][rank] : searchSubset(rank, k);
+    }
+
+    private static int searchSubset(int rank, int k) {
+        int subset = 0;
+        int bit = NUMBER_VALUES - 1;
+        for (int i = k; i > 0; i--) {
+            while (BINOMIALS[bit][i] > rank) {
+                bit -= 1;
+            }
+            rank -= BINOMIALS[bit][i];
+            subset |= 1 << bit;
+            bit -= 1;
+        }
+        return subset;
+    }
+}
@@ -0,0 +1,102 @@
+package deck;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * \brief Reproducible source of deals
+ *
+ * DealSource : Counter-based source of randomness for shuffling. The deal
+ * number k of a seed only depends on (seed, k): it is computed directly in
+ * O(1), without generating the deals 0 to k - 1 first. Workers can share a
+ * seed and take different deal numbers without any coordination, and any deal
+ * can be regenerated from its (seed, k) pair.
+ */
+public final class DealSource implements RandomGenerator {
+
+    // Increment of SplitMix64, odd and close to 2^64 / golden ratio
+    private static final long GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    // Key of the current deal and position in its stream
+    private long key;
+    private long counter;
+
+    /**
+     * \brief Constructor DealSource
+     * DealSource(long seed): create the source of every deal of this seed.
+     * \param long seed
+     */
+    public DealSource(long seed) {
+        this.seed = seed;
+        select(0);
+    }
+
+    /**
+     * \brief Getter seed
+     * getSeed() : Return the seed of the deals.
+     * \return long
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * \brief Source of a game
+     * forGame(long gameIndex) : Return the source of the deals of one game of this
+     * seed. The deals of a game are then numbered from 0 with its rounds.
+     * \param long gameIndex
+     * \return DealSource
+     */
+    public DealSource forGame(long gameIndex) {
+        return new DealSource(mix(seed ^ mix(gameIndex * GAMMA + GAMMA)));
+    }
+
+    /**
+     * \brief Select a deal
+     * select(long dealIndex) : Restart the stream of randomness at the beginning
+     * of the deal number dealIndex.
+     * \param long dealIndex
+     */
+    public void select(long dealIndex) {
+        this.key = mix(seed + mix(dealIndex ^ GAMMA));
+        this.counter = 0;
+    }
+
+    /**
+     * \brief Shuffle a deal
+     * shuffle(Deck deck, long dealIndex) : Build the deck again and shuffle it as
+     * the deal number dealIndex. Nothing is allocated.
+     * \param Deck deck, long dealIndex
+     */
+    public void shuffle(Deck deck, long dealIndex) {
+        // The deal must not depend on the previous order of the deck
+        deck.buildDeck();
+        select(dealIndex);
+        deck.shuffle(this);
+    }
+
+    /**
+     * \brief Next random value
+     * nextLong() : Return the value at the current position of the stream of the
+     * deal, which only depends on the seed, the deal and the position.
+     * \return long
+     */
+    @Override
+    public long nextLong() {
+        counter += 1;
+        return mix(key + counter * GAMMA);
+    }
+
+    /**
+     * \brief Mix bits
+     * mix(long z) : Finalizer of SplitMix64, every bit of the result depends on
+     * every bit of z.
+     * \param long z
+     * \return long
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,12 +1,20 @@
 package deck;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Deck {
 
-    private List<Card> completeDeck;
+    // The cards of the deck are cards[0] to cards[size - 1], the top of the deck
+    // being the last one. Dealt cards stay after the cursor size, up to filled,
+    // so the deck can be rewound without building it again.
+    private Card[] cards;
+    private int size;
+    private int filled;
 
     /**
      * \brief Constructor of Deck
@@ -14,37 +22,45 @@ public class Deck {
      * Deck() : Create an empty deck.
      */
     public Deck() {
-        completeDeck = new ArrayList<>(Card.MAX_VALUE);
+        cards = new Card[Card.MAX_VALUE];
+        size = 0;
+        filled = 0;
     }
 
     /**
      * \brief Builder deck
      *
-     * buildDeck() : Build the deck with all the trump cards.
+     * buildDeck() : Build the deck with all the trump cards and the Fool.
      */
     public void buildDeck() {
-        this.completeDeck.clear();
-        try {
-            for (int value = Card.MIN_VALUE; value < Card.MAX_VALUE; value++) {
-                if (value == Card.MAX_VALUE) {
-                    completeDeck.add(new Card("Fool", value));
-                } else {
-                    completeDeck.add(new Card(Integer.toString(value), value));
-                }
-            }
-        } catch (Exception e) {
-            System.out.println(e.getMessage());
+        // Cards are shared, building the deck is only a copy of the table of cards
+        ensureCapacity(Card.MAX_VALUE);
+        for (int value = Card.MIN_VALUE; value <= Card.MAX_VALUE; value++) {
+            cards[value - Card.MIN_VALUE] = Card.of(value);
         }
+        Arrays.fill(cards, Card.MAX_VALUE, cards.length, null);
+        size = Card.MAX_VALUE;
+        filled = Card.MAX_VALUE;
+    }
+
+    /**
+     * \brief Rewind the deck
+     *
+     * rewind() : Put back every card dealt or removed since the deck was built.
+     * Nothing is allocated, the cards keep the order they had.
+     */
+    public void rewind() {
+        size = filled;
     }
 
     /**
      * \brief Getter completeDeck
      *
-     * getCompleteDeck() : Return the complete deck.
-     * \return ArrayList<Card>
+     * getCompleteDeck() : Return a view of the cards currently in the deck.
+     * \return List<Card>
      */
     public List<Card> getCompleteDeck() {
-        return this.completeDeck;
+        return Arrays.asList(cards).subList(0, size);
     }
 
     /**
@@ -54,7 +70,21 @@ public class Deck {
      * \return int
      */
     public int getSize() {
-        return this.completeDeck.size();
+        return this.size;
+    }
+
+    /**
+     * \brief Getter card set
+     *
+     * getCardSet() : Return the cards left in the deck as a CardSet.
+     * \return int
+     */
+    public int getCardSet() {
+        int set = CardSet.EMPTY;
+        for (int i = 0; i < size; i++) {
+            set = CardSet.add(set, cards[i].getValue());
+        }
+        return set;
     }
 
     /**
@@ -63,7 +93,21 @@ public class Deck {
      * shuffle() : Shuffle the deck.
      */
     public void shuffle() {
-        Collections.shuffle(completeDeck);
+        shuffle(ThreadLocalRandom.current());
+    }
+
+    /**
+     * \brief Shuffling the deck
+     *
+     * shuffle(RandomGenerator random) : Shuffle the deck in place with a specific
+     * source of randomness.
+     * \param RandomGenerator random
+     */
+    public void shuffle(RandomGenerator random) {
+        // Fisher-Yates on the cards still in the deck
+        for (int i = size - 1; i > 0; i--) {
+            swap(i, random.nextInt(i + 1));
+        }
     }
 
     /**
@@ -73,7 +117,12 @@ public class Deck {
      * \param Card card
      */
     public void addCard(Card card) {
-        this.completeDeck.add(card);
+        ensureCapacity(filled + 1);
+        // Keep the dealt cards after the cursor
+        System.arraycopy(cards, size, cards, size + 1, filled - size);
+        cards[size] = card;
+        size += 1;
+        filled += 1;
     }
 
     /**
@@ -84,7 +133,8 @@ public class Deck {
      * \return Card
      */
     public Card getCard(int index) {
-        return this.completeDeck.get(index);
+        Objects.checkIndex(index, size);
+        return this.cards[index];
     }
 
     /**
@@ -95,7 +145,12 @@ public class Deck {
      * \return Card
      */
     public Card removeCard(int index) {
-        return this.completeDeck.remove(index);
+        Card card = getCard(index);
+        // The other cards keep their order, the removed one goes just after the cursor
+        System.arraycopy(cards, index + 1, cards, index, size - index - 1);
+        size -= 1;
+        cards[size] = card;
+        return card;
     }
 
     /**
@@ -105,25 +160,90 @@ public class Deck {
      * card.
      * \param int numberCards
      * \return ArrayList<Card>
-     * 
+     *
      * @throws RemovingTooManyCards
      */
 
     public List<Card> removeCards(int numberCards) throws RemovingTooManyCards {
-        if (numberCards > this.completeDeck.size()) {
-            throw new RemovingTooManyCards("You can't remove more cards than the deck currently has.");
-        }
-        // deckSize needs to be static during the removal, otherwise we will jump over a
-        // card everytime we remove one
-        int deckSize = this.completeDeck.size();
+        checkRemoving(numberCards);
         ArrayList<Card> removedCards = new ArrayList<>(numberCards);
         for (int i = 0; i < numberCards; i++) {
             // Remove the last card
-            removedCards.add(this.removeCard(deckSize - i - 1));
+            removedCards.add(this.cards[--size]);
         }
         return removedCards;
     }
 
+    /**
+     * \brief Deal a card
+     *
+     * dealCard() : Remove the last card of the deck and return it. Nothing is
+     * allocated.
+     * \return Card
+     *
+     * @throws RemovingTooManyCards
+     */
+    public Card dealCard() throws RemovingTooManyCards {
+        checkRemoving(1);
+        return this.cards[--size];
+    }
+
+    /**
+     * \brief Deal cards as a set
+     *
+     * dealCardSet(int numberCards) : Remove numberCards from the deck beginning
+     * with the last card and return them as a CardSet.
+     * \param int numberCards
+     * \return int
+     *
+     * @throws RemovingTooManyCards
+     */
+    public int dealCardSet(int numberCards) throws RemovingTooManyCards {
+        checkRemoving(numberCards);
+        int set = CardSet.EMPTY;
+        for (int i = 0; i < numberCards; i++) {
+            set = CardSet.add(set, this.cards[--size].getValue());
+        }
+        return set;
+    }
+
+    /**
+     * \brief Check a removal
+     *
+     * checkRemoving(int numberCards) : Throw an exception if the deck hasn't
+     * numberCards left.
+     *
+     * @throws RemovingTooManyCards
+     */
+    private void checkRemoving(int numberCards) throws RemovingTooManyCards {
+        if (numberCards > this.size) {
+            throw new RemovingTooManyCards("You can't remove more cards than the deck currently has.");
+        }
+    }
+
+    /**
+     * \brief Swap two cards
+     *
+     * swap(int i, int j) : Swap the cards at index i and j.
+     */
+    private void swap(int i, int j) {
+        Card card = cards[i];
+        cards[i] = cards[j];
+        cards[j] = card;
+    }
+
+    /**
+     * \brief Capacity of the deck
+     *
+     * ensureCapacity(int capacity) : Grow the array of cards so it can hold
+     * capacity cards.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > cards.length) {
+            cards = Arrays.copyOf(cards, Math.max(capacity, 2 * cards.length));
+        }
+    }
+
     /**
      * \brief equals
      *
@@ -132,7 +252,7 @@ public class Deck {
      */
     @Override
     public boolean equals(Object o) {
-        return o == this || 
+        return o == this ||
         (this.getClass() == o.getClass() && ((Deck) o).hashCode() == this.hashCode());
     }
 
@@ -143,7 +263,7 @@ public class Deck {
      * \return int
      */
     public int hashCode() {
-        return 13 * this.completeDeck.hashCode();
+        return 13 * this.getCompleteDeck().hashCode();
     }
 
     /**
@@ -155,8 +275,8 @@ public class Deck {
     public String toString() {
         StringBuilder result = new StringBuilder("Deck \n");
 
-        for (Card card : completeDeck) {
-            result.append("Name : " + card.getName() + "Value : " + card.getValue());
+        for (int i = 0; i < size; i++) {
+            result.append("Name : " + cards[i].getName() + "Value : " + cards[i].getValue());
         }
         return result.toString();
     }
@@ -0,0 +1,37 @@
+package events;
+
+/**
+ * \brief Consumer of game events
+ *
+ * EventConsumer : Receive the events of an EventRing on the thread of an
+ * EventProcessor, by batches of the events published since the last batch.
+ */
+public interface EventConsumer {
+
+    /**
+     * \brief Receive an event
+     * onEvent(GameEvent event, boolean endOfBatch) : Handle event, a copy only
+     * valid during the call. endOfBatch is true for the last event available,
+     * when buffered output is best flushed.
+     * \param GameEvent event, boolean endOfBatch
+     */
+    void onEvent(GameEvent event, boolean endOfBatch);
+
+    /**
+     * \brief Events lost
+     * onLost(long numberEvents) : The ring wrote over numberEvents events before
+     * they were read.
+     * \param long numberEvents
+     */
+    default void onLost(long numberEvents) {
+    }
+
+    /**
+     * \brief Event failed
+     * onFailure(GameEvent event, RuntimeException exception) : onEvent threw
+     * exception while handling event. The processor goes on with the next event.
+     * \param GameEvent event, RuntimeException exception
+     */
+    default void onFailure(GameEvent event, RuntimeException exception) {
+    }
+}
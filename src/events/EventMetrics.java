@@ -0,0 +1,104 @@
+package events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * \brief Metrics of game events
+ *
+ * EventMetrics : Consumer counting the events of every type, the batches and
+ * the events lost. The counts are read from any thread while the processor
+ * goes on.
+ */
+public class EventMetrics implements EventConsumer {
+
+    private final AtomicLongArray counts;
+    private final AtomicLong numberBatches;
+    private final AtomicLong numberLost;
+    private final AtomicLong maxBatch;
+    // Events of the current batch, only touched by the processor
+    private long batch;
+
+    /**
+     * \brief Constructor EventMetrics
+     * EventMetrics(): create metrics with every count at 0.
+     */
+    public EventMetrics() {
+        this.counts = new AtomicLongArray(GameEventType.values().length);
+        this.numberBatches = new AtomicLong();
+        this.numberLost = new AtomicLong();
+        this.maxBatch = new AtomicLong();
+    }
+
+    @Override
+    public void onEvent(GameEvent event, boolean endOfBatch) {
+        counts.incrementAndGet(event.getType().ordinal());
+        batch += 1;
+        if (endOfBatch) {
+            numberBatches.incrementAndGet();
+            maxBatch.accumulateAndGet(batch, Math::max);
+            batch = 0;
+        }
+    }
+
+    @Override
+    public void onLost(long numberEvents) {
+        numberLost.addAndGet(numberEvents);
+    }
+
+    /**
+     * \brief Count of a type
+     * getCount(GameEventType type) : Return the number of events of type received.
+     * \param GameEventType type
+     * \return long
+     */
+    public long getCount(GameEventType type) {
+        return counts.get(type.ordinal());
+    }
+
+    /**
+     * \brief Count of the events
+     * getNumberEvents() : Return the number of events received.
+     * \return long
+     */
+    public long getNumberEvents() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * \brief Getter numberBatches
+     * getNumberBatches() : Return the number of batches received whole.
+     * \return long
+     */
+    public long getNumberBatches() {
+        return numberBatches.get();
+    }
+
+    /**
+     * \brief Getter maxBatch
+     * getMaxBatch() : Return the number of events of the largest batch.
+     * \return long
+     */
+    public long getMaxBatch() {
+        return maxBatch.get();
+    }
+
+    /**
+     * \brief Getter numberLost
+     * getNumberLost() : Return the number of events lost before they were read.
+     * \return long
+     */
+    public long getNumberLost() {
+        return numberLost.get();
+    }
+
+    @Override
+    public String toString() {
+        return getNumberEvents() + " events in " + getNumberBatches() + " batches (max " + getMaxBatch() + "), "
+                + getNumberLost() + " lost";
+    }
+}
@@ -0,0 +1,214 @@
+package events;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * \brief Reader of a ring of events
+ *
+ * EventProcessor : Read the events of an EventRing on its own thread and give
+ * them to an EventConsumer, by batches: the processor reads the cursor of the
+ * ring once, then hands over every event up to it. While the ring is empty it
+ * spins a little, then sleeps a little longer every time, up to MAX_PARK_NANOS,
+ * so an idle processor costs almost nothing and a busy one never sleeps.
+ *
+ * An exception thrown by the consumer only fails its event: it is counted and
+ * given back to the consumer (see EventConsumer.onFailure), and the processor
+ * goes on with the next event.
+ */
+public final class EventProcessor implements AutoCloseable {
+
+    /// Longest sleep of an idle processor
+    public static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final int SPINS = 100;
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final EventRing ring;
+    private final EventConsumer consumer;
+    private final Thread thread;
+    private final AtomicLong processed;
+    private final AtomicLong numberLost;
+    private final AtomicLong numberBatches;
+    private final AtomicLong numberFailed;
+    private volatile boolean closed;
+
+    private EventProcessor(EventRing ring, EventConsumer consumer, String name) {
+        this.ring = ring;
+        this.consumer = consumer;
+        this.processed = new AtomicLong(-1);
+        this.numberLost = new AtomicLong();
+        this.numberBatches = new AtomicLong();
+        this.numberFailed = new AtomicLong();
+        this.thread = Thread.ofPlatform().daemon().name(name).unstarted(this::process);
+    }
+
+    /**
+     * \brief Start a processor
+     * start(EventRing ring, EventConsumer consumer, String name) : Return a
+     * processor giving consumer every event published in ring from now on, on the
+     * thread name.
+     * \param EventRing ring, EventConsumer consumer, String name
+     * \return EventProcessor
+     */
+    public static EventProcessor start(EventRing ring, EventConsumer consumer, String name) {
+        EventProcessor processor = new EventProcessor(ring, consumer, name);
+        // The events already published are skipped
+        processor.processed.set(ring.getCursor());
+        processor.thread.start();
+        return processor;
+    }
+
+    /**
+     * \brief Getter processed
+     * getProcessed() : Return the number of the last event handed to the consumer
+     * or lost.
+     * \return long
+     */
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    /**
+     * \brief Getter numberLost
+     * getNumberLost() : Return the number of events written over before the
+     * processor read them.
+     * \return long
+     */
+    public long getNumberLost() {
+        return numberLost.get();
+    }
+
+    /**
+     * \brief Getter numberBatches
+     * getNumberBatches() : Return the number of batches handed to the consumer.
+     * \return long
+     */
+    public long getNumberBatches() {
+        return numberBatches.get();
+    }
+
+    /**
+     * \brief Getter numberFailed
+     * getNumberFailed() : Return the number of events, or of losses, the consumer
+     * threw an exception for.
+     * \return long
+     */
+    public long getNumberFailed() {
+        return numberFailed.get();
+    }
+
+    /**
+     * \brief Wait for the processor
+     * await(long sequence, long timeout, TimeUnit unit) : Wait until the event
+     * number sequence is processed, at most timeout. Return false if it still
+     * isn't.
+     * \param long sequence, long timeout, TimeUnit unit
+     * \return boolean
+     */
+    public boolean await(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (processed.get() < sequence) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * \brief Close the processor
+     * close() : Hand the events already published to the consumer, then stop the
+     * thread of the processor. An interrupted caller stops waiting for it, and
+     * keeps its interrupt.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void process() {
+        GameEvent event = new GameEvent();
+        long next = processed.get() + 1;
+        int idle = 0;
+        long park = MIN_PARK_NANOS;
+        while (true) {
+            long available = ring.getCursor();
+            if (available < next) {
+                if (closed) {
+                    return;
+                }
+                if (idle < SPINS) {
+                    idle += 1;
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(park);
+                    park = Math.min(2 * park, MAX_PARK_NANOS);
+                }
+                continue;
+            }
+            idle = 0;
+            park = MIN_PARK_NANOS;
+            next = skipLost(next, available);
+            long first = next;
+            while (next <= available && ring.read(next, event)) {
+                handle(event, next == available);
+                next += 1;
+            }
+            // Stopped before available if the writer lapped the processor meanwhile
+            if (next > first) {
+                processed.set(next - 1);
+                numberBatches.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * \brief Handle an event
+     * handle(GameEvent event, boolean endOfBatch) : Give event to the consumer,
+     * and give it back its exception if it throws one.
+     * \param GameEvent event, boolean endOfBatch
+     */
+    private void handle(GameEvent event, boolean endOfBatch) {
+        try {
+            consumer.onEvent(event, endOfBatch);
+        } catch (RuntimeException e) {
+            numberFailed.incrementAndGet();
+            try {
+                consumer.onFailure(event, e);
+            } catch (RuntimeException again) {
+                // Already counted, the processor goes on
+            }
+        }
+    }
+
+    /**
+     * \brief Skip the events lost
+     * skipLost(long next, long available) : Return the number of the oldest
+     * event still in the ring from next, telling the consumer about the ones
+     * written over.
+     * \param long next, long available
+     * \return long
+     */
+    private long skipLost(long next, long available) {
+        long oldest = available - ring.getCapacity() + 1;
+        if (next >= oldest) {
+            return next;
+        }
+        numberLost.addAndGet(oldest - next);
+        try {
+            consumer.onLost(oldest - next);
+        } catch (RuntimeException e) {
+            numberFailed.incrementAndGet();
+        }
+        return oldest;
+    }
+}
@@ -0,0 +1,193 @@
+package events;
+
+import java.util.List;
+
+import deck.DealSource;
+import game.GameListener;
+import game.Trick;
+import people.Player;
+
+/**
+ * \brief Publisher of game events
+ *
+ * EventPublisher : Listener of a game writing everything that happens in an
+ * EventRing, as GameEvents. The game only copies a few numbers in a slot
+ * allocated once, and never waits: rendering, recording or measuring the game
+ * happens on the threads of the EventProcessors reading the ring. A publisher
+ * only listens to one game at a time, the ring having a single writer.
+ */
+public class EventPublisher implements GameListener {
+
+    private final EventRing ring;
+    // Number and deals of the game about to start, told just before its start
+    private long game;
+    private DealSource deals;
+
+    /**
+     * \brief Constructor EventPublisher
+     * EventPublisher(EventRing ring): create a publisher writing in ring.
+     * \param EventRing ring
+     */
+    public EventPublisher(EventRing ring) {
+        this.ring = ring;
+        this.game = -1;
+    }
+
+    /**
+     * \brief Getter ring
+     * getRing() : Return the ring of the publisher.
+     * \return EventRing
+     */
+    public EventRing getRing() {
+        return this.ring;
+    }
+
+    @Override
+    public void onPlayerJoined(Player player) {
+        ring.claim(GameEventType.PLAYER_JOINED).text = player.getName();
+        ring.publish();
+    }
+
+    @Override
+    public void onGameNumber(long game, DealSource deals) {
+        // Published with the start, so a reader never gets the start of a game
+        // without its number
+        this.game = game;
+        this.deals = deals;
+    }
+
+    @Override
+    public void onGameStart(List<Player> players) {
+        GameEvent event = ring.claim(GameEventType.GAME_START);
+        event.game = game;
+        if (deals != null) {
+            event.value = 1;
+            event.seed = deals.getSeed();
+        }
+        game = -1;
+        deals = null;
+        for (Player player : players) {
+            event.add(player.getSeat(), player.getLife(), GameEvent.NO_DECISION);
+            event.names[player.getSeat()] = player.getName();
+        }
+        ring.publish();
+    }
+
+    @Override
+    public void onCardsDealt(List<Player> players) {
+        GameEvent event = ring.claim(GameEventType.CARDS_DEALT);
+        for (Player player : players) {
+            event.add(player.getSeat(), player.getCardSet(), GameEvent.NO_DECISION);
+        }
+        ring.publish();
+    }
+
+    @Override
+    public void onRoundStart(int numberRound) {
+        ring.claim(GameEventType.ROUND_START).value = numberRound;
+        ring.publish();
+    }
+
+    @Override
+    public void onBetSuggestion(Player player, int bet, double expectedTricks) {
+        GameEvent event = ring.claim(GameEventType.BET_SUGGESTION);
+        event.seat = player.getSeat();
+        event.value = bet;
+        event.number = expectedTricks;
+        ring.publish();
+    }
+
+    @Override
+    public void onBet(Player player, int betTricks) {
+        publish(GameEventType.BET, player, betTricks);
+    }
+
+    @Override
+    public void onBlindCall(Player player, boolean win) {
+        publish(GameEventType.BLIND_CALL, player, win ? 1 : 0);
+    }
+
+    @Override
+    public void onCardsPlayed(Trick trick) {
+        GameEvent event = ring.claim(GameEventType.CARDS_PLAYED);
+        for (int i = 0; i < trick.getNumberCards(); i++) {
+            int seat = trick.getSeat(i);
+            int decision = GameEvent.NO_DECISION;
+            if (trick.hasDecided(seat)) {
+                decision = trick.getDecision(seat) ? 1 : 0;
+            }
+            event.add(seat, trick.getCard(i).getValue(), decision);
+        }
+        ring.publish();
+    }
+
+    @Override
+    public void onFoolValue(Player player, int value) {
+        publish(GameEventType.FOOL_VALUE, player, value);
+    }
+
+    @Override
+    public void onTrickWon(Player winner) {
+        publish(GameEventType.TRICK_WON, winner, 0);
+    }
+
+    @Override
+    public void onTrickEnd() {
+        ring.claim(GameEventType.TRICK_END);
+        ring.publish();
+    }
+
+    @Override
+    public void onLifeLost(Player player, int lifePoints) {
+        publish(GameEventType.LIFE_LOST, player, lifePoints);
+    }
+
+    @Override
+    public void onRoundResult(Player player, int betTricks, int currentTricks) {
+        GameEvent event = ring.claim(GameEventType.ROUND_RESULT);
+        event.seat = player.getSeat();
+        event.value = betTricks;
+        event.value2 = currentTricks;
+        ring.publish();
+    }
+
+    @Override
+    public void onRoundEnd() {
+        ring.claim(GameEventType.ROUND_END);
+        ring.publish();
+    }
+
+    @Override
+    public void onPlayersDead(List<Player> playersDead) {
+        GameEvent event = ring.claim(GameEventType.PLAYERS_DEAD);
+        for (Player player : playersDead) {
+            event.add(player.getSeat(), 0, GameEvent.NO_DECISION);
+        }
+        ring.publish();
+    }
+
+    @Override
+    public void onGameOver(Player winner) {
+        ring.claim(GameEventType.GAME_OVER).seat = winner == null ? -1 : winner.getSeat();
+        ring.publish();
+    }
+
+    @Override
+    public void onInvalidDecision(String message) {
+        ring.claim(GameEventType.INVALID_DECISION).text = message;
+        ring.publish();
+    }
+
+    @Override
+    public void onError(String message) {
+        ring.claim(GameEventType.ERROR).text = message;
+        ring.publish();
+    }
+
+    private void publish(GameEventType type, Player player, int value) {
+        GameEvent event = ring.claim(type);
+        event.seat = player.getSeat();
+        event.value = value;
+        ring.publish();
+    }
+}
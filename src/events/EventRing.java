@@ -0,0 +1,131 @@
+package events;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * \brief Ring of game events
+ *
+ * EventRing : Preallocated ring of GameEvents, written by a single thread, the
+ * one of the game, and read by any number of EventProcessors. Event number n
+ * lands in the slot n modulo the capacity of the ring.
+ *
+ * The writer never waits for the readers: it writes over the oldest slot even
+ * if a reader is still behind it. Every slot holds the number of the event
+ * written in it, set to WRITING while it changes, and a reader copies an event
+ * between two reads of that number, like a StampedLock read. If the number
+ * changed, the reader was lapped: it knows how many events it lost and goes on
+ * from the oldest one still in the ring. A game never slows down because of a
+ * slow terminal or disk, the reader of the terminal or of the disk drops
+ * events instead, and says so.
+ */
+public final class EventRing {
+
+    /// Default number of slots
+    public static final int CAPACITY = 1 << 14;
+
+    // Number of a slot being written
+    private static final long WRITING = -1;
+
+    private final GameEvent[] slots;
+    private final int mask;
+    // Number of the event in every slot
+    private final AtomicLongArray stamps;
+    // Number of the last event published
+    private final AtomicLong cursor;
+    // Number of the next event, only touched by the writer
+    private long next;
+
+    /**
+     * \brief Constructor EventRing
+     * EventRing(): create a ring of CAPACITY events.
+     */
+    public EventRing() {
+        this(CAPACITY);
+    }
+
+    /**
+     * \brief Constructor EventRing
+     * EventRing(int capacity): create a ring of capacity events, a power of two.
+     * \param int capacity
+     */
+    public EventRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity of a ring is a power of two.");
+        }
+        this.slots = new GameEvent[capacity];
+        this.stamps = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new GameEvent();
+            // No event yet, slot i waits for event number i
+            stamps.set(i, i - capacity);
+        }
+        this.mask = capacity - 1;
+        this.cursor = new AtomicLong(-1);
+        this.next = 0;
+    }
+
+    /**
+     * \brief Getter capacity
+     * getCapacity() : Return the number of slots of the ring.
+     * \return int
+     */
+    public int getCapacity() {
+        return this.slots.length;
+    }
+
+    /**
+     * \brief Getter cursor
+     * getCursor() : Return the number of the last event published, -1 if none was.
+     * \return long
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * \brief Claim a slot
+     * claim(GameEventType type) : Return the empty event of type to write next,
+     * published by publish(). Only called by the writer.
+     * \param GameEventType type
+     * \return GameEvent
+     */
+    GameEvent claim(GameEventType type) {
+        int slot = (int) (next & mask);
+        stamps.set(slot, WRITING);
+        // The readers see WRITING before any field changes
+        VarHandle.storeStoreFence();
+        GameEvent event = slots[slot];
+        event.reset(type);
+        return event;
+    }
+
+    /**
+     * \brief Publish an event
+     * publish() : Give the readers the event claimed last.
+     */
+    void publish() {
+        stamps.lazySet((int) (next & mask), next);
+        cursor.lazySet(next);
+        next += 1;
+    }
+
+    /**
+     * \brief Read an event
+     * read(long sequence, GameEvent event) : Copy the event number sequence into
+     * event. Return false if it isn't in the ring, published yet or written over.
+     * \param long sequence, GameEvent event
+     * \return boolean
+     */
+    boolean read(long sequence, GameEvent event) {
+        int slot = (int) (sequence & mask);
+        if (stamps.get(slot) != sequence) {
+            return false;
+        }
+        event.copyFrom(slots[slot]);
+        // The copy is read before the stamp is checked again
+        VarHandle.acquireFence();
+        return stamps.get(slot) == sequence;
+    }
+}
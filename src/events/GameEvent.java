@@ -0,0 +1,227 @@
+package events;
+
+import game.Game;
+
+/**
+ * \brief Event of a game
+ *
+ * GameEvent : One slot of an EventRing, written again for every event that
+ * lands in it. An event only holds numbers and immutable strings, never a
+ * Player or a Trick the game keeps changing, so a consumer reads it on its own
+ * thread. The seats, values and decisions of the lists are given by index, from
+ * 0 to getCount() - 1.
+ */
+public final class GameEvent {
+
+    /// Decision of a seat that didn't call the blind round
+    public static final int NO_DECISION = -1;
+
+    GameEventType type;
+    int seat;
+    int value;
+    int value2;
+    double number;
+    long game;
+    long seed;
+    String text;
+    int count;
+    final int[] seats;
+    final int[] values;
+    final int[] decisions;
+    final String[] names;
+
+    /**
+     * \brief Constructor GameEvent
+     * GameEvent(): create an empty event, large enough for every seat.
+     */
+    public GameEvent() {
+        this.seats = new int[Game.NUMBER_PLAYERS];
+        this.values = new int[Game.NUMBER_PLAYERS];
+        this.decisions = new int[Game.NUMBER_PLAYERS];
+        this.names = new String[Game.NUMBER_PLAYERS];
+    }
+
+    /**
+     * \brief Reset the event
+     * reset(GameEventType type) : Empty the event and give it type.
+     * \param GameEventType type
+     */
+    void reset(GameEventType type) {
+        this.type = type;
+        this.seat = -1;
+        this.value = 0;
+        this.value2 = 0;
+        this.number = 0;
+        this.game = -1;
+        this.seed = 0;
+        this.text = null;
+        this.count = 0;
+    }
+
+    /**
+     * \brief Copy an event
+     * copyFrom(GameEvent event) : Make this event a copy of event.
+     * \param GameEvent event
+     */
+    void copyFrom(GameEvent event) {
+        this.type = event.type;
+        this.seat = event.seat;
+        this.value = event.value;
+        this.value2 = event.value2;
+        this.number = event.number;
+        this.game = event.game;
+        this.seed = event.seed;
+        this.text = event.text;
+        // A torn copy may hold any count, the EventRing throws it away
+        this.count = Math.min(Math.max(event.count, 0), seats.length);
+        System.arraycopy(event.seats, 0, seats, 0, seats.length);
+        System.arraycopy(event.values, 0, values, 0, values.length);
+        System.arraycopy(event.decisions, 0, decisions, 0, decisions.length);
+        System.arraycopy(event.names, 0, names, 0, names.length);
+    }
+
+    /**
+     * \brief Add a seat
+     * add(int seat, int value, int decision) : Add seat to the list of the event,
+     * with its value and decision.
+     * \param int seat, int value, int decision
+     */
+    void add(int seat, int value, int decision) {
+        seats[count] = seat;
+        values[count] = value;
+        decisions[count] = decision;
+        count += 1;
+    }
+
+    /**
+     * \brief Getter type
+     * getType() : Return the type of the event.
+     * \return GameEventType
+     */
+    public GameEventType getType() {
+        return this.type;
+    }
+
+    /**
+     * \brief Getter seat
+     * getSeat() : Return the seat of the event, -1 if it has none.
+     * \return int
+     */
+    public int getSeat() {
+        return this.seat;
+    }
+
+    /**
+     * \brief Getter value
+     * getValue() : Return the value of the event: tricks, life points, value of a
+     * card or of the Fool, or number of cards. A GAME_START has 1 if its deals
+     * come from a DealSource.
+     * \return int
+     */
+    public int getValue() {
+        return this.value;
+    }
+
+    /**
+     * \brief Getter value2
+     * getValue2() : Return the tricks won of a ROUND_RESULT.
+     * \return int
+     */
+    public int getValue2() {
+        return this.value2;
+    }
+
+    /**
+     * \brief Getter number
+     * getNumber() : Return the tricks expected of a BET_SUGGESTION.
+     * \return double
+     */
+    public double getNumber() {
+        return this.number;
+    }
+
+    /**
+     * \brief Getter game
+     * getGame() : Return the number of the game of a GAME_START in its series, -1
+     * if it has none.
+     * \return long
+     */
+    public long getGame() {
+        return this.game;
+    }
+
+    /**
+     * \brief Getter seed
+     * getSeed() : Return the seed of the DealSource of a GAME_START whose value is
+     * 1.
+     * \return long
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * \brief Getter text
+     * getText() : Return the name or the message of the event.
+     * \return String
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * \brief Getter count
+     * getCount() : Return the number of seats of the list of the event.
+     * \return int
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * \brief Seat of the list
+     * getSeatAt(int index) : Return the seat number index of the list.
+     * \param int index
+     * \return int
+     */
+    public int getSeatAt(int index) {
+        return this.seats[index];
+    }
+
+    /**
+     * \brief Value of the list
+     * getValueAt(int index) : Return the card, or the card set of a CARDS_DEALT,
+     * of the seat number index of the list.
+     * \param int index
+     * \return int
+     */
+    public int getValueAt(int index) {
+        return this.values[index];
+    }
+
+    /**
+     * \brief Decision of the list
+     * getDecisionAt(int index) : Return the blind call, 1 or 0, of the seat number
+     * index of the list, NO_DECISION if it didn't call.
+     * \param int index
+     * \return int
+     */
+    public int getDecisionAt(int index) {
+        return this.decisions[index];
+    }
+
+    /**
+     * \brief Name of a seat
+     * getName(int seat) : Return the name of seat, in a GAME_START.
+     * \param int seat
+     * \return String
+     */
+    public String getName(int seat) {
+        return this.names[seat];
+    }
+
+    @Override
+    public String toString() {
+        return type + " seat=" + seat + " value=" + value + " count=" + count;
+    }
+}
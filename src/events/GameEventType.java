@@ -0,0 +1,46 @@
+package events;
+
+/**
+ * \brief Types of game events
+ *
+ * GameEventType : What a GameEvent tells, one type per method of GameListener.
+ * The number of a game comes with its start.
+ */
+public enum GameEventType {
+    /// A player joined the game, named by the text
+    PLAYER_JOINED,
+    /// The game starts, with the names of every seat, its number and the seed of its deals
+    GAME_START,
+    /// The hands of the players alive, as card sets
+    CARDS_DEALT,
+    /// A round starts, value cards per player
+    ROUND_START,
+    /// value tricks suggested to seat, number expected
+    BET_SUGGESTION,
+    /// seat bets value tricks
+    BET,
+    /// seat calls it wins (value 1) or loses (value 0) the blind round
+    BLIND_CALL,
+    /// The cards of a trick, with the blind calls of the blind round
+    CARDS_PLAYED,
+    /// seat gives the value value to the Fool
+    FOOL_VALUE,
+    /// seat won the trick
+    TRICK_WON,
+    /// The trick is over
+    TRICK_END,
+    /// seat lost value life points
+    LIFE_LOST,
+    /// seat bet value tricks and won value2
+    ROUND_RESULT,
+    /// The round is over
+    ROUND_END,
+    /// The seats reached 0 life points
+    PLAYERS_DEAD,
+    /// The game is over, won by seat, -1 for a tie
+    GAME_OVER,
+    /// A decision broke the rules, explained by the text
+    INVALID_DECISION,
+    /// The game failed, explained by the text
+    ERROR
+}
@@ -0,0 +1,180 @@
+package events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import deck.Card;
+import deck.CardSet;
+import deck.DealSource;
+import game.GameListener;
+import game.Trick;
+import people.Player;
+
+/**
+ * \brief Listener behind a ring of events
+ *
+ * ListenerConsumer : Give the events of a ring to a GameListener, on the thread
+ * of the processor, so any listener written for a game (display, GameRecorder,
+ * TournamentStats...) follows it without slowing it down. The consumer keeps
+ * its own copies of the players and of the trick, updated from the events,
+ * and hands them to the listener: their seats, names, life points, bets,
+ * tricks and hands are the ones of the game, a hand being sorted by value.
+ *
+ * The copies are only right for a game followed from its start: the events of
+ * a game started before the consumer are skipped. When events are lost or one
+ * can't be handled, the listener is told to abandon the game (see
+ * GameListener.onGameAbandoned), so a GameRecorder never appends a record
+ * rebuilt from a wrong state, and the events are skipped up to the start of
+ * the next game.
+ */
+public class ListenerConsumer implements EventConsumer {
+
+    private final GameListener listener;
+    // Copies of the players, by seat
+    private final List<Player> players;
+    private Trick trick;
+    // True from the start of a game to its end, unless events were lost
+    private boolean following;
+
+    /**
+     * \brief Constructor ListenerConsumer
+     * ListenerConsumer(GameListener listener): create a consumer giving every
+     * event to listener.
+     * \param GameListener listener
+     */
+    public ListenerConsumer(GameListener listener) {
+        this.listener = listener;
+        this.players = new ArrayList<>();
+    }
+
+    @Override
+    public void onEvent(GameEvent event, boolean endOfBatch) {
+        GameEventType type = event.getType();
+        if (type == GameEventType.GAME_START) {
+            following = true;
+        } else if (!following && type != GameEventType.PLAYER_JOINED && type != GameEventType.INVALID_DECISION
+                && type != GameEventType.ERROR) {
+            // Part of a game not followed from its start
+            return;
+        }
+        try {
+            dispatch(event);
+        } catch (Exception e) {
+            // The events are only copies of a valid game
+            throw new IllegalStateException("The event " + event + " can't be replayed: " + e.getMessage(), e);
+        }
+        if (type == GameEventType.GAME_OVER) {
+            following = false;
+        }
+    }
+
+    @Override
+    public void onLost(long numberEvents) {
+        abandon(numberEvents + " events were lost, the listener is behind the game.");
+    }
+
+    @Override
+    public void onFailure(GameEvent event, RuntimeException exception) {
+        abandon(exception.getMessage());
+    }
+
+    /**
+     * \brief Abandon the game
+     * abandon(String message) : Tell the listener the game followed can't be
+     * followed any more, and skip its events.
+     * \param String message
+     */
+    private void abandon(String message) {
+        if (following) {
+            following = false;
+            listener.onGameAbandoned();
+        }
+        listener.onError(message);
+    }
+
+    private void dispatch(GameEvent event) throws Exception {
+        switch (event.getType()) {
+            case PLAYER_JOINED -> listener.onPlayerJoined(new Player(event.getText()));
+            case GAME_START -> {
+                if (event.getGame() >= 0) {
+                    listener.onGameNumber(event.getGame(),
+                            event.getValue() == 1 ? new DealSource(event.getSeed()) : null);
+                }
+                players.clear();
+                for (int i = 0; i < event.getCount(); i++) {
+                    int seat = event.getSeatAt(i);
+                    Player player = new Player(event.getName(seat));
+                    player.setSeat(seat);
+                    player.setLife(event.getValueAt(i));
+                    players.add(player);
+                }
+                trick = new Trick(players.size());
+                listener.onGameStart(players);
+            }
+            case CARDS_DEALT -> {
+                List<Player> alive = new ArrayList<>(event.getCount());
+                for (int i = 0; i < event.getCount(); i++) {
+                    Player player = players.get(event.getSeatAt(i));
+                    player.setCards(CardSet.toCards(event.getValueAt(i)));
+                    alive.add(player);
+                }
+                listener.onCardsDealt(alive);
+            }
+            case ROUND_START -> listener.onRoundStart(event.getValue());
+            case BET_SUGGESTION -> listener.onBetSuggestion(player(event), event.getValue(), event.getNumber());
+            case BET -> {
+                player(event).setBetTricks(event.getValue());
+                listener.onBet(player(event), event.getValue());
+            }
+            case BLIND_CALL -> listener.onBlindCall(player(event), event.getValue() == 1);
+            case CARDS_PLAYED -> {
+                trick.clear();
+                for (int i = 0; i < event.getCount(); i++) {
+                    Player player = players.get(event.getSeatAt(i));
+                    Card card = Card.of(event.getValueAt(i));
+                    if (event.getDecisionAt(i) == GameEvent.NO_DECISION) {
+                        // Played from the hand, not revealed as in the blind round
+                        player.getCards().remove(card);
+                    } else {
+                        trick.decide(player, event.getDecisionAt(i) == 1);
+                    }
+                    trick.play(player, card);
+                }
+                listener.onCardsPlayed(trick);
+            }
+            case FOOL_VALUE -> {
+                trick.setFoolValue(event.getSeat(), event.getValue());
+                listener.onFoolValue(player(event), event.getValue());
+            }
+            case TRICK_WON -> {
+                listener.onTrickWon(player(event));
+                player(event).addCurrentTricks();
+            }
+            case TRICK_END -> listener.onTrickEnd();
+            case LIFE_LOST -> {
+                player(event).removeLife(event.getValue());
+                listener.onLifeLost(player(event), event.getValue());
+            }
+            case ROUND_RESULT -> {
+                listener.onRoundResult(player(event), event.getValue(), event.getValue2());
+                player(event).setBetTricks(0);
+                player(event).setCurrentTricks(0);
+            }
+            case ROUND_END -> listener.onRoundEnd();
+            case PLAYERS_DEAD -> {
+                List<Player> dead = new ArrayList<>(event.getCount());
+                for (int i = 0; i < event.getCount(); i++) {
+                    dead.add(players.get(event.getSeatAt(i)));
+                }
+                listener.onPlayersDead(dead);
+            }
+            case GAME_OVER -> listener.onGameOver(event.getSeat() < 0 ? null : players.get(event.getSeat()));
+            case INVALID_DECISION -> listener.onInvalidDecision(event.getText());
+            case ERROR -> listener.onError(event.getText());
+        }
+    }
+
+    private Player player(GameEvent event) {
+        return players.get(event.getSeat());
+    }
+}
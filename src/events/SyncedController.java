@@ -0,0 +1,84 @@
+package events;
+
+import java.util.concurrent.TimeUnit;
+
+import deck.Card;
+import game.SeatController;
+import game.Trick;
+import people.Player;
+
+/**
+ * \brief Seat waiting for its display
+ *
+ * SyncedController : Seat asking its controller only once an EventProcessor
+ * handed over every event published before, to the display of a console for
+ * instance. The game never waits for its listeners, but a player in front of
+ * the display decides on what it shows, and the display and the questions
+ * never write to the terminal at the same time.
+ */
+public class SyncedController implements SeatController {
+
+    private final SeatController controller;
+    private final EventRing ring;
+    private final EventProcessor display;
+
+    /**
+     * \brief Constructor SyncedController
+     * SyncedController(SeatController controller, EventRing ring, EventProcessor
+     * display): create a seat asking controller once display read every event
+     * published in ring.
+     * \param SeatController controller, EventRing ring, EventProcessor display
+     */
+    public SyncedController(SeatController controller, EventRing ring, EventProcessor display) {
+        this.controller = controller;
+        this.ring = ring;
+        this.display = display;
+    }
+
+    @Override
+    public String chooseName() {
+        catchUp();
+        return controller.chooseName();
+    }
+
+    @Override
+    public int chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) {
+        catchUp();
+        return controller.chooseBet(player, numberRound, totalBet, lastBettor);
+    }
+
+    @Override
+    public int chooseCard(Player player, Trick trick) {
+        catchUp();
+        return controller.chooseCard(player, trick);
+    }
+
+    @Override
+    public boolean chooseLastRound(Player player, Trick opponents) {
+        catchUp();
+        return controller.chooseLastRound(player, opponents);
+    }
+
+    @Override
+    public int chooseFoolValue(Player player, Card card) {
+        catchUp();
+        return controller.chooseFoolValue(player, card);
+    }
+
+    /**
+     * \brief Wait for the display
+     * catchUp() : Wait until the display handed over every event published so
+     * far. The display may itself wait for the player, so there is no deadline.
+     * An interrupted thread stops waiting and keeps its interrupt.
+     */
+    private void catchUp() {
+        long published = ring.getCursor();
+        try {
+            while (!display.await(published, 1, TimeUnit.SECONDS)) {
+                // Still showing the events before the question
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
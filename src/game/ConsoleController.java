@@ -0,0 +1,400 @@
+package game;
+
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Scanner;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import deck.Card;
+import people.Player;
+
+/**
+ * \brief Console seat
+ *
+ * ConsoleController : Every player sits in front of the same terminal. The
+ * decisions are read from the standard input and the game is displayed on the
+ * standard output.
+ */
+public class ConsoleController implements SeatController, GameListener {
+
+    public static final String GO_NEXT_PLAYER = " to go to next player.";
+
+    private Scanner scanner;
+    // Suggestion for the next bet, shown once the player is in front of the screen
+    private String betSuggestion;
+
+    // Create a Logger
+    Logger logger = Logger.getLogger(ConsoleController.class.getName());
+
+    /**
+     * \brief Constructor ConsoleController
+     * ConsoleController(): read the decisions from the standard input.
+     */
+    public ConsoleController() {
+        scanner = new Scanner(System.in);
+    }
+
+    /**
+     * \brief Name of a new player
+     *
+     * chooseName() : Allow the user to enter the name of a new Player.
+     * \return String
+     */
+    @Override
+    public String chooseName() {
+        System.out.println("Enter a name (max 8 chars).");
+        String userName = scanner.next(); // Read user input
+        System.out.println("userName : " + userName);
+        return userName;
+    }
+
+    /**
+     * \brief Bet of a player
+     *
+     * chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) :
+     * The player can see their cards and bet a number of tricks they think they
+     * will win.
+     * \param Player player, int numberRound, int totalBet, boolean lastBettor
+     * \return int
+     */
+    @Override
+    public int chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) {
+        playerTransition(player);
+        System.out.println(player.getCards());
+        System.out.println("How many tricks do you want to bet?");
+        System.out.println("Current total bet: " + totalBet);
+        if (betSuggestion != null) {
+            System.out.println(betSuggestion);
+            betSuggestion = null;
+        }
+        Integer bet = null;
+        while (bet == null) {
+            try {
+                int betTricks = scanner.nextInt();
+                if (totalBet + betTricks == numberRound && lastBettor) {
+                    System.out.println("The total of the bets can't be equal" +
+                            " to the number of cards distributed per player.");
+                } else if (betTricks < 0) {
+                    System.err.println("Bet can only be done with positive or null value.");
+                } else {
+                    bet = betTricks;
+                }
+            } catch (Exception e) {
+                System.err.println("Error while processing bet tricks " + e.getMessage());
+
+                // Skip to the next input
+                scanner.next();
+            }
+        }
+        enterWait(" to go to the next player.");
+        return bet;
+    }
+
+    /**
+     * \brief Card played by a player
+     *
+     * chooseCard(Player player, Trick trick) : The player can play any card from
+     * their hands.
+     * \param Player player, Trick trick
+     * \return int
+     */
+    @Override
+    public int chooseCard(Player player, Trick trick) {
+        playerTransition(player);
+        int indexCard = 0;
+
+        System.out.println("Life points: " + player.getLife());
+        separatorPrint();
+
+        System.out.println("Cards currently played: ");
+        printCardsPlayed(trick);
+        separatorPrint();
+
+        while (indexCard == 0) {
+            try {
+                System.out.println("Which card would you like to play ?");
+                printCardsPlayer(player.getCards());
+                int input = scanner.nextInt();
+                if (input >= 1 && input <= player.getNumberCards()) {
+                    indexCard = input;
+                } else {
+                    System.err.println("The card can't be played.");
+                }
+            } catch (Exception e) {
+                System.err.println("The card can't be played.");
+                // Skip the next input to allow the function to wait for the next one
+                scanner.next();
+            }
+        }
+        enterWait(GO_NEXT_PLAYER);
+        return indexCard;
+    }
+
+    /**
+     * \brief Decision for the last round
+     *
+     * chooseLastRound(Player player, Trick opponents) : The player bet if they won
+     * or lose this round by typing 0 for win or 1 for lose.
+     * \param Player player, Trick opponents
+     * \return boolean
+     */
+    @Override
+    public boolean chooseLastRound(Player player, Trick opponents) {
+        playerTransition(player);
+        printLastRound(opponents);
+        System.out.println("Do you bet that you win or lose this round?");
+
+        Boolean decision = null;
+        while (decision == null) {
+            try {
+                System.out.println("Enter 0 for win, 1 for lose.");
+                int input = scanner.nextInt();
+                if (input == 0) {
+                    decision = true;
+                } else if (input == 1) {
+                    decision = false;
+                }
+            } catch (Exception e) {
+                System.err.println("Error while processing input: " + e.getMessage());
+                scanner.next();
+                logger.log(Level.WARNING, "The input is not an int ", new InputMismatchException());
+            }
+        }
+        enterWait(" to go to the next player.");
+        return decision;
+    }
+
+    /**
+     * \brief Value of the Fool
+     *
+     * chooseFoolValue(Player player, Card card) : The player who played the Fool
+     * chooses its value.
+     * \param Player player, Card card
+     * \return int
+     */
+    @Override
+    public int chooseFoolValue(Player player, Card card) {
+        System.out.println(String.format("Player %s : you played the card %s", player.getName(), card.getName()));
+        System.out.println("Enter its value: 0 or 22.");
+        while (true) {
+            try {
+                int value = scanner.nextInt();
+                if (Game.isFoolValue(value)) {
+                    return value;
+                }
+            } catch (Exception e) {
+                System.err.println("You can't choose any other value other than 0 or 22.");
+                // Skip to the next entry
+                scanner.next();
+            }
+        }
+    }
+
+    @Override
+    public void onPlayerJoined(Player player) {
+        clearTerminal();
+    }
+
+    @Override
+    public void onBetSuggestion(Player player, int bet, double expectedTricks) {
+        betSuggestion = String.format("Suggested bet: %d (%.2f tricks expected)", bet, expectedTricks);
+    }
+
+    @Override
+    public void onCardsPlayed(Trick trick) {
+        printCardsPlayed(trick);
+    }
+
+    @Override
+    public void onTrickWon(Player winner) {
+        separatorPrint();
+        // Display the player who won the trick
+        System.out.println(String.format("Player %s won the trick!", winner.getName()));
+        separatorPrint();
+    }
+
+    @Override
+    public void onTrickEnd() {
+        enterWait(" to launch the next turn.");
+    }
+
+    @Override
+    public void onLifeLost(Player player, int lifePoints) {
+        System.out.println(String.format("Player %s  you lose %d life point(s).", player.getName(), lifePoints));
+    }
+
+    @Override
+    public void onRoundResult(Player player, int betTricks, int currentTricks) {
+        separatorPrint();
+        System.out.println(String.format("Player %s", player.getName()));
+        System.out.println("Bet tricks: " + betTricks);
+        System.out.println("Current tricks: " + currentTricks);
+    }
+
+    @Override
+    public void onRoundEnd() {
+        enterWait(" to launch next round.");
+    }
+
+    @Override
+    public void onPlayersDead(List<Player> playersDead) {
+        for (Player player : playersDead) {
+            System.out.println("Player " + player.getName() +
+                    " has 0 life points! They can't play anymore.");
+        }
+    }
+
+    @Override
+    public void onGameOver(Player winner) {
+        System.out.println("The game is over.");
+        if (winner != null) {
+            System.out.println("Player " + winner.getName() + " won the game!");
+        } else {
+            System.out.println("This is a tie. No player won this game.");
+        }
+    }
+
+    @Override
+    public void onInvalidDecision(String message) {
+        System.err.println(message);
+    }
+
+    @Override
+    public void onError(String message) {
+        System.err.println(message);
+    }
+
+    /**
+     * \brief Print the cards of a player
+     * printCardsPlayer(List<Card> cards) : Print the cards of a player with the
+     * index to type to play them.
+     * \param List<Card> cards
+     */
+    private void printCardsPlayer(List<Card> cards) {
+        // Number of the card
+        int numberCard = 1;
+        for (Card card : cards) {
+            System.out.print(card + " [" + numberCard + "]");
+            if (numberCard != cards.size()) {
+                System.out.print(" | ");
+            }
+            numberCard += 1;
+        }
+        // The input return to the beginning
+        System.out.println("");
+    }
+
+    /**
+     * \brief Print cards played
+     * printCardsPlayed(Trick trick) : Print all cards played this turn.
+     * \param Trick trick
+     */
+    private void printCardsPlayed(Trick trick) {
+        // Display all the cards played for this turn
+        for (int index = 0; index < trick.getNumberCards(); index++) {
+            System.out.println(String.format("Player %s Card: %s", trick.getPlayer(index).getName(),
+                    trick.getCard(index).getName()));
+        }
+    }
+
+    /**
+     * \brief Print last round info
+     * printLastRound(Trick opponents): Print cards and decisions taken by the
+     * opponents of the current player.
+     * \param Trick opponents
+     */
+    private void printLastRound(Trick opponents) {
+        System.out.println("Your opponents have those cards:");
+        for (int index = 0; index < opponents.getNumberCards(); index++) {
+            // Print the card of the player
+            System.out.println(opponents.getPlayer(index).getName() + ": " + opponents.getCard(index));
+        }
+
+        separatorPrint();
+
+        if (opponents.getNumberDecisions() > 0) {
+            System.out.println("Those are the decision taken so far:");
+            for (int index = 0; index < opponents.getNumberDecisions(); index++) {
+                int seat = opponents.getDecisionSeat(index);
+                String playerName = opponents.getPlayerOfSeat(seat).getName();
+                System.out.println(playerName + ": " + conversionBoolWinLose(opponents.getDecision(seat)));
+            }
+        }
+    }
+
+    /**
+     * \brief Convert boolean to win or lose word
+     * conversionBoolWinLose(boolean decision): Return 'win' if true, 'lose'
+     * otherwise.
+     * \param boolean decision
+     * \return String
+     */
+    private String conversionBoolWinLose(boolean decision) {
+        if (decision) {
+            return "win";
+        }
+        return "lose";
+    }
+
+    /**
+     * \brief Clear terminal
+     *
+     * clearTerminal() : Pseudo clear the terminal
+     */
+    public void clearTerminal() {
+        System.out.print("\033\143");
+    }
+
+    /**
+     * \brief Wait for enter input
+     *
+     * enterWait(String message) : Wait for the user to use the input enter for any
+     * action specified in the message.
+     * Once it's done, clear the terminal.
+     */
+    public void enterWait(String message) {
+        System.out.println("Press enter" + message);
+        try {
+            System.in.read();
+            // Clear the buffer in case the input has anything
+            if (scanner.hasNextLine()) {
+                scanner.nextLine();
+            }
+        } catch (Exception e) {
+            System.err.println("Error while reading input: " + e.getMessage());
+        }
+
+        clearTerminal();
+    }
+
+    /**
+     * \brief Wait for player
+     *
+     * playerTransition(Player player) : Wait for the player to press enter before
+     * printing any information regarding they cards
+     * Once it's done, clear the terminal.
+     */
+    public void playerTransition(Player player) {
+        System.out.println(player.getName() + " it's your turn");
+        enterWait("");
+    }
+
+    /**
+     * \brief Print separator
+     *
+     * separatorPrint(): Print separator.
+     */
+    public void separatorPrint() {
+        System.out.println("--------------------");
+    }
+
+    /**
+     * \brief Close the input
+     *
+     * close(): Close the scanner reading the standard input.
+     */
+    public void close() {
+        scanner.close();
+    }
+}
@@ -0,0 +1,489 @@
+package game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+
+import deck.Card;
+import deck.CardSet;
+import deck.DealRanking;
+import deck.DealSource;
+
+/**
+ * \brief Expected tricks of every hand
+ *
+ * ExpectedTricksTable : For every hand of 1 to ROUND_MAX cards, every position
+ * in the turn and every number of players, the probability to win 0, 1, ... up
+ * to all the tricks of the round. The other hands are every deal of the cards
+ * left when there are few of them, a sample of these deals otherwise. Every
+ * player then plays the same way: the first one plays their highest card, the
+ * others the lowest card beating the table or, if they can't, their lowest
+ * card. The Fool is played to win.
+ *
+ * The probabilities are stored as unsigned shorts, in units of 1 / 65535, in
+ * one buffer. A table loaded from a file maps the file and reads its shorts in
+ * place, so loading is immediate and a lookup is one read of a few shorts.
+ */
+public class ExpectedTricksTable {
+
+    /// Number of players of the table
+    public static final int PLAYERS_MIN = 2;
+    public static final int PLAYERS_MAX = Game.NUMBER_PLAYERS;
+
+    /// Number of deals tried for every hand by default
+    public static final int DEFAULT_SAMPLES = 2048;
+
+    // First int of a file
+    private static final int MAGIC = 0x45585452;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES;
+
+    // Unit of the probabilities
+    private static final int ONE = 0xffff;
+
+    // Number of hands a worker builds without splitting its range again
+    private static final int HANDS_PER_TASK = 64;
+
+    // Number of different values of a card
+    private static final int NUMBER_VALUES = Card.MAX_VALUE;
+
+    // OFFSETS[numberPlayers][numberCards]: first short of the block of these hands
+    private static final int[][] OFFSETS = new int[PLAYERS_MAX + 1][Game.ROUND_MAX + 1];
+    private static final int NUMBER_SHORTS = buildOffsets();
+
+    private final ByteBuffer shorts;
+    private final int samples;
+    private final long seed;
+
+    private ExpectedTricksTable(ByteBuffer shorts, int samples, long seed) {
+        this.shorts = shorts;
+        this.samples = samples;
+        this.seed = seed;
+    }
+
+    /**
+     * \brief Build a table
+     * build(int samples, int parallelism, long seed) : Compute the table on
+     * parallelism threads, every hand trying all the deals of the other cards if
+     * there are at most samples of them, samples random deals otherwise. The same
+     * seed always gives the same table.
+     * \param int samples, int parallelism, long seed
+     * \return ExpectedTricksTable
+     */
+    public static ExpectedTricksTable build(int samples, int parallelism, long seed) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("Every hand needs at least one deal.");
+        }
+        char[] entries = new char[NUMBER_SHORTS];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int numberPlayers = PLAYERS_MIN; numberPlayers <= PLAYERS_MAX; numberPlayers++) {
+                for (int numberCards = 1; numberCards <= Game.ROUND_MAX; numberCards++) {
+                    pool.invoke(new HandsTask(entries, samples, new DealSource(seed), numberPlayers, numberCards, 0,
+                            DealRanking.binomial(NUMBER_VALUES, numberCards)));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        ByteBuffer shorts = ByteBuffer.allocate(HEADER_BYTES + 2 * NUMBER_SHORTS);
+        shorts.putInt(MAGIC).putInt(samples).putLong(seed);
+        shorts.asCharBuffer().put(entries);
+        return new ExpectedTricksTable(shorts.clear(), samples, seed);
+    }
+
+    /**
+     * \brief Load a table
+     * load(Path path) : Map the table saved at path.
+     * \param Path path
+     * \return ExpectedTricksTable
+     */
+    public static ExpectedTricksTable load(Path path) throws IOException {
+        ByteBuffer shorts;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_BYTES + 2L * NUMBER_SHORTS) {
+                throw new IOException(path + " is not a table of expected tricks.");
+            }
+            shorts = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (shorts.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a table of expected tricks.");
+        }
+        return new ExpectedTricksTable(shorts, shorts.getInt(Integer.BYTES), shorts.getLong(2 * Integer.BYTES));
+    }
+
+    /**
+     * \brief Save the table
+     * save(Path path) : Save the table at path, first next to it then moved over
+     * it.
+     * \param Path path
+     */
+    public void save(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer content = shorts.duplicate().clear();
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * \brief Getter samples
+     * getSamples() : Return the largest number of deals tried for a hand.
+     * \return int
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * \brief Getter seed
+     * getSeed() : Return the seed of the sampled deals.
+     * \return long
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * \brief Probability of a number of tricks
+     * probability(int hand, int position, int numberPlayers, int tricks) : Return
+     * the probability that the CardSet hand wins tricks tricks, at position in
+     * the turn of numberPlayers players.
+     * \param int hand, int position, int numberPlayers, int tricks
+     * \return double
+     */
+    public double probability(int hand, int position, int numberPlayers, int tricks) {
+        int numberCards = CardSet.size(hand);
+        if (tricks < 0 || tricks > numberCards) {
+            return 0;
+        }
+        return (double) shortAt(entry(hand, position, numberPlayers) + tricks) / ONE;
+    }
+
+    /**
+     * \brief Expected tricks
+     * expectedTricks(int hand, int position, int numberPlayers) : Return the
+     * average number of tricks won by the CardSet hand, at position in the turn
+     * of numberPlayers players.
+     * \param int hand, int position, int numberPlayers
+     * \return double
+     */
+    public double expectedTricks(int hand, int position, int numberPlayers) {
+        int entry = entry(hand, position, numberPlayers);
+        long sum = 0;
+        for (int tricks = 1; tricks <= CardSet.size(hand); tricks++) {
+            sum += (long) tricks * shortAt(entry + tricks);
+        }
+        return (double) sum / ONE;
+    }
+
+    /**
+     * \brief Suggested bet
+     * suggestBet(int hand, int position, int numberPlayers, int totalBet, boolean lastBettor) :
+     * Return the legal bet losing the fewest life points on average with the
+     * CardSet hand, after bets totalling totalBet.
+     * \param int hand, int position, int numberPlayers, int totalBet, boolean lastBettor
+     * \return int
+     */
+    public int suggestBet(int hand, int position, int numberPlayers, int totalBet, boolean lastBettor) {
+        int entry = entry(hand, position, numberPlayers);
+        int numberCards = CardSet.size(hand);
+        int best = -1;
+        long bestLoss = Long.MAX_VALUE;
+        for (int bet = 0; bet <= numberCards; bet++) {
+            // The last bettor can't make the total equal to the number of cards
+            if (lastBettor && totalBet + bet == numberCards) {
+                continue;
+            }
+            long loss = 0;
+            for (int tricks = 0; tricks <= numberCards; tricks++) {
+                loss += (long) Math.abs(bet - tricks) * shortAt(entry + tricks);
+            }
+            if (loss < bestLoss) {
+                bestLoss = loss;
+                best = bet;
+            }
+        }
+        return best;
+    }
+
+    private int shortAt(int index) {
+        return shorts.getChar(HEADER_BYTES + 2 * index);
+    }
+
+    /**
+     * \brief Entry of a hand
+     * entry(int hand, int position, int numberPlayers) : Return the index of the
+     * first short of the hand, the probability to win no trick.
+     * \param int hand, int position, int numberPlayers
+     * \return int
+     */
+    private static int entry(int hand, int position, int numberPlayers) {
+        int numberCards = CardSet.size(hand);
+        if (numberPlayers < PLAYERS_MIN || numberPlayers > PLAYERS_MAX || position < 0
+                || position >= numberPlayers) {
+            throw new IllegalArgumentException("The table holds " + PLAYERS_MIN + " to " + PLAYERS_MAX
+                    + " players, and the position must be one of them.");
+        }
+        if (numberCards < 1 || numberCards > Game.ROUND_MAX || (hand & ~CardSet.FULL) != 0) {
+            throw new IllegalArgumentException("The hand must hold 1 to " + Game.ROUND_MAX + " cards.");
+        }
+        return OFFSETS[numberPlayers][numberCards] + (rank(hand) * numberPlayers + position) * (numberCards + 1);
+    }
+
+    /**
+     * \brief Rank of a hand
+     * rank(int hand) : Return the index of the CardSet hand among the hands of the
+     * same size, in increasing order of their sets.
+     * \param int hand
+     * \return int
+     */
+    private static int rank(int hand) {
+        // The card of value v is the bit v - 1 of the subset
+        return DealRanking.rankSubset(hand >>> 1);
+    }
+
+    /**
+     * \brief Hand of a rank
+     * unrank(int rank, int numberCards) : Return the CardSet of numberCards cards
+     * whose rank is rank.
+     * \param int rank, int numberCards
+     * \return int
+     */
+    private static int unrank(int rank, int numberCards) {
+        return DealRanking.unrankSubset(rank, numberCards) << 1;
+    }
+
+    /**
+     * \brief Range of hands
+     *
+     * HandsTask : Build the entries of the hands of rank first (included) to last
+     * (excluded), for numberPlayers players and numberCards cards. The range is
+     * split in two while it is larger than HANDS_PER_TASK.
+     */
+    @SuppressWarnings("serial")
+    private static final class HandsTask extends RecursiveAction {
+
+        private final char[] entries;
+        private final int samples;
+        private final DealSource deals;
+        private final int numberPlayers;
+        private final int numberCards;
+        private final int first;
+        private final int last;
+
+        HandsTask(char[] entries, int samples, DealSource deals, int numberPlayers, int numberCards, int first,
+                int last) {
+            this.entries = entries;
+            this.samples = samples;
+            this.deals = deals;
+            this.numberPlayers = numberPlayers;
+            this.numberCards = numberCards;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > HANDS_PER_TASK) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new HandsTask(entries, samples, deals, numberPlayers, numberCards, first, middle),
+                        new HandsTask(entries, samples, deals, numberPlayers, numberCards, middle, last));
+                return;
+            }
+            HandBuilder builder = new HandBuilder(numberPlayers, numberCards);
+            for (int rank = first; rank < last; rank++) {
+                int hand = unrank(rank, numberCards);
+                long[][] counts = builder.count(hand, samples, deals.forGame(((long) numberPlayers << 40)
+                        | ((long) numberCards << 32) | rank));
+                for (int position = 0; position < numberPlayers; position++) {
+                    store(rank, position, counts[position]);
+                }
+            }
+        }
+
+        private void store(int rank, int position, long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            int entry = OFFSETS[numberPlayers][numberCards] + (rank * numberPlayers + position) * (numberCards + 1);
+            for (int tricks = 0; tricks <= numberCards; tricks++) {
+                entries[entry + tricks] = (char) Math.round((double) counts[tricks] * ONE / total);
+            }
+        }
+    }
+
+    /**
+     * \brief Tricks of one hand
+     *
+     * HandBuilder : Deal the other cards to the opponents of a hand and count the
+     * tricks the hand wins at every position.
+     */
+    private static final class HandBuilder {
+
+        private final int numberPlayers;
+        private final int numberCards;
+        private final int[] opponents;
+        private final int[] hands;
+        private final int[] pool = new int[NUMBER_VALUES];
+        private long[][] counts;
+
+        HandBuilder(int numberPlayers, int numberCards) {
+            this.numberPlayers = numberPlayers;
+            this.numberCards = numberCards;
+            this.opponents = new int[numberPlayers - 1];
+            this.hands = new int[numberPlayers];
+        }
+
+        long[][] count(int hand, int samples, RandomGenerator random) {
+            counts = new long[numberPlayers][numberCards + 1];
+            int rest = CardSet.FULL & ~hand;
+            if (numberDeals(CardSet.size(rest)) <= samples) {
+                enumerate(hand, rest, 0);
+                return counts;
+            }
+            for (int sample = 0; sample < samples; sample++) {
+                int poolSize = 0;
+                for (int cards = rest; cards != CardSet.EMPTY; cards = CardSet.removeLowest(cards)) {
+                    pool[poolSize++] = CardSet.lowest(cards);
+                }
+                for (int i = 0; i < opponents.length; i++) {
+                    int opponent = CardSet.EMPTY;
+                    for (int j = 0; j < numberCards; j++) {
+                        int index = random.nextInt(poolSize);
+                        opponent = CardSet.add(opponent, pool[index]);
+                        pool[index] = pool[--poolSize];
+                    }
+                    opponents[i] = opponent;
+                }
+                play(hand);
+            }
+            return counts;
+        }
+
+        /**
+         * \brief Number of deals
+         * numberDeals(int numberLeft) : Return the number of ways to deal the hands
+         * of the opponents from numberLeft cards, or Long.MAX_VALUE if it is huge.
+         * \param int numberLeft
+         * \return long
+         */
+        private long numberDeals(int numberLeft) {
+            long deals = 1;
+            for (int i = 0; i < opponents.length; i++) {
+                deals *= DealRanking.binomial(numberLeft - i * numberCards, numberCards);
+                if (deals > Integer.MAX_VALUE) {
+                    return Long.MAX_VALUE;
+                }
+            }
+            return deals;
+        }
+
+        /**
+         * \brief Every deal
+         * enumerate(int hand, int rest, int opponent) : Give every set of numberCards
+         * cards of rest to the opponent number opponent, then to the next ones.
+         * \param int hand, int rest, int opponent
+         */
+        private void enumerate(int hand, int rest, int opponent) {
+            if (opponent == opponents.length) {
+                play(hand);
+                return;
+            }
+            int numberLeft = CardSet.size(rest);
+            // Every subset of numberCards bits among numberLeft, in increasing order
+            for (int subset = (1 << numberCards) - 1; subset < 1 << numberLeft; subset = nextSubset(subset)) {
+                int cards = Integer.expand(subset, rest);
+                opponents[opponent] = cards;
+                enumerate(hand, rest & ~cards, opponent + 1);
+            }
+        }
+
+        private static int nextSubset(int subset) {
+            int lowest = subset & -subset;
+            int ripple = subset + lowest;
+            return ripple | (((subset ^ ripple) >>> 2) / lowest);
+        }
+
+        /**
+         * \brief Play the deal
+         * play(int hand) : Seat the hand at every position, the opponents in their
+         * order around it, and count its tricks.
+         * \param int hand
+         */
+        private void play(int hand) {
+            for (int position = 0; position < numberPlayers; position++) {
+                for (int i = 0; i < numberPlayers; i++) {
+                    hands[i] = i < position ? opponents[i] : i == position ? hand : opponents[i - 1];
+                }
+                counts[position][tricksWon(hands, numberPlayers, numberCards, position)] += 1;
+            }
+        }
+    }
+
+    /**
+     * \brief Tricks of a player
+     * tricksWon(int[] hands, int numberPlayers, int numberCards, int position) :
+     * Play the round and return the tricks won by the player at position. hands
+     * holds the CardSet of every player in turn order and is emptied.
+     * \param int[] hands, int numberPlayers, int numberCards, int position
+     * \return int
+     */
+    static int tricksWon(int[] hands, int numberPlayers, int numberCards, int position) {
+        int tricks = 0;
+        for (int turn = 0; turn < numberCards; turn++) {
+            int highest = CardSet.highest(hands[0]);
+            int winner = 0;
+            hands[0] = CardSet.remove(hands[0], highest);
+            for (int i = 1; i < numberPlayers; i++) {
+                int above = CardSet.above(hands[i], highest);
+                int card = above != CardSet.EMPTY ? CardSet.lowest(above) : CardSet.lowest(hands[i]);
+                hands[i] = CardSet.remove(hands[i], card);
+                if (card > highest) {
+                    highest = card;
+                    winner = i;
+                }
+            }
+            if (winner == position) {
+                tricks += 1;
+            }
+        }
+        return tricks;
+    }
+
+    private static int buildOffsets() {
+        int offset = 0;
+        for (int numberPlayers = PLAYERS_MIN; numberPlayers <= PLAYERS_MAX; numberPlayers++) {
+            for (int numberCards = 1; numberCards <= Game.ROUND_MAX; numberCards++) {
+                OFFSETS[numberPlayers][numberCards] = offset;
+                offset += DealRanking.binomial(NUMBER_VALUES, numberCards) * numberPlayers * (numberCards + 1);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * \brief Build a table
+     * main(String[] args) : Build the table with args[1] deals per hand
+     * (DEFAULT_SAMPLES by default) on every core and save it at args[0].
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Path.of(args.length > 0 ? args[0] : "expected_tricks.bin");
+        int samples = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SAMPLES;
+        long start = System.nanoTime();
+        ExpectedTricksTable table = build(samples, Runtime.getRuntime().availableProcessors(), System.nanoTime());
+        table.save(path);
+        System.out.printf("Table built in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -1,22 +1,17 @@
 package game;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.EnumMap;
-import java.util.HashMap;
-import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
 
 import deck.Card;
+import deck.DealSource;
 import deck.Deck;
 import deck.RemovingTooManyCards;
 import people.Player;
 import people.PlayerGroup;
+import people.NegativeTricksValueException;
 import people.PlayerNameTooLongException;
 import people.TooManyCardsException;
 
@@ -26,15 +21,26 @@ public class Game {
     // to use them again for another game
     private PlayerGroup players;
     private PlayerGroup playersAlive;
-    private Scanner scanner;
     private Deck deck;
-    // Store the player who played the fool card
-    private HashMap<Player, Card> foolPlayer;
+    // Decisions are asked to the controller of the seat, or to the default one
+    private SeatController controller;
+    // Indexed by the seat of the players
+    private SeatController[] seatControllers;
+    private GameListener listener;
+    // Source of randomness of the deck, the shared one when null
+    private RandomGenerator random;
+    // Reproducible deals, used instead of random when set
+    private DealSource dealSource;
+    private long numberDeals;
+    // Number of the game in its series, none when negative
+    private long number;
+    // Cards played in the current trick, by seat
+    private Trick trick;
+    // Bets suggested to the players, none when null
+    private ExpectedTricksTable expectedTricks;
 
     public static final int NUMBER_PLAYERS = 4;
     public static final int ROUND_MAX = 5;
-    
-    public static final String GO_NEXT_PLAYER = " to go to next player.";
 
     public enum FoolValues {
         MIN_VALUE,
@@ -43,23 +49,59 @@ public class Game {
 
     private static final Map<FoolValues, Integer> FoolValuesMap = new EnumMap<>(FoolValues.class);
 
-    // Create a Logger
-    Logger logger = Logger.getLogger(Game.class.getName());
+    static {
+        FoolValuesMap.put(FoolValues.MIN_VALUE, 0);
+        FoolValuesMap.put(FoolValues.MAX_VALUE, 22);
+    }
 
     /**
      * \brief Constructor Game
-     * Game(): create the players and the deck of cards.
+     * Game(): create the players and the deck of cards. Every decision is read
+     * from the console.
      */
     public Game() {
+        this(new ConsoleController());
+    }
+
+    /**
+     * \brief Constructor Game
+     * Game(ConsoleController console): create a game played and displayed on the
+     * console.
+     * \param ConsoleController console
+     */
+    public Game(ConsoleController console) {
+        this(console, console);
+    }
+
+    /**
+     * \brief Constructor Game
+     * Game(SeatController controller, GameListener listener): create the players
+     * and the deck of cards. The game never reads nor prints anything by itself:
+     * decisions come from the controller and everything that happens is sent to
+     * the listener.
+     * \param SeatController controller, GameListener listener
+     */
+    public Game(SeatController controller, GameListener listener) {
         players = new PlayerGroup(NUMBER_PLAYERS);
         playersAlive = new PlayerGroup(NUMBER_PLAYERS);
-        scanner = new Scanner(System.in);
         deck = new Deck();
         deck.buildDeck();
         deck.shuffle();
-        foolPlayer = new HashMap<>();
-        FoolValuesMap.put(FoolValues.MIN_VALUE, 0);
-        FoolValuesMap.put(FoolValues.MAX_VALUE, 22);
+        trick = new Trick(NUMBER_PLAYERS);
+        this.controller = controller;
+        this.seatControllers = new SeatController[NUMBER_PLAYERS];
+        this.listener = listener;
+        this.number = -1;
+    }
+
+    /**
+     * \brief Is a Fool value
+     * isFoolValue(int value): Return true if the value can be given to the Fool.
+     * \param int value
+     * \return boolean
+     */
+    public static boolean isFoolValue(int value) {
+        return FoolValuesMap.containsValue(value);
     }
 
     /**
@@ -87,8 +129,12 @@ public class Game {
         if (players.size() > NUMBER_PLAYERS) {
             throw new BadNumberOfPlayersException("The number of player must be less or equal than :" + NUMBER_PLAYERS);
         }
+        // The seat of a player is their index in the game
+        for (int seat = 0; seat < players.size(); seat++) {
+            players.get(seat).setSeat(seat);
+        }
         this.players.setPlayers(players);
-        this.playersAlive.setPlayers(new ArrayList<>(players));
+        this.playersAlive.setPlayers(players);
         this.playersAlive.removeDeadPlayers();
     }
 
@@ -163,51 +209,153 @@ public class Game {
     }
 
     /**
-     * \brief Getter Player who played the Fool card
+     * \brief Setter controller of a seat
      *
-     * getFoolPlayer() : Return the player who played the Fool for the current turn
-     * and the card.
-     * \return HashMap<Player, Card>
+     * setSeatController(Player player, SeatController seatController) : The
+     * decisions of the seat of this player are taken by seatController instead
+     * of the default controller.
+     * \param Player player
+     * \param SeatController seatController
      */
-    public Map<Player, Card> getFoolPlayer() {
-        return this.foolPlayer;
+    public void setSeatController(Player player, SeatController seatController) {
+        this.seatControllers[player.getSeat()] = seatController;
     }
 
     /**
-     * \brief Setter Player who played the Fool card
+     * \brief Getter controller of a seat
      *
-     * setFoolPlayer(Player player, Card cardFool) : Set the player who played the
-     * Fool for the current turn and the card.
+     * getSeatController(Player player) : Return the controller taking the
+     * decisions of this player.
      * \param Player player
-     * \param Card cardFool
+     * \return SeatController
+     */
+    public SeatController getSeatController(Player player) {
+        SeatController seatController = this.seatControllers[player.getSeat()];
+        if (seatController == null) {
+            return this.controller;
+        }
+        return seatController;
+    }
+
+    /**
+     * \brief Getter listener
+     *
+     * getListener() : Return the listener receiving what happens in the game.
+     * \return GameListener
+     */
+    public GameListener getListener() {
+        return this.listener;
+    }
+
+    /**
+     * \brief Setter random
+     *
+     * setRandom(RandomGenerator random) : Use a specific source of randomness to
+     * shuffle the deck. The current deck is shuffled again with it.
+     * \param RandomGenerator random
+     */
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+        shuffleDeck();
+    }
+
+    /**
+     * \brief Setter deal source
+     *
+     * setDealSource(DealSource dealSource) : Deal the rounds of the game as the
+     * deals 0, 1, 2... of dealSource, so the same source always gives the same
+     * cards. The current deck becomes the deal 0.
+     * \param DealSource dealSource
+     */
+    public void setDealSource(DealSource dealSource) {
+        this.dealSource = dealSource;
+        this.numberDeals = 0;
+        shuffleDeck();
+    }
+
+    /**
+     * \brief Setter number
+     *
+     * setNumber(long number) : Make the game the game number number of a series,
+     * a tournament for instance. The listener is told before the game starts (see
+     * GameListener.onGameNumber). A negative number means none.
+     * \param long number
+     */
+    public void setNumber(long number) {
+        this.number = number < 0 ? -1 : number;
+    }
+
+    /**
+     * \brief Getter number
+     *
+     * getNumber() : Return the number of the game in its series, -1 if it has
+     * none.
+     * \return long
+     */
+    public long getNumber() {
+        return this.number;
+    }
+
+    /**
+     * \brief Setter expected tricks
+     *
+     * setExpectedTricks(ExpectedTricksTable expectedTricks) : Suggest a bet to
+     * every player before they bet, looked up in expectedTricks. null suggests
+     * nothing.
+     * \param ExpectedTricksTable expectedTricks
+     */
+    public void setExpectedTricks(ExpectedTricksTable expectedTricks) {
+        this.expectedTricks = expectedTricks;
+    }
+
+    /**
+     * \brief Shuffle the deck
+     *
+     * shuffleDeck() : Shuffle the deck with the source of randomness of the game.
+     */
+    private void shuffleDeck() {
+        if (this.dealSource != null) {
+            this.dealSource.shuffle(deck, numberDeals);
+            numberDeals += 1;
+        } else if (this.random == null) {
+            deck.shuffle();
+        } else {
+            deck.shuffle(this.random);
+        }
+    }
+
+    /**
+     * \brief Getter trick
+     *
+     * getTrick() : Return the current trick, with the cards played and the
+     * player who played the Fool.
+     * \return Trick
      */
-    public void setFoolPlayer(Player player, Card cardFool) {
-        this.foolPlayer.put(player, cardFool);
+    public Trick getTrick() {
+        return this.trick;
     }
 
     /**
      * \brief Create a Player
      *
-     * createPlayer() : Allow the user to create a new Player with a specific name.
+     * createPlayer() : Ask the controller for the name of a new Player until the
+     * name is valid and not already used.
      * \return Player
      */
     public Player createPlayer() {
         Player player = null;
         while (player == null) {
             try {
-                System.out.println("Enter a name (max 8 chars).");
-                String userName = scanner.next(); // Read user input
-                System.out.println("userName : " + userName);
-                player = new Player(userName);
+                player = new Player(controller.chooseName());
                 if (this.players.hasPlayer(player)) {
-                    System.err.println("This name is already used. Please choose another one.");
+                    listener.onInvalidDecision("This name is already used. Please choose another one.");
                     player = null;
                 }
             } catch (PlayerNameTooLongException e) {
-                System.err.println("The name of the player is too long.");
+                listener.onInvalidDecision("The name of the player is too long.");
             }
         }
-        clearTerminal();
+        listener.onPlayerJoined(player);
         return player;
     }
 
@@ -219,6 +367,7 @@ public class Game {
     public void createPlayers() {
         for (int i = 0; i < NUMBER_PLAYERS; i++) {
             Player player = createPlayer();
+            player.setSeat(i);
             players.addPlayer(player);
             // To have a distinct list of alive players, we need to create a new instance of
             // player
@@ -243,203 +392,117 @@ public class Game {
                     numberCards + " to each player.");
         }
 
-        for (Player player : playersAlive.getPlayers()) {
-            // Card removed from the deck are added to the player's hand
-            player.setCards(deck.removeCards(numberCards));
+        if (numberCards > Player.CARDS_MAX) {
+            throw new TooManyCardsException("Players can only have " + Player.CARDS_MAX + " cards at max in their hands.");
+        }
+
+        for (int i = 0; i < playersAlive.getNumberPlayers(); i++) {
+            Player player = playersAlive.getPlayer(i);
+            // Card dealt from the deck are added to the player's hand, without any copy
+            player.clearCards();
+            for (int j = 0; j < numberCards; j++) {
+                player.addCard(deck.dealCard());
+            }
         }
     }
 
     /**
      * \brief One player play
-     * play(Player player) : The player can play any card from their hands.
-     * \param Player player
+     * playOnePlayer(Player player, Trick trick) : The player can play any card
+     * from their hands in the trick. The controller of the player is asked again
+     * until the card exists.
+     * \param Player player, Trick trick
      * \return Card
      */
-    public Card playOnePlayer(Player player, Map<Player, Card> cardsPlayed) {
-        // Should be a shallow copy, so any changed made to current player
-        // will be reflected in the list of players
-        playerTransition(player);
+    public Card playOnePlayer(Player player, Trick trick) {
+        SeatController seatController = getSeatController(player);
         Card cardPlayed = null;
-
-        System.out.println("Life points: " + player.getLife());
-        separatorPrint();
-
-        System.out.println("Cards currently played: ");
-        printCardsPlayed(cardsPlayed);
-        separatorPrint();
-
         while (cardPlayed == null) {
-            try {
-                System.out.println("Which card would you like to play ?");
-                printCardsPlayer(player.getCards());
-                int indexCard = scanner.nextInt();
+            int indexCard = seatController.chooseCard(player, trick);
+            if (indexCard < 1 || indexCard > player.getNumberCards()) {
+                listener.onInvalidDecision("The card can't be played.");
+            } else {
                 cardPlayed = player.removeCard(indexCard);
-                // If the player played the Fool
-                if (cardPlayed.getValue() == Card.MAX_VALUE) {
-                    setFoolPlayer(player, cardPlayed);
-                }
-            } catch (Exception e) {
-                System.err.println("The card can't be played.");
-                // Skip the next input to allow the function to wait for the next one
-                scanner.next();
             }
         }
-        enterWait(GO_NEXT_PLAYER);
+        // The trick also keeps the seat who played the Fool
+        trick.play(player, cardPlayed);
         return cardPlayed;
     }
 
-    private void printCardsPlayer(List<Card> cards) {
-        // Number of the card
-        int numberCard = 1;
-        for (Card card : cards) {
-            System.out.print(card + " [" + numberCard + "]");
-            if (numberCard != cards.size()) {
-                System.out.print(" | ");
-            }
-            numberCard += 1;
-        }
-        // The input return to the beginning
-        System.out.println("");
-    }
-
     /**
      * \brief All players play
      * playAllPlayers() : All players must play one card from their hand.
-     * \return Card
+     * \return Trick
      */
-    public Map<Player, Card> playAllPlayers() {
-
-        HashMap<Player, Card> results = new HashMap<>();
-        for (Player player : playersAlive.getPlayers()) {
-            results.put(player, playOnePlayer(player, results));
+    public Trick playAllPlayers() {
+        trick.clear();
+        for (int i = 0; i < playersAlive.getNumberPlayers(); i++) {
+            Player player = playersAlive.getPlayer(i);
+            playOnePlayer(player, trick);
         }
-        return results;
+        return trick;
     }
 
     /**
      * \brief One player play for the last round
-     * playOnePlayerLastRound(Player player, HashMap<Player, Card> opponentsCards,
-     * HashMap<Player, Boolean> opponentsDecisions) :
-     * The player bet if they won or lose this round by typing 0 for win or 1 for
-     * lose. Win return true, Lose return false.
+     * playOnePlayerLastRound(Player player, Trick opponents) :
+     * The player bet if they won or lose this round. Win return true, Lose return
+     * false.
      * They will know their opponents cards and each decision players have made so
      * far.
-     * \param Player player, HashMap<Player, Card> opponentsCards, HashMap<Player,
-     * Boolean> opponentsDecisions
+     * \param Player player, Trick opponents
      * \return Boolean
      */
-    public Boolean playOnePlayerLastRound(Player player, Map<Player, List<Card>> opponentsCards,
-            Map<Player, Boolean> opponentsDecisions) {
-        playerTransition(player);
-        printLastRound(opponentsCards, opponentsDecisions);
-        System.out.println("Do you bet that you win or lose this round?");
-
-        Boolean decision = null;
-        while (decision == null) {
-            try {
-                System.out.println("Enter 0 for win, 1 for lose.");
-                int input = scanner.nextInt();
-                if (input == 0) {
-                    decision = true;
-                } else if (input == 1) {
-                    decision = false;
-                }
-            } catch (Exception e) {
-                System.err.println("Error while processing input: " + e.getMessage());
-                scanner.next();
-                logger.log(Level.WARNING, "The input is not an int ", new InputMismatchException());
-            }
-        }
-        enterWait(" to go to the next player.");
-        return decision;
-    }
-
-    /**
-     * \brief Print last round info
-     * printLastRound(HashMap<Player, ArrayList<Card>> opponentsCards,
-     * HashMap<Player, Boolean> opponentsDecisions):
-     * Print cards and decisions taken by the opponents of the current player.
-     * \param HashMap<Player, ArrayList<Card>> opponentsCards
-     * \param HashMap<Player, Boolean> opponentsDecisions
-     */
-    private void printLastRound(Map<Player, List<Card>> opponentsCards,
-            Map<Player, Boolean> opponentsDecisions) {
-        System.out.println("Your opponents have those cards:");
-        for (Map.Entry<Player, List<Card>> entries : opponentsCards.entrySet()) {
-            String playerName = entries.getKey().getName();
-            List<Card> cards = entries.getValue();
-            // Print the cards of the player
-            System.out.println(playerName + ": " + cards);
-        }
-
-        separatorPrint();
-
-        if (!opponentsDecisions.isEmpty()) {
-            System.out.println("Those are the decision taken so far:");
-            for (Map.Entry<Player, Boolean> entries : opponentsDecisions.entrySet()) {
-                String playerName = entries.getKey().getName();
-                System.out.println(playerName + ": " + conversionBoolWinLose(entries.getValue()));
-            }
-        }
-    }
-
-    /**
-     * \brief Convert boolean to win or lose word
-     * conversionBoolWinLose(boolean decision): Return 'win' if true, 'lose'
-     * otherwise.
-     * \param boolean decision
-     * \return String
-     */
-    private String conversionBoolWinLose(boolean decision) {
-        if (decision) {
-            return "win";
-        }
-        return "lose";
+    public Boolean playOnePlayerLastRound(Player player, Trick opponents) {
+        return getSeatController(player).chooseLastRound(player, opponents);
     }
 
     /**
      * \brief All players play the last round
      * playAllPlayersLastRound() : All players must bet if they win or lose this
      * round.
-     * \return HashMap<Player, Boolean>
+     * \return Trick with the decision of every player
      */
-    public Map<Player, Boolean> playAllPlayersLastRound() {
-        HashMap<Player, Boolean> results = new HashMap<>();
-        HashMap<Player, Boolean> opponentsDecisions = new HashMap<>();
+    public Trick playAllPlayersLastRound() {
+        trick.clear();
         // According to the rules, the turn where players have one card
         // is special: players must bet if they win or lose and not a number of trick
         // they would win by the end of the round
-        for (Player player : this.playersAlive.getPlayers()) {
-            Map<Player, List<Card>> opponentsCards = buildOpponentsCards(player, this.playersAlive);
-            Boolean decision = playOnePlayerLastRound(player, opponentsCards, opponentsDecisions);
-            opponentsDecisions.put(player, decision);
-            results.put(player, decision);
+        for (int i = 0; i < playersAlive.getNumberPlayers(); i++) {
+            Player player = playersAlive.getPlayer(i);
+            Trick opponents = buildOpponentsCards(player, this.playersAlive);
+            opponents.copyDecisions(trick);
+            boolean win = playOnePlayerLastRound(player, opponents);
+            trick.decide(player, win);
+            listener.onBlindCall(player, win);
         }
-        return results;
+        return trick;
     }
 
     /**
      * \brief The cards of the opponents that are currently displayed
      * buildOpponentsCards(Player currentPlayer, PlayerGroup opponentsPlayers) :
-     * Return a hashmap of every card currently in the opponents' hand of one
-     * specific player.
+     * Return a trick with the card in the hand of every opponent of one specific
+     * player.
      * \param Player currentPlayer, PlayerGroup opponentsPlayers
-     * \return HashMap<Player, Card>
-     */
-    public Map<Player, List<Card>> buildOpponentsCards(Player currentPlayer, PlayerGroup playersAlive) {
-        HashMap<Player, List<Card>> opponentsCards = new HashMap<>();
-        PlayerGroup opponents = playersAlive.copy(playersAlive);
-        opponents.removePlayer(currentPlayer);
-        for (Player player : opponents.getPlayers()) {
-            opponentsCards.put(player, player.getCards());
+     * \return Trick
+     */
+    public Trick buildOpponentsCards(Player currentPlayer, PlayerGroup playersAlive) {
+        Trick opponentsCards = new Trick(NUMBER_PLAYERS);
+        for (int i = 0; i < playersAlive.getNumberPlayers(); i++) {
+            Player player = playersAlive.getPlayer(i);
+            if (player != currentPlayer) {
+                opponentsCards.play(player, player.getCard(0));
+            }
         }
         return opponentsCards;
     }
 
     /**
      * \brief Bet part of the game
-     * betTricks(int numberRound): Every player can see their cards and bet a number
-     * of tricks they think they will win.
+     * betTricks(int numberRound): Every player bet a number of tricks they think
+     * they will win.
      * The total of the bets can't be equal to the number of cards distributed per
      * player.
      * \param int numberRound
@@ -450,202 +513,172 @@ public class Game {
         int totalBet = 0;
         // Count the number of player to know who is the last player
         int numberPlayer = 0;
-        for (Player player : this.getPlayersAlive()) {
+        for (int i = 0; i < playersAlive.getNumberPlayers(); i++) {
+            Player player = playersAlive.getPlayer(i);
             numberPlayer += 1;
-            playerTransition(player);
-            System.out.println(player.getCards());
-            System.out.println("How many tricks do you want to bet?");
-            System.out.println("Current total bet: " + totalBet);
+            boolean lastBettor = numberPlayer == this.getNumberPlayersAlive();
+            SeatController seatController = getSeatController(player);
+            if (expectedTricks != null && playersAlive.getNumberPlayers() <= ExpectedTricksTable.PLAYERS_MAX) {
+                int hand = player.getCardSet();
+                int position = numberPlayer - 1;
+                int numberPlayers = playersAlive.getNumberPlayers();
+                listener.onBetSuggestion(player,
+                        expectedTricks.suggestBet(hand, position, numberPlayers, totalBet, lastBettor),
+                        expectedTricks.expectedTricks(hand, position, numberPlayers));
+            }
             boolean isDone = false;
             while (!isDone) {
-                try {
-                    int betTricks = scanner.nextInt();
-                    if (totalBet + betTricks == numberRound && numberPlayer == this.getNumberPlayersAlive()) {
-                        System.out.println("The total of the bets can't be equal" +
-                                " to the number of cards distributed per player.");
-                    } else {
-                        player.setBetTricks(betTricks);
-                        totalBet += betTricks;
-                        isDone = true;
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error while processing bet tricks " + e.getMessage());
-
-                    // Skip to the next input
-                    scanner.next();
+                int betTricks = seatController.chooseBet(player, numberRound, totalBet, lastBettor);
+                isDone = placeBet(player, betTricks, numberRound, totalBet, lastBettor);
+                if (isDone) {
+                    totalBet += betTricks;
                 }
             }
-            enterWait(" to go to the next player.");
         }
     }
 
+    /**
+     * \brief Place a bet
+     * placeBet(Player player, int betTricks, int numberRound, int totalBet,
+     * boolean lastBettor): Set the bet of player if it follows the rules, given the
+     * total of the bets before it, and tell the listener. Return false, telling the
+     * listener why, if the bet is negative or if player is the last bettor and the
+     * total of the bets would be equal to the number of cards distributed per
+     * player.
+     * \param Player player, int betTricks, int numberRound, int totalBet, boolean lastBettor
+     * \return boolean
+     */
+    public boolean placeBet(Player player, int betTricks, int numberRound, int totalBet, boolean lastBettor) {
+        if (totalBet + betTricks == numberRound && lastBettor) {
+            listener.onInvalidDecision("The total of the bets can't be equal" +
+                    " to the number of cards distributed per player.");
+            return false;
+        }
+        try {
+            player.setBetTricks(betTricks);
+        } catch (NegativeTricksValueException e) {
+            listener.onInvalidDecision(e.getMessage());
+            return false;
+        }
+        listener.onBet(player, betTricks);
+        return true;
+    }
+
     /**
      * \brief Evaluate the cards
-     * evaluateCards(HashMap<Player, Card> cardsPlayed) : Evaluate which player won
-     * this turn. If any player played the Fool,
-     * they choose its value. Cards played this round are displayed.
-     * \param HashMap<Player, Card> cardsPlayed
-     */
-    public void evaluateCards(Map<Player, Card> cardsPlayed) {
-        printCardsPlayed(cardsPlayed);
-
-        // If any player played the fool this turn, they need to choose its value
-        if (!getFoolPlayer().isEmpty()) {
-            for (Map.Entry<Player, Card> entry : getFoolPlayer().entrySet()) {
-                Player player = entry.getKey();
-                Card card = entry.getValue();
-
-                System.out.println(String.format("Player %s : you played the card %s", player.getName(), card.getName()));
-                System.out.println("Enter its value: 0 or 22.");
-                boolean isValid = false;
-                while (!isValid) {
-                    try {
-                        int value = scanner.nextInt();
-                        if (FoolValuesMap.containsValue(value)) {
-                            card.setValue(value);
-                            isValid = true;
-                        }
-                    } catch (Exception e) {
-                        System.err.println("You can't choose any other value other than 0 or 22.");
-                        // Skip to the next entry
-                        scanner.next();
-                    }
-                }
+     * evaluateCards(Trick trick) : Evaluate which player won this turn. If any
+     * player played the Fool, they choose its value.
+     * \param Trick trick
+     */
+    public void evaluateCards(Trick trick) {
+        listener.onCardsPlayed(trick);
+
+        // If any player played the fool this turn, they need to choose its value. The
+        // value belongs to this trick, the card itself is shared and never changes
+        int foolSeat = trick.getFoolSeat();
+        if (foolSeat != Trick.NO_VALUE) {
+            Player player = trick.getPlayerOfSeat(foolSeat);
+            SeatController seatController = getSeatController(player);
+            int value = seatController.chooseFoolValue(player, Card.FOOL);
+            while (!isFoolValue(value)) {
+                listener.onInvalidDecision("You can't choose any other value other than 0 or 22.");
+                value = seatController.chooseFoolValue(player, Card.FOOL);
             }
+            trick.setFoolValue(foolSeat, value);
+            listener.onFoolValue(player, value);
         }
 
         // Get the player who won the trick
-        Player player = Collections.max(cardsPlayed.entrySet(), Map.Entry.comparingByValue(
-                Comparator.comparing(Card::getValue))).getKey();
+        Player player = trick.getPlayerOfSeat(TrickEvaluator.winningSeat(trick));
 
-        printWinnerTurn(player);
+        listener.onTrickWon(player);
 
         // Add a trick to the those won this round
         player.addCurrentTricks();
 
-        // Reset the player who played the fool
-        getFoolPlayer().clear();
-
-        enterWait(" to launch the next turn.");
-    }
-
-    /**
-     * \brief Print evaluateCards
-     * printEvaluateCards(HashMap<Player, Card> cardsPlayed) : Print all cards
-     * played this turn.
-     * \param HashMap<Player, Card> cardsPlayed
-     */
-    private void printCardsPlayed(Map<Player, Card> cardsPlayed) {
-        // Display all the cards played for this turn
-        for (Map.Entry<Player, Card> entries : cardsPlayed.entrySet()) {
-            System.out.println(String.format("Player %s Card: %s", entries.getKey().getName(), entries.getValue().getName()));
-        }
-    }
-
-    /**
-     * \brief Print winner
-     * printWinnerRound(HashMap<Player, Card> cardsPlayed) : Print the player winner
-     * of this turn
-     * \param HashMap<Player, Card> cardsPlayed
-     */
-    private void printWinnerTurn(Player player) {
-        separatorPrint();
-        // Display the player who won the trick
-        System.out.println(String.format("Player %s won the trick!", player.getName()));
-        separatorPrint();
+        listener.onTrickEnd();
     }
 
     /**
      * \brief Evaluate the cards for the last round
-     * evaluateCardsLastRound(HashMap<Player, Boolean> decisions) : Display all
-     * cards the players have in their hands.
-     * Display the winner of the trick. Remove life points according to the bet.
-     * \param HashMap<Player, Boolean> decisions
-     */
-    public void evaluateCardsLastRound(Map<Player, Boolean> decisions) {
-        HashMap<Player, Card> cardsPlayed = new HashMap<>();
-        // Display all the cards the players have this turn
-        for (Player player : getPlayersAlive()) {
-            Card cardCurrent = player.getCard(0);
-            System.out.println(String.format("Player %s  Card: %s", player.getName(), cardCurrent));
-            cardsPlayed.put(player, cardCurrent);
+     * evaluateCardsLastRound(Trick decisions) : Reveal all cards the players have
+     * in their hands.
+     * Find the winner of the trick. Remove life points according to the bet.
+     * \param Trick decisions
+     */
+    public void evaluateCardsLastRound(Trick decisions) {
+        // Reveal all the cards the players have this turn
+        decisions.clearCards();
+        for (int i = 0; i < playersAlive.getNumberPlayers(); i++) {
+            Player player = playersAlive.getPlayer(i);
+            decisions.play(player, player.getCard(0));
         }
+        listener.onCardsPlayed(decisions);
 
         // Get the player who won the trick
-        Player winner = Collections.max(cardsPlayed.entrySet(), Map.Entry.comparingByValue(
-                Comparator.comparing(Card::getValue))).getKey();
+        Player winner = decisions.getPlayerOfSeat(TrickEvaluator.winningSeat(decisions));
 
-        // Display the player who won the trick
-        printWinnerTurn(winner);
+        listener.onTrickWon(winner);
 
         // Remove life to those who didn't predict right
-        for (Map.Entry<Player, Boolean> entries : decisions.entrySet()) {
+        for (int index = 0; index < decisions.getNumberDecisions(); index++) {
             int lifePointsRemoved = 1;
-            Player currentPlayer = entries.getKey();
-            Boolean predictedBet = entries.getValue();
+            int seat = decisions.getDecisionSeat(index);
+            Player currentPlayer = decisions.getPlayerOfSeat(seat);
+            boolean predictedBet = decisions.getDecision(seat);
             // If the player is the winner but didn't predict that they would won
             // or if any played predicted they would won but didn't
             if ((currentPlayer == winner && !predictedBet)
                     || (currentPlayer != winner && predictedBet)) {
-                System.out.println(String.format("Player %s  you lose 1 life point for betting the wrong outcome.", currentPlayer.getName()));
                 currentPlayer.removeLife(lifePointsRemoved);
+                listener.onLifeLost(currentPlayer, lifePointsRemoved);
             }
         }
-        enterWait(" to launch the next round.");
+        listener.onRoundEnd();
     }
 
     /**
      * \brief Evaluate the round
      * evaluateRound() : Remove life points to any player who bet the wrong amount
      * of tricks.
-     * Display the name of the player(s) who reach 0 life points.
      */
     public void evaluateRound() {
         // Remove lifepoints
-        for (Player player : getPlayersAlive()) {
-            System.out.println(String.format("Player %s", player.getName()));
+        for (int i = 0; i < playersAlive.getNumberPlayers(); i++) {
+            Player player = playersAlive.getPlayer(i);
             int betTricks = player.getBetTricks();
             int currentTricks = player.getCurrentTricks();
-            System.out.println("Bet tricks: " + betTricks);
-            System.out.println("Current tricks: " + currentTricks);
-            int lifePointsRemoved = Math.abs(player.getBetTricks() - player.getCurrentTricks());
+            listener.onRoundResult(player, betTricks, currentTricks);
+            int lifePointsRemoved = Math.abs(betTricks - currentTricks);
             if (lifePointsRemoved != 0) {
-                System.out.println("You lose " + lifePointsRemoved + " life points.");
                 player.removeLife(lifePointsRemoved);
+                listener.onLifeLost(player, lifePointsRemoved);
             }
 
-            separatorPrint();
-
             // Reset the tricks for the turn
             try{
                 player.setBetTricks(0);
                 player.setCurrentTricks(0);
             }
             catch(Exception e){
-                System.err.println(e.getMessage());
+                listener.onError(e.getMessage());
             }
         }
-        enterWait(" to launch next round.");
+        listener.onRoundEnd();
     }
 
     /**
      * \brief Evaluate the players life points
-     * evaluateDeadPlayers() : Remove and display the name of the players who
-     * reached 0 life points.
+     * evaluateDeadPlayers() : Remove the players who reached 0 life points.
      */
     public void evaluateDeadPlayers() {
         // Remove players who reach 0 life points
         List<Player> playersDead = playersAlive.removeDeadPlayers();
 
         // If any player reach 0 life points
-        if (playersDead.isEmpty()) {
-            for (Player player : playersDead) {
-                System.out.println("Player " + player.getName() +
-                        " has 0 life points! They can't play anymore.");
-            }
-            enterWait(" to launch next round");
+        if (!playersDead.isEmpty()) {
+            listener.onPlayersDead(playersDead);
         }
-
     }
 
     /**
@@ -666,10 +699,12 @@ public class Game {
         try {
             // Distribute cards to every player
             distributeCards(numberRound);
+            listener.onCardsDealt(getPlayersAlive());
+            listener.onRoundStart(numberRound);
 
             // Case of the last round where players have one card
             if (numberRound == 1) {
-                Map<Player, Boolean> decisions = playAllPlayersLastRound();
+                Trick decisions = playAllPlayersLastRound();
                 evaluateCardsLastRound(decisions);
             } else {
                 // Every player can bet the number of tricks they think they will win
@@ -678,8 +713,8 @@ public class Game {
                 // All players played until they don't have any cards left in their hands
                 for (int turn = 0; turn < numberRound; turn++) {
                     // Players played one card
-                    Map<Player, Card> cardsPlayed = playAllPlayers();
-                    // Winner of the trick is displayed
+                    Trick cardsPlayed = playAllPlayers();
+                    // Winner of the trick is found
                     evaluateCards(cardsPlayed);
                 }
                 evaluateRound();
@@ -687,16 +722,23 @@ public class Game {
             // Remove players with 0 life points
             evaluateDeadPlayers();
 
-            // Generate deck for the next round
-            deck.buildDeck();
-            // Shuffle deck
-            deck.shuffle();
+            collectCards();
         } catch (Exception e) {
-            System.err.println(e.getMessage());
-            logger.log(Level.WARNING, "Error while processing the round", new Exception(e.getMessage()));
+            // The listener reports it, the rules never print nor log by themselves
+            listener.onError(e.getMessage());
         }
     }
 
+    /**
+     * \brief Collect the cards
+     * collectCards() : Put back every card in the deck for the next round and
+     * shuffle it in place.
+     */
+    public void collectCards() {
+        deck.rewind();
+        shuffleDeck();
+    }
+
     /**
      * \brief Rotating players
      * rotatingPlayers() : Rotate players between round so the next player becomes
@@ -707,39 +749,64 @@ public class Game {
         this.playersAlive.rotatingPlayers();
     }
 
+    /**
+     * \brief Next round
+     * nextRound(int numberRound) : Return the number of cards of the round after
+     * the round of numberRound cards. The rounds go from ROUND_MAX cards down to 1,
+     * then the players rotate and it starts again from ROUND_MAX.
+     * \param int numberRound
+     * \return int
+     */
+    public int nextRound(int numberRound) {
+        if (numberRound > 1) {
+            return numberRound - 1;
+        }
+        // The next player become the new player who begin the round
+        rotatingPlayers();
+        return ROUND_MAX;
+    }
+
     /**
      * \brief Start the game
-     * start() : Start the game by creating every player and distributing the cards.
-     * Process to
-     * play every round until there is only one player alive.
+     * start() : Start the game by creating every player then play it until there
+     * is only one player alive.
      */
     public void start() {
         createPlayers();
-        boolean endOfGame = false;
-        while (!endOfGame) {
-            for (int numberRound = ROUND_MAX; numberRound > 0; numberRound--) {
-                try {
-                    round(numberRound);
-                    if (isVictory()) {
-                        endOfGame = true;
-                        break;
-                    }
-                } catch (Exception e) {
-                    System.err.println(e.getMessage());
-                }
-            }
+        play();
+    }
 
-            // The next player become the new player who begin the round
-            rotatingPlayers();
+    /**
+     * \brief Play the game
+     * play() : Play every round with the players already in the game until there
+     * is only one player alive.
+     * \return Player the winner, null in case of a tie
+     */
+    public Player play() {
+        if (number >= 0) {
+            // The listener gets its own source, the one of the game keeps its state
+            listener.onGameNumber(number, dealSource == null ? null : new DealSource(dealSource.getSeed()));
         }
-        System.out.println("The game is over.");
+        listener.onGameStart(getPlayers());
+        int numberRound = ROUND_MAX;
+        while (!isVictory()) {
+            try {
+                round(numberRound);
+            } catch (Exception e) {
+                listener.onError(e.getMessage());
+            }
+            // The players rotate only if there is still someone to play
+            if (!isVictory()) {
+                numberRound = nextRound(numberRound);
+            }
+        }
+        Player winner = null;
         if (getNumberPlayersAlive() == 1) {
             // The last player alive is the winner
-            Player winner = getPlayersAlive().getFirst();
-            System.out.println("Player " + winner.getName() + " won the game!");
-        } else {
-            System.out.println("This is a tie. No player won this game.");
+            winner = getWinner();
         }
+        listener.onGameOver(winner);
+        return winner;
     }
 
     /**
@@ -761,58 +828,6 @@ public class Game {
         return getNumberPlayersAlive() == 1 || getNumberPlayersAlive() == 0;
     }
 
-    /**
-     * \brief Clear terminal
-     *
-     * clearTerminal() : Pseudo clear the terminal
-     */
-    public void clearTerminal() {
-        System.out.print("\033\143");
-    }
-
-    /**
-     * \brief Wait for enter input
-     *
-     * enterWait(String message) : Wait for the user to use the input enter for any
-     * action specified in the message.
-     * Once it's done, clear the terminal.
-     */
-    public void enterWait(String message) {
-        System.out.println("Press enter" + message);
-        try {
-            System.in.read();
-            // Clear the buffer in case the input has anything
-            if (scanner.hasNextLine()) {
-                scanner.nextLine();
-            }
-        } catch (Exception e) {
-            System.err.println("Error while reading input: " + e.getMessage());
-        }
-
-        clearTerminal();
-    }
-
-    /**
-     * \brief Wait for player
-     *
-     * playerTransition(Player player) : Wait for the player to press enter before
-     * printing any information regarding they cards
-     * Once it's done, clear the terminal.
-     */
-    public void playerTransition(Player player) {
-        System.out.println(player.getName() + " it's your turn");
-        enterWait("");
-    }
-
-    /**
-     * \brief Print separator
-     *
-     * separatorPrint(): Print separator.
-     */
-    public void separatorPrint() {
-        System.out.println("--------------------");
-    }
-
     /**
      * \brief toString
      *
@@ -0,0 +1,190 @@
+package game;
+
+import java.util.List;
+
+import deck.DealSource;
+import people.Player;
+
+/**
+ * \brief Observer of a game
+ *
+ * GameListener : Receive what happens during a game. Every method does nothing
+ * by default so a headless game can run without any output.
+ */
+public interface GameListener {
+
+    /**
+     * \brief New player
+     * onPlayerJoined(Player player) : Called when a player is created for the game.
+     * \param Player player
+     */
+    default void onPlayerJoined(Player player) {
+    }
+
+    /**
+     * \brief Number of the game
+     * onGameNumber(long game, DealSource deals) : Called just before onGameStart
+     * when the game is the game number game of a series (see Game.setNumber),
+     * with a source giving the same deals as the game, or null if it shuffles at
+     * random.
+     * \param long game, DealSource deals
+     */
+    default void onGameNumber(long game, DealSource deals) {
+    }
+
+    /**
+     * \brief Start of the game
+     * onGameStart(List<Player> players) : Called before the first round with every
+     * player of the game, in the order of their seats.
+     * \param List<Player> players
+     */
+    default void onGameStart(List<Player> players) {
+    }
+
+    /**
+     * \brief Cards dealt
+     * onCardsDealt(List<Player> players) : Called once the cards of a round are
+     * distributed, with the players alive in turn order holding their hands.
+     * \param List<Player> players
+     */
+    default void onCardsDealt(List<Player> players) {
+    }
+
+    /**
+     * \brief Start of a round
+     * onRoundStart(int numberRound) : Called once the cards of the round are
+     * distributed.
+     * \param int numberRound
+     */
+    default void onRoundStart(int numberRound) {
+    }
+
+    /**
+     * \brief Suggested bet
+     * onBetSuggestion(Player player, int bet, double expectedTricks) : Called just
+     * before player bets when the game has a table of expected tricks, with the
+     * legal bet losing the fewest life points on average.
+     * \param Player player, int bet, double expectedTricks
+     */
+    default void onBetSuggestion(Player player, int bet, double expectedTricks) {
+    }
+
+    /**
+     * \brief Bet
+     * onBet(Player player, int betTricks) : Called when player made a valid bet.
+     * \param Player player, int betTricks
+     */
+    default void onBet(Player player, int betTricks) {
+    }
+
+    /**
+     * \brief Decision of the blind round
+     * onBlindCall(Player player, boolean win) : Called when player decided to win
+     * or to lose the round of one card.
+     * \param Player player, boolean win
+     */
+    default void onBlindCall(Player player, boolean win) {
+    }
+
+    /**
+     * \brief Cards played
+     * onCardsPlayed(Trick trick) : Called with every card of a trick before its
+     * winner is known.
+     * \param Trick trick
+     */
+    default void onCardsPlayed(Trick trick) {
+    }
+
+    /**
+     * \brief Value of the Fool
+     * onFoolValue(Player player, int value) : Called when the player of the Fool
+     * gave it its value for the trick.
+     * \param Player player, int value
+     */
+    default void onFoolValue(Player player, int value) {
+    }
+
+    /**
+     * \brief Winner of a trick
+     * onTrickWon(Player winner) : Called once the winner of a trick is known.
+     * \param Player winner
+     */
+    default void onTrickWon(Player winner) {
+    }
+
+    /**
+     * \brief End of a trick
+     * onTrickEnd() : Called once the winner of a trick got their trick.
+     */
+    default void onTrickEnd() {
+    }
+
+    /**
+     * \brief Life lost
+     * onLifeLost(Player player, int lifePoints) : Called when a player lose life
+     * points for a wrong bet.
+     * \param Player player, int lifePoints
+     */
+    default void onLifeLost(Player player, int lifePoints) {
+    }
+
+    /**
+     * \brief Result of a player
+     * onRoundResult(Player player, int betTricks, int currentTricks) : Called for
+     * every player at the end of a round with tricks.
+     * \param Player player, int betTricks, int currentTricks
+     */
+    default void onRoundResult(Player player, int betTricks, int currentTricks) {
+    }
+
+    /**
+     * \brief End of a round
+     * onRoundEnd() : Called once the life points of the round are removed.
+     */
+    default void onRoundEnd() {
+    }
+
+    /**
+     * \brief Dead players
+     * onPlayersDead(List<Player> playersDead) : Called with the players who
+     * reached 0 life points this round.
+     * \param List<Player> playersDead
+     */
+    default void onPlayersDead(List<Player> playersDead) {
+    }
+
+    /**
+     * \brief End of the game
+     * onGameOver(Player winner) : Called at the end of the game with the winner,
+     * or null in case of a tie.
+     * \param Player winner
+     */
+    default void onGameOver(Player winner) {
+    }
+
+    /**
+     * \brief Abandoned game
+     * onGameAbandoned() : Called instead of onGameOver when the game can't be
+     * followed to its end, some of its events being lost: whatever was kept of
+     * it is best forgotten.
+     */
+    default void onGameAbandoned() {
+    }
+
+    /**
+     * \brief Invalid decision
+     * onInvalidDecision(String message) : Called when a decision breaks the rules
+     * and has to be taken again.
+     * \param String message
+     */
+    default void onInvalidDecision(String message) {
+    }
+
+    /**
+     * \brief Error
+     * onError(String message) : Called when an unexpected error happens.
+     * \param String message
+     */
+    default void onError(String message) {
+    }
+}
@@ -0,0 +1,179 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import deck.DealSource;
+import people.Player;
+
+/**
+ * \brief Several observers of a game
+ *
+ * ListenerGroup : Send everything that happens during a game to several
+ * listeners, in the order they were added. A game only has one listener, so
+ * bots that need to watch the game are added here next to the display or the
+ * statistics.
+ */
+public class ListenerGroup implements GameListener {
+
+    private final List<GameListener> listeners;
+
+    /**
+     * \brief Constructor ListenerGroup
+     * ListenerGroup(GameListener... listeners): create a group sending every event
+     * to listeners.
+     * \param GameListener... listeners
+     */
+    public ListenerGroup(GameListener... listeners) {
+        this.listeners = new ArrayList<>(List.of(listeners));
+    }
+
+    /**
+     * \brief Add a listener
+     * add(GameListener listener) : listener receives the next events too.
+     * \param GameListener listener
+     */
+    public void add(GameListener listener) {
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void onPlayerJoined(Player player) {
+        for (GameListener listener : listeners) {
+            listener.onPlayerJoined(player);
+        }
+    }
+
+    @Override
+    public void onGameNumber(long game, DealSource deals) {
+        for (GameListener listener : listeners) {
+            listener.onGameNumber(game, deals);
+        }
+    }
+
+    @Override
+    public void onGameStart(List<Player> players) {
+        for (GameListener listener : listeners) {
+            listener.onGameStart(players);
+        }
+    }
+
+    @Override
+    public void onCardsDealt(List<Player> players) {
+        for (GameListener listener : listeners) {
+            listener.onCardsDealt(players);
+        }
+    }
+
+    @Override
+    public void onRoundStart(int numberRound) {
+        for (GameListener listener : listeners) {
+            listener.onRoundStart(numberRound);
+        }
+    }
+
+    @Override
+    public void onBetSuggestion(Player player, int bet, double expectedTricks) {
+        for (GameListener listener : listeners) {
+            listener.onBetSuggestion(player, bet, expectedTricks);
+        }
+    }
+
+    @Override
+    public void onBet(Player player, int betTricks) {
+        for (GameListener listener : listeners) {
+            listener.onBet(player, betTricks);
+        }
+    }
+
+    @Override
+    public void onBlindCall(Player player, boolean win) {
+        for (GameListener listener : listeners) {
+            listener.onBlindCall(player, win);
+        }
+    }
+
+    @Override
+    public void onCardsPlayed(Trick trick) {
+        for (GameListener listener : listeners) {
+            listener.onCardsPlayed(trick);
+        }
+    }
+
+    @Override
+    public void onFoolValue(Player player, int value) {
+        for (GameListener listener : listeners) {
+            listener.onFoolValue(player, value);
+        }
+    }
+
+    @Override
+    public void onTrickWon(Player winner) {
+        for (GameListener listener : listeners) {
+            listener.onTrickWon(winner);
+        }
+    }
+
+    @Override
+    public void onTrickEnd() {
+        for (GameListener listener : listeners) {
+            listener.onTrickEnd();
+        }
+    }
+
+    @Override
+    public void onLifeLost(Player player, int lifePoints) {
+        for (GameListener listener : listeners) {
+            listener.onLifeLost(player, lifePoints);
+        }
+    }
+
+    @Override
+    public void onRoundResult(Player player, int betTricks, int currentTricks) {
+        for (GameListener listener : listeners) {
+            listener.onRoundResult(player, betTricks, currentTricks);
+        }
+    }
+
+    @Override
+    public void onRoundEnd() {
+        for (GameListener listener : listeners) {
+            listener.onRoundEnd();
+        }
+    }
+
+    @Override
+    public void onPlayersDead(List<Player> playersDead) {
+        for (GameListener listener : listeners) {
+            listener.onPlayersDead(playersDead);
+        }
+    }
+
+    @Override
+    public void onGameOver(Player winner) {
+        for (GameListener listener : listeners) {
+            listener.onGameOver(winner);
+        }
+    }
+
+    @Override
+    public void onGameAbandoned() {
+        for (GameListener listener : listeners) {
+            listener.onGameAbandoned();
+        }
+    }
+
+    @Override
+    public void onInvalidDecision(String message) {
+        for (GameListener listener : listeners) {
+            listener.onInvalidDecision(message);
+        }
+    }
+
+    @Override
+    public void onError(String message) {
+        for (GameListener listener : listeners) {
+            listener.onError(message);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package game;
+
+import deck.Card;
+import people.Player;
+
+/**
+ * \brief Decisions of a seat
+ *
+ * SeatController : Source of every decision a seat has to take during a game.
+ * The game engine only asks and validates, it never reads any input by
+ * itself, so a seat can be a human at the console or a bot.
+ */
+public interface SeatController {
+
+    /**
+     * \brief Name of a new player
+     *
+     * chooseName() : Return the name of a player joining the game.
+     * \return String
+     */
+    String chooseName();
+
+    /**
+     * \brief Bet of a player
+     *
+     * chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) :
+     * Return the number of tricks the player bets. The last bettor can't make the
+     * total of the bets equal to numberRound.
+     * \param Player player, int numberRound, int totalBet, boolean lastBettor
+     * \return int
+     */
+    int chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor);
+
+    /**
+     * \brief Card played by a player
+     *
+     * chooseCard(Player player, Trick trick) : Return the index, starting at 1, of
+     * the card the player plays from their hand in the trick.
+     * \param Player player, Trick trick
+     * \return int
+     */
+    int chooseCard(Player player, Trick trick);
+
+    /**
+     * \brief Decision for the last round
+     *
+     * chooseLastRound(Player player, Trick opponents) : Return true if the player
+     * bets they win the blind round, false otherwise. opponents holds the card of
+     * every opponent and the decisions taken so far.
+     * \param Player player, Trick opponents
+     * \return boolean
+     */
+    boolean chooseLastRound(Player player, Trick opponents);
+
+    /**
+     * \brief Value of the Fool
+     *
+     * chooseFoolValue(Player player, Card card) : Return the value, 0 or 22, the
+     * player gives to the Fool they played.
+     * \param Player player, Card card
+     * \return int
+     */
+    int chooseFoolValue(Player player, Card card);
+}
@@ -0,0 +1,311 @@
+package game;
+
+import java.util.Arrays;
+
+import deck.Card;
+import people.Player;
+
+/**
+ * \brief State of a trick
+ *
+ * Trick : Cards played, value chosen for the Fool and decisions of the blind
+ * round, stored in arrays indexed by the seat of the players. Every seat is a
+ * small stable number given by the game, so nothing is hashed and a trick can
+ * be cleared and used again without allocating.
+ */
+public final class Trick {
+
+    /// No value was chosen for the Fool, or no seat played it
+    public static final int NO_VALUE = -1;
+
+    private static final byte NO_DECISION = 0;
+    private static final byte WIN = 1;
+    private static final byte LOSE = 2;
+
+    // Indexed by seat
+    private Player[] players;
+    private Card[] cards;
+    private int[] foolValues;
+    // Value of the card of every seat, NO_VALUE if the seat didn't play
+    private int[] values;
+    private byte[] decisions;
+    // Seats in the order they played or decided
+    private int[] playOrder;
+    private int[] decisionOrder;
+    private int numberCards;
+    private int numberDecisions;
+    private int foolSeat;
+
+    /**
+     * \brief Constructor Trick
+     * Trick(int numberSeats): create an empty trick for seats 0 to numberSeats - 1.
+     * \param int numberSeats
+     */
+    public Trick(int numberSeats) {
+        players = new Player[numberSeats];
+        cards = new Card[numberSeats];
+        foolValues = new int[numberSeats];
+        values = new int[numberSeats];
+        decisions = new byte[numberSeats];
+        playOrder = new int[numberSeats];
+        decisionOrder = new int[numberSeats];
+        clear();
+    }
+
+    /**
+     * \brief Clear the trick
+     * clear(): Remove every card and decision.
+     */
+    public void clear() {
+        clearCards();
+        Arrays.fill(decisions, NO_DECISION);
+        numberDecisions = 0;
+    }
+
+    /**
+     * \brief Clear the cards
+     * clearCards(): Remove every card played and the value of the Fool, but keep
+     * the decisions.
+     */
+    public void clearCards() {
+        Arrays.fill(cards, null);
+        Arrays.fill(foolValues, NO_VALUE);
+        Arrays.fill(values, NO_VALUE);
+        numberCards = 0;
+        foolSeat = NO_VALUE;
+    }
+
+    /**
+     * \brief Play a card
+     * play(Player player, Card card): The player plays card in this trick.
+     * \param Player player, Card card
+     */
+    public void play(Player player, Card card) {
+        int seat = player.getSeat();
+        players[seat] = player;
+        cards[seat] = card;
+        values[seat] = card.getValue();
+        playOrder[numberCards] = seat;
+        numberCards += 1;
+        if (card.getValue() == Card.MAX_VALUE) {
+            foolSeat = seat;
+        }
+    }
+
+    /**
+     * \brief Number of cards
+     * getNumberCards(): Return the number of cards played in this trick.
+     * \return int
+     */
+    public int getNumberCards() {
+        return numberCards;
+    }
+
+    /**
+     * \brief Seat of a card
+     * getSeat(int index): Return the seat of the player who played the card
+     * number index, starting at 0.
+     * \param int index
+     * \return int
+     */
+    public int getSeat(int index) {
+        return playOrder[index];
+    }
+
+    /**
+     * \brief Player of a card
+     * getPlayer(int index): Return the player who played the card number index.
+     * \param int index
+     * \return Player
+     */
+    public Player getPlayer(int index) {
+        return players[playOrder[index]];
+    }
+
+    /**
+     * \brief Card played
+     * getCard(int index): Return the card number index of this trick.
+     * \param int index
+     * \return Card
+     */
+    public Card getCard(int index) {
+        return cards[playOrder[index]];
+    }
+
+    /**
+     * \brief Card of a seat
+     * getCardOfSeat(int seat): Return the card played by seat, null if the seat
+     * didn't play yet.
+     * \param int seat
+     * \return Card
+     */
+    public Card getCardOfSeat(int seat) {
+        return cards[seat];
+    }
+
+    /**
+     * \brief Value of a card played
+     * getValue(int index): Return the value of the card number index, using the
+     * value chosen for the Fool.
+     * \param int index
+     * \return int
+     */
+    public int getValue(int index) {
+        return values[playOrder[index]];
+    }
+
+    /**
+     * \brief Values of the seats
+     * getValues(): Return the value of the card of every seat, using the value
+     * chosen for the Fool, NO_VALUE for the seats who didn't play. The array is
+     * the one of the trick, it must not be modified.
+     * \return int[]
+     */
+    int[] getValues() {
+        return values;
+    }
+
+    /**
+     * \brief Seat who led
+     * getLeadSeat(): Return the seat who played the first card, NO_VALUE if no
+     * card was played.
+     * \return int
+     */
+    public int getLeadSeat() {
+        return numberCards == 0 ? NO_VALUE : playOrder[0];
+    }
+
+    /**
+     * \brief Seat of the Fool
+     * getFoolSeat(): Return the seat who played the Fool, NO_VALUE if nobody did.
+     * \return int
+     */
+    public int getFoolSeat() {
+        return foolSeat;
+    }
+
+    /**
+     * \brief Value of the Fool
+     * getFoolValue(int seat): Return the value seat chose for the Fool, NO_VALUE if
+     * it wasn't chosen.
+     * \param int seat
+     * \return int
+     */
+    public int getFoolValue(int seat) {
+        return foolValues[seat];
+    }
+
+    /**
+     * \brief Setter value of the Fool
+     * setFoolValue(int seat, int value): The player of seat gives value to the
+     * Fool for this trick only.
+     * \param int seat, int value
+     */
+    public void setFoolValue(int seat, int value) {
+        foolValues[seat] = value;
+        values[seat] = value == NO_VALUE ? cards[seat].getValue() : value;
+    }
+
+    /**
+     * \brief Decision for the blind round
+     * decide(Player player, boolean win): The player bets they win or lose the
+     * blind round.
+     * \param Player player, boolean win
+     */
+    public void decide(Player player, boolean win) {
+        int seat = player.getSeat();
+        players[seat] = player;
+        decisions[seat] = win ? WIN : LOSE;
+        decisionOrder[numberDecisions] = seat;
+        numberDecisions += 1;
+    }
+
+    /**
+     * \brief Number of decisions
+     * getNumberDecisions(): Return the number of decisions taken so far.
+     * \return int
+     */
+    public int getNumberDecisions() {
+        return numberDecisions;
+    }
+
+    /**
+     * \brief Seat of a decision
+     * getDecisionSeat(int index): Return the seat who took the decision number
+     * index.
+     * \param int index
+     * \return int
+     */
+    public int getDecisionSeat(int index) {
+        return decisionOrder[index];
+    }
+
+    /**
+     * \brief Player of a seat
+     * getPlayerOfSeat(int seat): Return the player of seat who played or decided
+     * in this trick.
+     * \param int seat
+     * \return Player
+     */
+    public Player getPlayerOfSeat(int seat) {
+        return players[seat];
+    }
+
+    /**
+     * \brief Has decided
+     * hasDecided(int seat): Return true if seat took its decision.
+     * \param int seat
+     * \return boolean
+     */
+    public boolean hasDecided(int seat) {
+        return decisions[seat] != NO_DECISION;
+    }
+
+    /**
+     * \brief Decision of a seat
+     * getDecision(int seat): Return true if seat bet to win the blind round.
+     * \param int seat
+     * \return boolean
+     */
+    public boolean getDecision(int seat) {
+        return decisions[seat] == WIN;
+    }
+
+    /**
+     * \brief Copy the decisions
+     * copyDecisions(Trick trick): Take the decisions of another trick, in the same
+     * order.
+     * \param Trick trick
+     */
+    public void copyDecisions(Trick trick) {
+        Arrays.fill(decisions, NO_DECISION);
+        numberDecisions = 0;
+        for (int i = 0; i < trick.numberDecisions; i++) {
+            int seat = trick.decisionOrder[i];
+            decide(trick.players[seat], trick.getDecision(seat));
+        }
+    }
+
+    /**
+     * \brief Number of seats
+     * getNumberSeats(): Return the number of seats this trick can hold.
+     * \return int
+     */
+    public int getNumberSeats() {
+        return cards.length;
+    }
+
+    /**
+     * \brief toString
+     *
+     * toString() : Return the string representation of a Trick.
+     * \return String
+     */
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < numberCards; i++) {
+            result.append(getPlayer(i).getName() + ": " + getCard(i) + "\n");
+        }
+        return result.toString();
+    }
+}
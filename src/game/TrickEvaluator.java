@@ -0,0 +1,63 @@
+package game;
+
+/**
+ * \brief Winner of a trick
+ *
+ * TrickEvaluator : Find the seat who wins a trick from the values of the cards
+ * stored by seat, without allocating anything. The highest value wins. If two
+ * cards have the same value, the seat closest to the lead in turn order wins,
+ * which is the card played first since the players play in seat order.
+ */
+public final class TrickEvaluator {
+
+    // Bits of a key keeping the distance to the lead
+    private static final int DISTANCE_BITS = 6;
+    private static final int DISTANCE_MASK = (1 << DISTANCE_BITS) - 1;
+
+    private TrickEvaluator() {
+    }
+
+    /**
+     * \brief Winning seat of a trick
+     * winningSeat(Trick trick) : Return the seat who wins the trick, using the
+     * value chosen for the Fool. Return Trick.NO_VALUE if no card was played.
+     * \param Trick trick
+     * \return int
+     */
+    public static int winningSeat(Trick trick) {
+        if (trick.getNumberCards() == 0) {
+            return Trick.NO_VALUE;
+        }
+        return winningSeat(trick.getValues(), trick.getLeadSeat());
+    }
+
+    /**
+     * \brief Winning seat of values
+     * winningSeat(int[] values, int leadSeat) : Return the seat with the highest
+     * value, values being indexed by seat and Trick.NO_VALUE for a seat who didn't
+     * play. On a tie the first seat after leadSeat, in seat order, wins. Return
+     * Trick.NO_VALUE if no seat played.
+     * \param int[] values, int leadSeat
+     * \return int
+     */
+    public static int winningSeat(int[] values, int leadSeat) {
+        int numberSeats = values.length;
+        // Key of a card: its value, then the seats closest to the lead first, so
+        // the highest key is the winner and there is no tie between two keys
+        int best = -1;
+        for (int distance = 0; distance < numberSeats; distance++) {
+            int seat = leadSeat + distance;
+            if (seat >= numberSeats) {
+                seat -= numberSeats;
+            }
+            int key = (values[seat] << DISTANCE_BITS) | (DISTANCE_MASK - distance);
+            // A seat who didn't play has a negative key
+            best = Math.max(best, key);
+        }
+        if (best < 0) {
+            return Trick.NO_VALUE;
+        }
+        int seat = leadSeat + DISTANCE_MASK - (best & DISTANCE_MASK);
+        return seat >= numberSeats ? seat - numberSeats : seat;
+    }
+}
@@ -4,17 +4,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 import deck.Card;
+import deck.CardSet;
 
 public class Player {
     public static final int NAME_MAX = 8;
     public static final int CARDS_MAX = 5;
     public static final int MAX_LIFE = 10;
+    /// Seat of a player who isn't sitting at a game
+    public static final int NO_SEAT = -1;
 
     private int life;
     private List<Card> cards;
     private String name;
     private int currentTricks;
     private int betTricks;
+    private int seat;
 
     /**
      * \brief Constructor of Player
@@ -27,6 +31,7 @@ public class Player {
         this.cards = new ArrayList<>(CARDS_MAX);
         this.betTricks = 0;
         this.currentTricks = 0;
+        this.seat = NO_SEAT;
     }
 
     /**
@@ -46,6 +51,7 @@ public class Player {
         this.cards = new ArrayList<>(CARDS_MAX);
         this.betTricks = 0;
         this.currentTricks = 0;
+        this.seat = NO_SEAT;
     }
 
     /**
@@ -73,6 +79,27 @@ public class Player {
         this.name = name;
     }
 
+    /**
+     * \brief Getter seat
+     *
+     * getSeat() : Return the seat of the player in their game, a small number
+     * which doesn't change during the game.
+     * \return int seat
+     */
+    public int getSeat() {
+        return this.seat;
+    }
+
+    /**
+     * \brief Setter seat
+     *
+     * setSeat(int seat) : Set the seat of the player in their game.
+     * \param int seat
+     */
+    public void setSeat(int seat) {
+        this.seat = seat;
+    }
+
     /**
      * \brief Getter life
      *
@@ -166,8 +193,15 @@ public class Player {
         }
         this.cards.clear();
         this.cards.addAll(cards);
+    }
 
-        this.cards = cards;
+    /**
+     * \brief Clear cards
+     *
+     * clearCards() : Remove every card from the hand of the player.
+     */
+    public void clearCards() {
+        this.cards.clear();
     }
 
     /**
@@ -180,6 +214,16 @@ public class Player {
         return this.cards.size();
     }
 
+    /**
+     * \brief Getter card set
+     *
+     * getCardSet() : Return the hand of the player as a CardSet.
+     * \return int
+     */
+    public int getCardSet() {
+        return CardSet.fromCards(this.cards);
+    }
+
     /**
      * \brief Add a card
      *
@@ -290,6 +334,7 @@ public class Player {
             playerCloned.setLife(player.getLife());
             playerCloned.setCards(player.getCards());
             playerCloned.setName(player.getName());
+            playerCloned.setSeat(player.getSeat());
         }
         catch(Exception e){
             System.err.println(e.getStackTrace());
@@ -1,11 +1,33 @@
 package people;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-public class PlayerGroup {
+/**
+ * \brief Group of players around a table
+ *
+ * PlayerGroup : The players sit in a fixed array of seats. The turn order
+ * starts at a rotating offset and the players still in the group are kept in a
+ * bitmask, so rotating, removing a player and counting the players never move
+ * nor allocate anything.
+ */
+public final class PlayerGroup {
 
-    List<Player> players;
+    /// Maximum number of seats, one bit of the mask per seat
+    public static final int SEATS_MAX = Long.SIZE;
+
+    // Every player who sat in the group, by seat
+    private Player[] seats;
+    // Number of seats used in the array
+    private int numberSeats;
+    // Seat of the group where the turn order starts
+    private int start;
+    // Bit n set if the player of seat n is still in the group
+    private long alive;
+    // Live view of the players in turn order
+    private final List<Player> view;
 
     /**
      * \brief Constructor of Player
@@ -14,7 +36,8 @@ public class PlayerGroup {
      * \param int numberPlayers
      */
     public PlayerGroup(int numberPlayers) {
-        this.players = new ArrayList<>(numberPlayers);
+        this.seats = new Player[Math.clamp(numberPlayers, 1, SEATS_MAX)];
+        this.view = new PlayersView();
     }
 
     /**
@@ -27,16 +50,13 @@ public class PlayerGroup {
      * \param String[] namePlayers
      */
     public PlayerGroup(String[] namePlayers) throws PlayerNameTooLongException {
+        this(namePlayers.length);
         try {
-            this.players = new ArrayList<>(namePlayers.length);
             for (int i = 0; i < namePlayers.length; i++) {
-                this.players.add(new Player(namePlayers[i]));
+                addPlayer(new Player(namePlayers[i]));
             }
         } catch (PlayerNameTooLongException e) {
             System.out.println(e.getMessage());
-            if (this.players != null && this.players.isEmpty()) {
-                this.players.clear();
-            }
         }
     }
 
@@ -47,30 +67,42 @@ public class PlayerGroup {
      * \param ArrayList<Player> players
      */
     public PlayerGroup(List<Player> players) {
-        this.players = new ArrayList<>(players.size());
-        for (Player player : players) {
-            this.players.add(player);
-        }
+        this(players.size());
+        setPlayers(players);
     }
 
     /**
      * \brief Getter Players
      *
-     * getPlayers() : Return the players.
-     * \return ArrayList<Player>
+     * getPlayers() : Return the players in turn order. The list is a view of the
+     * group: it follows every rotation and removal, and adding to it adds a
+     * player to the group.
+     * \return List<Player>
      */
     public List<Player> getPlayers() {
-        return this.players;
+        return this.view;
     }
 
     /**
      * \brief Setter Players
      *
-     * setPlayers(ArrayList<Player> players) : Set the new list of players.
+     * setPlayers(ArrayList<Player> players) : Set the new list of players. The
+     * first player of the list begins the turn.
      * \param ArrayList<Player> players
      */
     public void setPlayers(List<Player> players) {
-        this.players = players;
+        // The list may be the view of this group
+        Player[] newSeats = players.toArray(new Player[0]);
+        checkSeats(newSeats.length);
+        if (newSeats.length > this.seats.length) {
+            this.seats = newSeats;
+        } else {
+            Arrays.fill(this.seats, null);
+            System.arraycopy(newSeats, 0, this.seats, 0, newSeats.length);
+        }
+        this.numberSeats = newSeats.length;
+        this.start = 0;
+        this.alive = maskOf(newSeats.length);
     }
 
     /**
@@ -80,7 +112,28 @@ public class PlayerGroup {
      * \return Player
      */
     public Player getPlayer(int index) {
-        return this.players.get(index);
+        return this.seats[getSeat(index)];
+    }
+
+    /**
+     * \brief Seat of a player
+     *
+     * getSeat(int index) : Return the seat in the group of the player number index
+     * in turn order. The players after the start come first, then the ones before
+     * it.
+     * \param int index
+     * \return int
+     */
+    public int getSeat(int index) {
+        if (index < 0 || index >= getNumberPlayers()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + getNumberPlayers() + " players");
+        }
+        long afterStart = this.alive & (-1L << this.start);
+        int numberAfterStart = Long.bitCount(afterStart);
+        if (index < numberAfterStart) {
+            return nthSeat(afterStart, index);
+        }
+        return nthSeat(this.alive & ~afterStart, index - numberAfterStart);
     }
 
     /**
@@ -90,17 +143,28 @@ public class PlayerGroup {
      * \return int
      */
     public int getNumberPlayers() {
-        return this.players.size();
+        return Long.bitCount(this.alive);
     }
 
     /**
      * \brief Add player
      *
-     * addPlayer(Player player) : Add a player to the list.
+     * addPlayer(Player player) : Add a player to the list, at the end of the turn
+     * order.
      * \param Player player
      */
     public void addPlayer(Player player) {
-        this.players.add(player);
+        // A new seat is only at the end of the turn when the turn starts at seat 0
+        if (this.start != 0 || this.numberSeats == this.seats.length) {
+            compact();
+        }
+        if (this.numberSeats == this.seats.length) {
+            checkSeats(this.numberSeats + 1);
+            this.seats = Arrays.copyOf(this.seats, Math.min(2 * this.seats.length, SEATS_MAX));
+        }
+        this.seats[this.numberSeats] = player;
+        this.alive |= 1L << this.numberSeats;
+        this.numberSeats += 1;
     }
 
     /**
@@ -110,7 +174,13 @@ public class PlayerGroup {
      * \param Player player
      */
     public void removePlayer(Player player) {
-        this.players.remove(player);
+        for (int i = 0; i < getNumberPlayers(); i++) {
+            int seat = getSeat(i);
+            if (this.seats[seat].equals(player)) {
+                this.alive &= ~(1L << seat);
+                return;
+            }
+        }
     }
 
     /**
@@ -121,7 +191,12 @@ public class PlayerGroup {
      * \return Player
      */
     public boolean hasPlayer(Player player) {
-        return this.players.contains(player);
+        for (long mask = this.alive; mask != 0; mask &= mask - 1) {
+            if (this.seats[Long.numberOfTrailingZeros(mask)].equals(player)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -131,8 +206,8 @@ public class PlayerGroup {
      * \return boolean
      */
     public boolean isAlive() {
-        for (Player player : this.players) {
-            if (!player.isAlive()) {
+        for (long mask = this.alive; mask != 0; mask &= mask - 1) {
+            if (!this.seats[Long.numberOfTrailingZeros(mask)].isAlive()) {
                 return false;
             }
         }
@@ -143,17 +218,29 @@ public class PlayerGroup {
      * \brief Remove player with 0 life points
      *
      * removeDeadPlayers() : Remove any player with 0 life points from the list and
-     * return them
+     * return them in turn order. Nothing is allocated when every player is alive.
      * \return Players
      */
     public List<Player> removeDeadPlayers() {
-        ArrayList<Player> deadPlayers = new ArrayList<>();
-        for (Player player : this.players) {
-            if (!player.isAlive()) {
-                deadPlayers.add(player);
+        long dead = 0;
+        for (long mask = this.alive; mask != 0; mask &= mask - 1) {
+            int seat = Long.numberOfTrailingZeros(mask);
+            if (!this.seats[seat].isAlive()) {
+                dead |= 1L << seat;
+            }
+        }
+        if (dead == 0) {
+            return List.of();
+        }
+
+        ArrayList<Player> deadPlayers = new ArrayList<>(Long.bitCount(dead));
+        for (int i = 0; i < getNumberPlayers(); i++) {
+            int seat = getSeat(i);
+            if ((dead & (1L << seat)) != 0) {
+                deadPlayers.add(this.seats[seat]);
             }
         }
-        this.players.removeIf(playerDead -> playerDead.getLife() <= 0);
+        this.alive &= ~dead;
         return deadPlayers;
     }
 
@@ -163,12 +250,18 @@ public class PlayerGroup {
      * the one who begin the round.
      */
     public void rotatingPlayers() {
-        this.players.addLast(players.removeFirst());
+        if (this.alive == 0) {
+            return;
+        }
+        // The first player goes to the end of the turn
+        int first = getSeat(0);
+        long afterFirst = first + 1 < SEATS_MAX ? this.alive & (-1L << (first + 1)) : 0;
+        this.start = Long.numberOfTrailingZeros(afterFirst != 0 ? afterFirst : this.alive);
     }
 
     @Override
     public boolean equals(Object o) {
-        return o == this 
+        return o == this
         || ( o instanceof PlayerGroup playerGroup && playerGroup.hashCode() == this.hashCode());
     }
 
@@ -189,7 +282,7 @@ public class PlayerGroup {
      * \return int
      */
     public int hashCode() {
-        return 13 * this.players.hashCode();
+        return 13 * this.view.hashCode();
     }
 
     /**
@@ -200,10 +293,97 @@ public class PlayerGroup {
      */
     public String toString() {
         StringBuilder result = new StringBuilder();
-        for (Player player : this.players) {
-            result.append(player.toString());
+        for (int i = 0; i < getNumberPlayers(); i++) {
+            result.append(getPlayer(i).toString());
             result.append("\n");
         }
         return result.toString();
     }
+
+    /**
+     * \brief Compact the seats
+     * compact() : Move the players still in the group to the first seats, in turn
+     * order, so the turn starts at seat 0 again.
+     */
+    private void compact() {
+        int numberPlayers = getNumberPlayers();
+        Player[] ordered = new Player[this.seats.length];
+        for (int i = 0; i < numberPlayers; i++) {
+            ordered[i] = getPlayer(i);
+        }
+        this.seats = ordered;
+        this.numberSeats = numberPlayers;
+        this.start = 0;
+        this.alive = maskOf(numberPlayers);
+    }
+
+    /**
+     * \brief Seat of a bit
+     * nthSeat(long mask, int n) : Return the seat of the bit number n, starting at
+     * 0 from the lowest, set in mask.
+     * \param long mask, int n
+     * \return int
+     */
+    private static int nthSeat(long mask, int n) {
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * \brief Mask of the first seats
+     * maskOf(int numberSeats) : Return the mask of the seats 0 to numberSeats - 1.
+     * \param int numberSeats
+     * \return long
+     */
+    private static long maskOf(int numberSeats) {
+        return numberSeats == SEATS_MAX ? -1L : (1L << numberSeats) - 1;
+    }
+
+    /**
+     * \brief Check the number of seats
+     * checkSeats(int numberSeats) : Throw an IllegalStateException if numberSeats
+     * doesn't fit in the mask.
+     * \param int numberSeats
+     */
+    private static void checkSeats(int numberSeats) {
+        if (numberSeats > SEATS_MAX) {
+            throw new IllegalStateException("A group can't have more than " + SEATS_MAX + " players.");
+        }
+    }
+
+    /**
+     * \brief View of the players
+     *
+     * PlayersView : List of the players of the group in turn order, read directly
+     * from the seats.
+     */
+    private class PlayersView extends AbstractList<Player> {
+
+        @Override
+        public Player get(int index) {
+            return getPlayer(index);
+        }
+
+        @Override
+        public int size() {
+            return getNumberPlayers();
+        }
+
+        @Override
+        public void add(int index, Player player) {
+            if (index != size()) {
+                throw new UnsupportedOperationException("Players can only be added at the end of the turn.");
+            }
+            addPlayer(player);
+        }
+
+        @Override
+        public Player remove(int index) {
+            int seat = getSeat(index);
+            alive &= ~(1L << seat);
+            return seats[seat];
+        }
+    }
 }
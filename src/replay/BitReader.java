@@ -0,0 +1,149 @@
+package replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * \brief Reader of a stream of bits
+ *
+ * BitReader : Read the values written by a BitWriter, in the same order and
+ * with the same numbers of bits. The bytes are read in place from a buffer,
+ * which may be a slice of a mapped file.
+ */
+public final class BitReader {
+
+    private final ByteBuffer bytes;
+    private final int first;
+    private final long numberBits;
+    // Bits read so far
+    private long position;
+
+    /**
+     * \brief Constructor BitReader
+     * BitReader(ByteBuffer bytes): create a reader of the bytes from the position
+     * to the limit of bytes. The buffer itself is not moved.
+     * \param ByteBuffer bytes
+     */
+    public BitReader(ByteBuffer bytes) {
+        this.bytes = bytes;
+        this.first = bytes.position();
+        this.numberBits = 8L * bytes.remaining();
+        this.position = 0;
+    }
+
+    /**
+     * \brief Constructor BitReader
+     * BitReader(byte[] bytes): create a reader of bytes.
+     * \param byte[] bytes
+     */
+    public BitReader(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * \brief Getter position
+     * getPosition() : Return the number of bits read.
+     * \return long
+     */
+    public long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * \brief Move in the stream
+     * seek(long position) : Read the next values from the bit position.
+     * \param long position
+     */
+    public void seek(long position) {
+        if (position < 0 || position > numberBits) {
+            throw new IllegalStateException("The stream has no bit " + position + ".");
+        }
+        this.position = position;
+    }
+
+    /**
+     * \brief Bits left
+     * remaining() : Return the number of bits left, including the padding of the
+     * last byte.
+     * \return long
+     */
+    public long remaining() {
+        return numberBits - position;
+    }
+
+    /**
+     * \brief Read bits
+     * read(int numberBits) : Return the value of the next numberBits bits. Throw
+     * an IllegalStateException after the end of the bytes.
+     * \param int numberBits
+     * \return long
+     */
+    public long read(int numberBits) {
+        if (numberBits > remaining()) {
+            throw new IllegalStateException("The stream ends before its last value.");
+        }
+        long value = 0;
+        for (int left = numberBits; left > 0;) {
+            int current = bytes.get(first + (int) (position >>> 3)) & 0xff;
+            int available = 8 - (int) (position & 7);
+            int taken = Math.min(available, left);
+            int bits = (current >>> (available - taken)) & ((1 << taken) - 1);
+            value = (value << taken) | bits;
+            left -= taken;
+            position += taken;
+        }
+        return value;
+    }
+
+    /**
+     * \brief Read an int
+     * readInt(int numberBits) : Return the value of the next numberBits bits, at
+     * most 31.
+     * \param int numberBits
+     * \return int
+     */
+    public int readInt(int numberBits) {
+        return (int) read(numberBits);
+    }
+
+    /**
+     * \brief Read a boolean
+     * readBoolean() : Return true if the next bit is 1.
+     * \return boolean
+     */
+    public boolean readBoolean() {
+        return read(1) != 0;
+    }
+
+    /**
+     * \brief Read a small number
+     * readVarint() : Return a value written by BitWriter.writeVarint.
+     * \return long
+     */
+    public long readVarint() {
+        long value = 0;
+        boolean more = true;
+        while (more) {
+            more = readBoolean();
+            value = (value << 4) | read(4);
+        }
+        return value;
+    }
+
+    /**
+     * \brief Read a text
+     * readString() : Return a text written by BitWriter.writeString.
+     * \return String
+     */
+    public String readString() {
+        int length = (int) readVarint();
+        int numberBits = readBoolean() ? 7 : 16;
+        if ((long) length * numberBits > remaining()) {
+            throw new IllegalStateException("The stream ends before its last value.");
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) read(numberBits);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,133 @@
+package replay;
+
+import java.util.Arrays;
+
+/**
+ * \brief Stream of bits
+ *
+ * BitWriter : Write values of a few bits one after the other, the first bit
+ * written being the highest bit of the first byte. A decision of a game fits in
+ * 0 to 3 bits, so a whole game is packed in a few tens of bytes.
+ */
+public final class BitWriter {
+
+    private byte[] bytes;
+    // Bits written so far
+    private long length;
+
+    /**
+     * \brief Constructor BitWriter
+     * BitWriter(): create an empty stream.
+     */
+    public BitWriter() {
+        this.bytes = new byte[64];
+        this.length = 0;
+    }
+
+    /**
+     * \brief Clear the stream
+     * clear() : Remove every bit, the memory of the stream is kept.
+     */
+    public void clear() {
+        Arrays.fill(bytes, 0, (int) ((length + 7) >>> 3), (byte) 0);
+        length = 0;
+    }
+
+    /**
+     * \brief Getter length
+     * getLength() : Return the number of bits written.
+     * \return long
+     */
+    public long getLength() {
+        return this.length;
+    }
+
+    /**
+     * \brief Write bits
+     * write(long value, int numberBits) : Write the numberBits lowest bits of
+     * value, highest first. numberBits is between 0 and 64.
+     * \param long value, int numberBits
+     */
+    public void write(long value, int numberBits) {
+        ensureCapacity(length + numberBits);
+        for (int left = numberBits; left > 0;) {
+            int index = (int) (length >>> 3);
+            int free = 8 - (int) (length & 7);
+            int taken = Math.min(free, left);
+            int bits = (int) (value >>> (left - taken)) & ((1 << taken) - 1);
+            bytes[index] |= (byte) (bits << (free - taken));
+            left -= taken;
+            length += taken;
+        }
+    }
+
+    /**
+     * \brief Write a boolean
+     * writeBoolean(boolean value) : Write one bit, 1 for true.
+     * \param boolean value
+     */
+    public void writeBoolean(boolean value) {
+        write(value ? 1 : 0, 1);
+    }
+
+    /**
+     * \brief Write a small number
+     * writeVarint(long value) : Write a non-negative value in groups of 4 bits,
+     * each one preceded by a bit telling if another group follows. Small values
+     * take 5 bits.
+     * \param long value
+     */
+    public void writeVarint(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Only non-negative values can be written: " + value + ".");
+        }
+        int groups = Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 3) / 4);
+        for (int group = groups - 1; group >= 0; group--) {
+            writeBoolean(group > 0);
+            write(value >>> (4 * group), 4);
+        }
+    }
+
+    /**
+     * \brief Write a text
+     * writeString(String text) : Write the length of text then its characters, on
+     * 7 bits if they are all ASCII, on 16 bits otherwise.
+     * \param String text
+     */
+    public void writeString(String text) {
+        boolean ascii = text.chars().allMatch(c -> c < 0x80);
+        writeVarint(text.length());
+        writeBoolean(ascii);
+        for (int i = 0; i < text.length(); i++) {
+            write(text.charAt(i), ascii ? 7 : 16);
+        }
+    }
+
+    /**
+     * \brief Bytes of the stream
+     * toByteArray() : Return a copy of the bytes written, the last one padded with
+     * zeros.
+     * \return byte[]
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, (int) ((length + 7) >>> 3));
+    }
+
+    /**
+     * \brief Number of bits of a value
+     * bitsFor(long maximum) : Return the number of bits needed to write any value
+     * from 0 to maximum, 0 if maximum is 0.
+     * \param long maximum
+     * \return int
+     */
+    public static int bitsFor(long maximum) {
+        return 64 - Long.numberOfLeadingZeros(maximum);
+    }
+
+    private void ensureCapacity(long numberBits) {
+        long numberBytes = (numberBits + 7) >>> 3;
+        if (numberBytes > bytes.length) {
+            bytes = Arrays.copyOf(bytes, (int) Math.max(numberBytes, 2L * bytes.length));
+        }
+    }
+}
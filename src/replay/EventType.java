@@ -0,0 +1,31 @@
+package replay;
+
+/**
+ * \brief Events of a game record
+ *
+ * EventType : What a GameReplayer does at each step. DEAL, BET, CARD,
+ * FOOL_VALUE and BLIND_CALL are read from the record. The other events follow
+ * from the rules, so they take no bit in the record.
+ */
+public enum EventType {
+    /// Cards of a round distributed to the players alive
+    DEAL,
+    /// Bet of one player
+    BET,
+    /// Card played by one player
+    CARD,
+    /// Value given to the Fool in the current trick
+    FOOL_VALUE,
+    /// Winner of the current trick
+    TRICK_WON,
+    /// Decision of one player in the blind round
+    BLIND_CALL,
+    /// Life points lost at the end of a round
+    LIFE_LOSS,
+    /// Players with 0 life points removed
+    ELIMINATION,
+    /// Next player beginning the rounds
+    ROTATION,
+    /// End of the game
+    GAME_OVER,
+}
@@ -0,0 +1,242 @@
+package replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * \brief Append-only log of games
+ *
+ * GameLog : File of game records, written one after the other and never
+ * modified. The file starts with a magic number, then every record is its
+ * length, on 7 bits per byte with the high bit set when another byte follows,
+ * and its bytes. Records are buffered and written by blocks, several recorders
+ * may append to the same log from different threads.
+ */
+public class GameLog implements RecordSink, AutoCloseable {
+
+    /// First int of a log
+    public static final int MAGIC = 0x54524c47;
+
+    // Bytes written to the file at once
+    private static final int BUFFER_BYTES = 1 << 16;
+    // Longest length of a record
+    private static final int LENGTH_BYTES = 5;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long numberRecords;
+    // Offset in the file of the next record
+    private long position;
+
+    private GameLog(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        this.numberRecords = 0;
+        this.position = channel.size();
+    }
+
+    /**
+     * \brief Open a log
+     * open(Path path) : Return the log at path, ready to append records after the
+     * ones it already holds. The file is created if it doesn't exist. Throw an
+     * IOException if it isn't a log.
+     * \param Path path
+     * \return GameLog
+     */
+    public static GameLog open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).flip());
+            } else {
+                checkMagic(channel, path);
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new GameLog(channel);
+    }
+
+    /**
+     * \brief Append a record
+     * append(byte[] record) : Write record after the last one.
+     * \param byte[] record
+     */
+    @Override
+    public synchronized void append(byte[] record) throws IOException {
+        if (buffer.remaining() < LENGTH_BYTES + record.length) {
+            flushBuffer();
+        }
+        if (buffer.remaining() < LENGTH_BYTES + record.length) {
+            // Longer than the buffer, written at once
+            ByteBuffer large = ByteBuffer.allocate(LENGTH_BYTES + record.length);
+            putLength(large, record.length);
+            large.put(record).flip();
+            writeFully(large);
+        } else {
+            putLength(buffer, record.length);
+            buffer.put(record);
+        }
+        numberRecords += 1;
+        position += lengthBytes(record.length) + record.length;
+    }
+
+    /**
+     * \brief Position of the next record
+     * getPosition() : Return the offset in the file of the next record appended,
+     * the size of the file once every record is written.
+     * \return long
+     */
+    public synchronized long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * \brief Position written
+     * getWrittenPosition() : Return the offset in the file of the first byte still
+     * buffered: every record before it is in the file, even if the process dies.
+     * \return long
+     */
+    synchronized long getWrittenPosition() {
+        return this.position - buffer.position();
+    }
+
+    /**
+     * \brief Number of records
+     * getNumberRecords() : Return the number of records appended since the log
+     * was opened.
+     * \return long
+     */
+    public synchronized long getNumberRecords() {
+        return this.numberRecords;
+    }
+
+    /**
+     * \brief Flush the log
+     * flush() : Write the records appended so far to the disk.
+     */
+    public synchronized void flush() throws IOException {
+        flushBuffer();
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * \brief Read every record
+     * forEach(Path path, Consumer<ByteBuffer> action) : Call action with every
+     * record of the log at path, in the order they were appended. The buffer is
+     * only valid during the call. Throw an IOException if the file isn't a log or
+     * if its last record is cut.
+     * \param Path path, Consumer<ByteBuffer> action
+     */
+    public static void forEach(Path path, Consumer<ByteBuffer> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            checkMagic(channel, path);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+            buffer.flip();
+            boolean end = false;
+            while (!end || buffer.hasRemaining()) {
+                int start = buffer.position();
+                int length = getLength(buffer);
+                if (length >= 0 && buffer.remaining() >= length) {
+                    ByteBuffer record = buffer.slice(buffer.position(), length);
+                    buffer.position(buffer.position() + length);
+                    action.accept(record);
+                    continue;
+                }
+                buffer.position(start);
+                if (length < 0 && buffer.remaining() >= LENGTH_BYTES) {
+                    throw new IOException(path + " holds a record of a wrong length.");
+                }
+                if (end) {
+                    throw new IOException(path + " ends in the middle of a record.");
+                }
+                // Keep the start of the record and read the next bytes after it
+                buffer.compact();
+                if (length > buffer.capacity() - LENGTH_BYTES) {
+                    ByteBuffer larger = ByteBuffer.allocate(length + LENGTH_BYTES);
+                    buffer.flip();
+                    larger.put(buffer);
+                    buffer = larger;
+                }
+                end = channel.read(buffer) < 0;
+                buffer.flip();
+            }
+        }
+    }
+
+    /**
+     * \brief Write a length
+     * putLength(ByteBuffer buffer, int length) : Write length on 7 bits per byte.
+     * \param ByteBuffer buffer, int length
+     */
+    private static void putLength(ByteBuffer buffer, int length) {
+        while (length >= 0x80) {
+            buffer.put((byte) (length | 0x80));
+            length >>>= 7;
+        }
+        buffer.put((byte) length);
+    }
+
+    private static int lengthBytes(int length) {
+        return 1 + (31 - Integer.numberOfLeadingZeros(length | 1)) / 7;
+    }
+
+    /**
+     * \brief Read a length
+     * getLength(ByteBuffer buffer) : Return the length written at the position of
+     * buffer and move after it, or -1 if the buffer ends before it.
+     * \param ByteBuffer buffer
+     * \return int
+     */
+    static int getLength(ByteBuffer buffer) {
+        int length = 0;
+        for (int shift = 0; buffer.hasRemaining() && shift < 7 * LENGTH_BYTES; shift += 7) {
+            int current = buffer.get();
+            length |= (current & 0x7f) << shift;
+            if ((current & 0x80) == 0) {
+                return length;
+            }
+        }
+        return -1;
+    }
+
+    private static void checkMagic(FileChannel channel, Path path) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+        int read = 0;
+        while (magic.hasRemaining() && read >= 0) {
+            read = channel.read(magic, magic.position());
+        }
+        if (magic.hasRemaining() || magic.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a log of games.");
+        }
+        channel.position(Integer.BYTES);
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
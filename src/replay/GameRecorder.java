@@ -0,0 +1,230 @@
+package replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import deck.CardSet;
+import deck.DealRanking;
+import deck.DealSource;
+import deck.Deck;
+import deck.RemovingTooManyCards;
+import game.Game;
+import game.GameListener;
+import game.Trick;
+import people.Player;
+
+/**
+ * \brief Recorder of games
+ *
+ * GameRecorder : Listener writing every game it follows as a record of a few
+ * tens of bytes, sent to a RecordSink when the game is over. Only what the
+ * rules can't tell is written, in as few bits as it can take:
+ *
+ * - the header: 1 bit set if the deals come from a DealSource, followed by its
+ *   seed on 64 bits, then the number of players on 3 bits and the name and life
+ *   points of every player in the order of their seats;
+ * - a deal: with a DealSource, 1 bit cleared when the cards are the next deal of
+ *   the source. Otherwise the rank of the hands of the players alive, in turn
+ *   order, among every deal of as many cards (see DealRanking);
+ * - a bet: the number of tricks, on as many bits as the number of cards needs;
+ * - a card: its index among the cards left in the hand of its player, sorted by
+ *   value, so the last card of a hand takes no bit;
+ * - the value of the Fool and a decision of the blind round: 1 bit.
+ *
+ * The life points lost, the players eliminated and the rotations follow from
+ * the rules, a GameReplayer computes them again.
+ */
+public class GameRecorder implements GameListener {
+
+    private static final int PLAYERS_BITS = BitWriter.bitsFor(Game.NUMBER_PLAYERS);
+
+    private final RecordSink records;
+    private final BitWriter writer;
+    // Source of the deals of the game, null if they are written by rank
+    private DealSource dealSource;
+    private long numberDeals;
+    private final Deck deck;
+    // Cards left in the hand of every seat
+    private final int[] hands;
+    private int numberRound;
+    private byte[] lastRecord;
+    // Number of the game recorded, -1 to let the sink number it
+    private long game;
+    // True from the start of a game to its end, unless it is abandoned
+    private boolean recording;
+
+    /**
+     * \brief Constructor GameRecorder
+     * GameRecorder(RecordSink records): create a recorder appending the games to
+     * records, or only keeping the last one if records is null.
+     * \param RecordSink records
+     */
+    public GameRecorder(RecordSink records) {
+        this.records = records;
+        this.writer = new BitWriter();
+        this.deck = new Deck();
+        this.hands = new int[Game.NUMBER_PLAYERS];
+        this.numberDeals = 0;
+        this.game = -1;
+    }
+
+    /**
+     * \brief Setter game
+     * setGame(long game) : The next games are appended to the sink as the game
+     * number game (see RecordSink). -1 lets the sink number them.
+     * \param long game
+     */
+    public void setGame(long game) {
+        this.game = game;
+    }
+
+    /**
+     * \brief Setter deal source
+     * setDealSource(DealSource dealSource) : The next game deals its rounds from
+     * dealSource (see Game.setDealSource), so its deals are written as one bit
+     * each. null writes every deal by rank.
+     * \param DealSource dealSource
+     */
+    public void setDealSource(DealSource dealSource) {
+        this.dealSource = dealSource;
+    }
+
+    /**
+     * \brief Last record
+     * getLastRecord() : Return the record of the last game over, null before the
+     * end of the first game.
+     * \return byte[]
+     */
+    public byte[] getLastRecord() {
+        return this.lastRecord;
+    }
+
+    @Override
+    public void onGameNumber(long game, DealSource deals) {
+        setGame(game);
+        setDealSource(deals);
+    }
+
+    @Override
+    public void onGameStart(List<Player> players) {
+        recording = true;
+        writer.clear();
+        numberDeals = 0;
+        writer.writeBoolean(dealSource != null);
+        if (dealSource != null) {
+            writer.write(dealSource.getSeed(), Long.SIZE);
+        }
+        writer.write(players.size(), PLAYERS_BITS);
+        for (Player player : players) {
+            writer.writeString(player.getName());
+            writer.writeVarint(player.getLife());
+        }
+    }
+
+    @Override
+    public void onCardsDealt(List<Player> players) {
+        numberRound = players.isEmpty() ? 0 : players.getFirst().getNumberCards();
+        int[] dealt = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            dealt[i] = player.getCardSet();
+            hands[player.getSeat()] = dealt[i];
+        }
+        if (dealSource != null) {
+            boolean fromSource = isNextDeal(players);
+            numberDeals += 1;
+            writer.writeBoolean(!fromSource);
+            if (fromSource) {
+                return;
+            }
+        }
+        DealRanking ranking = new DealRanking(players.size(), numberRound);
+        writer.write(ranking.rank(dealt), BitWriter.bitsFor(ranking.count() - 1));
+    }
+
+    @Override
+    public void onBet(Player player, int betTricks) {
+        writer.write(betTricks, BitWriter.bitsFor(numberRound));
+    }
+
+    @Override
+    public void onCardsPlayed(Trick trick) {
+        if (numberRound == 1) {
+            // The cards of the blind round are revealed, not played
+            return;
+        }
+        for (int i = 0; i < trick.getNumberCards(); i++) {
+            int seat = trick.getSeat(i);
+            int value = trick.getCard(i).getValue();
+            int hand = hands[seat];
+            writer.write(Integer.bitCount(hand & (CardSet.of(value) - 1)), BitWriter.bitsFor(CardSet.size(hand) - 1));
+            hands[seat] = CardSet.remove(hand, value);
+        }
+    }
+
+    @Override
+    public void onFoolValue(Player player, int value) {
+        writer.writeBoolean(value != 0);
+    }
+
+    @Override
+    public void onBlindCall(Player player, boolean win) {
+        writer.writeBoolean(win);
+    }
+
+    @Override
+    public void onGameOver(Player winner) {
+        if (!recording) {
+            return;
+        }
+        recording = false;
+        lastRecord = writer.toByteArray();
+        if (records != null) {
+            try {
+                if (game < 0) {
+                    records.append(lastRecord);
+                } else {
+                    records.append(game, lastRecord);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void onGameAbandoned() {
+        // Only a game followed from its start to its end is appended
+        recording = false;
+        writer.clear();
+    }
+
+    /**
+     * \brief Deal of the source
+     * isNextDeal(List<Player> players) : Return true if the hands of players are
+     * the ones the next deal of the source gives, in the same order. The order of
+     * the cards in a hand doesn't matter, so a hand rebuilt sorted by value (see
+     * ListenerConsumer) matches too.
+     * \param List<Player> players
+     * \return boolean
+     */
+    private boolean isNextDeal(List<Player> players) {
+        dealSource.shuffle(deck, numberDeals);
+        try {
+            // The game deals every card of a player before the next one
+            for (Player player : players) {
+                int dealt = CardSet.EMPTY;
+                for (int i = 0; i < player.getNumberCards(); i++) {
+                    dealt = CardSet.add(dealt, deck.dealCard().getValue());
+                }
+                if (dealt != player.getCardSet()) {
+                    return false;
+                }
+            }
+        } catch (RemovingTooManyCards e) {
+            return false;
+        }
+        return true;
+    }
+}
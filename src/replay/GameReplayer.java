@@ -0,0 +1,461 @@
+package replay;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import deck.Card;
+import deck.CardSet;
+import deck.DealRanking;
+import deck.DealSource;
+import deck.Deck;
+import game.Game;
+import game.GameListener;
+import game.SeatController;
+import game.Trick;
+import people.Player;
+import people.PlayerGroup;
+
+/**
+ * \brief Replayer of games
+ *
+ * GameReplayer : Rebuild a game from its record, one event at a time, so the
+ * Game, its players and their hands can be looked at after any event. Every
+ * step runs the same code as the game that was recorded: the decisions read in
+ * the record are given to the game by a SeatController, and the game sends
+ * its events to the listener as it did the first time.
+ *
+ * A deal written as a deal of a DealSource gives the players their cards in the
+ * same order. A deal written by rank gives them their cards sorted by value.
+ */
+public class GameReplayer {
+
+    private static final int PLAYERS_BITS = BitWriter.bitsFor(Game.NUMBER_PLAYERS);
+
+    private final BitReader reader;
+    private final Game game;
+    private final GameListener listener;
+    private final DecisionController decisions;
+    // Source of the deals of the game, null if they are written by rank
+    private final DealSource dealSource;
+    private long numberDeals;
+    private final int[] hands;
+
+    // Next event, null once the game is over
+    private EventType next;
+    private int numberRound;
+    // Index of the next player in turn order, and of the current trick
+    private int index;
+    private int turn;
+    private long numberEvents;
+
+    /**
+     * \brief Constructor GameReplayer
+     * GameReplayer(ByteBuffer record, GameListener listener): create the game of
+     * record, from its position to its limit, sending its events to listener.
+     * The players are created and listener gets onGameStart, no round is played
+     * yet. Throw an IllegalStateException if the record is not valid.
+     * \param ByteBuffer record, GameListener listener
+     */
+    public GameReplayer(ByteBuffer record, GameListener listener) {
+        this(record, null, listener);
+    }
+
+    /**
+     * \brief Constructor GameReplayer
+     * GameReplayer(ByteBuffer record, ReplayCheckpoint checkpoint, GameListener
+     * listener): create the game of record as it is at checkpoint, ready to deal
+     * its round. A null checkpoint starts from the beginning of the game.
+     * \param ByteBuffer record, ReplayCheckpoint checkpoint, GameListener listener
+     */
+    public GameReplayer(ByteBuffer record, ReplayCheckpoint checkpoint, GameListener listener) {
+        this.reader = new BitReader(record);
+        this.listener = listener;
+        this.decisions = new DecisionController();
+        this.game = new Game(decisions, listener);
+        this.dealSource = reader.readBoolean() ? new DealSource(reader.read(Long.SIZE)) : null;
+        this.numberDeals = 0;
+        this.hands = new int[Game.NUMBER_PLAYERS];
+
+        int numberPlayers = reader.readInt(PLAYERS_BITS);
+        List<Player> players = new ArrayList<>(numberPlayers);
+        try {
+            for (int seat = 0; seat < numberPlayers; seat++) {
+                Player player = new Player(reader.readString());
+                player.setLife((int) reader.readVarint());
+                players.add(player);
+            }
+            game.setPlayers(players);
+        } catch (Exception e) {
+            throw new IllegalStateException("The players of the record are not valid: " + e.getMessage(), e);
+        }
+        this.numberRound = Game.ROUND_MAX;
+        this.numberEvents = 0;
+        if (checkpoint != null) {
+            restore(checkpoint);
+        }
+        listener.onGameStart(game.getPlayers());
+        this.next = game.isVictory() ? EventType.GAME_OVER : EventType.DEAL;
+    }
+
+    /**
+     * \brief Constructor GameReplayer
+     * GameReplayer(byte[] record): create the game of record, without listening
+     * to it.
+     * \param byte[] record
+     */
+    public GameReplayer(byte[] record) {
+        this(ByteBuffer.wrap(record), new GameListener() {
+        });
+    }
+
+    /**
+     * \brief Restore a checkpoint
+     * restore(ReplayCheckpoint checkpoint) : Give the players their life points and
+     * their turn order of checkpoint, and read the record from its round.
+     * \param ReplayCheckpoint checkpoint
+     */
+    private void restore(ReplayCheckpoint checkpoint) {
+        List<Player> players = new ArrayList<>(game.getPlayers());
+        try {
+            for (Player player : players) {
+                player.setLife(checkpoint.getLife(player.getSeat()));
+            }
+            // The players alive are the ones with life points left
+            game.setPlayers(players);
+        } catch (Exception e) {
+            throw new IllegalStateException("The checkpoint is not valid: " + e.getMessage(), e);
+        }
+        for (int i = 0; i < game.getNumberPlayersAlive()
+                && game.getPlayerAlive(0).getSeat() != checkpoint.getFirstSeat(); i++) {
+            game.rotatingPlayers();
+        }
+        if (game.getNumberPlayersAlive() > 0 && game.getPlayerAlive(0).getSeat() != checkpoint.getFirstSeat()) {
+            throw new IllegalStateException("The player beginning the round of the checkpoint is dead.");
+        }
+        reader.seek(checkpoint.getBitPosition());
+        numberDeals = checkpoint.getNumberDeals();
+        numberEvents = checkpoint.getNumberEvents();
+    }
+
+    /**
+     * \brief Getter game
+     * getGame() : Return the game, in the state it has after the events replayed.
+     * \return Game
+     */
+    public Game getGame() {
+        return this.game;
+    }
+
+    /**
+     * \brief Getter numberRound
+     * getNumberRound() : Return the number of cards of the current round.
+     * \return int
+     */
+    public int getNumberRound() {
+        return this.numberRound;
+    }
+
+    /**
+     * \brief Getter numberEvents
+     * getNumberEvents() : Return the number of events replayed.
+     * \return long
+     */
+    public long getNumberEvents() {
+        return this.numberEvents;
+    }
+
+    /**
+     * \brief Getter numberDeals
+     * getNumberDeals() : Return the number of rounds dealt.
+     * \return long
+     */
+    public long getNumberDeals() {
+        return this.numberDeals;
+    }
+
+    /**
+     * \brief Checkpoint of the round
+     * checkpoint() : Return the checkpoint of the game, which must be about to deal
+     * a round of ROUND_MAX cards.
+     * \return ReplayCheckpoint
+     */
+    public ReplayCheckpoint checkpoint() {
+        if (next != EventType.DEAL || numberRound != Game.ROUND_MAX) {
+            throw new IllegalStateException("A checkpoint is taken before the deal of a round of "
+                    + Game.ROUND_MAX + " cards.");
+        }
+        List<Player> players = game.getPlayers();
+        int[] lives = new int[players.size()];
+        for (Player player : players) {
+            lives[player.getSeat()] = player.getLife();
+        }
+        return new ReplayCheckpoint(reader.getPosition(), numberEvents, numberDeals,
+                game.getPlayerAlive(0).getSeat(), lives);
+    }
+
+    /**
+     * \brief Next event
+     * peek() : Return the type of the next event, null if the game is over.
+     * \return EventType
+     */
+    public EventType peek() {
+        return this.next;
+    }
+
+    /**
+     * \brief End of the game
+     * isOver() : Return true once the event GAME_OVER is replayed.
+     * \return boolean
+     */
+    public boolean isOver() {
+        return this.next == null;
+    }
+
+    /**
+     * \brief Replay the whole game
+     * replay() : Replay every event left and return the winner, null in case of a
+     * tie.
+     * \return Player
+     */
+    public Player replay() {
+        while (!isOver()) {
+            step();
+        }
+        return game.getNumberPlayersAlive() == 1 ? game.getWinner() : null;
+    }
+
+    /**
+     * \brief Replay up to an event
+     * replayTo(long numberEvents) : Replay the events until numberEvents are
+     * replayed or the game is over.
+     * \param long numberEvents
+     */
+    public void replayTo(long numberEvents) {
+        while (!isOver() && this.numberEvents < numberEvents) {
+            step();
+        }
+    }
+
+    /**
+     * \brief Replay one event
+     * step() : Replay the next event and return its type. Throw an
+     * IllegalStateException if the game is over or if the record is not valid.
+     * \return EventType
+     */
+    public EventType step() {
+        EventType event = next;
+        if (event == null) {
+            throw new IllegalStateException("The game is over.");
+        }
+        switch (event) {
+            case DEAL -> deal();
+            case BET -> bet();
+            case CARD -> card();
+            case FOOL_VALUE -> foolValue();
+            case TRICK_WON -> trickWon();
+            case BLIND_CALL -> blindCall();
+            case LIFE_LOSS -> lifeLoss();
+            case ELIMINATION -> elimination();
+            case ROTATION -> rotation();
+            case GAME_OVER -> gameOver();
+        }
+        numberEvents += 1;
+        return event;
+    }
+
+    private void deal() {
+        int numberPlayers = game.getNumberPlayersAlive();
+        Deck deck = game.getDeck();
+        if (dealSource != null && !reader.readBoolean()) {
+            dealSource.shuffle(deck, numberDeals);
+        } else {
+            DealRanking ranking = new DealRanking(numberPlayers, numberRound);
+            long rank = reader.read(BitWriter.bitsFor(ranking.count() - 1));
+            if (rank >= ranking.count()) {
+                throw new IllegalStateException("The record holds a deal that doesn't exist.");
+            }
+            ranking.unrank(rank, hands);
+            stackDeck(deck, numberPlayers);
+        }
+        numberDeals += 1;
+        try {
+            game.distributeCards(numberRound);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        listener.onCardsDealt(game.getPlayersAlive());
+        listener.onRoundStart(numberRound);
+        index = 0;
+        turn = 0;
+        next = numberRound == 1 ? EventType.BLIND_CALL : EventType.BET;
+    }
+
+    /**
+     * \brief Stack the deck
+     * stackDeck(Deck deck, int numberPlayers) : Order the deck so the game deals
+     * hands[i] to the player i, the lowest card first.
+     * \param Deck deck, int numberPlayers
+     */
+    private void stackDeck(Deck deck, int numberPlayers) {
+        deck.buildDeck();
+        // A removed card goes under the ones removed before it: once the deck is
+        // rewound, the first card removed is on top
+        for (int i = 0; i < numberPlayers; i++) {
+            for (int cards = hands[i]; cards != CardSet.EMPTY; cards = CardSet.removeLowest(cards)) {
+                int value = CardSet.lowest(cards);
+                int position = 0;
+                while (deck.getCard(position).getValue() != value) {
+                    position += 1;
+                }
+                deck.removeCard(position);
+            }
+        }
+        deck.rewind();
+    }
+
+    private void bet() {
+        Player player = game.getPlayerAlive(index);
+        int betTricks = reader.readInt(BitWriter.bitsFor(numberRound));
+        try {
+            player.setBetTricks(betTricks);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        listener.onBet(player, betTricks);
+        index += 1;
+        if (index == game.getNumberPlayersAlive()) {
+            index = 0;
+            next = EventType.CARD;
+        }
+    }
+
+    private void card() {
+        Trick trick = game.getTrick();
+        if (index == 0) {
+            trick.clear();
+        }
+        Player player = game.getPlayerAlive(index);
+        int hand = player.getCardSet();
+        int rank = reader.readInt(BitWriter.bitsFor(CardSet.size(hand) - 1));
+        if (rank >= CardSet.size(hand)) {
+            throw new IllegalStateException("The record plays a card that isn't in the hand.");
+        }
+        int value = Integer.numberOfTrailingZeros(Integer.expand(1 << rank, hand));
+        List<Card> cards = player.getCards();
+        int position = 0;
+        while (cards.get(position).getValue() != value) {
+            position += 1;
+        }
+        // The game counts the cards from 1
+        decisions.card = position + 1;
+        game.playOnePlayer(player, trick);
+        index += 1;
+        if (index == game.getNumberPlayersAlive()) {
+            index = 0;
+            next = trick.getFoolSeat() != Trick.NO_VALUE ? EventType.FOOL_VALUE : EventType.TRICK_WON;
+        }
+    }
+
+    private void foolValue() {
+        Trick trick = game.getTrick();
+        decisions.foolValue = reader.readBoolean() ? Card.MAX_VALUE : 0;
+        trick.setFoolValue(trick.getFoolSeat(), decisions.foolValue);
+        next = EventType.TRICK_WON;
+    }
+
+    private void trickWon() {
+        game.evaluateCards(game.getTrick());
+        turn += 1;
+        next = turn == numberRound ? EventType.LIFE_LOSS : EventType.CARD;
+    }
+
+    private void blindCall() {
+        Trick trick = game.getTrick();
+        if (index == 0) {
+            trick.clear();
+        }
+        Player player = game.getPlayerAlive(index);
+        Trick opponents = game.buildOpponentsCards(player, new PlayerGroup(game.getPlayersAlive()));
+        opponents.copyDecisions(trick);
+        decisions.win = reader.readBoolean();
+        boolean win = game.playOnePlayerLastRound(player, opponents);
+        trick.decide(player, win);
+        listener.onBlindCall(player, win);
+        index += 1;
+        if (index == game.getNumberPlayersAlive()) {
+            index = 0;
+            next = EventType.LIFE_LOSS;
+        }
+    }
+
+    private void lifeLoss() {
+        if (numberRound == 1) {
+            game.evaluateCardsLastRound(game.getTrick());
+        } else {
+            game.evaluateRound();
+        }
+        next = EventType.ELIMINATION;
+    }
+
+    private void elimination() {
+        game.evaluateDeadPlayers();
+        if (game.isVictory()) {
+            next = EventType.GAME_OVER;
+        } else if (numberRound == 1) {
+            next = EventType.ROTATION;
+        } else {
+            numberRound -= 1;
+            next = EventType.DEAL;
+        }
+    }
+
+    private void rotation() {
+        game.rotatingPlayers();
+        numberRound = Game.ROUND_MAX;
+        next = EventType.DEAL;
+    }
+
+    private void gameOver() {
+        listener.onGameOver(game.getNumberPlayersAlive() == 1 ? game.getWinner() : null);
+        next = null;
+    }
+
+    /**
+     * \brief Decisions of the record
+     *
+     * DecisionController : Give the game the decision the replayer just read in
+     * the record.
+     */
+    private static class DecisionController implements SeatController {
+
+        private int card;
+        private int foolValue;
+        private boolean win;
+
+        @Override
+        public String chooseName() {
+            throw new UnsupportedOperationException("The players of a record already have their names.");
+        }
+
+        @Override
+        public int chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) {
+            return player.getBetTricks();
+        }
+
+        @Override
+        public int chooseCard(Player player, Trick trick) {
+            return card;
+        }
+
+        @Override
+        public boolean chooseLastRound(Player player, Trick opponents) {
+            return win;
+        }
+
+        @Override
+        public int chooseFoolValue(Player player, Card card) {
+            return foolValue;
+        }
+    }
+}
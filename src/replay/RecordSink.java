@@ -0,0 +1,29 @@
+package replay;
+
+import java.io.IOException;
+
+/**
+ * \brief Destination of game records
+ *
+ * RecordSink : Where a GameRecorder sends the record of every game it
+ * followed, a GameLog or a ReplayStore.
+ */
+public interface RecordSink {
+
+    /**
+     * \brief Append a record
+     * append(byte[] record) : Store record after the ones already stored.
+     * \param byte[] record
+     */
+    void append(byte[] record) throws IOException;
+
+    /**
+     * \brief Append a numbered record
+     * append(long game, byte[] record) : Store record as the one of the game
+     * number game. A sink that doesn't number its records only keeps their order.
+     * \param long game, byte[] record
+     */
+    default void append(long game, byte[] record) throws IOException {
+        append(record);
+    }
+}
@@ -0,0 +1,115 @@
+package replay;
+
+/**
+ * \brief State of a game at the start of a round
+ *
+ * ReplayCheckpoint : What a GameReplayer needs to go on from the deal of a
+ * round of ROUND_MAX cards without replaying the rounds before it: where the
+ * round starts in the record, how many deals and events came before, who
+ * begins the round and the life points of every player. Every other state of
+ * the game is the same at the start of every round.
+ */
+public final class ReplayCheckpoint {
+
+    private final long bitPosition;
+    private final long numberEvents;
+    private final long numberDeals;
+    private final int firstSeat;
+    // Indexed by seat
+    private final int[] lives;
+
+    /**
+     * \brief Constructor ReplayCheckpoint
+     * ReplayCheckpoint(long bitPosition, long numberEvents, long numberDeals, int
+     * firstSeat, int[] lives): create the checkpoint of a round starting at
+     * bitPosition of its record.
+     * \param long bitPosition, long numberEvents, long numberDeals, int firstSeat, int[] lives
+     */
+    public ReplayCheckpoint(long bitPosition, long numberEvents, long numberDeals, int firstSeat, int[] lives) {
+        this.bitPosition = bitPosition;
+        this.numberEvents = numberEvents;
+        this.numberDeals = numberDeals;
+        this.firstSeat = firstSeat;
+        this.lives = lives.clone();
+    }
+
+    /**
+     * \brief Read a checkpoint
+     * read(BitReader reader, int numberPlayers) : Return the checkpoint written
+     * by write for numberPlayers players.
+     * \param BitReader reader, int numberPlayers
+     * \return ReplayCheckpoint
+     */
+    public static ReplayCheckpoint read(BitReader reader, int numberPlayers) {
+        long bitPosition = reader.readVarint();
+        long numberEvents = reader.readVarint();
+        long numberDeals = reader.readVarint();
+        int firstSeat = (int) reader.readVarint();
+        int[] lives = new int[numberPlayers];
+        for (int seat = 0; seat < numberPlayers; seat++) {
+            lives[seat] = (int) reader.readVarint();
+        }
+        return new ReplayCheckpoint(bitPosition, numberEvents, numberDeals, firstSeat, lives);
+    }
+
+    /**
+     * \brief Write the checkpoint
+     * write(BitWriter writer) : Write the checkpoint in a few bytes.
+     * \param BitWriter writer
+     */
+    public void write(BitWriter writer) {
+        writer.writeVarint(bitPosition);
+        writer.writeVarint(numberEvents);
+        writer.writeVarint(numberDeals);
+        writer.writeVarint(firstSeat);
+        for (int life : lives) {
+            writer.writeVarint(life);
+        }
+    }
+
+    /**
+     * \brief Getter bitPosition
+     * getBitPosition() : Return the bit of the record where the round starts.
+     * \return long
+     */
+    public long getBitPosition() {
+        return this.bitPosition;
+    }
+
+    /**
+     * \brief Getter numberEvents
+     * getNumberEvents() : Return the number of events before the round.
+     * \return long
+     */
+    public long getNumberEvents() {
+        return this.numberEvents;
+    }
+
+    /**
+     * \brief Getter numberDeals
+     * getNumberDeals() : Return the number of rounds before this one.
+     * \return long
+     */
+    public long getNumberDeals() {
+        return this.numberDeals;
+    }
+
+    /**
+     * \brief Getter firstSeat
+     * getFirstSeat() : Return the seat of the player beginning the round.
+     * \return int
+     */
+    public int getFirstSeat() {
+        return this.firstSeat;
+    }
+
+    /**
+     * \brief Getter life
+     * getLife(int seat) : Return the life points of the player of seat.
+     * \param int seat
+     * \return int
+     */
+    public int getLife(int seat) {
+        return this.lives[seat];
+    }
+}
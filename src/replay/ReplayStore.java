@@ -0,0 +1,771 @@
+package replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import game.Game;
+import game.GameListener;
+
+/**
+ * \brief Store of game records with random access
+ *
+ * ReplayStore : Directory of segments, each one made of three files:
+ *
+ * - segment-N.log: a GameLog of the records of its games;
+ * - segment-N.ckp: a GameLog holding, for every game, its number on an int then
+ *   the checkpoints of the rounds of ROUND_MAX cards after the first one (see
+ *   ReplayCheckpoint);
+ * - segment-N.idx: the position of its first game in the store, then the
+ *   offsets of the records of every GAMES_PER_ENTRY games in the two other
+ *   files.
+ *
+ * A game is found by its number, given by the writer, and not by its position:
+ * the games of a tournament are numbered by their index in the tournament,
+ * whatever the order they end in. The numbers are read when the store is
+ * opened; the games appended in the order of their numbers need nothing more,
+ * the others are found by a binary search among their sorted numbers.
+ *
+ * A segment is closed once its log is larger than the segment size, so every
+ * offset fits in an int. The files are mapped in memory when the store is
+ * opened: a game is found by a binary search among the segments, then by its
+ * entry in the index and at most GAMES_PER_ENTRY - 1 lengths read, without
+ * copying a byte. An opened store is never modified and any number of threads
+ * read it at the same time; the games appended after its opening need to open
+ * it again.
+ *
+ * An entry of an index is only written once the records it points to are in
+ * the files. A writer that dies before it is closed loses the games it still
+ * buffered, not the store: the last segment is cut back to its last game whose
+ * record and checkpoints are whole.
+ */
+public class ReplayStore {
+
+    /// Number of games between two entries of an index
+    public static final int GAMES_PER_ENTRY = 16;
+    /// Default size of a segment in bytes
+    public static final int SEGMENT_BYTES = 1 << 30;
+    /// First int of an index
+    public static final int INDEX_MAGIC = 0x54524958;
+
+    // Bytes of the header of an index: its magic and the number of its first game
+    private static final int INDEX_HEADER = Integer.BYTES + Long.BYTES;
+    private static final int ENTRY_INTS = 2;
+
+    private final Segment[] segments;
+    // firstGames[i]: position of the first game of segments[i]
+    private final long[] firstGames;
+    private final long numberGames;
+    // Number of every game on 32 bits then its position on 32 bits, sorted, null
+    // if every game is at the position of its number
+    private final long[] numbers;
+    // Number following the largest one of the store
+    private final long nextGame;
+
+    private ReplayStore(Segment[] segments) {
+        this.segments = segments;
+        this.firstGames = new long[segments.length];
+        long games = 0;
+        for (int i = 0; i < segments.length; i++) {
+            firstGames[i] = segments[i].firstGame;
+            games = segments[i].firstGame + segments[i].numberGames;
+        }
+        this.numberGames = games;
+        long[] sorted = new long[(int) games];
+        boolean inOrder = true;
+        long next = 0;
+        int position = 0;
+        for (Segment segment : segments) {
+            ByteBuffer bytes = segment.checkpoints.duplicate();
+            if (segment.numberGames > 0) {
+                bytes.position(segment.entries.get(1));
+            }
+            for (int i = 0; i < segment.numberGames; i++) {
+                int length = GameLog.getLength(bytes);
+                long game = bytes.getInt(bytes.position());
+                bytes.position(bytes.position() + length);
+                inOrder &= game == position;
+                next = Math.max(next, game + 1);
+                sorted[position] = game << Integer.SIZE | position;
+                position += 1;
+            }
+        }
+        if (!inOrder) {
+            Arrays.sort(sorted);
+        }
+        this.numbers = inOrder ? null : sorted;
+        this.nextGame = next;
+    }
+
+    /**
+     * \brief Open a store
+     * open(Path directory) : Return the store of directory, with every game
+     * appended before. Throw an IOException if a file of the directory is not
+     * valid.
+     * \param Path directory
+     * \return ReplayStore
+     */
+    public static ReplayStore open(Path directory) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        long nextGame = 0;
+        List<Path> paths = segmentPaths(directory);
+        if (!paths.isEmpty() && isStarting(paths.getLast())) {
+            paths.removeLast();
+        }
+        for (Path path : paths) {
+            Segment segment = Segment.map(path);
+            if (segment.firstGame != nextGame) {
+                throw new IOException(path + " doesn't follow the previous segment.");
+            }
+            segments.add(segment);
+            nextGame += segment.numberGames;
+        }
+        return new ReplayStore(segments.toArray(new Segment[0]));
+    }
+
+    /**
+     * \brief Writer of a store
+     * writer(Path directory) : Return a writer appending games to the store of
+     * directory, created if it doesn't exist.
+     * \param Path directory
+     * \return Writer
+     */
+    public static Writer writer(Path directory) throws IOException {
+        return new Writer(directory, SEGMENT_BYTES);
+    }
+
+    /**
+     * \brief Writer of a store
+     * writer(Path directory, int segmentBytes) : Return a writer appending games
+     * to the store of directory, closing a segment once it is larger than
+     * segmentBytes.
+     * \param Path directory, int segmentBytes
+     * \return Writer
+     */
+    public static Writer writer(Path directory, int segmentBytes) throws IOException {
+        return new Writer(directory, segmentBytes);
+    }
+
+    /**
+     * \brief Getter numberGames
+     * getNumberGames() : Return the number of games of the store.
+     * \return long
+     */
+    public long getNumberGames() {
+        return this.numberGames;
+    }
+
+    /**
+     * \brief Stored game
+     * contains(long game) : Return true if the store holds the game number game.
+     * \param long game
+     * \return boolean
+     */
+    public boolean contains(long game) {
+        return find(game) >= 0;
+    }
+
+    /**
+     * \brief Getter numberSegments
+     * getNumberSegments() : Return the number of segments of the store.
+     * \return int
+     */
+    public int getNumberSegments() {
+        return this.segments.length;
+    }
+
+    /**
+     * \brief Record of a game
+     * record(long game) : Return the record of the game number game, a read-only
+     * view of the mapped file. Throw an IllegalArgumentException if there is no
+     * such game. A number appended twice finds its last record.
+     * \param long game
+     * \return ByteBuffer
+     */
+    public ByteBuffer record(long game) {
+        long position = positionOf(game);
+        Segment segment = segmentOf(position);
+        return segment.record((int) (position - segment.firstGame));
+    }
+
+    /**
+     * \brief Checkpoints of a game
+     * checkpoints(long game) : Return the checkpoints of the game number game, in
+     * the order of its rounds.
+     * \param long game
+     * \return List<ReplayCheckpoint>
+     */
+    public List<ReplayCheckpoint> checkpoints(long game) {
+        long position = positionOf(game);
+        Segment segment = segmentOf(position);
+        return readCheckpoints(segment.checkpoints((int) (position - segment.firstGame)));
+    }
+
+    /**
+     * \brief Replayer of a game
+     * replayer(long game, GameListener listener) : Return a replayer of the game
+     * number game from its beginning.
+     * \param long game, GameListener listener
+     * \return GameReplayer
+     */
+    public GameReplayer replayer(long game, GameListener listener) {
+        return new GameReplayer(record(game), listener);
+    }
+
+    /**
+     * \brief Replayer of a round
+     * replayerAtRound(long game, long round, GameListener listener) : Return a
+     * replayer of the game number game about to deal its round number round,
+     * counted from 0. Only the rounds since the last checkpoint before it are
+     * replayed, at most ROUND_MAX - 1. Throw an IllegalArgumentException if the
+     * game is over before this round.
+     * \param long game, long round, GameListener listener
+     * \return GameReplayer
+     */
+    public GameReplayer replayerAtRound(long game, long round, GameListener listener) {
+        if (round < 0) {
+            throw new IllegalArgumentException("There is no round " + round + ".");
+        }
+        ReplayCheckpoint start = null;
+        for (ReplayCheckpoint checkpoint : checkpoints(game)) {
+            if (checkpoint.getNumberDeals() > round) {
+                break;
+            }
+            start = checkpoint;
+        }
+        GameReplayer replayer = new GameReplayer(record(game), start, listener);
+        while (!replayer.isOver()
+                && (replayer.peek() != EventType.DEAL || replayer.getNumberDeals() < round)) {
+            replayer.step();
+        }
+        if (replayer.isOver()) {
+            throw new IllegalArgumentException("The game " + game + " is over before its round " + round + ".");
+        }
+        return replayer;
+    }
+
+    /**
+     * \brief Read every record
+     * forEach(long first, long last, Consumer<ByteBuffer> action) : Call action
+     * with the records stored at the positions from first included to last
+     * excluded, in the order they were appended: the games of these numbers if
+     * they were appended in order. Several threads may read the store at the
+     * same time.
+     * \param long first, long last, Consumer<ByteBuffer> action
+     */
+    public void forEach(long first, long last, Consumer<ByteBuffer> action) {
+        if (first < 0 || last > numberGames || first > last) {
+            throw new IllegalArgumentException("There are no games from " + first + " to " + last + ".");
+        }
+        long game = first;
+        while (game < last) {
+            Segment segment = segmentOf(game);
+            int index = (int) (game - segment.firstGame);
+            int end = (int) Math.min(segment.numberGames, last - segment.firstGame);
+            ByteBuffer log = segment.log.duplicate();
+            log.position(segment.logOffset(index));
+            for (; index < end; index++) {
+                int length = GameLog.getLength(log);
+                action.accept(log.slice(log.position(), length));
+                log.position(log.position() + length);
+            }
+            game = segment.firstGame + end;
+        }
+    }
+
+    /**
+     * \brief Position of a game
+     * positionOf(long game) : Return the position in the store of the last game
+     * appended as the number game. Throw an IllegalArgumentException if there is
+     * none.
+     * \param long game
+     * \return long
+     */
+    private long positionOf(long game) {
+        long position = find(game);
+        if (position < 0) {
+            throw new IllegalArgumentException("There is no game " + game + " in the store.");
+        }
+        return position;
+    }
+
+    private long find(long game) {
+        if (numbers == null) {
+            return game >= 0 && game < numberGames ? game : -1;
+        }
+        if (game < 0 || game > Integer.MAX_VALUE) {
+            return -1;
+        }
+        // The last one of the entries of the number
+        int index = Arrays.binarySearch(numbers, game << Integer.SIZE | 0xffffffffL);
+        int last = index >= 0 ? index : -index - 2;
+        if (last < 0 || numbers[last] >>> Integer.SIZE != game) {
+            return -1;
+        }
+        return numbers[last] & 0xffffffffL;
+    }
+
+    /**
+     * \brief Segment of a position
+     * segmentOf(long position) : Return the segment holding the game at position.
+     * \param long position
+     * \return Segment
+     */
+    private Segment segmentOf(long position) {
+        if (position < 0 || position >= numberGames) {
+            throw new IllegalArgumentException("There is no game at " + position + " in the store.");
+        }
+        int low = 0;
+        int high = segments.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (firstGames[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return segments[low];
+    }
+
+    private static List<ReplayCheckpoint> readCheckpoints(ByteBuffer bytes) {
+        // After the number of the game
+        BitReader reader = new BitReader(bytes.position(bytes.position() + Integer.BYTES));
+        int numberCheckpoints = (int) reader.readVarint();
+        int numberPlayers = (int) reader.readVarint();
+        List<ReplayCheckpoint> checkpoints = new ArrayList<>(numberCheckpoints);
+        for (int i = 0; i < numberCheckpoints; i++) {
+            checkpoints.add(ReplayCheckpoint.read(reader, numberPlayers));
+        }
+        return checkpoints;
+    }
+
+    private static List<Path> segmentPaths(Path directory) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "segment-*.idx")) {
+            for (Path path : stream) {
+                paths.add(path);
+            }
+        }
+        // The numbers of the segments have as many digits, their names sort them
+        paths.sort(null);
+        return paths;
+    }
+
+    /**
+     * \brief Segment being started
+     * isStarting(Path index) : Return true if the writer of index died before it
+     * wrote its header, the segment then holding no game.
+     * \param Path index
+     * \return boolean
+     */
+    private static boolean isStarting(Path index) throws IOException {
+        return Files.size(index) < INDEX_HEADER;
+    }
+
+    private static Path segmentPath(Path directory, int number, String extension) {
+        return directory.resolve(String.format("segment-%06d.%s", number, extension));
+    }
+
+    private static Path sibling(Path index, String extension) {
+        String name = index.getFileName().toString();
+        return index.resolveSibling(name.substring(0, name.length() - "idx".length()) + extension);
+    }
+
+    /**
+     * \brief Segment of a store
+     *
+     * Segment : The three files of a segment mapped in memory.
+     */
+    private static final class Segment {
+
+        private final long firstGame;
+        private final int numberGames;
+        private final MappedByteBuffer log;
+        private final MappedByteBuffer checkpoints;
+        // Pairs of offsets in log and in checkpoints, one every GAMES_PER_ENTRY games
+        private final IntBuffer entries;
+        // Size of every file up to the end of its last game
+        private final int logEnd;
+        private final int checkpointsEnd;
+        private final int indexEnd;
+
+        private Segment(long firstGame, int numberGames, MappedByteBuffer log, MappedByteBuffer checkpoints,
+                IntBuffer entries, int logEnd, int checkpointsEnd) {
+            this.firstGame = firstGame;
+            this.numberGames = numberGames;
+            this.log = log;
+            this.checkpoints = checkpoints;
+            this.entries = entries;
+            this.logEnd = logEnd;
+            this.checkpointsEnd = checkpointsEnd;
+            this.indexEnd = INDEX_HEADER + entries.limit() * Integer.BYTES;
+        }
+
+        /**
+         * \brief Map a segment
+         * map(Path index) : Return the segment of the index file, its other files
+         * being mapped too. What a writer that died left after the last whole game
+         * of the segment is left out. Throw an IOException if a file is not valid.
+         * \param Path index
+         * \return Segment
+         */
+        static Segment map(Path index) throws IOException {
+            MappedByteBuffer indexBytes = mapFile(index);
+            if (indexBytes.limit() < INDEX_HEADER || indexBytes.getInt(0) != INDEX_MAGIC) {
+                throw new IOException(index + " is not the index of a segment.");
+            }
+            long firstGame = indexBytes.getLong(Integer.BYTES);
+            MappedByteBuffer log = mapFile(sibling(index, "log"));
+            MappedByteBuffer checkpoints = mapFile(sibling(index, "ckp"));
+            if (log.limit() < Integer.BYTES || log.getInt(0) != GameLog.MAGIC
+                    || checkpoints.limit() < Integer.BYTES || checkpoints.getInt(0) != GameLog.MAGIC) {
+                throw new IOException(index + " has no log of games.");
+            }
+            // The index ends at its last whole entry pointing inside the files and
+            // followed by a whole game, the games after it being counted by reading
+            // their lengths up to the first record cut in either file
+            int numberEntries = (indexBytes.limit() - INDEX_HEADER) / (ENTRY_INTS * Integer.BYTES);
+            IntBuffer entries = indexBytes.slice(INDEX_HEADER, numberEntries * ENTRY_INTS * Integer.BYTES)
+                    .asIntBuffer();
+            int lastGames = 0;
+            while (numberEntries > 0 && lastGames == 0) {
+                int last = (numberEntries - 1) * ENTRY_INTS;
+                if (isInside(log, entries.get(last)) && isInside(checkpoints, entries.get(last + 1))) {
+                    lastGames = Math.min(countRecords(log, entries.get(last)),
+                            countRecords(checkpoints, entries.get(last + 1)));
+                }
+                if (lastGames == 0) {
+                    numberEntries -= 1;
+                }
+            }
+            entries.limit(numberEntries * ENTRY_INTS);
+            int numberGames = 0;
+            int logEnd = Integer.BYTES;
+            int checkpointsEnd = Integer.BYTES;
+            if (numberEntries > 0) {
+                int last = (numberEntries - 1) * ENTRY_INTS;
+                logEnd = endOfRecords(log, entries.get(last), lastGames);
+                checkpointsEnd = endOfRecords(checkpoints, entries.get(last + 1), lastGames);
+                numberGames = (numberEntries - 1) * GAMES_PER_ENTRY + lastGames;
+            }
+            return new Segment(firstGame, numberGames, log, checkpoints, entries, logEnd, checkpointsEnd);
+        }
+
+        ByteBuffer record(int index) {
+            ByteBuffer bytes = log.duplicate();
+            bytes.position(logOffset(index));
+            int length = GameLog.getLength(bytes);
+            return bytes.slice(bytes.position(), length);
+        }
+
+        ByteBuffer checkpoints(int index) {
+            ByteBuffer bytes = checkpoints.duplicate();
+            bytes.position(entries.get(index / GAMES_PER_ENTRY * ENTRY_INTS + 1));
+            skip(bytes, index % GAMES_PER_ENTRY);
+            int length = GameLog.getLength(bytes);
+            return bytes.slice(bytes.position(), length);
+        }
+
+        /**
+         * \brief Offset of a record
+         * logOffset(int index) : Return the offset in the log of the record of the
+         * game number index of the segment.
+         * \param int index
+         * \return int
+         */
+        int logOffset(int index) {
+            ByteBuffer bytes = log.duplicate();
+            bytes.position(entries.get(index / GAMES_PER_ENTRY * ENTRY_INTS));
+            skip(bytes, index % GAMES_PER_ENTRY);
+            return bytes.position();
+        }
+
+        private static void skip(ByteBuffer bytes, int numberRecords) {
+            for (int i = 0; i < numberRecords; i++) {
+                int length = GameLog.getLength(bytes);
+                bytes.position(bytes.position() + length);
+            }
+        }
+
+        private static boolean isInside(ByteBuffer file, int offset) {
+            return offset >= Integer.BYTES && offset <= file.limit();
+        }
+
+        /**
+         * \brief Count the records
+         * countRecords(ByteBuffer file, int offset) : Return the number of whole
+         * records from offset, at most GAMES_PER_ENTRY.
+         * \param ByteBuffer file, int offset
+         * \return int
+         */
+        private static int countRecords(ByteBuffer file, int offset) {
+            ByteBuffer bytes = file.duplicate();
+            bytes.position(offset);
+            int count = 0;
+            while (count < GAMES_PER_ENTRY && bytes.hasRemaining()) {
+                int length = GameLog.getLength(bytes);
+                if (length < 0 || length > bytes.remaining()) {
+                    break;
+                }
+                bytes.position(bytes.position() + length);
+                count += 1;
+            }
+            return count;
+        }
+
+        private static int endOfRecords(ByteBuffer file, int offset, int numberRecords) {
+            ByteBuffer bytes = file.duplicate();
+            bytes.position(offset);
+            skip(bytes, numberRecords);
+            return bytes.position();
+        }
+
+        private static MappedByteBuffer mapFile(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+    }
+
+    /**
+     * \brief Writer of a store
+     *
+     * Writer : Appends records to the last segment of a store, and starts a new
+     * segment once it is full. Every record is replayed to compute its
+     * checkpoints, so a record that is not valid is not appended. The entries of
+     * the index wait until the logs have written the records they point to. The
+     * records appended without a number get the one after the largest so far.
+     */
+    public static final class Writer implements RecordSink, AutoCloseable {
+
+        // Listener of the replays computing the checkpoints
+        private static final GameListener SILENT = new GameListener() {
+        };
+
+        private final Path directory;
+        private final int segmentBytes;
+        private int segmentNumber;
+        private long numberGames;
+        private int segmentGames;
+        private GameLog log;
+        private GameLog checkpoints;
+        private FileChannel index;
+        // Offsets in the log and the checkpoints of the entries not written yet
+        private final ArrayDeque<int[]> entries;
+        private final AtomicLong nextGame;
+
+        private Writer(Path directory, int segmentBytes) throws IOException {
+            this.directory = directory;
+            this.segmentBytes = segmentBytes;
+            this.entries = new ArrayDeque<>();
+            Files.createDirectories(directory);
+            List<Path> paths = segmentPaths(directory);
+            if (!paths.isEmpty() && isStarting(paths.getLast())) {
+                // Started again by startSegment
+                Files.delete(paths.removeLast());
+            }
+            if (paths.isEmpty()) {
+                this.numberGames = 0;
+                this.segmentNumber = -1;
+                startSegment();
+            } else {
+                // Append to the last segment
+                Path last = paths.getLast();
+                Segment segment = Segment.map(last);
+                String name = last.getFileName().toString();
+                this.segmentNumber = Integer.parseInt(name.substring("segment-".length(), name.length() - 4));
+                this.numberGames = segment.firstGame + segment.numberGames;
+                this.segmentGames = segment.numberGames;
+                // Cut what a writer that died left after the last whole game
+                truncate(sibling(last, "log"), segment.logEnd);
+                truncate(sibling(last, "ckp"), segment.checkpointsEnd);
+                this.log = GameLog.open(sibling(last, "log"));
+                this.checkpoints = GameLog.open(sibling(last, "ckp"));
+                this.index = FileChannel.open(last, StandardOpenOption.WRITE);
+                index.truncate(segment.indexEnd);
+                index.position(segment.indexEnd);
+            }
+            this.nextGame = new AtomicLong(open(directory).nextGame);
+        }
+
+        /**
+         * \brief Getter numberGames
+         * getNumberGames() : Return the number of games of the store.
+         * \return long
+         */
+        public synchronized long getNumberGames() {
+            return this.numberGames;
+        }
+
+        /**
+         * \brief Append a record
+         * append(byte[] record) : Append the record of a game to the store, as the
+         * number after the largest one appended. Throw an IllegalStateException if
+         * the record is not valid.
+         * \param byte[] record
+         */
+        @Override
+        public void append(byte[] record) throws IOException {
+            byte[] blob = computeCheckpoints(record);
+            write(nextGame.getAndIncrement(), record, blob);
+        }
+
+        /**
+         * \brief Append a numbered record
+         * append(long game, byte[] record) : Append the record of the game number
+         * game, from 0 to Integer.MAX_VALUE, to the store. Throw an
+         * IllegalStateException if the record is not valid. The record is replayed
+         * before taking the lock of the writer, so the threads appending only wait
+         * for each other to write.
+         * \param long game, byte[] record
+         */
+        @Override
+        public void append(long game, byte[] record) throws IOException {
+            if (game < 0 || game > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("A store cannot number a game " + game + ".");
+            }
+            byte[] blob = computeCheckpoints(record);
+            nextGame.accumulateAndGet(game + 1, Math::max);
+            write(game, record, blob);
+        }
+
+        /**
+         * \brief Write a record
+         * write(long game, byte[] record, byte[] blob) : Write record, numbered
+         * game, and blob, its checkpoints, at the end of the store.
+         * \param long game, byte[] record, byte[] blob
+         */
+        private void write(long game, byte[] record, byte[] blob) throws IOException {
+            byte[] numbered = ByteBuffer.allocate(Integer.BYTES + blob.length).putInt((int) game).put(blob).array();
+            synchronized (this) {
+                if (segmentGames > 0 && log.getPosition() + record.length > segmentBytes) {
+                    closeSegment();
+                    startSegment();
+                }
+                if (segmentGames % GAMES_PER_ENTRY == 0) {
+                    entries.add(new int[] { (int) log.getPosition(), (int) checkpoints.getPosition() });
+                }
+                log.append(record);
+                checkpoints.append(numbered);
+                segmentGames += 1;
+                numberGames += 1;
+                writeEntries();
+            }
+        }
+
+        /**
+         * \brief Flush the store
+         * flush() : Write the games appended so far to the disk.
+         */
+        public synchronized void flush() throws IOException {
+            log.flush();
+            checkpoints.flush();
+            writeEntries();
+            index.force(false);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            closeSegment();
+        }
+
+        private static byte[] computeCheckpoints(byte[] record) {
+            GameReplayer replayer = new GameReplayer(ByteBuffer.wrap(record), SILENT);
+            List<ReplayCheckpoint> found = new ArrayList<>();
+            while (!replayer.isOver()) {
+                if (replayer.peek() == EventType.DEAL && replayer.getNumberRound() == Game.ROUND_MAX
+                        && replayer.getNumberDeals() > 0) {
+                    found.add(replayer.checkpoint());
+                }
+                replayer.step();
+            }
+            BitWriter bits = new BitWriter();
+            bits.writeVarint(found.size());
+            bits.writeVarint(replayer.getGame().getPlayers().size());
+            for (ReplayCheckpoint checkpoint : found) {
+                checkpoint.write(bits);
+            }
+            return bits.toByteArray();
+        }
+
+        private void startSegment() throws IOException {
+            segmentNumber += 1;
+            segmentGames = 0;
+            Path indexPath = segmentPath(directory, segmentNumber, "idx");
+            Files.deleteIfExists(segmentPath(directory, segmentNumber, "log"));
+            Files.deleteIfExists(segmentPath(directory, segmentNumber, "ckp"));
+            log = GameLog.open(segmentPath(directory, segmentNumber, "log"));
+            checkpoints = GameLog.open(segmentPath(directory, segmentNumber, "ckp"));
+            index = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER);
+            header.putInt(INDEX_MAGIC).putLong(numberGames).flip();
+            writeFully(index, header);
+        }
+
+        private void closeSegment() throws IOException {
+            try {
+                try {
+                    log.close();
+                } finally {
+                    checkpoints.close();
+                }
+                writeEntries();
+                index.force(false);
+            } finally {
+                index.close();
+            }
+        }
+
+        /**
+         * \brief Write the entries
+         * writeEntries() : Write to the index the entries whose records are all in
+         * the files, so that the index never points after their end.
+         */
+        private void writeEntries() throws IOException {
+            long logWritten = log.getWrittenPosition();
+            long checkpointsWritten = checkpoints.getWrittenPosition();
+            int numberEntries = 0;
+            for (int[] entry : entries) {
+                if (entry[0] > logWritten || entry[1] > checkpointsWritten) {
+                    break;
+                }
+                numberEntries += 1;
+            }
+            if (numberEntries == 0) {
+                return;
+            }
+            ByteBuffer bytes = ByteBuffer.allocate(numberEntries * ENTRY_INTS * Integer.BYTES);
+            for (int i = 0; i < numberEntries; i++) {
+                int[] entry = entries.poll();
+                bytes.putInt(entry[0]).putInt(entry[1]);
+            }
+            writeFully(index, bytes.flip());
+        }
+
+        private static void truncate(Path path, long size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(size);
+            }
+        }
+
+        private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package server;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * \brief Connection of a client
+ *
+ * ClientConnection : Read the lines of one client on its own virtual thread,
+ * and write the lines the server sends it. A JOIN goes to the lobby of the
+ * server, the answers go to the mailbox of the table of the client while it
+ * plays, as TableCommands. A WATCH makes the client a spectator of a table.
+ *
+ * The lines are written as bytes, so a line sent to many clients is encoded
+ * once by its table. The writes are guarded by a ReentrantLock rather than a
+ * monitor: a virtual thread blocked on the socket while holding a monitor would
+ * pin its carrier.
+ */
+public class ClientConnection implements Runnable {
+
+    private final Socket socket;
+    private final TableServer server;
+    private final BufferedReader in;
+    private final OutputStream out;
+    private final ReentrantLock outLock;
+    private final AtomicBoolean closed;
+    // Table and seat of the client while it plays, table null in the lobby
+    private volatile TableActor table;
+    private volatile int seat;
+
+    /**
+     * \brief Constructor ClientConnection
+     * ClientConnection(Socket socket, TableServer server): create the connection
+     * of a client of server.
+     * \param Socket socket, TableServer server
+     */
+    public ClientConnection(Socket socket, TableServer server) throws IOException {
+        this.socket = socket;
+        this.server = server;
+        // The lines are short, they must leave at once
+        socket.setTcpNoDelay(true);
+        this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        this.out = new BufferedOutputStream(socket.getOutputStream());
+        this.outLock = new ReentrantLock();
+        this.closed = new AtomicBoolean();
+    }
+
+    @Override
+    public void run() {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.length() > Protocol.LINE_MAX) {
+                    send(Protocol.line(Protocol.ERROR, "The line is too long."));
+                    break;
+                }
+                handle(line.trim());
+            }
+        } catch (IOException e) {
+            // The client is gone, its seat is played by a bot
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * \brief Handle a line
+     * handle(String line) : Send a JOIN to the lobby and an answer to the table of
+     * the client.
+     * \param String line
+     */
+    private void handle(String line) {
+        String[] words = line.split(" +");
+        TableActor current = table;
+        if (words[0].equals(Protocol.WATCH)) {
+            if (words.length != 2) {
+                send(Protocol.line(Protocol.ERROR, "WATCH takes the number of a table."));
+            } else {
+                server.watch(this, Protocol.parseInt(words[1]));
+            }
+            return;
+        }
+        if (words[0].equals(Protocol.JOIN)) {
+            if (current != null || words.length != 2) {
+                send(Protocol.line(Protocol.ERROR, "JOIN takes a name, out of a game."));
+            } else {
+                server.join(this, words[1]);
+            }
+            return;
+        }
+        if (current == null) {
+            send(Protocol.line(Protocol.ERROR, "Join a table first."));
+            return;
+        }
+        TableCommand.Type type = decisionType(words[0]);
+        if (type == null || words.length != 2) {
+            send(Protocol.line(Protocol.ERROR, "Expected BET, CARD, FOOL or CALL and one value."));
+        } else {
+            current.tell(TableCommand.decision(type, seat, Protocol.parseInt(words[1])));
+        }
+    }
+
+    /**
+     * \brief Type of a decision
+     * decisionType(String keyword) : Return the type of the decision keyword
+     * answers, or null if it answers none.
+     * \param String keyword
+     * \return TableCommand.Type
+     */
+    private static TableCommand.Type decisionType(String keyword) {
+        return switch (keyword) {
+            case Protocol.BET -> TableCommand.Type.BET;
+            case Protocol.CARD -> TableCommand.Type.CARD;
+            case Protocol.FOOL -> TableCommand.Type.FOOL;
+            case Protocol.CALL -> TableCommand.Type.CALL;
+            default -> null;
+        };
+    }
+
+    /**
+     * \brief Send a line
+     * send(String line) : Write line to the client. Nothing is sent once the
+     * connection is closed.
+     * \param String line
+     */
+    public void send(String line) {
+        write(line);
+        flush();
+    }
+
+    /**
+     * \brief Write a line
+     * write(String line) : Write line to the buffer of the connection, sent with
+     * the next flush.
+     * \param String line
+     */
+    public void write(String line) {
+        write(Protocol.bytes(line));
+    }
+
+    /**
+     * \brief Write a line
+     * write(byte[] line) : Write the bytes of a line, new line included, to the
+     * buffer of the connection. line is never modified, so it may be shared by
+     * many connections.
+     * \param byte[] line
+     */
+    public void write(byte[] line) {
+        if (closed.get()) {
+            return;
+        }
+        outLock.lock();
+        try {
+            out.write(line);
+        } catch (IOException e) {
+            close();
+        } finally {
+            outLock.unlock();
+        }
+    }
+
+    /**
+     * \brief Flush the connection
+     * flush() : Send the lines written to the client.
+     */
+    public void flush() {
+        if (closed.get()) {
+            return;
+        }
+        outLock.lock();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            close();
+        } finally {
+            outLock.unlock();
+        }
+    }
+
+    /**
+     * \brief Sit at a table
+     * sitAt(TableActor table, int seat) : The answers of the client go to table,
+     * from seat.
+     * \param TableActor table, int seat
+     */
+    void sitAt(TableActor table, int seat) {
+        this.seat = seat;
+        this.table = table;
+    }
+
+    /**
+     * \brief Leave a table
+     * leaveTable(TableActor table) : The client goes back to the lobby if it sat
+     * at table.
+     * \param TableActor table
+     */
+    void leaveTable(TableActor table) {
+        if (this.table == table) {
+            this.table = null;
+        }
+    }
+
+    /**
+     * \brief State of the connection
+     * isClosed() : Return true once the connection is closed.
+     * \return boolean
+     */
+    public boolean isClosed() {
+        return this.closed.get();
+    }
+
+    /**
+     * \brief Close the connection
+     * close() : Close the socket and tell the table of the client it is gone.
+     * Only the first call does, whatever the thread.
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        TableActor current = table;
+        if (current != null) {
+            current.tell(TableCommand.leave(seat));
+        }
+        server.leave(this);
+    }
+}
@@ -0,0 +1,257 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import game.Game;
+
+/**
+ * \brief Bots over the network
+ *
+ * LoadClient : Connect NUMBER_PLAYERS bots per table to a TableServer, one
+ * virtual thread per bot, play one game at every table and measure the time
+ * from a bet sent to its broadcast back to the bettor. The bots think a random
+ * time before every decision, as people do: bots answering at once measure how
+ * fast the server plays, not how fast it answers.
+ */
+public class LoadClient {
+
+    /**
+     * \brief Result of a load
+     *
+     * Result : Latencies of the bets, and the number of games and errors seen.
+     */
+    public static final class Result {
+
+        private final long[] latencies;
+        private final long numberGames;
+        private final long numberErrors;
+
+        Result(long[] latencies, long numberGames, long numberErrors) {
+            this.latencies = latencies;
+            Arrays.sort(this.latencies);
+            this.numberGames = numberGames;
+            this.numberErrors = numberErrors;
+        }
+
+        /**
+         * \brief Percentile of the latencies
+         * percentile(double fraction) : Return the latency in nanoseconds longer
+         * than this fraction of the bets.
+         * \param double fraction
+         * \return long
+         */
+        public long percentile(double fraction) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            return latencies[(int) Math.min(latencies.length - 1, Math.floor(fraction * latencies.length))];
+        }
+
+        /**
+         * \brief Getter numberBets
+         * getNumberBets() : Return the number of bets measured.
+         * \return int
+         */
+        public int getNumberBets() {
+            return latencies.length;
+        }
+
+        /**
+         * \brief Getter numberGames
+         * getNumberGames() : Return the number of games seen over by a bot, every
+         * bot of a table seeing the same game.
+         * \return long
+         */
+        public long getNumberGames() {
+            return this.numberGames;
+        }
+
+        /**
+         * \brief Getter numberErrors
+         * getNumberErrors() : Return the number of ERROR lines received.
+         * \return long
+         */
+        public long getNumberErrors() {
+            return this.numberErrors;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d bets, p50 %.3f ms, p99 %.3f ms, max %.3f ms, %d errors", latencies.length,
+                    percentile(0.5) / 1e6, percentile(0.99) / 1e6, percentile(1) / 1e6, numberErrors);
+        }
+    }
+
+    /**
+     * \brief Run a load
+     * run(InetSocketAddress address, int numberTables, int thinkMillis, long seed) :
+     * Play one game at numberTables tables of the server at address, the bots
+     * thinking up to thinkMillis before a decision, and return the latencies.
+     * \param InetSocketAddress address, int numberTables, int thinkMillis, long seed
+     * \return Result
+     */
+    public static Result run(InetSocketAddress address, int numberTables, int thinkMillis, long seed)
+            throws InterruptedException {
+        int numberBots = numberTables * Game.NUMBER_PLAYERS;
+        List<long[]> latencies = new ArrayList<>();
+        AtomicLong numberGames = new AtomicLong();
+        AtomicLong numberErrors = new AtomicLong();
+        Thread[] bots = new Thread[numberBots];
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < numberBots; i++) {
+            Bot bot = new Bot(address, "B" + i % 10000000, thinkMillis, seeds.split(), numberGames, numberErrors);
+            bots[i] = Thread.ofVirtual().unstarted(() -> {
+                long[] measured = bot.play();
+                synchronized (latencies) {
+                    latencies.add(measured);
+                }
+            });
+        }
+        for (Thread bot : bots) {
+            bot.start();
+        }
+        for (Thread bot : bots) {
+            bot.join();
+        }
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).toArray();
+        return new Result(all, numberGames.get(), numberErrors.get());
+    }
+
+    /**
+     * \brief Bot of a client
+     *
+     * Bot : Join a table, answer every question with a random legal decision
+     * and measure its bets until the game is over.
+     */
+    private static final class Bot {
+
+        private final InetSocketAddress address;
+        private final String name;
+        private final int thinkMillis;
+        private final SplittableRandom random;
+        private final AtomicLong numberGames;
+        private final AtomicLong numberErrors;
+
+        Bot(InetSocketAddress address, String name, int thinkMillis, SplittableRandom random,
+                AtomicLong numberGames, AtomicLong numberErrors) {
+            this.address = address;
+            this.name = name;
+            this.thinkMillis = thinkMillis;
+            this.random = random;
+            this.numberGames = numberGames;
+            this.numberErrors = numberErrors;
+        }
+
+        long[] play() {
+            long[] latencies = new long[64];
+            int numberLatencies = 0;
+            try (Socket socket = new Socket()) {
+                socket.setTcpNoDelay(true);
+                socket.connect(address);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+                send(out, Protocol.line(Protocol.JOIN, name));
+                String seat = null;
+                long betSent = 0;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String[] words = line.split(" ");
+                    switch (words[0]) {
+                        case Protocol.TABLE -> seat = words[2];
+                        case Protocol.ASK -> betSent = answer(out, words);
+                        case Protocol.BET -> {
+                            if (words[1].equals(seat) && betSent != 0) {
+                                if (numberLatencies == latencies.length) {
+                                    latencies = Arrays.copyOf(latencies, 2 * numberLatencies);
+                                }
+                                latencies[numberLatencies++] = System.nanoTime() - betSent;
+                                betSent = 0;
+                            }
+                        }
+                        case Protocol.ERROR -> numberErrors.incrementAndGet();
+                        case Protocol.OVER -> {
+                            numberGames.incrementAndGet();
+                            return Arrays.copyOf(latencies, numberLatencies);
+                        }
+                        default -> {
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                numberErrors.incrementAndGet();
+            }
+            return Arrays.copyOf(latencies, numberLatencies);
+        }
+
+        /**
+         * \brief Answer a question
+         * answer(Writer out, String[] words) : Send a decision for the question of
+         * words, and return the time a bet was sent, 0 for another decision.
+         * \param Writer out, String[] words
+         * \return long
+         */
+        private long answer(Writer out, String[] words) throws IOException {
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(random.nextInt(thinkMillis + 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            switch (words[1]) {
+                case Protocol.BET -> {
+                    int numberRound = Integer.parseInt(words[2]);
+                    int totalBet = Integer.parseInt(words[3]);
+                    int bet = random.nextInt(numberRound + 1);
+                    if (words[4].equals("1") && totalBet + bet == numberRound) {
+                        bet = bet == 0 ? 1 : bet - 1;
+                    }
+                    long sent = System.nanoTime();
+                    send(out, Protocol.line(Protocol.BET, bet));
+                    return sent;
+                }
+                case Protocol.CARD -> send(out, Protocol.line(Protocol.CARD, 1));
+                case Protocol.FOOL -> send(out, Protocol.line(Protocol.FOOL, random.nextBoolean() ? 0 : 22));
+                case Protocol.CALL -> send(out, Protocol.line(Protocol.CALL, random.nextBoolean() ? 1 : 0));
+                default -> numberErrors.incrementAndGet();
+            }
+            return 0;
+        }
+
+        private static void send(Writer out, String line) throws IOException {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+        }
+    }
+
+    /**
+     * \brief Run a load
+     * main(String[] args) : Play one game at args[2] tables (100 by default) of the
+     * server at the host args[0] and the port args[1], the bots thinking up to
+     * args[3] milliseconds (1000 by default), and print the latencies.
+     */
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : Protocol.PORT;
+        int numberTables = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int thinkMillis = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        long start = System.nanoTime();
+        Result result = run(new InetSocketAddress(host, port), numberTables, thinkMillis, System.nanoTime());
+        System.out.println(result);
+        System.out.printf("%d tables in %.1f s%n", numberTables, (System.nanoTime() - start) / 1e9);
+    }
+}
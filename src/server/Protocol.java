@@ -0,0 +1,107 @@
+package server;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * \brief Protocol of the table server
+ *
+ * Protocol : Every message is one line of ASCII words separated by spaces.
+ *
+ * From a client:
+ * - JOIN name: sit at the next table with this name;
+ * - WATCH id: follow the table id without playing;
+ * - BET tricks, CARD index (from 1), FOOL value (0 or 22), CALL 1 or 0: answer
+ *   the last ASK.
+ *
+ * From the server, seats being numbered from 0:
+ * - WAIT: the client waits for other players;
+ * - TABLE id seat name...: the game of the table starts, with the names of
+ *   every seat;
+ * - HAND value...: the cards of the client, in the order CARD counts them;
+ * - ROUND cards: a round starts;
+ * - ASK BET cards total last, ASK CARD, ASK FOOL, ASK CALL seat=value...: the
+ *   decision the client has to send, with the cards of the opponents for CALL;
+ * - STATE id cards life:bet:tricks:call:name... seat=value...: what a spectator
+ *   may see of the table when it starts watching, every seat in order (call -1
+ *   until the seat calls the blind round), then the cards of the trick being
+ *   played;
+ * - BET seat tricks, CALL seat 1|0, PLAY seat value, FOOL seat value, WON seat,
+ *   TRICK seat=value... (the cards of the blind round), LIFE seat points, DEAD
+ *   seat..., OVER seat (-1 for a tie): what changes at the table, sent to the
+ *   players and the spectators;
+ * - ERROR message: the last line was not valid, or the time to answer the
+ *   last ASK is over and a bot answered it.
+ */
+public final class Protocol {
+
+    /// Default port of the server
+    public static final int PORT = 4242;
+
+    public static final String JOIN = "JOIN";
+    public static final String WATCH = "WATCH";
+    public static final String STATE = "STATE";
+    public static final String PLAY = "PLAY";
+    public static final String WAIT = "WAIT";
+    public static final String TABLE = "TABLE";
+    public static final String HAND = "HAND";
+    public static final String ROUND = "ROUND";
+    public static final String ASK = "ASK";
+    public static final String BET = "BET";
+    public static final String CARD = "CARD";
+    public static final String FOOL = "FOOL";
+    public static final String CALL = "CALL";
+    public static final String TRICK = "TRICK";
+    public static final String WON = "WON";
+    public static final String LIFE = "LIFE";
+    public static final String DEAD = "DEAD";
+    public static final String OVER = "OVER";
+    public static final String ERROR = "ERROR";
+
+    // Longest line read from a client
+    static final int LINE_MAX = 256;
+
+    private Protocol() {
+    }
+
+    /**
+     * \brief Build a line
+     * line(Object... words) : Return the words separated by spaces.
+     * \param Object... words
+     * \return String
+     */
+    public static String line(Object... words) {
+        StringBuilder line = new StringBuilder();
+        for (Object word : words) {
+            if (!line.isEmpty()) {
+                line.append(' ');
+            }
+            line.append(word);
+        }
+        return line.toString();
+    }
+
+    /**
+     * \brief Bytes of a line
+     * bytes(String line) : Return line ended by a new line, as sent on the network.
+     * \param String line
+     * \return byte[]
+     */
+    public static byte[] bytes(String line) {
+        return (line + "\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * \brief Number of a line
+     * parseInt(String word) : Return the number written in word, or -1 if it is
+     * not a number.
+     * \param String word
+     * \return int
+     */
+    public static int parseInt(String word) {
+        try {
+            return Integer.parseInt(word);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,691 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import deck.Card;
+import game.Game;
+import game.GameListener;
+import game.SeatController;
+import game.Trick;
+import people.Player;
+import people.PlayerGroup;
+import simulation.RandomController;
+
+/**
+ * \brief Table run as an actor
+ *
+ * TableActor : A table of remote clients whose game is only touched by the
+ * commands of its mailbox (see TableCommand). Posting a command schedules the
+ * actor on the executor if it isn't already; a run handles a few commands then
+ * gives the thread back, so thousands of tables share a few threads. One run
+ * at most is scheduled at a time, which confines the game to one thread at a
+ * time without any lock.
+ *
+ * The game is driven step by step with the public methods of Game, the way
+ * Game.round plays a round: the actor goes on by itself until a seat has to
+ * decide, asks the client of the seat, and stops until its answer comes. A
+ * seat whose client is gone is played by a bot, and so is a decision the client
+ * of a seat doesn't send in time: every question starts a timer of the
+ * TimingWheel of the server, cancelled by the answer, which posts a TIMEOUT to
+ * the mailbox when it expires.
+ *
+ * The actor is also the listener of its game, and sends every client what it
+ * is allowed to see: the whole table, but only its own hand. The players get
+ * their seat and hand when the game starts, the spectators a STATE snapshot of
+ * the table when they start watching; then everyone only gets what changes,
+ * one card, bet or life at a time. Every line sent to the table is encoded once
+ * and the same bytes are written to every connection, and the snapshot is
+ * encoded once per change of the table whatever the number of spectators
+ * asking for it. The lines are flushed at the end of every run.
+ */
+public class TableActor implements GameListener, Runnable {
+
+    // Commands handled in a run before giving the thread to another table
+    private static final int COMMANDS_PER_RUN = 32;
+
+    /**
+     * \brief Phases of a table
+     *
+     * Phase : What the table waits for.
+     */
+    private enum Phase {
+        JOINING, BET, CARD, FOOL, CALL, OVER
+    }
+
+    private final int id;
+    private final TableServer server;
+    private final Executor executor;
+    private final Queue<TableCommand> mailbox;
+    private final AtomicBoolean scheduled;
+    // Commands being handled, more than 1 only if two runs overlap
+    private final AtomicInteger handling;
+
+    // Only touched by the runs of the actor
+    private final ClientConnection[] clients;
+    private final boolean[] bots;
+    private final List<Player> players;
+    private final List<ClientConnection> spectators;
+    private final SeatController bot;
+    private final DecisionController decisions;
+    private Game game;
+    private Phase phase;
+    private int numberRound;
+    // Index among the players alive of the next one to decide
+    private int index;
+    private int turn;
+    private int totalBet;
+    // Snapshot of the table for the spectators, null once the table changed
+    private byte[] snapshot;
+    // Number of the last question asked, and its timer while it waits
+    private int question;
+    private TimingWheel.Timeout turnTimeout;
+
+    /**
+     * \brief Constructor TableActor
+     * TableActor(int id, TableServer server, Executor executor): create the empty
+     * table number id, run on executor.
+     * \param int id, TableServer server, Executor executor
+     */
+    public TableActor(int id, TableServer server, Executor executor) {
+        this.id = id;
+        this.server = server;
+        this.executor = executor;
+        this.mailbox = new ConcurrentLinkedQueue<>();
+        this.scheduled = new AtomicBoolean();
+        this.handling = new AtomicInteger();
+        this.clients = new ClientConnection[Game.NUMBER_PLAYERS];
+        this.bots = new boolean[Game.NUMBER_PLAYERS];
+        this.players = new ArrayList<>(Game.NUMBER_PLAYERS);
+        this.spectators = new ArrayList<>();
+        this.bot = new RandomController(new SplittableRandom());
+        this.decisions = new DecisionController(players);
+        this.phase = Phase.JOINING;
+    }
+
+    /**
+     * \brief Getter id
+     * getId() : Return the number of the table.
+     * \return int
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * \brief Post a command
+     * tell(TableCommand command) : Put command in the mailbox of the table, from
+     * any thread.
+     * \param TableCommand command
+     */
+    public void tell(TableCommand command) {
+        mailbox.offer(command);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < COMMANDS_PER_RUN; i++) {
+                TableCommand command = mailbox.poll();
+                if (command == null) {
+                    break;
+                }
+                if (handling.incrementAndGet() > 1) {
+                    server.overlap();
+                }
+                try {
+                    handle(command);
+                } finally {
+                    handling.decrementAndGet();
+                }
+            }
+        } catch (RuntimeException e) {
+            // The game can't go on, the table is closed
+            onError(e.getMessage());
+            if (phase != Phase.OVER) {
+                close();
+            }
+        } finally {
+            flush();
+            scheduled.set(false);
+        }
+        // A command posted after the last poll finds the actor still scheduled
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+
+    /**
+     * \brief Handle a command
+     * handle(TableCommand command) : Apply command to the table.
+     * \param TableCommand command
+     */
+    private void handle(TableCommand command) {
+        int seat = command.getSeat();
+        switch (command.getType()) {
+            case JOIN -> join(command);
+            case WATCH -> watch(command.getConnection());
+            case LEAVE -> {
+                bots[seat] = true;
+                if (isAsking(seat)) {
+                    cancelTimeout();
+                    proceed();
+                }
+            }
+            case TIMEOUT -> {
+                // The answer may have come, or the client left, since the timer expired
+                if (isAsking(seat) && command.getValue() == question && turnTimeout != null) {
+                    turnTimeout = null;
+                    clients[seat].write(Protocol.line(Protocol.ERROR, "Too late, a bot decided for you."));
+                    Player player = awaited();
+                    apply(player, botDecision(player));
+                    proceed();
+                }
+            }
+            default -> decide(command);
+        }
+    }
+
+    private void join(TableCommand command) {
+        int seat = command.getSeat();
+        clients[seat] = command.getConnection();
+        players.add(command.getPlayer());
+        // A client gone before the table processed its JOIN is played by a bot
+        bots[seat] = command.getConnection().isClosed();
+        if (players.size() < Game.NUMBER_PLAYERS) {
+            clients[seat].write(Protocol.WAIT);
+            return;
+        }
+        game = new Game(decisions, this);
+        try {
+            game.setPlayers(players);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        onGameStart(game.getPlayers());
+        numberRound = Game.ROUND_MAX;
+        byte[] state = snapshot();
+        for (ClientConnection spectator : spectators) {
+            spectator.write(state);
+        }
+        deal();
+        proceed();
+    }
+
+    /**
+     * \brief Decision of a client
+     * decide(TableCommand command) : Apply the decision of command if its seat is
+     * the one asked for this type of decision, and ask again if it breaks the
+     * rules.
+     * \param TableCommand command
+     */
+    private void decide(TableCommand command) {
+        int seat = command.getSeat();
+        Phase expected = Phase.valueOf(command.getType().name());
+        if (phase != expected || awaited().getSeat() != seat || bots[seat]) {
+            clients[seat].write(Protocol.line(Protocol.ERROR, "No " + command.getType() + " is expected from you."));
+            return;
+        }
+        if (apply(awaited(), command.getValue())) {
+            cancelTimeout();
+            proceed();
+        } else {
+            // The error was sent by onInvalidDecision
+            ask(awaited());
+        }
+    }
+
+    /**
+     * \brief Go on
+     * proceed() : Let the bots decide until a client has to, then ask it.
+     */
+    private void proceed() {
+        while (phase != Phase.OVER) {
+            Player player = awaited();
+            if (!bots[player.getSeat()]) {
+                ask(player);
+                startTimeout(player.getSeat());
+                return;
+            }
+            apply(player, botDecision(player));
+        }
+    }
+
+    /**
+     * \brief Seat asked
+     * isAsking(int seat) : Return true if the table waits for a decision of seat.
+     * \param int seat
+     * \return boolean
+     */
+    private boolean isAsking(int seat) {
+        return phase != Phase.JOINING && phase != Phase.OVER && awaited().getSeat() == seat;
+    }
+
+    /**
+     * \brief Start the timer of a question
+     * startTimeout(int seat) : Give seat the time of a turn to answer the question
+     * just asked. The questions asked again after an invalid answer keep their
+     * timer.
+     * \param int seat
+     */
+    private void startTimeout(int seat) {
+        int asked = ++question;
+        turnTimeout = server.getTimingWheel().schedule(() -> tell(TableCommand.timeout(seat, asked)),
+                server.getTurnMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelTimeout() {
+        if (turnTimeout != null) {
+            turnTimeout.cancel();
+            turnTimeout = null;
+        }
+    }
+
+    /**
+     * \brief Player awaited
+     * awaited() : Return the player who has to decide.
+     * \return Player
+     */
+    private Player awaited() {
+        if (phase == Phase.FOOL) {
+            Trick trick = game.getTrick();
+            return trick.getPlayerOfSeat(trick.getFoolSeat());
+        }
+        return game.getPlayerAlive(index);
+    }
+
+    private void ask(Player player) {
+        ClientConnection client = clients[player.getSeat()];
+        switch (phase) {
+            case BET -> client.write(Protocol.line(Protocol.ASK, Protocol.BET, numberRound, totalBet,
+                    index == game.getNumberPlayersAlive() - 1 ? 1 : 0));
+            case CARD -> client.write(Protocol.line(Protocol.ASK, Protocol.CARD));
+            case FOOL -> client.write(Protocol.line(Protocol.ASK, Protocol.FOOL));
+            case CALL -> {
+                StringBuilder question = new StringBuilder(Protocol.line(Protocol.ASK, Protocol.CALL));
+                Trick opponents = opponents(player);
+                for (int i = 0; i < opponents.getNumberCards(); i++) {
+                    question.append(' ').append(opponents.getSeat(i)).append('=')
+                            .append(opponents.getCard(i).getValue());
+                }
+                client.write(question.toString());
+            }
+            default -> throw new IllegalStateException("Nothing to ask during " + phase + ".");
+        }
+    }
+
+    private int botDecision(Player player) {
+        return switch (phase) {
+            case BET -> bot.chooseBet(player, numberRound, totalBet, index == game.getNumberPlayersAlive() - 1);
+            case CARD -> bot.chooseCard(player, game.getTrick());
+            case FOOL -> bot.chooseFoolValue(player, Card.FOOL);
+            case CALL -> bot.chooseLastRound(player, opponents(player)) ? 1 : 0;
+            default -> throw new IllegalStateException("No decision during " + phase + ".");
+        };
+    }
+
+    /**
+     * \brief Apply a decision
+     * apply(Player player, int value) : Apply the decision value of player for the
+     * current phase and play on until the next decision. Return false, telling the
+     * listener, if the decision breaks the rules.
+     * \param Player player, int value
+     * \return boolean
+     */
+    private boolean apply(Player player, int value) {
+        switch (phase) {
+            case BET -> {
+                boolean lastBettor = index == game.getNumberPlayersAlive() - 1;
+                if (!game.placeBet(player, value, numberRound, totalBet, lastBettor)) {
+                    return false;
+                }
+                totalBet += value;
+                nextPlayer(Phase.CARD);
+            }
+            case CARD -> {
+                if (value < 1 || value > player.getNumberCards()) {
+                    onInvalidDecision("The card can't be played.");
+                    return false;
+                }
+                if (index == 0) {
+                    game.getTrick().clear();
+                }
+                decisions.card = value;
+                Card card = game.playOnePlayer(player, game.getTrick());
+                broadcast(Protocol.line(Protocol.PLAY, player.getSeat(), card.getValue()));
+                index += 1;
+                if (index == game.getNumberPlayersAlive()) {
+                    index = 0;
+                    if (game.getTrick().getFoolSeat() != Trick.NO_VALUE) {
+                        phase = Phase.FOOL;
+                    } else {
+                        endTrick();
+                    }
+                }
+            }
+            case FOOL -> {
+                if (!Game.isFoolValue(value)) {
+                    onInvalidDecision("You can't choose any other value other than 0 or 22.");
+                    return false;
+                }
+                decisions.foolValue = value;
+                endTrick();
+            }
+            case CALL -> {
+                if (value != 0 && value != 1) {
+                    onInvalidDecision("CALL takes 1 or 0.");
+                    return false;
+                }
+                decisions.win = value == 1;
+                boolean win = game.playOnePlayerLastRound(player, opponents(player));
+                game.getTrick().decide(player, win);
+                onBlindCall(player, win);
+                index += 1;
+                if (index == game.getNumberPlayersAlive()) {
+                    game.evaluateCardsLastRound(game.getTrick());
+                    endRound();
+                }
+            }
+            default -> throw new IllegalStateException("No decision during " + phase + ".");
+        }
+        return true;
+    }
+
+    private void nextPlayer(Phase next) {
+        index += 1;
+        if (index == game.getNumberPlayersAlive()) {
+            index = 0;
+            phase = next;
+        }
+    }
+
+    private Trick opponents(Player player) {
+        Trick opponents = game.buildOpponentsCards(player, new PlayerGroup(game.getPlayersAlive()));
+        opponents.copyDecisions(game.getTrick());
+        return opponents;
+    }
+
+    private void deal() {
+        try {
+            game.distributeCards(numberRound);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        onCardsDealt(game.getPlayersAlive());
+        onRoundStart(numberRound);
+        index = 0;
+        turn = 0;
+        totalBet = 0;
+        if (numberRound == 1) {
+            game.getTrick().clear();
+            phase = Phase.CALL;
+        } else {
+            phase = Phase.BET;
+        }
+    }
+
+    private void endTrick() {
+        game.evaluateCards(game.getTrick());
+        turn += 1;
+        phase = Phase.CARD;
+        if (turn == numberRound) {
+            game.evaluateRound();
+            endRound();
+        }
+    }
+
+    private void endRound() {
+        game.evaluateDeadPlayers();
+        game.collectCards();
+        if (game.isVictory()) {
+            onGameOver(game.getNumberPlayersAlive() == 1 ? game.getWinner() : null);
+            close();
+            return;
+        }
+        numberRound = game.nextRound(numberRound);
+        deal();
+    }
+
+    /**
+     * \brief Close the table
+     * close() : End the table, its clients going back to the lobby.
+     */
+    private void close() {
+        cancelTimeout();
+        phase = Phase.OVER;
+        // The spectators leave with the end of the game
+        flush();
+        spectators.clear();
+        for (ClientConnection client : clients) {
+            if (client != null) {
+                client.leaveTable(this);
+            }
+        }
+        server.tableOver(this);
+    }
+
+    @Override
+    public void onGameStart(List<Player> players) {
+        StringBuilder names = new StringBuilder();
+        for (Player player : players) {
+            names.append(' ').append(player.getName());
+        }
+        for (int seat = 0; seat < clients.length; seat++) {
+            clients[seat].write(Protocol.line(Protocol.TABLE, id, seat) + names);
+        }
+    }
+
+    @Override
+    public void onCardsDealt(List<Player> players) {
+        for (Player player : players) {
+            // The cards of the blind round are only shown to the opponents
+            if (player.getNumberCards() > 1) {
+                StringBuilder hand = new StringBuilder(Protocol.HAND);
+                for (Card card : player.getCards()) {
+                    hand.append(' ').append(card.getValue());
+                }
+                clients[player.getSeat()].write(hand.toString());
+            }
+        }
+    }
+
+    @Override
+    public void onRoundStart(int numberRound) {
+        broadcast(Protocol.line(Protocol.ROUND, numberRound));
+    }
+
+    @Override
+    public void onBet(Player player, int betTricks) {
+        broadcast(Protocol.line(Protocol.BET, player.getSeat(), betTricks));
+    }
+
+    @Override
+    public void onBlindCall(Player player, boolean win) {
+        broadcast(Protocol.line(Protocol.CALL, player.getSeat(), win ? 1 : 0));
+    }
+
+    @Override
+    public void onCardsPlayed(Trick trick) {
+        // The cards of a trick were sent one by one, but nobody saw the cards
+        // of the blind round but the opponents
+        if (phase != Phase.CALL) {
+            return;
+        }
+        StringBuilder cards = new StringBuilder(Protocol.TRICK);
+        for (int i = 0; i < trick.getNumberCards(); i++) {
+            cards.append(' ').append(trick.getSeat(i)).append('=').append(trick.getCard(i).getValue());
+        }
+        broadcast(cards.toString());
+    }
+
+    @Override
+    public void onFoolValue(Player player, int value) {
+        broadcast(Protocol.line(Protocol.FOOL, player.getSeat(), value));
+    }
+
+    @Override
+    public void onTrickWon(Player winner) {
+        broadcast(Protocol.line(Protocol.WON, winner.getSeat()));
+    }
+
+    @Override
+    public void onLifeLost(Player player, int lifePoints) {
+        broadcast(Protocol.line(Protocol.LIFE, player.getSeat(), lifePoints));
+    }
+
+    @Override
+    public void onPlayersDead(List<Player> playersDead) {
+        StringBuilder dead = new StringBuilder(Protocol.DEAD);
+        for (Player player : playersDead) {
+            dead.append(' ').append(player.getSeat());
+        }
+        broadcast(dead.toString());
+    }
+
+    @Override
+    public void onGameOver(Player winner) {
+        broadcast(Protocol.line(Protocol.OVER, winner == null ? -1 : winner.getSeat()));
+    }
+
+    @Override
+    public void onInvalidDecision(String message) {
+        if (phase != Phase.OVER && phase != Phase.JOINING) {
+            clients[awaited().getSeat()].write(Protocol.line(Protocol.ERROR, message));
+        }
+    }
+
+    @Override
+    public void onError(String message) {
+        broadcast(Protocol.line(Protocol.ERROR, message));
+    }
+
+    private void broadcast(String line) {
+        byte[] bytes = Protocol.bytes(line);
+        for (ClientConnection client : clients) {
+            if (client != null) {
+                client.write(bytes);
+            }
+        }
+        for (ClientConnection spectator : spectators) {
+            spectator.write(bytes);
+        }
+        // Every change of the table is broadcast
+        snapshot = null;
+    }
+
+    private void flush() {
+        for (ClientConnection client : clients) {
+            if (client != null) {
+                client.flush();
+            }
+        }
+        spectators.removeIf(ClientConnection::isClosed);
+        for (ClientConnection spectator : spectators) {
+            spectator.flush();
+        }
+    }
+
+    /**
+     * \brief New spectator
+     * watch(ClientConnection spectator) : Send spectator the snapshot of the table,
+     * then every line broadcast to the table until its game is over.
+     * \param ClientConnection spectator
+     */
+    private void watch(ClientConnection spectator) {
+        if (phase == Phase.OVER) {
+            spectator.send(Protocol.line(Protocol.ERROR, "The game of the table is over."));
+            return;
+        }
+        spectators.add(spectator);
+        spectator.write(phase == Phase.JOINING ? Protocol.bytes(Protocol.WAIT) : snapshot());
+    }
+
+    /**
+     * \brief Snapshot of the table
+     * snapshot() : Return the line STATE of the table, encoded again only if the
+     * table changed since the last one.
+     * \return byte[]
+     */
+    private byte[] snapshot() {
+        if (snapshot == null) {
+            Trick trick = game.getTrick();
+            StringBuilder state = new StringBuilder(Protocol.line(Protocol.STATE, id, numberRound));
+            for (Player player : game.getPlayers()) {
+                int call = phase == Phase.CALL && trick.hasDecided(player.getSeat())
+                        ? (trick.getDecision(player.getSeat()) ? 1 : 0)
+                        : -1;
+                state.append(' ').append(Math.max(0, player.getLife())).append(':').append(player.getBetTricks())
+                        .append(':').append(player.getCurrentTricks()).append(':').append(call).append(':')
+                        .append(player.getName());
+            }
+            // The trick is only cleared when its next card is played
+            if ((phase == Phase.CARD && index > 0) || phase == Phase.FOOL) {
+                for (int i = 0; i < trick.getNumberCards(); i++) {
+                    state.append(' ').append(trick.getSeat(i)).append('=').append(trick.getCard(i).getValue());
+                }
+            }
+            snapshot = Protocol.bytes(state.toString());
+        }
+        return snapshot;
+    }
+
+    /**
+     * \brief Decisions of the clients
+     *
+     * DecisionController : Give the game the decision the actor just checked, and
+     * the names the clients chose when they joined, in the order of the seats.
+     */
+    private static class DecisionController implements SeatController {
+
+        private final List<Player> joined;
+        private int numberNames;
+        private int card;
+        private int foolValue;
+        private boolean win;
+
+        DecisionController(List<Player> joined) {
+            this.joined = joined;
+        }
+
+        @Override
+        public String chooseName() {
+            String name = joined.get(numberNames % joined.size()).getName();
+            numberNames += 1;
+            return name;
+        }
+
+        @Override
+        public int chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) {
+            return player.getBetTricks();
+        }
+
+        @Override
+        public int chooseCard(Player player, Trick trick) {
+            return card;
+        }
+
+        @Override
+        public boolean chooseLastRound(Player player, Trick opponents) {
+            return win;
+        }
+
+        @Override
+        public int chooseFoolValue(Player player, Card card) {
+            return foolValue;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package server;
+
+import people.Player;
+
+/**
+ * \brief Command of a table
+ *
+ * TableCommand : Message put in the mailbox of a TableActor: a client joining,
+ * watching or leaving the table, the decision of a seat, or the end of its time to
+ * decide. Immutable, so it is handed
+ * from the thread of a connection to the actor without any lock.
+ */
+public final class TableCommand {
+
+    /**
+     * \brief Types of commands
+     *
+     * Type : What a command asks the table.
+     */
+    public enum Type {
+        /// A client sits at the table
+        JOIN,
+        /// A client watches the table
+        WATCH,
+        /// A seat bets value tricks
+        BET,
+        /// A seat plays its card number value, from 1
+        CARD,
+        /// A seat gives the value value to the Fool
+        FOOL,
+        /// A seat calls it wins the blind round (value 1) or loses it (value 0)
+        CALL,
+        /// The client of a seat is gone
+        LEAVE,
+        /// The seat didn't answer the question number value in time
+        TIMEOUT
+    }
+
+    private final Type type;
+    private final int seat;
+    private final int value;
+    private final ClientConnection connection;
+    private final Player player;
+
+    private TableCommand(Type type, int seat, int value, ClientConnection connection, Player player) {
+        this.type = type;
+        this.seat = seat;
+        this.value = value;
+        this.connection = connection;
+        this.player = player;
+    }
+
+    /**
+     * \brief Command JOIN
+     * join(int seat, ClientConnection connection, Player player) : Return the
+     * command seating the client of connection, playing player, at seat.
+     * \param int seat, ClientConnection connection, Player player
+     * \return TableCommand
+     */
+    public static TableCommand join(int seat, ClientConnection connection, Player player) {
+        return new TableCommand(Type.JOIN, seat, 0, connection, player);
+    }
+
+    /**
+     * \brief Command WATCH
+     * watch(ClientConnection connection) : Return the command making the client
+     * of connection a spectator of the table.
+     * \param ClientConnection connection
+     * \return TableCommand
+     */
+    public static TableCommand watch(ClientConnection connection) {
+        return new TableCommand(Type.WATCH, -1, 0, connection, null);
+    }
+
+    /**
+     * \brief Decision of a seat
+     * decision(Type type, int seat, int value) : Return the command of a decision
+     * of seat. value is -1 if the client didn't send a number.
+     * \param Type type, int seat, int value
+     * \return TableCommand
+     */
+    public static TableCommand decision(Type type, int seat, int value) {
+        return new TableCommand(type, seat, value, null, null);
+    }
+
+    /**
+     * \brief Command LEAVE
+     * leave(int seat) : Return the command telling the client of seat is gone.
+     * \param int seat
+     * \return TableCommand
+     */
+    public static TableCommand leave(int seat) {
+        return new TableCommand(Type.LEAVE, seat, 0, null, null);
+    }
+
+    /**
+     * \brief Command TIMEOUT
+     * timeout(int seat, int question) : Return the command telling seat didn't
+     * answer the question number question in time.
+     * \param int seat, int question
+     * \return TableCommand
+     */
+    public static TableCommand timeout(int seat, int question) {
+        return new TableCommand(Type.TIMEOUT, seat, question, null, null);
+    }
+
+    /**
+     * \brief Getter type
+     * getType() : Return the type of the command.
+     * \return Type
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * \brief Getter seat
+     * getSeat() : Return the seat the command comes from.
+     * \return int
+     */
+    public int getSeat() {
+        return this.seat;
+    }
+
+    /**
+     * \brief Getter value
+     * getValue() : Return the value of a decision.
+     * \return int
+     */
+    public int getValue() {
+        return this.value;
+    }
+
+    /**
+     * \brief Getter connection
+     * getConnection() : Return the connection of a client joining or watching.
+     * \return ClientConnection
+     */
+    public ClientConnection getConnection() {
+        return this.connection;
+    }
+
+    /**
+     * \brief Getter player
+     * getPlayer() : Return the player of a client joining.
+     * \return Player
+     */
+    public Player getPlayer() {
+        return this.player;
+    }
+}
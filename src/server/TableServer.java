@@ -0,0 +1,274 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import game.Game;
+import people.Player;
+import people.PlayerNameTooLongException;
+
+/**
+ * \brief Server of remote tables
+ *
+ * TableServer : Accept clients over TCP (see Protocol) and seat them, in the
+ * order they join, at tables of NUMBER_PLAYERS players. Every connection reads
+ * its client on its own virtual thread. Every table is a TableActor run on the
+ * executor of the server, only when its mailbox holds commands: a table
+ * waiting for a client holds no thread at all, so tens of thousands of tables
+ * share a few carrier threads.
+ *
+ * A client has turnMillis to answer every question, after which a bot decides
+ * for it. The timers of all the tables share one TimingWheel.
+ */
+public class TableServer implements AutoCloseable {
+
+    /// Default time to answer a question, in milliseconds
+    public static final long TURN_MILLIS = 30_000;
+
+    // Every run of a table is a new virtual thread: the runs share the carrier
+    // threads of the JVM, one per core, and a client slow to read only blocks
+    // the run writing to it
+    private static final Executor VIRTUAL_THREADS = command -> Thread.ofVirtual().start(command);
+
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private final Executor executor;
+    private final TimingWheel timingWheel;
+    private final long turnMillis;
+    // Table the next clients sit at, with its number of seats taken
+    private TableActor openTable;
+    private int openSeats;
+    private final Set<ClientConnection> connections;
+    private final Map<Integer, TableActor> tables;
+    private final AtomicInteger nextTable;
+    private final AtomicLong numberGames;
+    private final AtomicLong numberOverlaps;
+
+    private TableServer(ServerSocket serverSocket, Executor executor, long turnMillis) {
+        this.serverSocket = serverSocket;
+        this.executor = executor;
+        this.timingWheel = TimingWheel.start();
+        this.turnMillis = turnMillis;
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.tables = new ConcurrentHashMap<>();
+        this.nextTable = new AtomicInteger();
+        this.numberGames = new AtomicLong();
+        this.numberOverlaps = new AtomicLong();
+        this.acceptor = Thread.ofVirtual().name("acceptor").unstarted(this::accept);
+    }
+
+    /**
+     * \brief Start a server
+     * start(int port) : Return a server accepting clients on port, any free port
+     * if it is 0.
+     * \param int port
+     * \return TableServer
+     */
+    public static TableServer start(int port) throws IOException {
+        return start(port, VIRTUAL_THREADS, TURN_MILLIS);
+    }
+
+    /**
+     * \brief Start a server
+     * start(int port, Executor executor, long turnMillis) : Return a server
+     * accepting clients on port, its tables being run by executor, its clients
+     * having turnMillis to answer.
+     * \param int port, Executor executor, long turnMillis
+     * \return TableServer
+     */
+    public static TableServer start(int port, Executor executor, long turnMillis) throws IOException {
+        ServerSocket serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        // Many clients may connect at once
+        serverSocket.bind(new InetSocketAddress(port), 4096);
+        TableServer server = new TableServer(serverSocket, executor, turnMillis);
+        server.acceptor.start();
+        return server;
+    }
+
+    /**
+     * \brief Getter port
+     * getPort() : Return the port the server listens to.
+     * \return int
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * \brief Address of the server
+     * getAddress() : Return the address of the loopback, where local clients find
+     * the server.
+     * \return InetSocketAddress
+     */
+    public InetSocketAddress getAddress() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), getPort());
+    }
+
+    /**
+     * \brief Getter timingWheel
+     * getTimingWheel() : Return the wheel of the timers of the turns, with the
+     * metrics of their lag.
+     * \return TimingWheel
+     */
+    public TimingWheel getTimingWheel() {
+        return this.timingWheel;
+    }
+
+    /**
+     * \brief Getter turnMillis
+     * getTurnMillis() : Return the time, in milliseconds, a client has to answer.
+     * \return long
+     */
+    public long getTurnMillis() {
+        return this.turnMillis;
+    }
+
+    /**
+     * \brief Getter numberTables
+     * getNumberTables() : Return the number of tables playing.
+     * \return int
+     */
+    public int getNumberTables() {
+        return tables.size();
+    }
+
+    /**
+     * \brief Getter numberGames
+     * getNumberGames() : Return the number of games over.
+     * \return long
+     */
+    public long getNumberGames() {
+        return numberGames.get();
+    }
+
+    /**
+     * \brief Getter numberOverlaps
+     * getNumberOverlaps() : Return the number of commands a table handled while
+     * it was already handling another one. A table is never run twice at a time,
+     * so it stays 0 whatever the executor.
+     * \return long
+     */
+    public long getNumberOverlaps() {
+        return numberOverlaps.get();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                ClientConnection connection = new ClientConnection(socket, this);
+                connections.add(connection);
+                Thread.ofVirtual().start(connection);
+            } catch (IOException e) {
+                // Closed server, or a client gone before it was accepted
+            }
+        }
+    }
+
+    /**
+     * \brief Join a table
+     * join(ClientConnection connection, String name) : Seat the client of
+     * connection at the open table, which starts once NUMBER_PLAYERS clients
+     * joined it.
+     * \param ClientConnection connection, String name
+     */
+    void join(ClientConnection connection, String name) {
+        Player player;
+        try {
+            player = new Player(name);
+        } catch (PlayerNameTooLongException e) {
+            connection.send(Protocol.line(Protocol.ERROR, e.getMessage()));
+            return;
+        }
+        synchronized (this) {
+            if (openTable == null) {
+                openTable = new TableActor(nextTable.getAndIncrement(), this, executor);
+                openSeats = 0;
+                tables.put(openTable.getId(), openTable);
+            }
+            connection.sitAt(openTable, openSeats);
+            // In the order of the seats, the table seats its clients as they come
+            openTable.tell(TableCommand.join(openSeats, connection, player));
+            openSeats += 1;
+            if (openSeats == Game.NUMBER_PLAYERS) {
+                openTable = null;
+            }
+        }
+    }
+
+    /**
+     * \brief Watch a table
+     * watch(ClientConnection connection, int id) : Make the client of connection a
+     * spectator of the table id, until its game is over.
+     * \param ClientConnection connection, int id
+     */
+    void watch(ClientConnection connection, int id) {
+        TableActor table = tables.get(id);
+        if (table == null) {
+            connection.send(Protocol.line(Protocol.ERROR, "No table " + id + " is playing."));
+        } else {
+            table.tell(TableCommand.watch(connection));
+        }
+    }
+
+    /**
+     * \brief Leave the server
+     * leave(ClientConnection connection) : Forget the client of connection, which
+     * is closed. A client waiting at a table is played by a bot.
+     * \param ClientConnection connection
+     */
+    void leave(ClientConnection connection) {
+        connections.remove(connection);
+    }
+
+    /**
+     * \brief End of a table
+     * tableOver(TableActor table) : The game of table is over.
+     * \param TableActor table
+     */
+    void tableOver(TableActor table) {
+        tables.remove(table.getId());
+        numberGames.incrementAndGet();
+    }
+
+    /**
+     * \brief Overlapping runs
+     * overlap() : A table handled a command while already handling one.
+     */
+    void overlap() {
+        numberOverlaps.incrementAndGet();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (ClientConnection connection : connections) {
+            connection.close();
+        }
+        timingWheel.close();
+    }
+
+    /**
+     * \brief Run a server
+     * main(String[] args) : Serve tables on the port args[0] (Protocol.PORT by
+     * default), the clients having args[1] milliseconds to answer (TURN_MILLIS
+     * by default), until the process is stopped.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Protocol.PORT;
+        long turnMillis = args.length > 1 ? Long.parseLong(args[1]) : TURN_MILLIS;
+        TableServer server = start(port, VIRTUAL_THREADS, turnMillis);
+        System.out.println("Tables served on port " + server.getPort());
+        server.acceptor.join();
+    }
+}
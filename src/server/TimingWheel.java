@@ -0,0 +1,358 @@
+package server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * \brief Hashed timing wheel
+ *
+ * TimingWheel : Timers of the turns of every table. Time is cut in ticks of
+ * tickNanos, and a timer lands in the slot of its tick, modulo the number of
+ * slots, with the number of turns of the wheel left before it is due. One
+ * thread moves the wheel one slot per tick and runs the timers due in it.
+ *
+ * Scheduling and cancelling are O(1) and never lock: a new timer is put in a
+ * queue the wheel empties into its slots at the next tick, a cancelled timer is
+ * marked then unlinked from its slot by the wheel. Timers only fire at ticks,
+ * so a timer is at most one tick late, plus the lag of the thread of the wheel,
+ * measured for every timer run (see lagPercentile).
+ *
+ * The tasks run on the thread of the wheel, so they must be short: the timers
+ * of the tables only post a command to their mailbox.
+ */
+public final class TimingWheel implements AutoCloseable {
+
+    /// Default length of a tick
+    public static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    /// Default number of slots, 5 seconds of ticks of 10 ms
+    public static final int WHEEL_SIZE = 512;
+
+    // Buckets of the histogram of the lags: bucket b holds the lags below 2^b us
+    private static final int LAG_BUCKETS = 40;
+
+    /**
+     * \brief Timer of a wheel
+     *
+     * Timeout : A task due at a deadline, that can be cancelled until it runs.
+     */
+    public static final class Timeout {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        // In nanoseconds since the start of the wheel
+        private final long deadline;
+        private volatile int state;
+
+        // Only touched by the thread of the wheel
+        private long remainingRounds;
+        private Timeout previous;
+        private Timeout next;
+        private Slot slot;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * \brief Cancel the timer
+         * cancel() : Prevent the task from running. Return false if it already ran or
+         * was cancelled.
+         * \return boolean
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                return false;
+            }
+            wheel.numberCancelled.incrementAndGet();
+            wheel.cancelled.offer(this);
+            return true;
+        }
+
+        /**
+         * \brief State of the timer
+         * isCancelled() : Return true if the timer was cancelled.
+         * \return boolean
+         */
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        /**
+         * \brief State of the timer
+         * isExpired() : Return true if the task ran, or is running.
+         * \return boolean
+         */
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+    }
+
+    /**
+     * \brief Slot of a wheel
+     *
+     * Slot : Doubly linked list of the timers of a slot.
+     */
+    private static final class Slot {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.previous = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.slot = null;
+        }
+    }
+
+    private final long tickNanos;
+    private final Slot[] slots;
+    private final int mask;
+    private final long start;
+    private final Thread worker;
+    private final Queue<Timeout> pending;
+    private final Queue<Timeout> cancelled;
+    private volatile boolean closed;
+    // Only touched by the thread of the wheel
+    private long tick;
+
+    private final AtomicLong numberScheduled;
+    private final AtomicLong numberCancelled;
+    private final AtomicLong numberExpired;
+    private final AtomicLong maxLag;
+    private final AtomicLongArray lags;
+
+    private TimingWheel(long tickNanos, int wheelSize) {
+        this.tickNanos = tickNanos;
+        this.slots = new Slot[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = wheelSize - 1;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.cancelled = new ConcurrentLinkedQueue<>();
+        this.numberScheduled = new AtomicLong();
+        this.numberCancelled = new AtomicLong();
+        this.numberExpired = new AtomicLong();
+        this.maxLag = new AtomicLong();
+        this.lags = new AtomicLongArray(LAG_BUCKETS);
+        this.start = System.nanoTime();
+        // A platform thread, so the ticks don't wait for a carrier
+        this.worker = Thread.ofPlatform().daemon().name("timing-wheel").unstarted(this::turn);
+    }
+
+    /**
+     * \brief Start a wheel
+     * start() : Return a running wheel of WHEEL_SIZE slots of TICK_NANOS.
+     * \return TimingWheel
+     */
+    public static TimingWheel start() {
+        return start(TICK_NANOS, WHEEL_SIZE);
+    }
+
+    /**
+     * \brief Start a wheel
+     * start(long tickNanos, int wheelSize) : Return a running wheel of wheelSize
+     * slots, a power of two, of tickNanos each.
+     * \param long tickNanos, int wheelSize
+     * \return TimingWheel
+     */
+    public static TimingWheel start(long tickNanos, int wheelSize) {
+        if (tickNanos <= 0 || wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("The ticks last more than 0 ns and the slots are a power of two.");
+        }
+        TimingWheel wheel = new TimingWheel(tickNanos, wheelSize);
+        wheel.worker.start();
+        return wheel;
+    }
+
+    /**
+     * \brief Schedule a task
+     * schedule(Runnable task, long delay, TimeUnit unit) : Run task on the thread
+     * of the wheel after delay, unless the returned timer is cancelled before.
+     * \param Runnable task, long delay, TimeUnit unit
+     * \return Timeout
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (closed) {
+            throw new IllegalStateException("The wheel is closed.");
+        }
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - start + Math.max(0, unit.toNanos(delay)));
+        pending.offer(timeout);
+        numberScheduled.incrementAndGet();
+        return timeout;
+    }
+
+    /**
+     * \brief Getter numberPending
+     * getNumberPending() : Return the number of timers neither run nor cancelled.
+     * \return long
+     */
+    public long getNumberPending() {
+        return numberScheduled.get() - numberCancelled.get() - numberExpired.get();
+    }
+
+    /**
+     * \brief Getter numberExpired
+     * getNumberExpired() : Return the number of tasks run.
+     * \return long
+     */
+    public long getNumberExpired() {
+        return numberExpired.get();
+    }
+
+    /**
+     * \brief Getter numberCancelled
+     * getNumberCancelled() : Return the number of timers cancelled.
+     * \return long
+     */
+    public long getNumberCancelled() {
+        return numberCancelled.get();
+    }
+
+    /**
+     * \brief Getter maxLag
+     * getMaxLag() : Return the longest time, in nanoseconds, a task ran after its
+     * deadline.
+     * \return long
+     */
+    public long getMaxLag() {
+        return maxLag.get();
+    }
+
+    /**
+     * \brief Percentile of the lags
+     * lagPercentile(double percentile) : Return a bound, in nanoseconds, of the
+     * time percentile (from 0 to 1) of the tasks ran after their deadline. The
+     * bounds are powers of two of microseconds.
+     * \param double percentile
+     * \return long
+     */
+    public long lagPercentile(double percentile) {
+        long total = 0;
+        long[] counts = new long[LAG_BUCKETS];
+        for (int i = 0; i < LAG_BUCKETS; i++) {
+            counts[i] = lags.get(i);
+            total += counts[i];
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < LAG_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return TimeUnit.MICROSECONDS.toNanos(1L << i);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+    }
+
+    /**
+     * \brief Turn the wheel
+     * turn() : Wait for every tick, then run the timers due in its slot.
+     */
+    private void turn() {
+        while (!closed) {
+            long deadline = (tick + 1) * tickNanos;
+            long now = System.nanoTime() - start;
+            while (now < deadline && !closed) {
+                LockSupport.parkNanos(deadline - now);
+                now = System.nanoTime() - start;
+            }
+            removeCancelled();
+            addPending();
+            expire(slots[(int) (tick & mask)]);
+            tick += 1;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.slot != null) {
+                timeout.slot.remove(timeout);
+            }
+        }
+    }
+
+    private void addPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.state != Timeout.WAITING) {
+                // Cancelled before it reached its slot
+                continue;
+            }
+            long dueTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (dueTick - tick) / slots.length;
+            // A timer already due goes to the current slot
+            slots[(int) (Math.max(dueTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Slot slot) {
+        Timeout timeout = slot.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.remainingRounds <= 0) {
+                slot.remove(timeout);
+                if (Timeout.STATE.compareAndSet(timeout, Timeout.WAITING, Timeout.EXPIRED)) {
+                    run(timeout);
+                }
+            } else {
+                timeout.remainingRounds -= 1;
+            }
+            timeout = next;
+        }
+    }
+
+    private void run(Timeout timeout) {
+        long lag = Math.max(0, System.nanoTime() - start - timeout.deadline);
+        maxLag.accumulateAndGet(lag, Math::max);
+        long micros = TimeUnit.NANOSECONDS.toMicros(lag);
+        lags.incrementAndGet(Math.min(LAG_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+        numberExpired.incrementAndGet();
+        try {
+            timeout.task.run();
+        } catch (RuntimeException e) {
+            // A task never stops the wheel
+        }
+    }
+}
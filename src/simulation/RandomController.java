@@ -0,0 +1,62 @@
+package simulation;
+
+import java.util.random.RandomGenerator;
+
+import deck.Card;
+import game.SeatController;
+import game.Trick;
+import people.Player;
+
+/**
+ * \brief Random seat
+ *
+ * RandomController : Bot taking a random legal decision every time. It only
+ * uses its own source of randomness so many of them can play at the same time.
+ */
+public class RandomController implements SeatController {
+
+    private RandomGenerator random;
+    private int numberNames;
+
+    /**
+     * \brief Constructor RandomController
+     * RandomController(RandomGenerator random): create a bot using random for
+     * every decision.
+     * \param RandomGenerator random
+     */
+    public RandomController(RandomGenerator random) {
+        this.random = random;
+        this.numberNames = 0;
+    }
+
+    @Override
+    public String chooseName() {
+        numberNames += 1;
+        return "Bot" + numberNames;
+    }
+
+    @Override
+    public int chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) {
+        int bet = random.nextInt(numberRound + 1);
+        // The last bettor can't make the total equal to the number of cards
+        if (lastBettor && totalBet + bet == numberRound) {
+            bet = bet == 0 ? 1 : bet - 1;
+        }
+        return bet;
+    }
+
+    @Override
+    public int chooseCard(Player player, Trick trick) {
+        return 1 + random.nextInt(player.getNumberCards());
+    }
+
+    @Override
+    public boolean chooseLastRound(Player player, Trick opponents) {
+        return random.nextBoolean();
+    }
+
+    @Override
+    public int chooseFoolValue(Player player, Card card) {
+        return random.nextBoolean() ? 0 : Card.MAX_VALUE;
+    }
+}
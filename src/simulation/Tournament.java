@@ -0,0 +1,385 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import analytics.ColumnWriter;
+import analytics.RoundCollector;
+import deck.DealSource;
+import events.EventProcessor;
+import events.EventPublisher;
+import events.EventRing;
+import events.GameEvent;
+import events.ListenerConsumer;
+import game.Game;
+import game.GameListener;
+import game.ListenerGroup;
+import people.Player;
+import replay.GameLog;
+import replay.GameRecorder;
+import replay.RecordSink;
+
+/**
+ * \brief Monte Carlo tournament
+ *
+ * Tournament : Play a large number of headless games on every core. The games
+ * are split between the workers of a fork/join pool, each worker plays its own
+ * range of game numbers and fills its own statistics, which are merged when
+ * the workers join. The cards and the bots of a game only depend on the seed
+ * and the number of the game, so any game can be played again alone. The games
+ * can also be recorded in a GameLog or a ReplayStore, their deals taking one
+ * bit each, and their rounds written in a column file for analysis.
+ *
+ * A worker only publishes the events of its games in a ring of its own (see
+ * EventRing). The rounds are counted, and the games recorded and written in
+ * columns, on the thread of the EventProcessor reading the ring, while the
+ * worker goes on with its next game.
+ */
+public class Tournament {
+
+    // Number of games a worker plays without splitting its range again
+    public static final int GAMES_PER_TASK = 256;
+
+    private ForkJoinPool pool;
+    private long seed;
+    // Where every game played is recorded, nowhere when null
+    private RecordSink records;
+    // Where the rows of every round are written, nowhere when null
+    private ColumnWriter columns;
+    // Events of the last play written over before they were read
+    private long numberEventsLost;
+
+    /**
+     * \brief Constructor Tournament
+     * Tournament(int parallelism, long seed): create a tournament running on
+     * parallelism threads. The same seed always gives the same games.
+     * \param int parallelism, long seed
+     */
+    public Tournament(int parallelism, long seed) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.seed = seed;
+    }
+
+    /**
+     * \brief Setter records
+     * setRecords(RecordSink records) : Record every game played next in records.
+     * null records nothing.
+     * \param RecordSink records
+     */
+    public void setRecords(RecordSink records) {
+        this.records = records;
+    }
+
+    /**
+     * \brief Setter columns
+     * setColumns(ColumnWriter columns) : Write the rows of every round of the
+     * games played next in columns (see RoundCollector). null writes nothing.
+     * \param ColumnWriter columns
+     */
+    public void setColumns(ColumnWriter columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * \brief Play the tournament
+     * play(long numberGames) : Play numberGames games and return their
+     * statistics.
+     * \param long numberGames
+     * \return TournamentStats
+     */
+    public TournamentStats play(long numberGames) {
+        long start = System.nanoTime();
+        WorkerRings rings = new WorkerRings(records, columns);
+        TournamentStats stats;
+        try {
+            stats = pool.invoke(new GamesTask(new DealSource(seed), rings, 0, numberGames));
+        } finally {
+            // Every event published is read before the statistics of the rounds
+            rings.close();
+        }
+        stats.merge(rings.getStats());
+        numberEventsLost = rings.getNumberLost();
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    /**
+     * \brief Getter numberEventsLost
+     * getNumberEventsLost() : Return the number of events of the last play written
+     * over before they were read. Their games are neither counted in the rounds,
+     * nor recorded, nor written in columns.
+     * \return long
+     */
+    public long getNumberEventsLost() {
+        return this.numberEventsLost;
+    }
+
+    /**
+     * \brief Stop the tournament
+     * shutdown() : Stop the threads of the tournament.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * \brief Create one game
+     * createGame(DealSource deals, long gameIndex, GameListener listener) : Return
+     * the game number gameIndex of the tournament, between random bots, ready to
+     * be played. The same deals and gameIndex always give the same game.
+     * \param DealSource deals, long gameIndex, GameListener listener
+     * \return Game
+     */
+    public static Game createGame(DealSource deals, long gameIndex, GameListener listener) {
+        DealSource gameDeals = deals.forGame(gameIndex);
+        // The bots get their own stream, derived from the same pair
+        SplittableRandom random = new SplittableRandom(DealSource.mix(gameDeals.getSeed()));
+        Game game = new Game(new RandomController(random), listener);
+        game.setDealSource(gameDeals);
+        game.setNumber(gameIndex);
+        List<Player> players = new ArrayList<>(Game.NUMBER_PLAYERS);
+        try {
+            for (int seat = 0; seat < Game.NUMBER_PLAYERS; seat++) {
+                players.add(new Player("Seat" + seat));
+            }
+            game.setPlayers(players);
+        } catch (Exception e) {
+            listener.onError(e.getMessage());
+        }
+        return game;
+    }
+
+    /**
+     * \brief Play one game
+     * playGame(DealSource deals, long gameIndex, TournamentStats stats,
+     * GameListener listener) : Play the game number gameIndex, sending its events
+     * to listener, and count its winner in stats.
+     * \param DealSource deals, long gameIndex, TournamentStats stats, GameListener listener
+     */
+    static void playGame(DealSource deals, long gameIndex, TournamentStats stats, GameListener listener) {
+        Game game = createGame(deals, gameIndex, listener);
+        Player winner = game.play();
+        stats.recordGame(seatOf(game.getPlayers(), winner));
+    }
+
+    /**
+     * \brief Seat of a player
+     * seatOf(List<Player> players, Player player) : Return the index of player in
+     * players, -1 if the player is null.
+     * \param List<Player> players, Player player
+     * \return int
+     */
+    private static int seatOf(List<Player> players, Player player) {
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (players.get(seat) == player) {
+                return seat;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * \brief Range of games
+     *
+     * GamesTask : Play the games from first (included) to last (excluded). The
+     * range is split in two while it is larger than GAMES_PER_TASK.
+     */
+    @SuppressWarnings("serial")
+    static class GamesTask extends RecursiveTask<TournamentStats> {
+
+        private final DealSource deals;
+        private final WorkerRings rings;
+        private final long first;
+        private final long last;
+
+        GamesTask(DealSource deals, WorkerRings rings, long first, long last) {
+            this.deals = deals;
+            this.rings = rings;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected TournamentStats compute() {
+            if (last - first <= GAMES_PER_TASK) {
+                TournamentStats stats = new TournamentStats();
+                for (long game = first; game < last; game++) {
+                    playGame(deals, game, stats, rings.publisher());
+                }
+                return stats;
+            }
+            long middle = (first + last) >>> 1;
+            GamesTask left = new GamesTask(deals, rings, first, middle);
+            GamesTask right = new GamesTask(deals, rings, middle, last);
+            left.fork();
+            TournamentStats stats = right.compute();
+            return stats.merge(left.join());
+        }
+    }
+
+    /**
+     * \brief Rings of the workers
+     *
+     * WorkerRings : One EventRing per worker thread of a play, created with the
+     * first game of the worker. Its EventProcessor counts the rounds in statistics
+     * of its own, and gives the games to a GameRecorder and a RoundCollector if
+     * there are records or columns to write. A worker starts a game only once its
+     * processor is less than half a ring behind, so the events of a game are
+     * written over only if a single game fills half a ring.
+     */
+    static final class WorkerRings {
+
+        private final RecordSink records;
+        private final ColumnWriter columns;
+        private final Map<Thread, Worker> workers;
+
+        WorkerRings(RecordSink records, ColumnWriter columns) {
+            this.records = records;
+            this.columns = columns;
+            this.workers = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * \brief Publisher of a worker
+         * publisher() : Return the publisher of the ring of the current thread, once
+         * its processor caught up enough for the next game.
+         * \return EventPublisher
+         */
+        EventPublisher publisher() {
+            Worker worker = workers.computeIfAbsent(Thread.currentThread(), this::newWorker);
+            long target = worker.ring.getCursor() - worker.ring.getCapacity() / 2;
+            try {
+                while (!worker.processor.await(target, 1, TimeUnit.SECONDS)) {
+                    // The processor is still reading the games before
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return worker.publisher;
+        }
+
+        private Worker newWorker(Thread thread) {
+            ListenerGroup listeners = new ListenerGroup();
+            TournamentStats stats = new TournamentStats();
+            listeners.add(stats);
+            if (records != null) {
+                listeners.add(new GameRecorder(records));
+            }
+            if (columns != null) {
+                listeners.add(new RoundCollector(columns));
+            }
+            return new Worker(stats, listeners, thread.getName() + "-events");
+        }
+
+        /**
+         * \brief Statistics of the rounds
+         * getStats() : Return the rounds and life points counted by every processor,
+         * once closed.
+         * \return TournamentStats
+         */
+        TournamentStats getStats() {
+            TournamentStats stats = new TournamentStats();
+            for (Worker worker : workers.values()) {
+                stats.merge(worker.stats);
+            }
+            return stats;
+        }
+
+        /**
+         * \brief Events lost
+         * getNumberLost() : Return the number of events written over before their
+         * processor read them.
+         * \return long
+         */
+        long getNumberLost() {
+            long numberLost = 0;
+            for (Worker worker : workers.values()) {
+                numberLost += worker.processor.getNumberLost();
+            }
+            return numberLost;
+        }
+
+        /**
+         * \brief Close the rings
+         * close() : Read every event published, then stop the processors. Throw the
+         * first exception a record or a column couldn't be written with.
+         */
+        void close() {
+            RuntimeException failure = null;
+            for (Worker worker : workers.values()) {
+                worker.processor.close();
+                if (failure == null) {
+                    failure = worker.failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * \brief Ring of one worker
+     *
+     * Worker : The ring a worker publishes its games in, and the processor giving
+     * them to the listeners of the tournament.
+     */
+    private static final class Worker {
+
+        final TournamentStats stats;
+        final EventRing ring;
+        final EventPublisher publisher;
+        final EventProcessor processor;
+        // First exception of the listeners, written by the processor
+        volatile RuntimeException failure;
+
+        Worker(TournamentStats stats, GameListener listener, String name) {
+            this.stats = stats;
+            this.ring = new EventRing();
+            this.publisher = new EventPublisher(ring);
+            this.processor = EventProcessor.start(ring, new ListenerConsumer(listener) {
+                @Override
+                public void onFailure(GameEvent event, RuntimeException exception) {
+                    if (failure == null) {
+                        failure = exception;
+                    }
+                    super.onFailure(event, exception);
+                }
+            }, name);
+        }
+    }
+
+    /**
+     * \brief Run a tournament
+     * main(String[] args) : Play args[0] games (100000 by default) on args[1]
+     * threads (every core by default) and print the statistics. The games are
+     * recorded in the log at args[2] and their rounds written in the column file
+     * at args[3] if they are given.
+     */
+    public static void main(String[] args) throws IOException {
+        long numberGames = args.length > 0 ? Long.parseLong(args[0]) : 100000;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+        Tournament tournament = new Tournament(parallelism, System.nanoTime());
+        try (GameLog gameLog = args.length > 2 ? GameLog.open(Path.of(args[2])) : null;
+                ColumnWriter columns = args.length > 3 ? ColumnWriter.open(Path.of(args[3])) : null) {
+            tournament.setRecords(gameLog);
+            tournament.setColumns(columns);
+            System.out.println(tournament.play(numberGames));
+            if (tournament.getNumberEventsLost() > 0) {
+                System.err.println(tournament.getNumberEventsLost() + " events were lost, some games are missing"
+                        + " from the rounds, the records and the columns.");
+            }
+        } finally {
+            tournament.shutdown();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package simulation;
+
+import game.Game;
+import game.GameListener;
+import people.Player;
+
+/**
+ * \brief Statistics of simulated games
+ *
+ * TournamentStats : Count the games, rounds and life points lost while
+ * listening to games. Every worker fills its own instance and the instances
+ * are merged at the end, so no lock is ever taken.
+ */
+public class TournamentStats implements GameListener {
+
+    private long numberGames;
+    private long numberTies;
+    private long numberRounds;
+    private long[] winsBySeat;
+    private long[] roundsBySize;
+    private long[] lifeLostBySize;
+    private long elapsedNanos;
+    // Number of cards of the round being played
+    private int currentRound;
+
+    /**
+     * \brief Constructor TournamentStats
+     * TournamentStats(): create empty statistics.
+     */
+    public TournamentStats() {
+        winsBySeat = new long[Game.NUMBER_PLAYERS];
+        roundsBySize = new long[Game.ROUND_MAX + 1];
+        lifeLostBySize = new long[Game.ROUND_MAX + 1];
+    }
+
+    @Override
+    public void onRoundStart(int numberRound) {
+        currentRound = numberRound;
+        numberRounds += 1;
+        roundsBySize[numberRound] += 1;
+    }
+
+    @Override
+    public void onLifeLost(Player player, int lifePoints) {
+        lifeLostBySize[currentRound] += lifePoints;
+    }
+
+    /**
+     * \brief Record the end of a game
+     * recordGame(int winnerSeat) : Count a game won by the player sitting at
+     * winnerSeat at the start of the game, or a tie if winnerSeat is negative.
+     * \param int winnerSeat
+     */
+    public void recordGame(int winnerSeat) {
+        numberGames += 1;
+        if (winnerSeat < 0) {
+            numberTies += 1;
+        } else {
+            winsBySeat[winnerSeat] += 1;
+        }
+    }
+
+    /**
+     * \brief Merge statistics
+     * merge(TournamentStats other) : Add the statistics of other to these ones and
+     * return them.
+     * \param TournamentStats other
+     * \return TournamentStats
+     */
+    public TournamentStats merge(TournamentStats other) {
+        numberGames += other.numberGames;
+        numberTies += other.numberTies;
+        numberRounds += other.numberRounds;
+        for (int seat = 0; seat < winsBySeat.length; seat++) {
+            winsBySeat[seat] += other.winsBySeat[seat];
+        }
+        for (int size = 0; size < roundsBySize.length; size++) {
+            roundsBySize[size] += other.roundsBySize[size];
+            lifeLostBySize[size] += other.lifeLostBySize[size];
+        }
+        return this;
+    }
+
+    /**
+     * \brief Setter elapsed time
+     * setElapsedNanos(long elapsedNanos) : Set the wall clock time taken to play
+     * the games.
+     * \param long elapsedNanos
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * \brief Number of games
+     * getNumberGames() : Return the number of games played.
+     * \return long
+     */
+    public long getNumberGames() {
+        return numberGames;
+    }
+
+    /**
+     * \brief Number of ties
+     * getNumberTies() : Return the number of games without winner.
+     * \return long
+     */
+    public long getNumberTies() {
+        return numberTies;
+    }
+
+    /**
+     * \brief Number of rounds
+     * getNumberRounds() : Return the number of rounds played in every game.
+     * \return long
+     */
+    public long getNumberRounds() {
+        return numberRounds;
+    }
+
+    /**
+     * \brief Games per second
+     * getGamesPerSecond() : Return the number of games played per second.
+     * \return double
+     */
+    public double getGamesPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return numberGames * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * \brief Win rate of a seat
+     * getWinRate(int seat) : Return the part of the games won by the player
+     * sitting at seat when the game started.
+     * \param int seat
+     * \return double
+     */
+    public double getWinRate(int seat) {
+        if (numberGames == 0) {
+            return 0;
+        }
+        return (double) winsBySeat[seat] / numberGames;
+    }
+
+    /**
+     * \brief Average length of a game
+     * getAverageRounds() : Return the average number of rounds of a game.
+     * \return double
+     */
+    public double getAverageRounds() {
+        if (numberGames == 0) {
+            return 0;
+        }
+        return (double) numberRounds / numberGames;
+    }
+
+    /**
+     * \brief Average life lost
+     * getAverageLifeLost(int numberRound) : Return the average life points lost
+     * by all players during a round of numberRound cards.
+     * \param int numberRound
+     * \return double
+     */
+    public double getAverageLifeLost(int numberRound) {
+        if (roundsBySize[numberRound] == 0) {
+            return 0;
+        }
+        return (double) lifeLostBySize[numberRound] / roundsBySize[numberRound];
+    }
+
+    /**
+     * \brief toString
+     *
+     * toString() : Return the report of the statistics.
+     * \return String
+     */
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("Games: %d (%.0f games/s)%n", numberGames, getGamesPerSecond()));
+        for (int seat = 0; seat < winsBySeat.length; seat++) {
+            result.append(String.format("Win rate seat %d: %.4f%n", seat, getWinRate(seat)));
+        }
+        result.append(String.format("Ties: %d%n", numberTies));
+        result.append(String.format("Average rounds per game: %.2f%n", getAverageRounds()));
+        for (int size = Game.ROUND_MAX; size > 0; size--) {
+            result.append(String.format("Average life lost with %d card(s): %.3f%n", size, getAverageLifeLost(size)));
+        }
+        return result.toString();
+    }
+}
@@ -1,15 +1,41 @@
 package tarot;
-import java.util.Scanner;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import events.EventProcessor;
+import events.EventPublisher;
+import events.EventRing;
+import events.ListenerConsumer;
+import events.SyncedController;
+import game.ConsoleController;
+import game.ExpectedTricksTable;
 import game.Game;
 
 public class Main {
 
+    // Table of expected tricks built by ExpectedTricksTable, optional
+    private static final Path EXPECTED_TRICKS = Path.of("expected_tricks.bin");
+
     public static void main(String[] arg) {
-        Game game = new Game();
-        Scanner scanner = new Scanner(System.in);
+        // Every seat plays on this console. The game is shown from a ring of its
+        // events, and a seat is asked once the display caught up with the game
+        ConsoleController console = new ConsoleController();
+        EventRing ring = new EventRing();
+        EventProcessor display = EventProcessor.start(ring, new ListenerConsumer(console), "display");
+        Game game = new Game(new SyncedController(console, ring, display), new EventPublisher(ring));
+        if (Files.exists(EXPECTED_TRICKS)) {
+            try {
+                game.setExpectedTricks(ExpectedTricksTable.load(EXPECTED_TRICKS));
+            } catch (IOException e) {
+                System.err.println("The bets can't be suggested: " + e.getMessage());
+            }
+        }
         System.out.println("Start of the program.");
         game.start();
-        scanner.close();
+        // The end of the game is shown before the input is closed
+        display.close();
+        console.close();
     }
 }
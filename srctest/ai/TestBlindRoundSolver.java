@@ -0,0 +1,171 @@
+package srctest.ai;
+
+import java.util.SplittableRandom;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import ai.BlindRoundSolver;
+import deck.Card;
+import game.Game;
+import game.Trick;
+import people.Player;
+import people.PlayerNameTooLongException;
+
+public class TestBlindRoundSolver {
+
+    static final double DELTA = 1e-12;
+
+    @After
+    public void afterTest() {
+        System.out.println("Test BlindRoundSolver over");
+    }
+
+    @Test
+    public void testFirstPlayer() {
+        // Nobody decided yet: the cards above 9 among the 19 nobody shows win
+        int[] visible = { 5, 9, 3 };
+        Assert.assertEquals(13.0 / 19, BlindRoundSolver.winProbability(visible, 3, 0, 0), DELTA);
+        Assert.assertTrue(BlindRoundSolver.decide(visible, 3, 0, 0));
+
+        // Nobody beats the Fool
+        int[] visibleFool = { 5, Card.MAX_VALUE, 3 };
+        Assert.assertEquals(0.0, BlindRoundSolver.winProbability(visibleFool, 3, 0, 0), DELTA);
+        Assert.assertFalse(BlindRoundSolver.decide(visibleFool, 3, 0, 0));
+    }
+
+    @Test
+    public void testDecisionsReveal() {
+        // With two players, the first one bets to win only if the card of the
+        // second one is 11 or less
+        int[] visible = { 5 };
+        Assert.assertEquals(6.0 / 10, BlindRoundSolver.winProbability(visible, 1, 1, 1), DELTA);
+        Assert.assertEquals(11.0 / 11, BlindRoundSolver.winProbability(visible, 1, 0, 1), DELTA);
+        Assert.assertEquals(17.0 / 21, BlindRoundSolver.winProbability(visible, 1, 0, 0), DELTA);
+    }
+
+    @Test
+    public void testTrick() throws PlayerNameTooLongException {
+        Player[] players = new Player[Game.NUMBER_PLAYERS];
+        for (int seat = 0; seat < players.length; seat++) {
+            players[seat] = new Player("Player" + seat);
+            players[seat].setSeat(seat);
+        }
+        // Player1 decides second and sees the other cards in turn order
+        Trick opponents = new Trick(Game.NUMBER_PLAYERS);
+        opponents.play(players[0], Card.of(5));
+        opponents.play(players[2], Card.of(9));
+        opponents.play(players[3], Card.of(3));
+        opponents.decide(players[0], true);
+
+        int[] visible = { 5, 9, 3 };
+        Assert.assertEquals(BlindRoundSolver.winProbability(visible, 3, 1, 1),
+                BlindRoundSolver.winProbability(opponents), DELTA);
+        Assert.assertEquals(BlindRoundSolver.decide(visible, 3, 1, 1), BlindRoundSolver.decide(opponents));
+        Assert.assertTrue(BlindRoundSolver.isConsistent(opponents));
+    }
+
+    @Test
+    public void testInconsistentDecisions() throws PlayerNameTooLongException {
+        Player[] players = new Player[3];
+        for (int seat = 0; seat < players.length; seat++) {
+            players[seat] = new Player("Player" + seat);
+            players[seat].setSeat(seat);
+        }
+        // Player1 sees the 21 of Player0: only the Fool could win, yet they bet to
+        // win, which no card of Player2 explains
+        Trick opponents = new Trick(players.length);
+        opponents.play(players[0], Card.of(21));
+        opponents.play(players[1], Card.of(3));
+        opponents.decide(players[0], false);
+        opponents.decide(players[1], true);
+
+        Assert.assertFalse(BlindRoundSolver.isConsistent(opponents));
+        // Every card nobody shows is counted: only the Fool beats 21
+        Assert.assertEquals(1.0 / 20, BlindRoundSolver.winProbability(opponents), DELTA);
+        Assert.assertFalse(BlindRoundSolver.decide(opponents));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSameCardTwice() {
+        int[] visible = { 5, 5 };
+        BlindRoundSolver.winProbability(visible, 2, 0, 0);
+    }
+
+    @Test
+    public void testAgainstEnumeration() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int test = 0; test < 400; test++) {
+            int numberPlayers = 2 + random.nextInt(3);
+            int position = random.nextInt(numberPlayers);
+            int[] cards = randomCards(random, numberPlayers);
+            int decisions = random.nextInt(1 << position);
+
+            int[] visible = new int[numberPlayers - 1];
+            int index = 0;
+            for (int i = 0; i < numberPlayers; i++) {
+                if (i != position) {
+                    visible[index++] = cards[i];
+                }
+            }
+            int[] expected = enumerate(cards, position, decisions);
+            double probability = BlindRoundSolver.winProbability(visible, numberPlayers - 1, decisions, position);
+            Assert.assertEquals((double) expected[0] / expected[1], probability, DELTA);
+        }
+    }
+
+    /**
+     * Count the wins and the cards of the player at position explaining the
+     * decisions, by enumerating every card and every decision before.
+     */
+    private static int[] enumerate(int[] cards, int position, int decisions) {
+        int highest = 0;
+        boolean[] shown = new boolean[Card.MAX_VALUE + 1];
+        for (int i = 0; i < cards.length; i++) {
+            if (i != position) {
+                shown[cards[i]] = true;
+                highest = Math.max(highest, cards[i]);
+            }
+        }
+        int wins = 0;
+        int candidates = 0;
+        int hiddenWins = 0;
+        int hidden = 0;
+        for (int card = 1; card <= Card.MAX_VALUE; card++) {
+            if (shown[card]) {
+                continue;
+            }
+            hidden += 1;
+            hiddenWins += card > highest ? 1 : 0;
+            int[] deal = cards.clone();
+            deal[position] = card;
+            boolean explains = true;
+            for (int player = 0; player < position && explains; player++) {
+                int[] counts = enumerate(deal, player, decisions & ((1 << player) - 1));
+                boolean policy = 2 * counts[0] > counts[1];
+                explains = policy == ((decisions & (1 << player)) != 0);
+            }
+            if (explains) {
+                candidates += 1;
+                wins += card > highest ? 1 : 0;
+            }
+        }
+        return candidates == 0 ? new int[] { hiddenWins, hidden } : new int[] { wins, candidates };
+    }
+
+    private static int[] randomCards(SplittableRandom random, int numberPlayers) {
+        int[] cards = new int[numberPlayers];
+        for (int i = 0; i < numberPlayers; i++) {
+            boolean distinct = false;
+            while (!distinct) {
+                cards[i] = 1 + random.nextInt(Card.MAX_VALUE);
+                distinct = true;
+                for (int j = 0; j < i; j++) {
+                    distinct &= cards[j] != cards[i];
+                }
+            }
+        }
+        return cards;
+    }
+}
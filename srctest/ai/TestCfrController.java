@@ -0,0 +1,41 @@
+package srctest.ai;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import ai.CfrController;
+import ai.CfrPolicy;
+import ai.CfrTrainer;
+import deck.DealSource;
+import game.Game;
+import game.ListenerGroup;
+import people.Player;
+
+public class TestCfrController {
+
+    @After
+    public void afterTest() {
+        System.out.println("Test CfrController over");
+    }
+
+    @Test
+    public void testFullGame() throws Exception {
+        CfrTrainer trainer = CfrTrainer.forBetting(Game.NUMBER_PLAYERS, 2, 2, 3);
+        trainer.train(2);
+        trainer.shutdown();
+        CfrPolicy policy = trainer.getPolicy();
+
+        // The bot plays every seat, with a policy for the rounds of two cards only
+        CfrController bot = new CfrController(new SplittableRandom(4), policy);
+        Game game = new Game(bot, new ListenerGroup(bot));
+        game.setDealSource(new DealSource(4));
+        game.setPlayers(List.of(new Player("Seat0"), new Player("Seat1"), new Player("Seat2"), new Player("Seat3")));
+
+        game.play();
+        Assert.assertTrue(game.getNumberPlayersAlive() <= 1);
+    }
+}
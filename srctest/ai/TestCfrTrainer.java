@@ -0,0 +1,139 @@
+package srctest.ai;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import ai.CfrPolicy;
+import ai.CfrTrainer;
+import deck.Card;
+import deck.CardSet;
+import game.Trick;
+import people.Player;
+
+public class TestCfrTrainer {
+
+    Path directory;
+
+    @Before
+    public void beforeTest() throws IOException {
+        directory = Files.createTempDirectory("cfr");
+    }
+
+    @After
+    public void afterTest() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+        System.out.println("Test CfrTrainer over");
+    }
+
+    @Test
+    public void testBlindRound() {
+        CfrTrainer trainer = CfrTrainer.forBlindRound(2, 2, 1);
+        trainer.train(100);
+        CfrPolicy policy = trainer.getPolicy();
+        trainer.shutdown();
+
+        // The first player sees the Fool and can't win, or sees the lowest card and can't lose
+        Assert.assertTrue(policy.isBlindRound());
+        Assert.assertEquals(100, policy.getIterations());
+        Assert.assertTrue(policy.winProbability(opponent(Card.MAX_VALUE)) < 0.05);
+        Assert.assertTrue(policy.winProbability(opponent(1)) > 0.95);
+    }
+
+    @Test
+    public void testBetting() {
+        CfrTrainer trainer = CfrTrainer.forBetting(2, 2, 2, 1);
+        trainer.train(100);
+        CfrPolicy policy = trainer.getPolicy();
+        trainer.shutdown();
+
+        // The two lowest cards never win a trick
+        int lowest = CardSet.of(1) | CardSet.of(2);
+        Assert.assertFalse(policy.isBlindRound());
+        Assert.assertTrue(policy.betProbability(lowest, 0, false, 0) > 0.9);
+        // The last bettor can't make the total equal to the number of cards
+        Assert.assertEquals(0.0, policy.betProbability(lowest, 2, true, 0), 0.0);
+        Assert.assertNotEquals(1, policy.chooseBet(lowest, 1, true, new SplittableRandom(3)));
+    }
+
+    @Test
+    public void testSameTablesOnAnyThreads() throws IOException {
+        CfrTrainer single = CfrTrainer.forBetting(3, 2, 1, 7);
+        CfrTrainer parallel = CfrTrainer.forBetting(3, 2, 4, 7);
+        single.train(5);
+        parallel.train(5);
+        single.shutdown();
+        parallel.shutdown();
+
+        Assert.assertArrayEquals(policyBytes(single.getPolicy(), "single"),
+                policyBytes(parallel.getPolicy(), "parallel"));
+    }
+
+    @Test
+    public void testCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve("checkpoint");
+        CfrTrainer trainer = CfrTrainer.forBetting(2, 3, 2, 5);
+        trainer.train(4, checkpoint, 2);
+
+        // A training going on from its checkpoint gives the same tables as without stopping
+        CfrTrainer loaded = CfrTrainer.loadCheckpoint(checkpoint, 1);
+        Assert.assertEquals(4, loaded.getIterations());
+        trainer.train(3);
+        loaded.train(3);
+        trainer.shutdown();
+        loaded.shutdown();
+
+        Assert.assertEquals(7, loaded.getIterations());
+        Assert.assertArrayEquals(policyBytes(trainer.getPolicy(), "trainer"),
+                policyBytes(loaded.getPolicy(), "loaded"));
+    }
+
+    @Test
+    public void testPolicyFile() throws IOException {
+        CfrTrainer trainer = CfrTrainer.forBlindRound(3, 2, 9);
+        trainer.train(3);
+        trainer.shutdown();
+        CfrPolicy policy = trainer.getPolicy();
+        Path path = directory.resolve("policy");
+        policy.save(path);
+
+        CfrPolicy loaded = CfrPolicy.load(path);
+        Assert.assertTrue(loaded.isBlindRound());
+        Assert.assertEquals(3, loaded.getNumberPlayers());
+        Assert.assertEquals(3, loaded.getIterations());
+
+        // A checkpoint is not a policy
+        Path checkpoint = directory.resolve("checkpoint");
+        trainer.saveCheckpoint(checkpoint);
+        Assert.assertThrows(IOException.class, () -> CfrPolicy.load(checkpoint));
+    }
+
+    private byte[] policyBytes(CfrPolicy policy, String name) throws IOException {
+        Path path = directory.resolve(name);
+        policy.save(path);
+        return Files.readAllBytes(path);
+    }
+
+    // The trick seen by the first player of a blind round of two players
+    private static Trick opponent(int value) {
+        try {
+            Player player = new Player("Player1");
+            player.setSeat(1);
+            Trick opponents = new Trick(2);
+            opponents.play(player, Card.of(value));
+            return opponents;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package srctest.ai;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import ai.IsmctsController;
+import deck.Card;
+import deck.DealSource;
+import game.Game;
+import game.GameListener;
+import game.ListenerGroup;
+import game.Trick;
+import people.Player;
+
+public class TestIsmctsController {
+
+    static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    ExecutorService executor;
+    IsmctsController bot;
+
+    @Before
+    public void beforeTest() {
+        executor = Executors.newFixedThreadPool(2);
+        bot = new IsmctsController(executor, 2, BUDGET_NANOS, Long.MAX_VALUE, 7);
+    }
+
+    @After
+    public void afterTest() {
+        bot.close();
+        executor.shutdownNow();
+        System.out.println("Test IsmctsController over");
+    }
+
+    @Test
+    public void testObviousCard() throws Exception {
+        // Betting no trick, the last player plays under the cards on the table
+        Player player = new Player("Bot");
+        player.addCard(Card.of(21));
+        player.addCard(Card.of(1));
+        player.setBetTricks(0);
+        Trick trick = tableOf(10, 12, 15);
+        bot.onRoundStart(2);
+
+        int index = bot.chooseCard(player, trick);
+        Assert.assertEquals(Card.of(1), player.getCard(index - 1));
+    }
+
+    @Test
+    public void testObviousBet() throws Exception {
+        // The two lowest cards of the deck can't win a trick
+        Player player = new Player("Bot");
+        player.addCard(Card.of(1));
+        player.addCard(Card.of(2));
+        bot.onRoundStart(2);
+
+        Assert.assertEquals(0, bot.chooseBet(player, 2, 0, false));
+    }
+
+    @Test
+    public void testForbiddenBet() throws Exception {
+        // The last bettor can't make the total equal to the number of cards
+        Player player = new Player("Bot");
+        player.addCard(Card.of(1));
+        player.addCard(Card.of(2));
+        bot.onRoundStart(2);
+
+        Assert.assertEquals(1, bot.chooseBet(player, 2, 2, true));
+    }
+
+    @Test
+    public void testDeadline() throws Exception {
+        Player player = new Player("Bot");
+        for (int value : new int[] { 3, 8, 13, 17, 20 }) {
+            player.addCard(Card.of(value));
+        }
+        player.setBetTricks(2);
+        Trick trick = new Trick(Game.NUMBER_PLAYERS);
+        bot.onRoundStart(5);
+
+        long start = System.nanoTime();
+        int index = bot.chooseCard(player, trick);
+        long elapsed = System.nanoTime() - start;
+
+        Assert.assertTrue(index >= 1 && index <= 5);
+        Assert.assertTrue("Move took " + elapsed + " ns", elapsed < BUDGET_NANOS + TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testSingleThread() throws Exception {
+        // Without executor, the search runs on the thread of the game and stops after its iterations
+        try (IsmctsController single = new IsmctsController(null, 1, TimeUnit.SECONDS.toNanos(10), 2000, 3)) {
+            Player player = new Player("Bot");
+            player.addCard(Card.of(21));
+            player.addCard(Card.of(1));
+            player.setBetTricks(0);
+            Trick trick = tableOf(10, 12, 15);
+            single.onRoundStart(2);
+
+            Assert.assertEquals(Card.of(1), player.getCard(single.chooseCard(player, trick) - 1));
+        }
+    }
+
+    @Test
+    public void testFullGame() throws Exception {
+        // The bot plays every seat and follows the game to see the cards played
+        GameListener listener = new ListenerGroup(bot);
+        Game game = new Game(bot, listener);
+        game.setDealSource(new DealSource(11));
+        game.setPlayers(List.of(new Player("Seat0"), new Player("Seat1"), new Player("Seat2"), new Player("Seat3")));
+
+        game.play();
+        Assert.assertTrue(game.getNumberPlayersAlive() <= 1);
+    }
+
+    // The cards already played in the trick by the seats before the bot
+    private static Trick tableOf(int... values) {
+        Trick trick = new Trick(Game.NUMBER_PLAYERS);
+        for (int seat = 0; seat < values.length; seat++) {
+            Player player = new Player();
+            player.setSeat(seat);
+            trick.play(player, Card.of(values[seat]));
+        }
+        return trick;
+    }
+}
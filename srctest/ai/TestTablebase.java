@@ -0,0 +1,125 @@
+package srctest.ai;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import ai.IsmctsController;
+import ai.Tablebase;
+import ai.TrickSolver;
+import deck.Card;
+import deck.CardSet;
+import people.Player;
+
+public class TestTablebase {
+
+    static Tablebase tablebase;
+
+    @BeforeClass
+    public static void beforeClass() {
+        tablebase = Tablebase.build(3, 4, 2);
+    }
+
+    @After
+    public void afterTest() {
+        System.out.println("Test Tablebase over");
+    }
+
+    @Test
+    public void testAgainstSolver() {
+        // The relabelled deals give the result of the real cards
+        SplittableRandom random = new SplittableRandom(8);
+        TrickSolver solver = new TrickSolver();
+        for (int test = 0; test < 200; test++) {
+            int numberPlayers = 3 + random.nextInt(2);
+            int numberCards = 1 + random.nextInt(2);
+            int[] hands = deal(random, numberPlayers, numberCards);
+            int seat = random.nextInt(numberPlayers);
+            int bet = random.nextInt(numberCards + 1);
+            int[] bets = new int[numberPlayers];
+            bets[seat] = bet;
+            Assert.assertEquals(solver.solve(hands, bets, seat).getLoss(), tablebase.loss(hands, seat, bet));
+        }
+    }
+
+    @Test
+    public void testFool() {
+        // The Fool wins or loses the trick as its player needs
+        int[] hands = { CardSet.of(3), CardSet.of(Card.MAX_VALUE), CardSet.of(17) };
+        Assert.assertEquals(0, tablebase.loss(hands, 1, 0));
+        Assert.assertEquals(0, tablebase.loss(hands, 1, 1));
+        // The player of the Fool makes the 17 lose whatever it needs
+        Assert.assertEquals(1, tablebase.loss(hands, 2, 1));
+    }
+
+    @Test
+    public void testContains() {
+        Assert.assertTrue(tablebase.contains(3, 1));
+        Assert.assertTrue(tablebase.contains(4, 2));
+        Assert.assertFalse(tablebase.contains(5, 2));
+        Assert.assertFalse(tablebase.contains(4, 3));
+        int[] hands = { CardSet.of(1), CardSet.of(2), CardSet.of(3), CardSet.of(4), CardSet.of(5) };
+        Assert.assertThrows(IllegalArgumentException.class, () -> tablebase.loss(hands, 0, 0));
+        int[] shared = { CardSet.of(1), CardSet.of(1), CardSet.of(3) };
+        Assert.assertThrows(IllegalArgumentException.class, () -> tablebase.loss(shared, 0, 0));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        Path path = Files.createTempFile("tablebase", ".bin");
+        try {
+            tablebase.save(path);
+            Tablebase loaded = Tablebase.load(path);
+            SplittableRandom random = new SplittableRandom(9);
+            for (int test = 0; test < 50; test++) {
+                int[] hands = deal(random, 4, 2);
+                for (int bet = 0; bet <= 2; bet++) {
+                    Assert.assertEquals(tablebase.loss(hands, 3, bet), loaded.loss(hands, 3, bet));
+                }
+            }
+
+            Files.write(path, new byte[] { 1, 2, 3, 4 });
+            Assert.assertThrows(IOException.class, () -> Tablebase.load(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        // A bot without a tablebase searches every round
+        Assert.assertNull(Tablebase.loadIfPresent(path));
+    }
+
+    @Test
+    public void testBotBet() throws Exception {
+        // With the two lowest cards, only the bet of 0 is sure whoever leads
+        try (IsmctsController bot = new IsmctsController(null, 1, TimeUnit.SECONDS.toNanos(10), 500, 2)) {
+            bot.setTablebase(tablebase);
+            Player player = new Player("Bot");
+            player.addCard(Card.of(1));
+            player.addCard(Card.of(2));
+            bot.onRoundStart(2);
+            Assert.assertEquals(0, bot.chooseBet(player, 2, 0, false));
+        }
+    }
+
+    private static int[] deal(SplittableRandom random, int numberPlayers, int numberCards) {
+        int[] hands = new int[numberPlayers];
+        int dealt = CardSet.EMPTY;
+        for (int i = 0; i < numberPlayers; i++) {
+            for (int j = 0; j < numberCards; j++) {
+                int value;
+                do {
+                    value = 1 + random.nextInt(Card.MAX_VALUE);
+                } while (CardSet.contains(dealt, value));
+                dealt = CardSet.add(dealt, value);
+                hands[i] = CardSet.add(hands[i], value);
+            }
+        }
+        return hands;
+    }
+}
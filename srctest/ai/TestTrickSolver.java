@@ -0,0 +1,169 @@
+package srctest.ai;
+
+import java.util.SplittableRandom;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import ai.TrickSolution;
+import ai.TrickSolver;
+import deck.Card;
+import deck.CardSet;
+import deck.Deck;
+
+public class TestTrickSolver {
+
+    TrickSolver solver;
+
+    @Before
+    public void beforeTest() {
+        solver = new TrickSolver();
+    }
+
+    @After
+    public void afterTest() {
+        System.out.println("Test TrickSolver over");
+    }
+
+    @Test
+    public void testHighestCards() {
+        // Player0 holds the two highest cards and bets two tricks
+        int[] hands = { CardSet.of(20) | CardSet.of(21), CardSet.of(1) | CardSet.of(5),
+                CardSet.of(2) | CardSet.of(6) };
+        int[] bets = { 2, 0, 0 };
+        TrickSolution solution = solver.solve(hands, bets, 0);
+
+        Assert.assertEquals(0, solution.getLoss());
+        Assert.assertEquals(2, solution.getTricks(0));
+        Assert.assertEquals(0, solution.getTricks(1) + solution.getTricks(2));
+    }
+
+    @Test
+    public void testFool() {
+        // The Fool wins or loses the trick, as its player needs
+        int[] hands = { CardSet.of(Card.MAX_VALUE), CardSet.of(10) };
+        TrickSolution win = solver.solve(hands, new int[] { 1, 0 }, 0);
+        Assert.assertEquals(0, win.getLoss());
+        Assert.assertEquals(Card.MAX_VALUE, win.getFoolValue(0));
+
+        TrickSolution lose = solver.solve(hands, new int[] { 0, 0 }, 0);
+        Assert.assertEquals(0, lose.getLoss());
+        Assert.assertEquals(0, lose.getFoolValue(0));
+        Assert.assertEquals(1, lose.getTricks(1));
+    }
+
+    @Test
+    public void testBestLine() {
+        int[] hands = { CardSet.of(3) | CardSet.of(15), CardSet.of(8) | CardSet.of(12) };
+        int[] bets = { 1, 1 };
+        TrickSolution solution = solver.solve(hands, bets, 0);
+
+        // The best line holds every card once and its tricks match the loss
+        int played = 0;
+        for (int card : solution.getPlay()) {
+            played = CardSet.add(played, card);
+        }
+        Assert.assertEquals(hands[0] | hands[1], played);
+        Assert.assertEquals(solution.getLoss(), Math.abs(bets[0] - solution.getTricks(0)));
+        Assert.assertEquals(2, solution.getTricks(0) + solution.getTricks(1));
+    }
+
+    @Test
+    public void testAgainstMinimax() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int test = 0; test < 60; test++) {
+            int numberPlayers = 2 + random.nextInt(3);
+            int numberCards = 1 + random.nextInt(3);
+            int[] hands = deal(random, numberPlayers, numberCards);
+            int[] bets = new int[numberPlayers];
+            for (int i = 0; i < numberPlayers; i++) {
+                bets[i] = random.nextInt(numberCards + 1);
+            }
+            int seat = random.nextInt(numberPlayers);
+
+            int expected = -minimax(hands.clone(), bets, seat, new int[numberPlayers], new int[numberPlayers], 0);
+            TrickSolution solution = solver.solve(hands, bets, seat);
+            Assert.assertEquals(expected, solution.getLoss());
+            // Along the best line, the seat loses exactly what the solver found
+            Assert.assertEquals(expected, Math.abs(bets[seat] - solution.getTricks(seat)));
+        }
+    }
+
+    @Test
+    public void testFullRound() {
+        SplittableRandom random = new SplittableRandom(8);
+        int[] bets = { 1, 2, 0, 1 };
+        long begin = System.nanoTime();
+        for (int test = 0; test < 20; test++) {
+            int[] hands = deal(random, 4, 5);
+            TrickSolution solution = solver.solve(hands, bets, test % 4);
+            Assert.assertTrue(solution.getLoss() >= 0 && solution.getLoss() <= 5);
+        }
+        System.out.println("20 rounds of 4 players and 5 cards solved in "
+                + (System.nanoTime() - begin) / 1_000_000 + " ms");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentHandSizes() {
+        int[] hands = { CardSet.of(3) | CardSet.of(15), CardSet.of(8) };
+        solver.solve(hands, new int[] { 0, 0 }, 0);
+    }
+
+    /**
+     * Plain minimax without any pruning: the seat maximizes, the others minimize.
+     */
+    private static int minimax(int[] hands, int[] bets, int seat, int[] table, int[] tricks, int position) {
+        int numberPlayers = hands.length;
+        if (position == numberPlayers) {
+            int best = Integer.MIN_VALUE;
+            int worst = Integer.MAX_VALUE;
+            int foolPosition = -1;
+            for (int i = 0; i < numberPlayers; i++) {
+                foolPosition = table[i] == Card.MAX_VALUE ? i : foolPosition;
+            }
+            int[] foolValues = foolPosition == -1 ? new int[] { Card.MAX_VALUE } : new int[] { Card.MAX_VALUE, 0 };
+            for (int foolValue : foolValues) {
+                int winner = 0;
+                for (int i = 1; i < numberPlayers; i++) {
+                    int value = table[i] == Card.MAX_VALUE ? foolValue : table[i];
+                    int winnerValue = table[winner] == Card.MAX_VALUE ? foolValue : table[winner];
+                    winner = value > winnerValue ? i : winner;
+                }
+                tricks[winner] += 1;
+                int value = hands[0] == 0 ? -Math.abs(bets[seat] - tricks[seat])
+                        : minimax(hands, bets, seat, new int[numberPlayers], tricks, 0);
+                tricks[winner] -= 1;
+                best = Math.max(best, value);
+                worst = Math.min(worst, value);
+            }
+            return foolPosition == seat || foolPosition == -1 ? best : worst;
+        }
+        int best = Integer.MIN_VALUE;
+        int worst = Integer.MAX_VALUE;
+        for (int cards = hands[position]; cards != 0; cards &= cards - 1) {
+            int card = Integer.numberOfTrailingZeros(cards);
+            hands[position] &= ~(1 << card);
+            table[position] = card;
+            int value = minimax(hands, bets, seat, table, tricks, position + 1);
+            hands[position] |= 1 << card;
+            best = Math.max(best, value);
+            worst = Math.min(worst, value);
+        }
+        return position == seat ? best : worst;
+    }
+
+    private static int[] deal(SplittableRandom random, int numberPlayers, int numberCards) {
+        Deck deck = new Deck();
+        deck.buildDeck();
+        deck.shuffle(random);
+        int[] hands = new int[numberPlayers];
+        for (int i = 0; i < numberPlayers; i++) {
+            for (int j = 0; j < numberCards; j++) {
+                hands[i] = CardSet.add(hands[i], deck.getCard(i * numberCards + j).getValue());
+            }
+        }
+        return hands;
+    }
+}
@@ -0,0 +1,222 @@
+package srctest.analytics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import analytics.Column;
+import analytics.ColumnBatch;
+import analytics.ColumnFile;
+import analytics.ColumnWriter;
+import analytics.Encoding;
+import analytics.RoundCollector;
+import deck.DealSource;
+import game.Game;
+import game.GameListener;
+import game.ListenerGroup;
+import people.Player;
+import simulation.Tournament;
+
+public class TestColumnFile {
+
+    static final int NUMBER_GAMES = 300;
+
+    Path path;
+
+    /**
+     * \brief Rows of the games
+     *
+     * Rows : Write down one row per player alive and per round, as Player
+     * objects tell them.
+     */
+    static class Rows implements GameListener {
+
+        List<int[]> rows = new ArrayList<>();
+        List<int[]> round = new ArrayList<>();
+        int game;
+        int numberDeals;
+
+        @Override
+        public void onGameStart(List<Player> players) {
+            numberDeals = 0;
+        }
+
+        @Override
+        public void onCardsDealt(List<Player> players) {
+            round.clear();
+            for (int position = 0; position < players.size(); position++) {
+                Player player = players.get(position);
+                int[] row = new int[Column.values().length];
+                row[Column.GAME.ordinal()] = game;
+                row[Column.ROUND.ordinal()] = numberDeals;
+                row[Column.NUMBER_CARDS.ordinal()] = player.getNumberCards();
+                row[Column.SEAT.ordinal()] = player.getSeat();
+                row[Column.POSITION.ordinal()] = position;
+                row[Column.CARDS.ordinal()] = player.getCardSet();
+                round.add(row);
+            }
+            numberDeals += 1;
+        }
+
+        @Override
+        public void onRoundResult(Player player, int betTricks, int currentTricks) {
+            int[] row = rowOf(player);
+            row[Column.BET.ordinal()] = betTricks;
+            row[Column.TRICKS.ordinal()] = currentTricks;
+        }
+
+        @Override
+        public void onBlindCall(Player player, boolean win) {
+            rowOf(player)[Column.BET.ordinal()] = win ? 1 : 0;
+        }
+
+        @Override
+        public void onTrickWon(Player winner) {
+            if (round.size() > 0 && rowOf(winner)[Column.NUMBER_CARDS.ordinal()] == 1) {
+                rowOf(winner)[Column.TRICKS.ordinal()] = 1;
+            }
+        }
+
+        @Override
+        public void onLifeLost(Player player, int lifePoints) {
+            rowOf(player)[Column.LIFE_LOST.ordinal()] += lifePoints;
+        }
+
+        @Override
+        public void onRoundEnd() {
+            rows.addAll(round);
+            round = new ArrayList<>();
+        }
+
+        int[] rowOf(Player player) {
+            for (int[] row : round) {
+                if (row[Column.SEAT.ordinal()] == player.getSeat()) {
+                    return row;
+                }
+            }
+            throw new IllegalStateException("No row for " + player.getName());
+        }
+    }
+
+    @Before
+    public void beforeTest() throws IOException {
+        path = Files.createTempFile("rounds", ".col");
+    }
+
+    @After
+    public void afterTest() throws IOException {
+        Files.deleteIfExists(path);
+        System.out.println("Test ColumnFile over");
+    }
+
+    @Test
+    public void testTournamentRows() throws IOException {
+        DealSource deals = new DealSource(13);
+        Rows expected = new Rows();
+        // Small batches, so the games spread over many of them
+        try (ColumnWriter writer = ColumnWriter.open(path, 500)) {
+            RoundCollector collector = new RoundCollector(writer);
+            for (int gameIndex = 0; gameIndex < NUMBER_GAMES; gameIndex++) {
+                collector.setGame(gameIndex);
+                expected.game = gameIndex;
+                Tournament.createGame(deals, gameIndex, new ListenerGroup(expected, collector)).play();
+            }
+            Assert.assertEquals(expected.rows.size(), writer.getNumberRows());
+        }
+
+        ColumnFile file = ColumnFile.open(path);
+        Assert.assertEquals(expected.rows.size(), file.getNumberRows());
+        Assert.assertTrue(file.getNumberBatches() > 1);
+        int row = 0;
+        int[][] values = new int[Column.values().length][];
+        for (int batch = 0; batch < file.getNumberBatches(); batch++) {
+            for (Column column : Column.values()) {
+                values[column.ordinal()] = file.read(batch, column, values[column.ordinal()]);
+            }
+            for (int i = 0; i < file.getBatchRows(batch); i++, row++) {
+                for (Column column : Column.values()) {
+                    Assert.assertEquals(column + " of row " + row, expected.rows.get(row)[column.ordinal()],
+                            values[column.ordinal()][i]);
+                }
+            }
+        }
+        Assert.assertEquals(expected.rows.size(), row);
+        // The games grow slowly, the seats take few values
+        Assert.assertNotEquals(Encoding.PLAIN, file.getEncoding(0, Column.GAME));
+        Assert.assertEquals(Encoding.DICTIONARY, file.getEncoding(0, Column.SEAT));
+
+        long lifeLost = 0;
+        long[] sizes = new long[Game.ROUND_MAX + 1];
+        long bigBets = 0;
+        for (int[] expectedRow : expected.rows) {
+            lifeLost += expectedRow[Column.LIFE_LOST.ordinal()];
+            sizes[expectedRow[Column.NUMBER_CARDS.ordinal()]] += 1;
+            bigBets += expectedRow[Column.BET.ordinal()] >= 2 ? 1 : 0;
+        }
+        Assert.assertEquals(lifeLost, file.sum(Column.LIFE_LOST));
+        Assert.assertArrayEquals(sizes, file.histogram(Column.NUMBER_CARDS, Game.ROUND_MAX + 1));
+        Assert.assertEquals(bigBets, file.count(Column.BET, bet -> bet >= 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> file.histogram(Column.CARDS, 4));
+    }
+
+    @Test
+    public void testEncodings() throws IOException {
+        SplittableRandom random = new SplittableRandom(2);
+        ColumnBatch rows = new ColumnBatch(1);
+        for (int i = 0; i < 3000; i++) {
+            int row = rows.addRow();
+            rows.set(row, Column.GAME, 1000000 + i / 7);
+            rows.set(row, Column.ROUND, 5);
+            rows.set(row, Column.NUMBER_CARDS, random.nextInt(3));
+            rows.set(row, Column.SEAT, random.nextInt(16));
+            rows.set(row, Column.CARDS, random.nextInt());
+            // Differences of a whole int wrap around
+            rows.set(row, Column.TRICKS, i % 2 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+            rows.set(row, Column.LIFE_LOST, -i);
+        }
+        try (ColumnWriter writer = ColumnWriter.open(path, 1000)) {
+            writer.append(rows);
+        }
+        ColumnFile file = ColumnFile.open(path);
+        Assert.assertEquals(3, file.getNumberBatches());
+        Assert.assertEquals(Encoding.DELTA, file.getEncoding(1, Column.GAME));
+        Assert.assertEquals(Encoding.DICTIONARY, file.getEncoding(1, Column.ROUND));
+        Assert.assertEquals(Encoding.DICTIONARY, file.getEncoding(1, Column.NUMBER_CARDS));
+        Assert.assertEquals(Encoding.DICTIONARY, file.getEncoding(1, Column.SEAT));
+        Assert.assertEquals(Encoding.PLAIN, file.getEncoding(1, Column.CARDS));
+        Assert.assertEquals(Encoding.DELTA, file.getEncoding(1, Column.LIFE_LOST));
+        for (int batch = 0; batch < file.getNumberBatches(); batch++) {
+            for (Column column : Column.values()) {
+                int[] values = file.read(batch, column, null);
+                for (int i = 0; i < file.getBatchRows(batch); i++) {
+                    Assert.assertEquals(rows.get(batch * 1000 + i, column), values[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+        Files.write(path, new byte[] { 1, 2, 3 });
+        Assert.assertThrows(IOException.class, () -> ColumnFile.open(path));
+
+        ColumnBatch rows = new ColumnBatch(4);
+        rows.addRow();
+        try (ColumnWriter writer = ColumnWriter.open(path)) {
+            writer.append(rows);
+        }
+        Assert.assertEquals(1, ColumnFile.open(path).getNumberRows());
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        Assert.assertThrows(IOException.class, () -> ColumnFile.open(path));
+    }
+}
@@ -38,21 +38,31 @@ public class TestCard {
 		assertEquals(card3.getName(), "1");
 	}
 
-	@Test
-	public void testSetName() {
-		card1.setName("NewName1");
-		assertEquals(card1.getName(), "NewName1");
-	}
-
 	@Test(expected = CardNameTooLongException.class)
 	public void testBadNameCard() throws CardException, CardNameTooLongException {
 		card4 = new Card("A name that is way too long", 0);
 	}
 
 	@Test
-	public void testSetValue() {
-		card1.setValue(7);
-		assertEquals(card1.getValue(), 7);
+	public void testOf() {
+		assertEquals(Card.of(1), card3);
+		assertEquals(Card.of(Card.MAX_VALUE), card2);
+		// The same card is always returned
+		assertSame(Card.of(7), Card.of(7));
+		assertSame(Card.FOOL, Card.of(Card.MAX_VALUE));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOfWrongValue() {
+		Card.of(Card.MAX_VALUE + 1);
+	}
+
+	@Test
+	public void testAllCards() {
+		assertEquals(Card.MAX_VALUE, Card.ALL_CARDS.size());
+		for (int value = Card.MIN_VALUE; value <= Card.MAX_VALUE; value++) {
+			assertSame(Card.of(value), Card.ALL_CARDS.get(value - 1));
+		}
 	}
 
 	@Test
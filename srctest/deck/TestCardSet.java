@@ -0,0 +1,79 @@
+package srctest.deck;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import deck.Card;
+import deck.CardException;
+import deck.CardNameTooLongException;
+import deck.CardSet;
+
+public class TestCardSet {
+
+    @After
+    public void afterTest() {
+        System.out.println("Test CardSet over");
+    }
+
+    @Test
+    public void testAddRemoveContains() {
+        int set = CardSet.add(CardSet.EMPTY, 7);
+        set = CardSet.add(set, Card.MAX_VALUE);
+
+        Assert.assertTrue(CardSet.contains(set, 7));
+        Assert.assertTrue(CardSet.contains(set, Card.MAX_VALUE));
+        Assert.assertFalse(CardSet.contains(set, 8));
+
+        set = CardSet.remove(set, 7);
+        Assert.assertFalse(CardSet.contains(set, 7));
+        Assert.assertEquals(CardSet.of(Card.MAX_VALUE), set);
+    }
+
+    @Test
+    public void testSize() {
+        Assert.assertEquals(0, CardSet.size(CardSet.EMPTY));
+        Assert.assertEquals(Card.MAX_VALUE, CardSet.size(CardSet.FULL));
+        Assert.assertFalse(CardSet.contains(CardSet.FULL, 0));
+        Assert.assertTrue(CardSet.isEmpty(CardSet.EMPTY));
+    }
+
+    @Test
+    public void testHighestLowest() {
+        int set = CardSet.add(CardSet.add(CardSet.of(3), 12), 5);
+
+        Assert.assertEquals(12, CardSet.highest(set));
+        Assert.assertEquals(3, CardSet.lowest(set));
+        Assert.assertEquals(0, CardSet.highest(CardSet.EMPTY));
+        Assert.assertEquals(CardSet.add(CardSet.of(12), 5), CardSet.removeLowest(set));
+    }
+
+    @Test
+    public void testAboveBelow() {
+        int set = CardSet.add(CardSet.add(CardSet.of(3), 12), 5);
+
+        Assert.assertEquals(CardSet.of(12), CardSet.above(set, 5));
+        Assert.assertEquals(CardSet.of(3), CardSet.below(set, 5));
+        Assert.assertEquals(Card.MAX_VALUE - 10, CardSet.size(CardSet.above(CardSet.FULL, 10)));
+    }
+
+    @Test
+    public void testFromToCards() throws CardException, CardNameTooLongException {
+        List<Card> cards = new ArrayList<>();
+        cards.add(new Card("4", 4));
+        cards.add(new Card("Fool", Card.MAX_VALUE));
+        cards.add(new Card("1", 1));
+        int set = CardSet.fromCards(cards);
+
+        Assert.assertEquals(3, CardSet.size(set));
+        List<Card> cardsExpected = new ArrayList<>();
+        cardsExpected.add(new Card("1", 1));
+        cardsExpected.add(new Card("4", 4));
+        cardsExpected.add(new Card("Fool", Card.MAX_VALUE));
+        Assert.assertEquals(cardsExpected, CardSet.toCards(set));
+        Assert.assertEquals("[1, 4, 22]", CardSet.toString(set));
+    }
+}
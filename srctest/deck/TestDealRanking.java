@@ -0,0 +1,97 @@
+package srctest.deck;
+
+import java.util.SplittableRandom;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import deck.CardSet;
+import deck.DealRanking;
+
+public class TestDealRanking {
+
+    @After
+    public void afterTest() {
+        System.out.println("Test DealRanking over");
+    }
+
+    @Test
+    public void testCount() {
+        Assert.assertEquals(22, new DealRanking(1, 1).count());
+        Assert.assertEquals(22L * 21 * 20, new DealRanking(3, 1).count());
+        Assert.assertEquals(26334L * 6188 * 792 * 21, new DealRanking(4, 5).count());
+        Assert.assertEquals(1, new DealRanking(3, 0).count());
+        Assert.assertThrows(IllegalArgumentException.class, () -> new DealRanking(5, 5));
+        // 22! doesn't fit in a long
+        Assert.assertThrows(IllegalArgumentException.class, () -> new DealRanking(22, 1));
+    }
+
+    @Test
+    public void testEveryDeal() {
+        // Every rank gives a different deal, which gets its rank back
+        DealRanking ranking = new DealRanking(2, 2);
+        int[] hands = new int[2];
+        boolean[] seen = new boolean[1 << 22];
+        for (long rank = 0; rank < ranking.count(); rank++) {
+            ranking.unrank(rank, hands);
+            Assert.assertEquals(2, CardSet.size(hands[0]));
+            Assert.assertEquals(2, CardSet.size(hands[1]));
+            Assert.assertEquals(0, hands[0] & hands[1]);
+            Assert.assertEquals(0, (hands[0] | hands[1]) & ~CardSet.FULL);
+            int key = DealRanking.rankSubset(hands[0] >>> 1) * 256 + DealRanking.rankSubset(hands[1] >>> 1);
+            Assert.assertFalse(seen[key]);
+            seen[key] = true;
+            Assert.assertEquals(rank, ranking.rank(hands));
+        }
+    }
+
+    @Test
+    public void testRandomDeals() {
+        SplittableRandom random = new SplittableRandom(17);
+        int[][] shapes = { { 4, 5 }, { 5, 4 }, { 3, 7 }, { 11, 2 } };
+        for (int[] shape : shapes) {
+            DealRanking ranking = new DealRanking(shape[0], shape[1]);
+            int[] hands = new int[shape[0]];
+            int[] back = new int[shape[0]];
+            for (int test = 0; test < 1000; test++) {
+                long rank = random.nextLong(ranking.count());
+                ranking.unrank(rank, hands);
+                Assert.assertEquals(rank, ranking.rank(hands));
+                ranking.unrank(ranking.rank(hands), back);
+                Assert.assertArrayEquals(hands, back);
+                int dealt = CardSet.FULL & ~ranking.rest(hands);
+                Assert.assertEquals(shape[0] * shape[1], CardSet.size(dealt));
+            }
+            ranking.unrank(ranking.count() - 1, hands);
+            Assert.assertEquals(ranking.count() - 1, ranking.rank(hands));
+        }
+    }
+
+    @Test
+    public void testSubsets() {
+        // Colexicographic order: {0, 1}, {0, 2}, {1, 2}, {0, 3}...
+        Assert.assertEquals(0, DealRanking.rankSubset(0b0011));
+        Assert.assertEquals(1, DealRanking.rankSubset(0b0101));
+        Assert.assertEquals(2, DealRanking.rankSubset(0b0110));
+        Assert.assertEquals(3, DealRanking.rankSubset(0b1001));
+        for (int rank = 0; rank < DealRanking.binomial(22, 3); rank++) {
+            Assert.assertEquals(rank, DealRanking.rankSubset(DealRanking.unrankSubset(rank, 3)));
+        }
+        Assert.assertEquals(0, DealRanking.binomial(3, 4));
+        Assert.assertEquals(705432, DealRanking.binomial(22, 11));
+    }
+
+    @Test
+    public void testInvalid() {
+        DealRanking ranking = new DealRanking(3, 2);
+        int[] shared = { CardSet.of(1) | CardSet.of(2), CardSet.of(2) | CardSet.of(3), CardSet.of(4) | CardSet.of(5) };
+        Assert.assertThrows(IllegalArgumentException.class, () -> ranking.rank(shared));
+        int[] small = { CardSet.of(1), CardSet.of(2) | CardSet.of(3), CardSet.of(4) | CardSet.of(5) };
+        Assert.assertThrows(IllegalArgumentException.class, () -> ranking.rank(small));
+        int[] zero = { 1 | CardSet.of(2), CardSet.of(6) | CardSet.of(3), CardSet.of(4) | CardSet.of(5) };
+        Assert.assertThrows(IllegalArgumentException.class, () -> ranking.rank(zero));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ranking.unrank(-1, new int[3]));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ranking.unrank(ranking.count(), new int[3]));
+    }
+}
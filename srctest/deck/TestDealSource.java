@@ -0,0 +1,71 @@
+package srctest.deck;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import deck.Card;
+import deck.CardSet;
+import deck.DealSource;
+import deck.Deck;
+
+public class TestDealSource {
+
+    static final long SEED = 2024;
+
+    DealSource dealSource;
+    Deck deck;
+
+    @Before
+    public void beforeTest() {
+        dealSource = new DealSource(SEED);
+        deck = new Deck();
+    }
+
+    @After
+    public void afterTest() {
+        System.out.println("Test DealSource over");
+    }
+
+    /**
+     * \brief Cards of a deal
+     * deal(DealSource source, long dealIndex): Return the cards of the deck after
+     * shuffling it as the deal dealIndex.
+     */
+    List<Card> deal(DealSource source, long dealIndex) {
+        source.shuffle(deck, dealIndex);
+        return new ArrayList<>(deck.getCompleteDeck());
+    }
+
+    @Test
+    public void testSameDeal() {
+        List<Card> deal = deal(dealSource, 7);
+        // Other deals in between don't change the deal 7
+        deal(dealSource, 3);
+        Assert.assertEquals(deal, deal(dealSource, 7));
+        Assert.assertEquals(deal, deal(new DealSource(SEED), 7));
+    }
+
+    @Test
+    public void testDifferentDeals() {
+        Assert.assertNotEquals(deal(dealSource, 0), deal(dealSource, 1));
+        Assert.assertNotEquals(deal(dealSource, 0), deal(new DealSource(SEED + 1), 0));
+    }
+
+    @Test
+    public void testDealIsComplete() {
+        deal(dealSource, 1_000_000_000L);
+        Assert.assertEquals(Card.MAX_VALUE, deck.getSize());
+        Assert.assertEquals(CardSet.FULL, deck.getCardSet());
+    }
+
+    @Test
+    public void testForGame() {
+        Assert.assertEquals(dealSource.forGame(5).getSeed(), new DealSource(SEED).forGame(5).getSeed());
+        Assert.assertNotEquals(dealSource.forGame(5).getSeed(), dealSource.forGame(6).getSeed());
+    }
+}
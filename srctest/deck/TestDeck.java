@@ -14,6 +14,7 @@ import org.hamcrest.MatcherAssert;
 import deck.Card;
 import deck.CardException;
 import deck.CardNameTooLongException;
+import deck.CardSet;
 import deck.Deck;
 import deck.RemovingTooManyCards;
 
@@ -47,6 +48,17 @@ public class TestDeck {
         }
     }
 
+    @Test
+    public void testBuildDeckWithFool() {
+        deck.buildDeck();
+        Assert.assertEquals(Card.MAX_VALUE, deck.getSize());
+        Assert.assertTrue(deck.getCompleteDeck().contains(Card.FOOL));
+        // Building again gives the same shared cards
+        Card firstCard = deck.getCard(0);
+        deck.buildDeck();
+        Assert.assertSame(firstCard, deck.getCard(0));
+    }
+
     @Test
     public void testShuffleDeck() {
         shuffledDeck.buildDeck();
@@ -93,4 +105,42 @@ public class TestDeck {
 
         Assert.assertTrue(cardsRemoved.equals(cardsExpected));
     }
+
+    @Test
+    public void testDealCard() throws RemovingTooManyCards {
+        Card cardExpected = builtDeck.getCard(builtDeck.getSize() - 1);
+        Card cardDealt = builtDeck.dealCard();
+
+        Assert.assertEquals(cardExpected, cardDealt);
+        Assert.assertEquals(Card.MAX_VALUE - 1, builtDeck.getSize());
+    }
+
+    @Test(expected = RemovingTooManyCards.class)
+    public void testDealCardEmptyDeck() throws RemovingTooManyCards {
+        deck.dealCard();
+    }
+
+    @Test
+    public void testDealCardSet() throws RemovingTooManyCards {
+        int setExpected = CardSet.add(CardSet.of(builtDeck.getCard(builtDeck.getSize() - 1).getValue()),
+                builtDeck.getCard(builtDeck.getSize() - 2).getValue());
+        int setDealt = builtDeck.dealCardSet(2);
+
+        Assert.assertEquals(setExpected, setDealt);
+        Assert.assertEquals(CardSet.FULL, setDealt | builtDeck.getCardSet());
+    }
+
+    @Test
+    public void testRewind() throws RemovingTooManyCards {
+        builtDeck.shuffle();
+        builtDeck.removeCards(5);
+        builtDeck.removeCard(3);
+        builtDeck.dealCard();
+
+        builtDeck.rewind();
+
+        // Every card is back in the deck
+        Assert.assertEquals(Card.MAX_VALUE, builtDeck.getSize());
+        Assert.assertEquals(CardSet.FULL, builtDeck.getCardSet());
+    }
 }
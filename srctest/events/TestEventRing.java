@@ -0,0 +1,302 @@
+package srctest.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import deck.DealSource;
+import events.EventConsumer;
+import events.EventMetrics;
+import events.EventProcessor;
+import events.EventPublisher;
+import events.EventRing;
+import events.GameEvent;
+import events.GameEventType;
+import events.ListenerConsumer;
+import events.SyncedController;
+import game.Game;
+import game.GameListener;
+import game.ListenerGroup;
+import game.Trick;
+import people.Player;
+import replay.GameRecorder;
+import replay.GameReplayer;
+import simulation.RandomController;
+import simulation.Tournament;
+import simulation.TournamentStats;
+
+public class TestEventRing {
+
+    static final int NUMBER_GAMES = 200;
+
+    List<EventProcessor> processors;
+
+    @Before
+    public void beforeTest() {
+        processors = new ArrayList<>();
+    }
+
+    @After
+    public void afterTest() {
+        for (EventProcessor processor : processors) {
+            processor.close();
+        }
+        System.out.println("Test EventRing over");
+    }
+
+    @Test
+    public void testListenersBehindRing() throws Exception {
+        // The ring holds the events of every game, the processors can't be lapped
+        EventRing ring = new EventRing(1 << 16);
+        EventPublisher publisher = new EventPublisher(ring);
+        // The same listeners on the thread of the games and on the threads of the ring
+        List<byte[]> records = new ArrayList<>();
+        GameRecorder recorder = new GameRecorder(records::add);
+        TournamentStats stats = new TournamentStats();
+        List<byte[]> ringRecords = Collections.synchronizedList(new ArrayList<>());
+        TournamentStats ringStats = new TournamentStats();
+        EventMetrics metrics = new EventMetrics();
+        EventProcessor replayer = EventProcessor.start(ring,
+                new ListenerConsumer(new ListenerGroup(new GameRecorder(ringRecords::add), ringStats)), "recorder");
+        EventProcessor counter = EventProcessor.start(ring, metrics, "metrics");
+        processors.add(replayer);
+        processors.add(counter);
+
+        DealSource deals = new DealSource(5);
+        for (int gameIndex = 0; gameIndex < NUMBER_GAMES; gameIndex++) {
+            Tournament.createGame(deals, gameIndex, new ListenerGroup(recorder, stats, publisher)).play();
+        }
+        Assert.assertTrue(replayer.await(ring.getCursor(), 5, TimeUnit.SECONDS));
+        Assert.assertTrue(counter.await(ring.getCursor(), 5, TimeUnit.SECONDS));
+
+        Assert.assertEquals(NUMBER_GAMES, ringRecords.size());
+        for (int gameIndex = 0; gameIndex < NUMBER_GAMES; gameIndex++) {
+            Assert.assertArrayEquals(records.get(gameIndex), ringRecords.get(gameIndex));
+        }
+        Assert.assertEquals(stats.getNumberRounds(), ringStats.getNumberRounds());
+        Assert.assertEquals(stats.getAverageLifeLost(3), ringStats.getAverageLifeLost(3), 0);
+        Assert.assertEquals(ring.getCursor() + 1, metrics.getNumberEvents());
+        Assert.assertEquals(NUMBER_GAMES, metrics.getCount(GameEventType.GAME_OVER));
+        Assert.assertEquals(stats.getNumberRounds(), metrics.getCount(GameEventType.ROUND_START));
+        Assert.assertEquals(0, metrics.getNumberLost());
+        Assert.assertEquals(0, replayer.getNumberLost());
+        Assert.assertTrue(metrics.getNumberBatches() <= counter.getNumberBatches());
+    }
+
+    @Test
+    public void testLappedRecorder() throws Exception {
+        EventRing ring = new EventRing(256);
+        EventPublisher publisher = new EventPublisher(ring);
+        List<byte[]> records = new ArrayList<>();
+        GameRecorder recorder = new GameRecorder(records::add);
+        List<byte[]> ringRecords = Collections.synchronizedList(new ArrayList<>());
+        int[] abandoned = new int[1];
+        // A recorder too slow to keep up with the games
+        GameRecorder slowRecorder = new GameRecorder(ringRecords::add) {
+            @Override
+            public void onCardsPlayed(Trick trick) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                super.onCardsPlayed(trick);
+            }
+
+            @Override
+            public void onGameAbandoned() {
+                abandoned[0] += 1;
+                super.onGameAbandoned();
+            }
+        };
+        EventProcessor processor = EventProcessor.start(ring, new ListenerConsumer(slowRecorder), "slow recorder");
+        processors.add(processor);
+
+        DealSource deals = new DealSource(3);
+        for (int gameIndex = 0; gameIndex < 50; gameIndex++) {
+            Tournament.createGame(deals, gameIndex, new ListenerGroup(recorder, publisher)).play();
+        }
+        processor.close();
+
+        Assert.assertTrue(processor.getNumberLost() > 0);
+        Assert.assertTrue(abandoned[0] > 0);
+        Assert.assertEquals(0, processor.getNumberFailed());
+        // The games lapped are left out, the ones recorded are whole
+        Assert.assertTrue(ringRecords.size() < records.size());
+        int gameIndex = 0;
+        for (byte[] record : ringRecords) {
+            while (!Arrays.equals(records.get(gameIndex), record)) {
+                gameIndex += 1;
+                Assert.assertTrue(gameIndex < records.size());
+            }
+            new GameReplayer(record).replay();
+        }
+    }
+
+    @Test
+    public void testStartMidGame() throws Exception {
+        EventRing ring = new EventRing(1 << 16);
+        EventPublisher publisher = new EventPublisher(ring);
+        List<byte[]> records = new ArrayList<>();
+        GameRecorder recorder = new GameRecorder(records::add);
+        List<byte[]> ringRecords = Collections.synchronizedList(new ArrayList<>());
+        EventProcessor[] processor = new EventProcessor[1];
+        // The processor starts during the first round of the first game
+        GameListener starter = new GameListener() {
+            @Override
+            public void onRoundStart(int numberRound) {
+                if (processor[0] == null) {
+                    processor[0] = EventProcessor.start(ring, new ListenerConsumer(new GameRecorder(ringRecords::add)),
+                            "late recorder");
+                    processors.add(processor[0]);
+                }
+            }
+        };
+
+        DealSource deals = new DealSource(4);
+        for (int gameIndex = 0; gameIndex < 10; gameIndex++) {
+            Tournament.createGame(deals, gameIndex, new ListenerGroup(recorder, starter, publisher)).play();
+        }
+        Assert.assertTrue(processor[0].await(ring.getCursor(), 5, TimeUnit.SECONDS));
+
+        // The first game is skipped, not replayed from the middle
+        Assert.assertEquals(0, processor[0].getNumberFailed());
+        Assert.assertEquals(9, ringRecords.size());
+        for (int gameIndex = 1; gameIndex < 10; gameIndex++) {
+            Assert.assertArrayEquals(records.get(gameIndex), ringRecords.get(gameIndex - 1));
+        }
+    }
+
+    @Test
+    public void testSyncedController() throws Exception {
+        EventRing ring = new EventRing();
+        long[] gameNumber = { -1 };
+        // A display slower than the game, counting the events it showed
+        EventProcessor display = EventProcessor.start(ring, new ListenerConsumer(new GameListener() {
+            @Override
+            public void onGameNumber(long game, DealSource deals) {
+                gameNumber[0] = game;
+            }
+
+            @Override
+            public void onCardsPlayed(Trick trick) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            }
+        }), "display");
+        processors.add(display);
+        int[] decisions = new int[1];
+        RandomController bots = new RandomController(new SplittableRandom(6)) {
+            @Override
+            public int chooseCard(Player player, Trick trick) {
+                // Every event published before the question was shown
+                Assert.assertEquals(ring.getCursor(), display.getProcessed());
+                decisions[0] += 1;
+                return super.chooseCard(player, trick);
+            }
+        };
+
+        Game game = new Game(new SyncedController(bots, ring, display), new EventPublisher(ring));
+        game.setDealSource(new DealSource(6).forGame(7));
+        game.setNumber(7);
+        game.start();
+        display.close();
+
+        Assert.assertTrue(decisions[0] > 0);
+        Assert.assertEquals(0, display.getNumberLost());
+        Assert.assertEquals(ring.getCursor(), display.getProcessed());
+        Assert.assertEquals(7, gameNumber[0]);
+    }
+
+    @Test
+    public void testFailingConsumer() throws Exception {
+        EventRing ring = new EventRing(64);
+        EventPublisher publisher = new EventPublisher(ring);
+        List<Integer> failed = Collections.synchronizedList(new ArrayList<>());
+        EventProcessor processor = EventProcessor.start(ring, new EventConsumer() {
+            @Override
+            public void onEvent(GameEvent event, boolean endOfBatch) {
+                if (event.getValue() % 2 == 1) {
+                    throw new IllegalStateException("Odd round");
+                }
+            }
+
+            @Override
+            public void onFailure(GameEvent event, RuntimeException exception) {
+                failed.add(event.getValue());
+            }
+        }, "failing");
+        processors.add(processor);
+
+        for (int round = 0; round < 40; round++) {
+            publisher.onRoundStart(round);
+        }
+        // Every event is handled, the exceptions don't stop the processor
+        Assert.assertTrue(processor.await(39, 5, TimeUnit.SECONDS));
+        Assert.assertEquals(20, processor.getNumberFailed());
+        Assert.assertEquals(20, failed.size());
+        for (int value : failed) {
+            Assert.assertEquals(1, value % 2);
+        }
+    }
+
+    @Test
+    public void testSlowConsumer() throws Exception {
+        EventRing ring = new EventRing(16);
+        EventPublisher publisher = new EventPublisher(ring);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> rounds = new ArrayList<>();
+        long[] lost = new long[1];
+        EventProcessor processor = EventProcessor.start(ring, new EventConsumer() {
+            @Override
+            public void onEvent(GameEvent event, boolean endOfBatch) {
+                rounds.add(event.getValue());
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void onLost(long numberEvents) {
+                lost[0] += numberEvents;
+            }
+        }, "slow");
+        processors.add(processor);
+
+        publisher.onRoundStart(0);
+        Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        // The consumer is stuck, the game goes on and writes over its events
+        for (int round = 1; round < 100; round++) {
+            publisher.onRoundStart(round);
+        }
+        release.countDown();
+        processor.close();
+        processors.clear();
+
+        Assert.assertEquals(99, ring.getCursor());
+        Assert.assertEquals(99, processor.getProcessed());
+        Assert.assertTrue(lost[0] > 0);
+        Assert.assertEquals(lost[0], processor.getNumberLost());
+        Assert.assertEquals(100, rounds.size() + lost[0]);
+        // The events read are in order, up to the last one
+        for (int i = 1; i < rounds.size(); i++) {
+            Assert.assertTrue(rounds.get(i) > rounds.get(i - 1));
+        }
+        Assert.assertEquals(99, (int) rounds.get(rounds.size() - 1));
+    }
+
+    @Test
+    public void testInvalidRing() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new EventRing(12));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new EventRing(0));
+    }
+}
@@ -0,0 +1,125 @@
+package srctest.game;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import ai.ExpectedTricksController;
+import deck.Card;
+import deck.CardSet;
+import deck.DealSource;
+import game.ExpectedTricksTable;
+import game.Game;
+import game.GameListener;
+import game.ListenerGroup;
+import people.Player;
+
+public class TestExpectedTricksTable {
+
+    static final double DELTA = 1.0 / 0xffff;
+
+    static ExpectedTricksTable table;
+
+    @BeforeClass
+    public static void beforeClass() {
+        table = ExpectedTricksTable.build(64, 2, 3);
+    }
+
+    @After
+    public void afterTest() {
+        System.out.println("Test ExpectedTricksTable over");
+    }
+
+    @Test
+    public void testOneCard() {
+        // Between two players, every card of the opponent is tried: 11 beats 10 of the 21 others
+        int hand = CardSet.of(11);
+        for (int position = 0; position < 2; position++) {
+            Assert.assertEquals(10.0 / 21, table.probability(hand, position, 2, 1), DELTA);
+            Assert.assertEquals(11.0 / 21, table.probability(hand, position, 2, 0), DELTA);
+            Assert.assertEquals(10.0 / 21, table.expectedTricks(hand, position, 2), DELTA);
+        }
+        // Nothing beats the Fool
+        Assert.assertEquals(1.0, table.expectedTricks(CardSet.of(Card.MAX_VALUE), 3, 4), DELTA);
+    }
+
+    @Test
+    public void testDistribution() {
+        int hand = CardSet.of(3) | CardSet.of(9) | CardSet.of(14) | CardSet.of(20);
+        double sum = 0;
+        double expected = 0;
+        for (int tricks = 0; tricks <= 4; tricks++) {
+            sum += table.probability(hand, 1, 3, tricks);
+            expected += tricks * table.probability(hand, 1, 3, tricks);
+        }
+        Assert.assertEquals(1.0, sum, 5 * DELTA);
+        Assert.assertEquals(expected, table.expectedTricks(hand, 1, 3), 5 * DELTA);
+        Assert.assertEquals(0.0, table.probability(hand, 1, 3, 5), 0.0);
+    }
+
+    @Test
+    public void testSuggestBet() {
+        // The two highest cards win both tricks, but the last bettor can't bet 2 after a total of 0
+        int hand = CardSet.of(21) | CardSet.of(Card.MAX_VALUE);
+        Assert.assertEquals(2, table.suggestBet(hand, 0, 4, 0, false));
+        Assert.assertEquals(1, table.suggestBet(hand, 3, 4, 0, true));
+        Assert.assertEquals(0, table.suggestBet(CardSet.of(1) | CardSet.of(2), 3, 4, 1, true));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        Path path = Files.createTempFile("expected", ".bin");
+        try {
+            table.save(path);
+            ExpectedTricksTable loaded = ExpectedTricksTable.load(path);
+            Assert.assertEquals(table.getSeed(), loaded.getSeed());
+            Assert.assertEquals(table.getSamples(), loaded.getSamples());
+            int hand = CardSet.of(2) | CardSet.of(7) | CardSet.of(19);
+            Assert.assertEquals(table.expectedTricks(hand, 2, 4), loaded.expectedTricks(hand, 2, 4), 0.0);
+
+            Files.write(path, new byte[] { 1, 2, 3 });
+            Assert.assertThrows(IOException.class, () -> ExpectedTricksTable.load(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testInvalidHand() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> table.expectedTricks(CardSet.EMPTY, 0, 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> table.expectedTricks(CardSet.of(4), 2, 2));
+    }
+
+    @Test
+    public void testGameSuggestions() throws Exception {
+        // The bot bets what the game suggests
+        Map<Player, Integer> suggestions = new IdentityHashMap<>();
+        ExpectedTricksController bot = new ExpectedTricksController(new DealSource(5));
+        GameListener recorder = new GameListener() {
+            @Override
+            public void onBetSuggestion(Player player, int bet, double expectedTricks) {
+                suggestions.put(player, bet);
+            }
+
+            @Override
+            public void onRoundResult(Player player, int betTricks, int currentTricks) {
+                Assert.assertEquals(suggestions.get(player).intValue(), betTricks);
+            }
+        };
+        Game game = new Game(bot, new ListenerGroup(bot, recorder));
+        game.setDealSource(new DealSource(5));
+        game.setExpectedTricks(table);
+        game.setPlayers(List.of(new Player("Seat0"), new Player("Seat1"), new Player("Seat2"), new Player("Seat3")));
+
+        game.play();
+        Assert.assertFalse(suggestions.isEmpty());
+    }
+}
@@ -5,7 +5,6 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -17,6 +16,9 @@ import deck.Deck;
 import deck.RemovingTooManyCards;
 import game.BadNumberOfPlayersException;
 import game.Game;
+import game.GameListener;
+import game.SeatController;
+import game.Trick;
 import game.NotEnoughCardsInDeckException;
 import people.NegativeLifeValueException;
 import people.Player;
@@ -116,6 +118,73 @@ public class TestGame {
         player4.addCard(card4);
     }
 
+    /**
+     * \brief Controller always taking the first choice
+     * FirstChoiceController: bet 0 (or 1 when 0 is forbidden), play the first
+     * card, bet to lose the last round and give 22 to the Fool.
+     */
+    static class FirstChoiceController implements SeatController {
+        int numberDecisions = 0;
+
+        @Override
+        public String chooseName() {
+            numberDecisions += 1;
+            return "Bot" + numberDecisions;
+        }
+
+        @Override
+        public int chooseBet(Player player, int numberRound, int totalBet, boolean lastBettor) {
+            numberDecisions += 1;
+            return totalBet == numberRound && lastBettor ? 1 : 0;
+        }
+
+        @Override
+        public int chooseCard(Player player, Trick trick) {
+            numberDecisions += 1;
+            return 1;
+        }
+
+        @Override
+        public boolean chooseLastRound(Player player, Trick opponents) {
+            numberDecisions += 1;
+            return false;
+        }
+
+        @Override
+        public int chooseFoolValue(Player player, Card card) {
+            numberDecisions += 1;
+            return 22;
+        }
+    }
+
+    @Test
+    public void testHeadlessGame() {
+        FirstChoiceController controller = new FirstChoiceController();
+        Game headlessGame = new Game(controller, new GameListener() {
+        });
+
+        // Names, rounds and the end of the game only come from the controller
+        headlessGame.start();
+
+        Assert.assertEquals(Game.NUMBER_PLAYERS, headlessGame.getNumberPlayers());
+        Assert.assertTrue(headlessGame.isVictory());
+        Assert.assertTrue(controller.numberDecisions > Game.NUMBER_PLAYERS);
+    }
+
+    @Test
+    public void testSetSeatController() {
+        FirstChoiceController controller = new FirstChoiceController();
+        game.setSeatController(player1, controller);
+        player1.addCard(card1);
+
+        Card cardPlayed = game.playOnePlayer(player1, game.getTrick());
+
+        // The card was chosen by the controller of the seat and not by the console
+        Assert.assertEquals(card1, cardPlayed);
+        Assert.assertEquals(controller, game.getSeatController(player1));
+        Assert.assertNotEquals(controller, game.getSeatController(player2));
+    }
+
     @Test
     public void testConstructor() {
         Game gameInit = new Game();
@@ -211,16 +280,18 @@ public class TestGame {
     }
 
     @Test
-    public void testGetFoolPlayer() {
-        Assert.assertEquals(game.getFoolPlayer(), new HashMap<Player, Card>());
+    public void testGetTrick() {
+        Trick trick = game.getTrick();
+        Assert.assertEquals(0, trick.getNumberCards());
+        Assert.assertEquals(Trick.NO_VALUE, trick.getFoolSeat());
     }
 
     @Test
-    public void testSetFoolPlayer() {
-        game.setFoolPlayer(player1, fool);
-        HashMap<Player, Card> expectedFoolPlayer = new HashMap<>();
-        expectedFoolPlayer.put(player1, fool);
-        Assert.assertEquals(game.getFoolPlayer(), expectedFoolPlayer);
+    public void testSetPlayersSeats() {
+        // The seat of a player is their index in the game
+        Assert.assertEquals(0, player1.getSeat());
+        Assert.assertEquals(3, player4.getSeat());
+        Assert.assertEquals(player4.getSeat(), game.getPlayerAlive(3).getSeat());
     }
 
     @Test
@@ -309,8 +380,8 @@ public class TestGame {
 
         // Only created to allow playOnePlayer to run as needed as parameter
         // Does not matter which value is inside and is not used for testing purpose
-        HashMap<Player, Card> cardsPlayed = new HashMap<>();
-        cardsPlayed.put(player2, card2);
+        Trick cardsPlayed = new Trick(Game.NUMBER_PLAYERS);
+        cardsPlayed.play(player2, card2);
 
         // It works because every player1 is a shallow copy inside the list in the game
         Card cardExpected = player1.getCard(indexCard);
@@ -334,10 +405,9 @@ public class TestGame {
         Assert.assertEquals(cardExpected, cardPlayed);
         // Check if the card is no longer in the hand of the player
         Assert.assertFalse(game.getPlayer(indexPlayer).containsCard(cardPlayed));
-        // Check if the fool card and the player is stored by the game
-        HashMap<Player, Card> expectedFoolPlayer = new HashMap<>();
-        expectedFoolPlayer.put(player1, fool);
-        Assert.assertEquals(game.getFoolPlayer(), expectedFoolPlayer);
+        // Check if the seat who played the fool card is stored by the trick
+        Assert.assertEquals(player1.getSeat(), cardsPlayed.getFoolSeat());
+        Assert.assertEquals(fool, cardsPlayed.getCardOfSeat(player1.getSeat()));
     }
 
     @Test
@@ -351,20 +421,21 @@ public class TestGame {
         initPlayersCards();
 
         int indexCard = 0;
-        HashMap<Player, Card> cardExpected = new HashMap<>();
+        Card[] cardExpected = new Card[Game.NUMBER_PLAYERS];
         // Each player should play the only card they have in their hand
         for (Player player : players) {
-            cardExpected.put(player, player.getCard(indexCard));
+            cardExpected[player.getSeat()] = player.getCard(indexCard);
         }
 
         // Every player play one card
-        Map<Player, Card> cardPlayed = game.playAllPlayers();
+        Trick cardPlayed = game.playAllPlayers();
 
         // Check if the card returned is the card played
-        Assert.assertEquals(cardExpected, cardPlayed);
-        for (var entry : cardPlayed.entrySet()) {
-            Player currentPlayer = entry.getKey();
-            Card currentCard = entry.getValue();
+        Assert.assertEquals(players.size(), cardPlayed.getNumberCards());
+        for (int index = 0; index < cardPlayed.getNumberCards(); index++) {
+            Player currentPlayer = cardPlayed.getPlayer(index);
+            Card currentCard = cardPlayed.getCard(index);
+            Assert.assertEquals(cardExpected[cardPlayed.getSeat(index)], currentCard);
             // Check if the card is no longer in the hand of the player
             Assert.assertFalse(currentPlayer.containsCard(currentCard));
         }
@@ -374,25 +445,13 @@ public class TestGame {
     public void testPlayOnePlayerLastRound() {
         // Valid input
         initGameWithInput("\n \n 1 \n");
-        HashMap<Player, List<Card>> opponentsCards = new HashMap<>();
-
-        ArrayList<Card> card1List = new ArrayList<>();
-        card1List.add(card1);
-        ArrayList<Card> card2List = new ArrayList<>();
-        card1List.add(card2);
-        ArrayList<Card> card3List = new ArrayList<>();
-        card1List.add(card3);
-        ArrayList<Card> card4List = new ArrayList<>();
-        card1List.add(card4);
-
-        opponentsCards.put(player1, card1List);
-        opponentsCards.put(player2, card2List);
-        opponentsCards.put(player3, card3List);
-        opponentsCards.put(player4, card4List);
-
-        HashMap<Player, Boolean> opponentsDecisions = new HashMap<>();
-        opponentsDecisions.put(player1, true);
-        Boolean decisionTaken = game.playOnePlayerLastRound(player2, opponentsCards, opponentsDecisions);
+        Trick opponents = new Trick(Game.NUMBER_PLAYERS);
+        opponents.play(player1, card1);
+        opponents.play(player3, card3);
+        opponents.play(player4, card4);
+        opponents.decide(player1, true);
+
+        Boolean decisionTaken = game.playOnePlayerLastRound(player2, opponents);
         Boolean decisionExpected = false;
 
         // Check if the decision the player took is the one returned
@@ -400,7 +459,7 @@ public class TestGame {
 
         // Invalid and valid inputs
         initGameWithInput("\n \n 3 string & 1 \n");
-        decisionTaken = game.playOnePlayerLastRound(player2, opponentsCards, opponentsDecisions);
+        decisionTaken = game.playOnePlayerLastRound(player2, opponents);
 
         // Check if the decision the player took is the one returned
         Assert.assertEquals(decisionTaken, decisionExpected);
@@ -410,14 +469,14 @@ public class TestGame {
     public void testBuildOpponentsCards() {
         initPlayersCards();
         // Cards opponents have in their hands
-        Map<Player, List<Card>> opponentsCards = game.buildOpponentsCards(player1, playerGroup);
+        Trick opponentsCards = game.buildOpponentsCards(player1, playerGroup);
 
         // Check if among the cards, there is not the card of the player displayed
-        Assert.assertFalse(opponentsCards.containsKey(player1));
-        Assert.assertFalse(opponentsCards.containsValue(player1.getCards()));
+        Assert.assertEquals(playerGroup.getNumberPlayers() - 1, opponentsCards.getNumberCards());
+        Assert.assertNull(opponentsCards.getCardOfSeat(player1.getSeat()));
         // Check if among the cards, there is those of one of the opponents
-        Assert.assertTrue(opponentsCards.containsKey(player2));
-        Assert.assertTrue(opponentsCards.containsValue(player2.getCards()));
+        Assert.assertEquals(player2.getCard(0), opponentsCards.getCardOfSeat(player2.getSeat()));
+        Assert.assertEquals(player2, opponentsCards.getPlayerOfSeat(player2.getSeat()));
     }
 
     @Test
@@ -436,14 +495,14 @@ public class TestGame {
         // 1 is a valid input
         // \n is for simulating enter input
         initGameWithInput("\n \n 3 string & 0 \n \n 2 string & 1 \n \n 1 \n \n 1 \n");
-        Map<Player, Boolean> results = game.playAllPlayersLastRound();
+        Trick results = game.playAllPlayersLastRound();
 
-        for (Map.Entry<Player, Boolean> entry : resultsExpected.entrySet()) {
-            Boolean resultValue = results.get(entry.getKey());
+        for (var entry : resultsExpected.entrySet()) {
+            int seat = entry.getKey().getSeat();
             // Check if every player have made a decision
-            Assert.assertNotNull(resultValue);
+            Assert.assertTrue(results.hasDecided(seat));
             // Check if the decision returned is the one in the input
-            Assert.assertEquals(resultValue, entry.getValue());
+            Assert.assertEquals(results.getDecision(seat), entry.getValue());
         }
     }
 
@@ -485,6 +544,30 @@ public class TestGame {
         Assert.assertEquals(player4.getBetTricks(), expectedBetPlayer4);
     }
 
+    @Test
+    public void testPlaceBet() {
+        int numberRound = 3;
+        Assert.assertTrue(game.placeBet(player1, 1, numberRound, 0, false));
+        Assert.assertEquals(1, player1.getBetTricks());
+        // The last bettor can't make the total equal to the number of cards
+        Assert.assertFalse(game.placeBet(player4, 1, numberRound, 2, true));
+        Assert.assertEquals(0, player4.getBetTricks());
+        Assert.assertTrue(game.placeBet(player4, 1, numberRound, 2, false));
+        Assert.assertTrue(game.placeBet(player3, 0, numberRound, 2, true));
+        Assert.assertFalse(game.placeBet(player2, -1, numberRound, 0, false));
+        Assert.assertEquals(0, player2.getBetTricks());
+    }
+
+    @Test
+    public void testNextRound() {
+        Assert.assertEquals(Game.ROUND_MAX - 1, game.nextRound(Game.ROUND_MAX));
+        Assert.assertEquals(player1, game.getPlayerAlive(0));
+        Assert.assertEquals(1, game.nextRound(2));
+        // After the round of one card, the next player begins a new cycle
+        Assert.assertEquals(Game.ROUND_MAX, game.nextRound(1));
+        Assert.assertEquals(player2, game.getPlayerAlive(0));
+    }
+
     @Test
     public void testEvaluateRound() {
         int rightBet = 2;
@@ -544,11 +627,11 @@ public class TestGame {
 
     @Test
     public void testEvaluateCards() {
-        HashMap<Player, Card> cardsPlayed = new HashMap<>();
-        cardsPlayed.put(player1, card1);
-        cardsPlayed.put(player2, card2);
-        cardsPlayed.put(player3, card3);
-        cardsPlayed.put(player4, card4);
+        Trick cardsPlayed = new Trick(Game.NUMBER_PLAYERS);
+        cardsPlayed.play(player1, card1);
+        cardsPlayed.play(player2, card2);
+        cardsPlayed.play(player3, card3);
+        cardsPlayed.play(player4, card4);
 
         int expectedCurrentTricksPlayer1 = player1.getCurrentTricks();
         int expectedCurrentTricksPlayer2 = player2.getCurrentTricks();
@@ -573,10 +656,11 @@ public class TestGame {
         initGameWithInput("3 string & 22 \n");
 
         // Player1 plays the fool
-        cardsPlayed.remove(player1);
-        cardsPlayed.put(player1, fool);
-
-        game.setFoolPlayer(player1, fool);
+        cardsPlayed.clear();
+        cardsPlayed.play(player1, fool);
+        cardsPlayed.play(player2, card2);
+        cardsPlayed.play(player3, card3);
+        cardsPlayed.play(player4, card4);
 
         expectedCurrentTricksPlayer1 = player1.getCurrentTricks() + 1;
         expectedCurrentTricksPlayer2 = player2.getCurrentTricks();
@@ -596,13 +680,13 @@ public class TestGame {
     @Test
     public void testEvaluateCardsLastRound() {
         initPlayersCards();
-        HashMap<Player, Boolean> decisions = new HashMap<>();
-        decisions.put(player1, false);
-        decisions.put(player2, false);
+        Trick decisions = new Trick(Game.NUMBER_PLAYERS);
+        decisions.decide(player1, false);
+        decisions.decide(player2, false);
         // Wrong prediction
-        decisions.put(player3, true);
+        decisions.decide(player3, true);
         // Winner
-        decisions.put(player4, true);
+        decisions.decide(player4, true);
 
         int expectedLifePointsPlayer1 = player1.getLife();
         int expectedLifePointsPlayer2 = player2.getLife();
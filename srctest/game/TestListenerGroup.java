@@ -0,0 +1,59 @@
+package srctest.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import game.GameListener;
+import game.ListenerGroup;
+
+public class TestListenerGroup {
+
+    List<String> events;
+    ListenerGroup group;
+
+    @Before
+    public void beforeTest() {
+        events = new ArrayList<>();
+        group = new ListenerGroup(recorder("first"));
+    }
+
+    @After
+    public void afterTest() {
+        System.out.println("Test ListenerGroup over");
+    }
+
+    @Test
+    public void testForwardInOrder() {
+        group.add(recorder("second"));
+        group.onRoundStart(3);
+        group.onRoundEnd();
+
+        Assert.assertEquals(List.of("first start 3", "second start 3", "first end", "second end"), events);
+    }
+
+    @Test
+    public void testEmptyGroup() {
+        ListenerGroup empty = new ListenerGroup();
+        empty.onRoundStart(1);
+        Assert.assertTrue(events.isEmpty());
+    }
+
+    private GameListener recorder(String name) {
+        return new GameListener() {
+            @Override
+            public void onRoundStart(int numberRound) {
+                events.add(name + " start " + numberRound);
+            }
+
+            @Override
+            public void onRoundEnd() {
+                events.add(name + " end");
+            }
+        };
+    }
+}
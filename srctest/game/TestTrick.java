@@ -0,0 +1,109 @@
+package srctest.game;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import deck.Card;
+import game.Trick;
+import people.Player;
+import people.PlayerNameTooLongException;
+
+public class TestTrick {
+
+    Trick trick;
+    Player player1;
+    Player player2;
+    Player player3;
+
+    @Before
+    public void beforeTest() throws PlayerNameTooLongException {
+        trick = new Trick(3);
+        player1 = new Player("Player1");
+        player1.setSeat(0);
+        player2 = new Player("Player2");
+        player2.setSeat(1);
+        player3 = new Player("Player3");
+        player3.setSeat(2);
+    }
+
+    @After
+    public void afterTest() {
+        System.out.println("Test Trick over");
+    }
+
+    @Test
+    public void testPlay() {
+        trick.play(player2, Card.of(5));
+        trick.play(player1, Card.of(9));
+
+        Assert.assertEquals(2, trick.getNumberCards());
+        // The cards are kept in the order they were played
+        Assert.assertEquals(player2, trick.getPlayer(0));
+        Assert.assertEquals(player2.getSeat(), trick.getSeat(0));
+        Assert.assertEquals(player2.getSeat(), trick.getLeadSeat());
+        Assert.assertEquals(Card.of(9), trick.getCard(1));
+        Assert.assertEquals(Card.of(5), trick.getCardOfSeat(player2.getSeat()));
+        Assert.assertNull(trick.getCardOfSeat(player3.getSeat()));
+        Assert.assertEquals(Trick.NO_VALUE, trick.getFoolSeat());
+    }
+
+    @Test
+    public void testFoolValue() {
+        trick.play(player1, Card.of(3));
+        trick.play(player3, Card.FOOL);
+
+        Assert.assertEquals(player3.getSeat(), trick.getFoolSeat());
+        Assert.assertEquals(Card.MAX_VALUE, trick.getValue(1));
+        Assert.assertEquals(Trick.NO_VALUE, trick.getFoolValue(player3.getSeat()));
+
+        trick.setFoolValue(player3.getSeat(), 0);
+        Assert.assertEquals(0, trick.getValue(1));
+        Assert.assertEquals(3, trick.getValue(0));
+    }
+
+    @Test
+    public void testDecide() {
+        trick.decide(player3, false);
+        trick.decide(player1, true);
+
+        Assert.assertEquals(2, trick.getNumberDecisions());
+        Assert.assertEquals(player3.getSeat(), trick.getDecisionSeat(0));
+        Assert.assertTrue(trick.hasDecided(player1.getSeat()));
+        Assert.assertFalse(trick.hasDecided(player2.getSeat()));
+        Assert.assertTrue(trick.getDecision(player1.getSeat()));
+        Assert.assertFalse(trick.getDecision(player3.getSeat()));
+        Assert.assertEquals(player3, trick.getPlayerOfSeat(player3.getSeat()));
+    }
+
+    @Test
+    public void testClear() {
+        trick.play(player1, Card.FOOL);
+        trick.decide(player1, true);
+
+        // Only the cards are removed
+        trick.clearCards();
+        Assert.assertEquals(0, trick.getNumberCards());
+        Assert.assertEquals(Trick.NO_VALUE, trick.getFoolSeat());
+        Assert.assertTrue(trick.hasDecided(player1.getSeat()));
+
+        trick.clear();
+        Assert.assertEquals(0, trick.getNumberDecisions());
+        Assert.assertFalse(trick.hasDecided(player1.getSeat()));
+    }
+
+    @Test
+    public void testCopyDecisions() {
+        Trick other = new Trick(3);
+        other.decide(player2, true);
+        other.decide(player1, false);
+        trick.decide(player3, true);
+
+        trick.copyDecisions(other);
+        Assert.assertEquals(2, trick.getNumberDecisions());
+        Assert.assertEquals(player2.getSeat(), trick.getDecisionSeat(0));
+        Assert.assertFalse(trick.hasDecided(player3.getSeat()));
+        Assert.assertFalse(trick.getDecision(player1.getSeat()));
+    }
+}
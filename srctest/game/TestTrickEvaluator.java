@@ -0,0 +1,73 @@
+package srctest.game;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import deck.Card;
+import game.Trick;
+import game.TrickEvaluator;
+import people.Player;
+import people.PlayerNameTooLongException;
+
+public class TestTrickEvaluator {
+
+    static final int NUMBER_SEATS = 4;
+
+    Trick trick;
+    Player[] players;
+
+    @Before
+    public void beforeTest() throws PlayerNameTooLongException {
+        trick = new Trick(NUMBER_SEATS);
+        players = new Player[NUMBER_SEATS];
+        for (int seat = 0; seat < NUMBER_SEATS; seat++) {
+            players[seat] = new Player("Player" + seat);
+            players[seat].setSeat(seat);
+        }
+    }
+
+    @After
+    public void afterTest() {
+        System.out.println("Test TrickEvaluator over");
+    }
+
+    @Test
+    public void testWinningSeat() {
+        trick.play(players[2], Card.of(4));
+        trick.play(players[3], Card.of(17));
+        trick.play(players[0], Card.of(9));
+        trick.play(players[1], Card.of(1));
+
+        Assert.assertEquals(3, TrickEvaluator.winningSeat(trick));
+    }
+
+    @Test
+    public void testWinningSeatFool() {
+        trick.play(players[1], Card.of(21));
+        trick.play(players[2], Card.FOOL);
+
+        // The Fool wins at 22 and loses at 0
+        trick.setFoolValue(2, Card.MAX_VALUE);
+        Assert.assertEquals(2, TrickEvaluator.winningSeat(trick));
+        trick.setFoolValue(2, 0);
+        Assert.assertEquals(1, TrickEvaluator.winningSeat(trick));
+    }
+
+    @Test
+    public void testWinningSeatTie() {
+        int noValue = Trick.NO_VALUE;
+        // The first seat after the lead wins a tie
+        Assert.assertEquals(2, TrickEvaluator.winningSeat(new int[] { 7, noValue, 7, 3 }, 2));
+        Assert.assertEquals(0, TrickEvaluator.winningSeat(new int[] { 7, noValue, 7, 3 }, 3));
+        Assert.assertEquals(0, TrickEvaluator.winningSeat(new int[] { 7, noValue, 7, 3 }, 0));
+    }
+
+    @Test
+    public void testWinningSeatEmpty() {
+        Assert.assertEquals(Trick.NO_VALUE, TrickEvaluator.winningSeat(trick));
+        int[] values = { Trick.NO_VALUE, Trick.NO_VALUE };
+        Assert.assertEquals(Trick.NO_VALUE, TrickEvaluator.winningSeat(values, 1));
+    }
+}
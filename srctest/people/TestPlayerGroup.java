@@ -182,6 +182,51 @@ public class TestPlayerGroup {
         Assert.assertNotEquals(lastPlayer, players.getPlayer(lastIndex));
     }
 
+    @Test
+    public void testRotatingPlayerAfterRemoving() {
+        players.rotatingPlayers();
+        // The first player of the turn leaves the group
+        players.removePlayer(player2);
+        Assert.assertEquals(player3, players.getPlayer(0));
+        Assert.assertEquals(player1, players.getPlayer(2));
+
+        players.rotatingPlayers();
+        Assert.assertEquals(player4, players.getPlayer(0));
+        Assert.assertEquals(player1, players.getPlayer(1));
+        Assert.assertEquals(player3, players.getPlayer(2));
+        Assert.assertEquals(3, players.getNumberPlayers());
+    }
+
+    @Test
+    public void testAddPlayerAfterRotating() throws PlayerNameTooLongException {
+        Player player5 = new Player("Player5");
+        players.rotatingPlayers();
+        players.addPlayer(player5);
+
+        // The new player is at the end of the turn
+        Assert.assertEquals(player2, players.getPlayer(0));
+        Assert.assertEquals(player1, players.getPlayer(3));
+        Assert.assertEquals(player5, players.getPlayer(4));
+    }
+
+    @Test
+    public void testGetPlayersView() {
+        List<Player> playersView = players.getPlayers();
+        players.rotatingPlayers();
+        players.removePlayer(player3);
+
+        // The list follows the changes of the group
+        Assert.assertEquals(3, playersView.size());
+        Assert.assertEquals(player2, playersView.get(0));
+        Assert.assertFalse(playersView.contains(player3));
+    }
+
+    @Test
+    public void testRemoveDeadPlayersNone() {
+        Assert.assertTrue(players.removeDeadPlayers().isEmpty());
+        Assert.assertEquals(NUMBER_PLAYERS, players.getNumberPlayers());
+    }
+
     @Test
     public void testEquals() throws PlayerNameTooLongException {
         String[] namePlayers = { NAME_PLAYER1, "Player2" };
@@ -0,0 +1,125 @@
+package srctest.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import replay.BitReader;
+import replay.BitWriter;
+import replay.GameLog;
+
+public class TestGameLog {
+
+    Path path;
+
+    @Before
+    public void beforeTest() throws IOException {
+        path = Files.createTempFile("games", ".log");
+        Files.delete(path);
+    }
+
+    @After
+    public void afterTest() throws IOException {
+        Files.deleteIfExists(path);
+        System.out.println("Test GameLog over");
+    }
+
+    @Test
+    public void testAppendAndRead() throws IOException {
+        SplittableRandom random = new SplittableRandom(5);
+        List<byte[]> records = new ArrayList<>();
+        try (GameLog log = GameLog.open(path)) {
+            for (int i = 0; i < 3000; i++) {
+                // Some records are longer than the buffers
+                byte[] record = new byte[i % 1000 == 999 ? 100000 : random.nextInt(300)];
+                random.nextBytes(record);
+                records.add(record);
+                log.append(record);
+            }
+            Assert.assertEquals(records.size(), log.getNumberRecords());
+        }
+        // A log opened again appends after its records
+        try (GameLog log = GameLog.open(path)) {
+            byte[] record = { 1, 2, 3 };
+            records.add(record);
+            log.append(record);
+        }
+
+        List<byte[]> read = new ArrayList<>();
+        GameLog.forEach(path, record -> {
+            byte[] bytes = new byte[record.remaining()];
+            record.get(bytes);
+            read.add(bytes);
+        });
+        Assert.assertEquals(records.size(), read.size());
+        for (int i = 0; i < records.size(); i++) {
+            Assert.assertArrayEquals(records.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    public void testInvalidFiles() throws IOException {
+        Files.write(path, new byte[] { 1, 2, 3, 4, 5 });
+        Assert.assertThrows(IOException.class, () -> GameLog.open(path));
+        Assert.assertThrows(IOException.class, () -> GameLog.forEach(path, record -> {
+        }));
+
+        Files.delete(path);
+        try (GameLog log = GameLog.open(path)) {
+            log.append(new byte[200]);
+        }
+        // The last record is cut
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        Assert.assertThrows(IOException.class, () -> GameLog.forEach(path, record -> {
+        }));
+    }
+
+    @Test
+    public void testBits() {
+        SplittableRandom random = new SplittableRandom(11);
+        BitWriter writer = new BitWriter();
+        long[] values = new long[1000];
+        int[] widths = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            widths[i] = random.nextInt(65);
+            values[i] = widths[i] == 64 ? random.nextLong() : random.nextLong() & ((1L << widths[i]) - 1);
+            writer.write(values[i], widths[i]);
+        }
+        writer.writeVarint(0);
+        writer.writeVarint(Long.MAX_VALUE);
+        writer.writeString("Seat0");
+        writer.writeString("Éloïse");
+        writer.writeBoolean(true);
+        Assert.assertThrows(IllegalArgumentException.class, () -> writer.writeVarint(-1));
+
+        BitReader reader = new BitReader(ByteBuffer.wrap(writer.toByteArray()));
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(values[i], reader.read(widths[i]));
+        }
+        Assert.assertEquals(0, reader.readVarint());
+        Assert.assertEquals(Long.MAX_VALUE, reader.readVarint());
+        Assert.assertEquals("Seat0", reader.readString());
+        Assert.assertEquals("Éloïse", reader.readString());
+        Assert.assertTrue(reader.readBoolean());
+        Assert.assertEquals(writer.getLength(), reader.getPosition());
+        Assert.assertTrue(reader.remaining() < 8);
+        Assert.assertThrows(IllegalStateException.class, () -> reader.read(8));
+
+        Assert.assertEquals(0, BitWriter.bitsFor(0));
+        Assert.assertEquals(1, BitWriter.bitsFor(1));
+        Assert.assertEquals(3, BitWriter.bitsFor(5));
+    }
+}
@@ -0,0 +1,220 @@
+package srctest.replay;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import deck.DealSource;
+import game.Game;
+import game.GameListener;
+import game.ListenerGroup;
+import game.Trick;
+import people.Player;
+import replay.EventType;
+import replay.GameRecorder;
+import replay.GameReplayer;
+import simulation.RandomController;
+import simulation.Tournament;
+
+public class TestGameReplayer {
+
+    static final int NUMBER_GAMES = 50;
+
+    DealSource deals;
+    GameRecorder recorder;
+
+    /**
+     * \brief Trace of a game
+     *
+     * Trace : Write down every event of a game, and the life points of every
+     * player at the end of each round.
+     */
+    static class Trace implements GameListener {
+
+        List<String> events = new ArrayList<>();
+        List<String> lives = new ArrayList<>();
+        List<Player> players;
+
+        @Override
+        public void onGameStart(List<Player> players) {
+            this.players = players;
+            events.add("start " + players);
+        }
+
+        @Override
+        public void onCardsDealt(List<Player> players) {
+            StringBuilder hands = new StringBuilder("dealt");
+            for (Player player : players) {
+                hands.append(' ').append(player.getName()).append('=').append(player.getCardSet());
+            }
+            events.add(hands.toString());
+        }
+
+        @Override
+        public void onRoundStart(int numberRound) {
+            events.add("round " + numberRound);
+        }
+
+        @Override
+        public void onBet(Player player, int betTricks) {
+            events.add("bet " + player.getName() + " " + betTricks);
+        }
+
+        @Override
+        public void onBlindCall(Player player, boolean win) {
+            events.add("call " + player.getName() + " " + win);
+        }
+
+        @Override
+        public void onCardsPlayed(Trick trick) {
+            StringBuilder cards = new StringBuilder("cards");
+            for (int i = 0; i < trick.getNumberCards(); i++) {
+                cards.append(' ').append(trick.getPlayer(i).getName()).append('=').append(trick.getCard(i).getValue());
+            }
+            events.add(cards.toString());
+        }
+
+        @Override
+        public void onFoolValue(Player player, int value) {
+            events.add("fool " + player.getName() + " " + value);
+        }
+
+        @Override
+        public void onTrickWon(Player winner) {
+            events.add("trick " + winner.getName());
+        }
+
+        @Override
+        public void onLifeLost(Player player, int lifePoints) {
+            events.add("life " + player.getName() + " " + lifePoints);
+        }
+
+        @Override
+        public void onRoundEnd() {
+            StringBuilder life = new StringBuilder();
+            for (Player player : players) {
+                life.append(player.getLife()).append(' ');
+            }
+            lives.add(life.toString());
+        }
+
+        @Override
+        public void onPlayersDead(List<Player> playersDead) {
+            events.add("dead " + playersDead.size());
+        }
+
+        @Override
+        public void onGameOver(Player winner) {
+            events.add("over " + (winner == null ? null : winner.getName()));
+        }
+    }
+
+    @Before
+    public void beforeTest() {
+        deals = new DealSource(7);
+        recorder = new GameRecorder(null);
+    }
+
+    @After
+    public void afterTest() {
+        System.out.println("Test GameReplayer over");
+    }
+
+    @Test
+    public void testSeededGames() {
+        long totalBytes = 0;
+        for (int gameIndex = 0; gameIndex < NUMBER_GAMES; gameIndex++) {
+            Trace live = new Trace();
+            recorder.setDealSource(deals.forGame(gameIndex));
+            Tournament.createGame(deals, gameIndex, new ListenerGroup(live, recorder)).play();
+            byte[] record = recorder.getLastRecord();
+            totalBytes += record.length;
+
+            Trace replayed = new Trace();
+            new GameReplayer(ByteBuffer.wrap(record), replayed).replay();
+            Assert.assertEquals(live.events, replayed.events);
+            Assert.assertEquals(live.lives, replayed.lives);
+        }
+        // The deals of the source take one bit each: a game fits in tens of bytes
+        System.out.println("Bytes per seeded game: " + (double) totalBytes / NUMBER_GAMES);
+        Assert.assertTrue(totalBytes / NUMBER_GAMES < 100);
+    }
+
+    @Test
+    public void testRankedGames() throws Exception {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int gameIndex = 0; gameIndex < NUMBER_GAMES; gameIndex++) {
+            Trace live = new Trace();
+            Game game = new Game(new RandomController(random), new ListenerGroup(live, recorder));
+            game.setRandom(random);
+            game.setPlayers(players(gameIndex % 3 + 2));
+            game.play();
+
+            Trace replayed = new Trace();
+            new GameReplayer(ByteBuffer.wrap(recorder.getLastRecord()), replayed).replay();
+            Assert.assertEquals(live.events, replayed.events);
+            Assert.assertEquals(live.lives, replayed.lives);
+        }
+    }
+
+    @Test
+    public void testStepByStep() {
+        Trace live = new Trace();
+        recorder.setDealSource(deals.forGame(3));
+        Tournament.createGame(deals, 3, new ListenerGroup(live, recorder)).play();
+
+        GameReplayer replayer = new GameReplayer(recorder.getLastRecord());
+        Assert.assertEquals(EventType.DEAL, replayer.peek());
+        Assert.assertEquals(Game.NUMBER_PLAYERS, replayer.getGame().getNumberPlayersAlive());
+        int rounds = 0;
+        while (!replayer.isOver()) {
+            EventType event = replayer.step();
+            if (event == EventType.DEAL) {
+                // Every player alive holds the cards of the round
+                for (Player player : replayer.getGame().getPlayersAlive()) {
+                    Assert.assertEquals(replayer.getNumberRound(), player.getNumberCards());
+                }
+            } else if (event == EventType.LIFE_LOSS) {
+                // The life points are the ones of the game at the same point
+                StringBuilder life = new StringBuilder();
+                for (Player player : replayer.getGame().getPlayers()) {
+                    life.append(player.getLife()).append(' ');
+                }
+                Assert.assertEquals(live.lives.get(rounds), life.toString());
+                rounds += 1;
+            }
+        }
+        Assert.assertEquals(live.lives.size(), rounds);
+        Assert.assertNull(replayer.peek());
+        Assert.assertThrows(IllegalStateException.class, replayer::step);
+
+        GameReplayer again = new GameReplayer(recorder.getLastRecord());
+        again.replayTo(10);
+        Assert.assertEquals(10, again.getNumberEvents());
+    }
+
+    @Test
+    public void testInvalidRecord() {
+        Trace live = new Trace();
+        recorder.setDealSource(deals.forGame(0));
+        Tournament.createGame(deals, 0, new ListenerGroup(live, recorder)).play();
+        byte[] record = recorder.getLastRecord();
+        byte[] cut = Arrays.copyOf(record, record.length / 2);
+        Assert.assertThrows(IllegalStateException.class, () -> new GameReplayer(cut).replay());
+    }
+
+    static List<Player> players(int numberPlayers) throws Exception {
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < numberPlayers; seat++) {
+            players.add(new Player("P" + seat));
+        }
+        return players;
+    }
+}
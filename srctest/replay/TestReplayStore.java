@@ -0,0 +1,354 @@
+package srctest.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import deck.DealSource;
+import game.GameListener;
+import people.Player;
+import replay.EventType;
+import replay.GameRecorder;
+import replay.GameReplayer;
+import replay.ReplayStore;
+import simulation.Tournament;
+
+public class TestReplayStore {
+
+    static final int NUMBER_GAMES = 200;
+    // Small segments, so the store has several of them
+    static final int SEGMENT_BYTES = 2000;
+
+    Path directory;
+    DealSource deals;
+    List<byte[]> records;
+
+    @Before
+    public void beforeTest() throws IOException {
+        directory = Files.createTempDirectory("replays");
+        deals = new DealSource(11);
+        records = new ArrayList<>();
+    }
+
+    @After
+    public void afterTest() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+        System.out.println("Test ReplayStore over");
+    }
+
+    /**
+     * \brief Play games
+     * playGames(ReplayStore.Writer writer, int first, int last) : Play the games
+     * of the tournament from first to last, recorded in writer and in records.
+     * \param ReplayStore.Writer writer, int first, int last
+     */
+    void playGames(ReplayStore.Writer writer, int first, int last) {
+        GameRecorder recorder = new GameRecorder(writer);
+        for (int gameIndex = first; gameIndex < last; gameIndex++) {
+            recorder.setDealSource(deals.forGame(gameIndex));
+            Tournament.createGame(deals, gameIndex, recorder).play();
+            records.add(recorder.getLastRecord());
+        }
+    }
+
+    static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testRecords() throws IOException {
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, SEGMENT_BYTES)) {
+            playGames(writer, 0, NUMBER_GAMES);
+            Assert.assertEquals(NUMBER_GAMES, writer.getNumberGames());
+        }
+        ReplayStore store = ReplayStore.open(directory);
+        Assert.assertEquals(NUMBER_GAMES, store.getNumberGames());
+        Assert.assertTrue(store.getNumberSegments() > 1);
+        for (int game = NUMBER_GAMES - 1; game >= 0; game--) {
+            ByteBuffer record = store.record(game);
+            Assert.assertTrue(record.isReadOnly());
+            Assert.assertArrayEquals(records.get(game), bytes(record));
+        }
+
+        List<byte[]> read = new ArrayList<>();
+        store.forEach(37, 150, record -> read.add(bytes(record)));
+        Assert.assertEquals(150 - 37, read.size());
+        for (int i = 0; i < read.size(); i++) {
+            Assert.assertArrayEquals(records.get(37 + i), read.get(i));
+        }
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> store.record(NUMBER_GAMES));
+        Assert.assertThrows(IllegalArgumentException.class, () -> store.record(-1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> store.forEach(10, NUMBER_GAMES + 1, record -> {
+        }));
+    }
+
+    @Test
+    public void testRounds() throws IOException {
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, SEGMENT_BYTES)) {
+            playGames(writer, 0, 40);
+        }
+        ReplayStore store = ReplayStore.open(directory);
+        int checkpoints = 0;
+        for (int game = 0; game < 40; game++) {
+            checkpoints += store.checkpoints(game).size();
+            GameReplayer full = store.replayer(game, new GameListener() {
+            });
+            for (int round = 0; !full.isOver(); round++) {
+                while (!full.isOver() && (full.peek() != EventType.DEAL || full.getNumberDeals() < round)) {
+                    full.step();
+                }
+                if (full.isOver()) {
+                    final long over = round;
+                    final long number = game;
+                    Assert.assertThrows(IllegalArgumentException.class,
+                            () -> store.replayerAtRound(number, over, new GameListener() {
+                            }));
+                    break;
+                }
+                // The replayer of the round starts from its checkpoint in the same state
+                GameReplayer atRound = store.replayerAtRound(game, round, new GameListener() {
+                });
+                Assert.assertEquals(full.getNumberEvents(), atRound.getNumberEvents());
+                Assert.assertEquals(full.getNumberRound(), atRound.getNumberRound());
+                Assert.assertEquals(lives(full), lives(atRound));
+                Assert.assertEquals(full.getGame().getPlayerAlive(0).getSeat(),
+                        atRound.getGame().getPlayerAlive(0).getSeat());
+                Player winner = atRound.replay();
+                Assert.assertEquals(winnerOf(game), winner == null ? null : winner.getSeat());
+            }
+        }
+        // Most games last more than one cycle of rounds
+        Assert.assertTrue(checkpoints > 40);
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, SEGMENT_BYTES)) {
+            playGames(writer, 0, 45);
+        }
+        // A writer opened again appends after the games of the store
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, SEGMENT_BYTES)) {
+            Assert.assertEquals(45, writer.getNumberGames());
+            playGames(writer, 45, 70);
+        }
+        ReplayStore store = ReplayStore.open(directory);
+        Assert.assertEquals(70, store.getNumberGames());
+        for (int game = 0; game < 70; game++) {
+            Assert.assertArrayEquals(records.get(game), bytes(store.record(game)));
+        }
+    }
+
+    @Test
+    public void testNumbers() throws IOException {
+        // The games end in another order than their numbers
+        int[] order = new int[60];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = (i * 37) % order.length;
+        }
+        GameRecorder recorder = new GameRecorder(null);
+        byte[][] byNumber = new byte[order.length][];
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, SEGMENT_BYTES)) {
+            for (int game : order) {
+                recorder.setDealSource(deals.forGame(game));
+                Tournament.createGame(deals, game, recorder).play();
+                byNumber[game] = recorder.getLastRecord();
+                writer.append(game, byNumber[game]);
+            }
+            // Without a number, a game comes after the largest one
+            writer.append(byNumber[5]);
+            Assert.assertThrows(IllegalArgumentException.class, () -> writer.append(-1, byNumber[0]));
+        }
+        ReplayStore store = ReplayStore.open(directory);
+        Assert.assertEquals(order.length + 1, store.getNumberGames());
+        for (int game = 0; game < order.length; game++) {
+            Assert.assertArrayEquals(byNumber[game], bytes(store.record(game)));
+            Assert.assertEquals(winner(byNumber[game]), winner(store.replayerAtRound(game, 0, new GameListener() {
+            }).replay()));
+        }
+        Assert.assertArrayEquals(byNumber[5], bytes(store.record(order.length)));
+        Assert.assertFalse(store.contains(order.length + 1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> store.record(order.length + 1));
+        // The positions keep the order of the appends
+        List<byte[]> read = new ArrayList<>();
+        store.forEach(0, order.length, record -> read.add(bytes(record)));
+        for (int i = 0; i < order.length; i++) {
+            Assert.assertArrayEquals(byNumber[order[i]], read.get(i));
+        }
+
+        // A writer opened again numbers its games after the largest one
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, SEGMENT_BYTES)) {
+            writer.append(byNumber[7]);
+        }
+        Assert.assertArrayEquals(byNumber[7], bytes(ReplayStore.open(directory).record(order.length + 1)));
+    }
+
+    @Test
+    public void testTournament() throws IOException {
+        int numberGames = 600;
+        Tournament tournament = new Tournament(4, 7);
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, SEGMENT_BYTES)) {
+            tournament.setRecords(writer);
+            tournament.play(numberGames);
+        } finally {
+            tournament.shutdown();
+        }
+        // Every game is stored as its number in the tournament
+        ReplayStore store = ReplayStore.open(directory);
+        Assert.assertEquals(numberGames, store.getNumberGames());
+        DealSource tournamentDeals = new DealSource(7);
+        GameRecorder recorder = new GameRecorder(null);
+        for (int game = 0; game < numberGames; game++) {
+            recorder.setDealSource(tournamentDeals.forGame(game));
+            Tournament.createGame(tournamentDeals, game, recorder).play();
+            Assert.assertArrayEquals(recorder.getLastRecord(), bytes(store.record(game)));
+        }
+    }
+
+    @Test
+    public void testWriterDies() throws IOException {
+        // The writer is never closed: the games it still buffers are lost
+        ReplayStore.Writer dead = ReplayStore.writer(directory, SEGMENT_BYTES);
+        playGames(dead, 0, NUMBER_GAMES);
+        ReplayStore store = ReplayStore.open(directory);
+        int kept = Math.toIntExact(store.getNumberGames());
+        Assert.assertTrue(kept > 0 && kept < NUMBER_GAMES);
+        for (int game = 0; game < kept; game++) {
+            Assert.assertArrayEquals(records.get(game), bytes(store.record(game)));
+        }
+
+        // A new writer appends after the games kept
+        records.subList(kept, records.size()).clear();
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, SEGMENT_BYTES)) {
+            Assert.assertEquals(kept, writer.getNumberGames());
+            playGames(writer, kept, NUMBER_GAMES);
+        }
+        store = ReplayStore.open(directory);
+        Assert.assertEquals(NUMBER_GAMES, store.getNumberGames());
+        for (int game = 0; game < NUMBER_GAMES; game++) {
+            Assert.assertArrayEquals(records.get(game), bytes(store.record(game)));
+        }
+    }
+
+    @Test
+    public void testCutSegment() throws IOException {
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, 1 << 20)) {
+            playGames(writer, 0, 40);
+        }
+        // The last record cut, then an entry cut: the segment ends at the game before
+        Path log = directory.resolve("segment-000000.log");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        Files.write(directory.resolve("segment-000000.idx"), new byte[] { 1, 2, 3 }, StandardOpenOption.APPEND);
+        Assert.assertEquals(39, ReplayStore.open(directory).getNumberGames());
+
+        // A record cut right after an entry leaves the entry out
+        long offset = Integer.BYTES;
+        for (int game = 0; game < 32; game++) {
+            int length = records.get(game).length;
+            offset += (length < 0x80 ? 1 : length < 0x4000 ? 2 : 3) + length;
+        }
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(offset + 1);
+        }
+        Assert.assertEquals(32, ReplayStore.open(directory).getNumberGames());
+
+        records.subList(32, records.size()).clear();
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, 1 << 20)) {
+            Assert.assertEquals(32, writer.getNumberGames());
+            playGames(writer, 32, 50);
+        }
+        ReplayStore store = ReplayStore.open(directory);
+        Assert.assertEquals(50, store.getNumberGames());
+        for (int game = 0; game < 50; game++) {
+            Assert.assertArrayEquals(records.get(game), bytes(store.record(game)));
+        }
+    }
+
+    @Test
+    public void testConcurrentReaders() throws Exception {
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, SEGMENT_BYTES)) {
+            playGames(writer, 0, NUMBER_GAMES);
+        }
+        long expected = 0;
+        for (byte[] record : records) {
+            expected += Arrays.hashCode(record);
+        }
+        ReplayStore store = ReplayStore.open(directory);
+        AtomicLong[] sums = new AtomicLong[4];
+        Thread[] threads = new Thread[sums.length];
+        for (int i = 0; i < threads.length; i++) {
+            AtomicLong sum = sums[i] = new AtomicLong();
+            int offset = i;
+            threads[i] = new Thread(() -> {
+                // Every thread reads the games in its own order
+                for (int j = 0; j < NUMBER_GAMES; j++) {
+                    int game = (j * 7 + offset * 31) % NUMBER_GAMES;
+                    sum.addAndGet(Arrays.hashCode(bytes(store.record(game))));
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (AtomicLong sum : sums) {
+            Assert.assertEquals(expected, sum.get());
+        }
+    }
+
+    @Test
+    public void testInvalid() throws IOException {
+        try (ReplayStore.Writer writer = ReplayStore.writer(directory, SEGMENT_BYTES)) {
+            playGames(writer, 0, 3);
+            byte[] cut = Arrays.copyOf(records.get(0), records.get(0).length / 2);
+            Assert.assertThrows(IllegalStateException.class, () -> writer.append(cut));
+            Assert.assertEquals(3, writer.getNumberGames());
+        }
+        Assert.assertEquals(3, ReplayStore.open(directory).getNumberGames());
+
+        Files.write(directory.resolve("segment-000001.idx"), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 });
+        Assert.assertThrows(IOException.class, () -> ReplayStore.open(directory));
+    }
+
+    static List<Integer> lives(GameReplayer replayer) {
+        List<Integer> lives = new ArrayList<>();
+        for (Player player : replayer.getGame().getPlayers()) {
+            lives.add(player.getLife());
+        }
+        return lives;
+    }
+
+    Integer winnerOf(int game) {
+        return winner(new GameReplayer(records.get(game)).replay());
+    }
+
+    static Integer winner(byte[] record) {
+        return winner(new GameReplayer(record).replay());
+    }
+
+    static Integer winner(Player winner) {
+        return winner == null ? null : winner.getSeat();
+    }
+}
@@ -0,0 +1,144 @@
+package srctest.server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import game.Game;
+import server.LoadClient;
+import server.TableServer;
+import srctest.server.TestTableServer.Client;
+
+public class TestTableActor {
+
+    ExecutorService carriers;
+    AtomicInteger runs;
+    TableServer server;
+
+    @Before
+    public void beforeTest() throws Exception {
+        carriers = Executors.newFixedThreadPool(2);
+        runs = new AtomicInteger();
+        server = TableServer.start(0, table -> carriers.execute(() -> {
+            runs.incrementAndGet();
+            table.run();
+        }), TableServer.TURN_MILLIS);
+    }
+
+    @After
+    public void afterTest() throws Exception {
+        server.close();
+        carriers.shutdownNow();
+        System.out.println("Test TableActor over");
+    }
+
+    @Test
+    public void testTablesShareCarriers() throws Exception {
+        int numberTables = 100;
+        LoadClient.Result result = LoadClient.run(server.getAddress(), numberTables, 0, 3);
+        Assert.assertEquals(numberTables * Game.NUMBER_PLAYERS, result.getNumberGames());
+        Assert.assertEquals(0, result.getNumberErrors());
+        waitGames(numberTables);
+        Assert.assertEquals(0, server.getNumberTables());
+        // Two threads ran every table, never two commands of a table at the same time
+        Assert.assertTrue(runs.get() > numberTables);
+        Assert.assertEquals(0, server.getNumberOverlaps());
+    }
+
+    @Test
+    public void testLeaveBeforeStart() throws Exception {
+        Client[] clients = new Client[Game.NUMBER_PLAYERS];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = new Client(server);
+            clients[i].send("JOIN P" + i);
+            if (i < clients.length - 1) {
+                Assert.assertEquals("WAIT", clients[i].read());
+            }
+        }
+        Assert.assertTrue(clients[3].read().startsWith("TABLE 0 3"));
+        // Nobody answers, the seats gone are played by bots
+        for (int i = clients.length - 1; i >= 0; i--) {
+            clients[i].close();
+        }
+        waitGames(1);
+
+        // A client gone while waiting keeps its seat, played by a bot
+        Client waiting = new Client(server);
+        waiting.send("JOIN Gone");
+        Assert.assertEquals("WAIT", waiting.read());
+        waiting.close();
+        Client[] others = new Client[Game.NUMBER_PLAYERS - 1];
+        for (int i = 0; i < others.length; i++) {
+            others[i] = new Client(server);
+            others[i].send("JOIN Q" + i);
+            if (i < others.length - 1) {
+                Assert.assertEquals("WAIT", others[i].read());
+            }
+        }
+        String line = others[others.length - 1].read();
+        while (line.equals("WAIT")) {
+            line = others[others.length - 1].read();
+        }
+        Assert.assertEquals("TABLE 1 3 Gone Q0 Q1 Q2", line);
+        for (Client client : others) {
+            client.close();
+        }
+        waitGames(2);
+        Assert.assertEquals(0, server.getNumberTables());
+    }
+
+    @Test
+    public void testTurnTimeout() throws Exception {
+        server.close();
+        server = TableServer.start(0, carriers, 100);
+        Client[] clients = new Client[Game.NUMBER_PLAYERS];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = new Client(server);
+            clients[i].send("JOIN P" + i);
+            if (i < clients.length - 1) {
+                Assert.assertEquals("WAIT", clients[i].read());
+            }
+        }
+        String line = clients[0].read();
+        while (!line.startsWith("ASK")) {
+            line = clients[0].read();
+        }
+        Assert.assertEquals("ASK BET 5 0 0", line);
+        long asked = System.nanoTime();
+        // Nobody answers: a bot bets for the seat 0 once its turn is over
+        Assert.assertTrue(clients[0].read().startsWith("ERROR"));
+        long waited = System.nanoTime() - asked;
+        Assert.assertTrue(clients[0].read().startsWith("BET 0 "));
+        Assert.assertTrue(waited >= 90_000_000L);
+        clients[0].send("BET 1");
+        Assert.assertTrue(clients[0].read().startsWith("ERROR"));
+        line = clients[1].read();
+        while (!line.startsWith("ASK")) {
+            line = clients[1].read();
+        }
+        Assert.assertTrue(line.startsWith("ASK BET 5 "));
+        // A decision in time cancels its timer
+        clients[1].send("BET 0");
+        Assert.assertEquals("BET 1 0", clients[1].read());
+        Assert.assertTrue(server.getTimingWheel().getNumberExpired() >= 1);
+        for (Client client : clients) {
+            client.close();
+        }
+        waitGames(1);
+        Assert.assertTrue(server.getTimingWheel().getNumberCancelled() >= 1);
+        Assert.assertEquals(0, server.getTimingWheel().getNumberPending());
+    }
+
+    void waitGames(long numberGames) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (server.getNumberGames() < numberGames && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(numberGames, server.getNumberGames());
+    }
+}
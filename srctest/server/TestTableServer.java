@@ -0,0 +1,201 @@
+package srctest.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import game.Game;
+import server.LoadClient;
+import server.TableServer;
+
+public class TestTableServer {
+
+    TableServer server;
+
+    /**
+     * \brief Client of a test
+     *
+     * Client : Send lines to the server and read its lines, one at a time.
+     */
+    static class Client implements AutoCloseable {
+
+        Socket socket;
+        BufferedReader in;
+        Writer out;
+
+        Client(TableServer server) throws IOException {
+            socket = new Socket();
+            socket.connect(server.getAddress());
+            socket.setSoTimeout(10000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+        }
+
+        void send(String line) throws IOException {
+            out.write(line + "\n");
+            out.flush();
+        }
+
+        String read() throws IOException {
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Before
+    public void beforeTest() throws IOException {
+        server = TableServer.start(0);
+    }
+
+    @After
+    public void afterTest() throws IOException {
+        server.close();
+        System.out.println("Test TableServer over");
+    }
+
+    @Test
+    public void testLoopbackTables() throws Exception {
+        int numberTables = 50;
+        // The first games warm the server up
+        LoadClient.run(server.getAddress(), 10, 0, 0);
+        LoadClient.Result result = LoadClient.run(server.getAddress(), numberTables, 20, 1);
+        System.out.println("Loopback tables: " + result);
+        // Every bot of every table sees the end of its game
+        Assert.assertEquals(numberTables * Game.NUMBER_PLAYERS, result.getNumberGames());
+        Assert.assertEquals(0, result.getNumberErrors());
+        Assert.assertTrue(result.getNumberBets() > numberTables * Game.NUMBER_PLAYERS);
+        // Loose bound, the machines running the tests may be slow
+        Assert.assertTrue(result.percentile(0.99) < 200_000_000L);
+        waitGames(10 + numberTables);
+        Assert.assertEquals(0, server.getNumberTables());
+    }
+
+    @Test
+    public void testProtocol() throws Exception {
+        Client[] clients = new Client[Game.NUMBER_PLAYERS];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = new Client(server);
+        }
+        clients[0].send("BET 1");
+        Assert.assertTrue(clients[0].read().startsWith("ERROR"));
+        clients[0].send("JOIN NameTooLong");
+        Assert.assertTrue(clients[0].read().startsWith("ERROR"));
+        for (int i = 0; i < clients.length; i++) {
+            clients[i].send("JOIN P" + i);
+            if (i < clients.length - 1) {
+                Assert.assertEquals("WAIT", clients[i].read());
+            }
+        }
+        for (int i = 0; i < clients.length; i++) {
+            Assert.assertEquals("TABLE 0 " + i + " P0 P1 P2 P3", clients[i].read());
+            String[] hand = clients[i].read().split(" ");
+            Assert.assertEquals("HAND", hand[0]);
+            Assert.assertEquals(Game.ROUND_MAX + 1, hand.length);
+            Assert.assertEquals("ROUND " + Game.ROUND_MAX, clients[i].read());
+        }
+        Assert.assertEquals("ASK BET 5 0 0", clients[0].read());
+        // Answers that can't be read are asked again
+        clients[0].send("CARD 1");
+        Assert.assertTrue(clients[0].read().startsWith("ERROR"));
+        clients[0].send("BET x");
+        Assert.assertTrue(clients[0].read().startsWith("ERROR"));
+        Assert.assertEquals("ASK BET 5 0 0", clients[0].read());
+        clients[0].send("BET 2");
+        for (Client client : clients) {
+            Assert.assertEquals("BET 0 2", client.read());
+        }
+        Assert.assertEquals("ASK BET 5 2 0", clients[1].read());
+
+        // Bots play the seats of the clients gone
+        for (Client client : clients) {
+            client.close();
+        }
+        waitGames(1);
+        Assert.assertEquals(0, server.getNumberTables());
+    }
+
+    @Test
+    public void testSpectators() throws Exception {
+        Client early = new Client(server);
+        early.send("WATCH 0");
+        Assert.assertTrue(early.read().startsWith("ERROR"));
+        Client[] clients = new Client[Game.NUMBER_PLAYERS];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = new Client(server);
+            clients[i].send("JOIN P" + i);
+            if (i < clients.length - 1) {
+                Assert.assertEquals("WAIT", clients[i].read());
+            }
+            if (i == 0) {
+                early.send("WATCH 0");
+                Assert.assertEquals("WAIT", early.read());
+            }
+        }
+        // The spectators get the whole table but no hand
+        Assert.assertEquals("STATE 0 5 10:0:0:-1:P0 10:0:0:-1:P1 10:0:0:-1:P2 10:0:0:-1:P3", early.read());
+        Assert.assertEquals("ROUND 5", early.read());
+        while (!clients[0].read().startsWith("ASK")) {
+            // Seat, hand and round
+        }
+        clients[0].send("BET 2");
+        Assert.assertEquals("BET 0 2", early.read());
+
+        // A late spectator starts from the table as it is
+        Client late = new Client(server);
+        late.send("WATCH 0");
+        Assert.assertEquals("STATE 0 5 10:2:0:-1:P0 10:0:0:-1:P1 10:0:0:-1:P2 10:0:0:-1:P3", late.read());
+        late.send("BET 1");
+        Assert.assertTrue(late.read().startsWith("ERROR"));
+
+        // Then the cards are sent one at a time
+        for (Client client : clients) {
+            client.close();
+        }
+        String line = early.read();
+        while (line.startsWith("BET")) {
+            line = early.read();
+        }
+        Assert.assertTrue(line.startsWith("PLAY "));
+        // The late spectator gets the same lines since its snapshot
+        Assert.assertEquals(line, skipTo(late, line));
+        waitGames(1);
+        early.close();
+        late.close();
+    }
+
+    /**
+     * \brief Skip lines
+     * skipTo(Client client, String expected) : Read the lines of client until
+     * expected, and return it, or null if the connection ends before.
+     * \param Client client, String expected
+     * \return String
+     */
+    String skipTo(Client client, String expected) throws IOException {
+        String line = client.read();
+        while (line != null && !line.equals(expected)) {
+            line = client.read();
+        }
+        return line;
+    }
+
+    void waitGames(long numberGames) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (server.getNumberGames() < numberGames && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(numberGames, server.getNumberGames());
+    }
+}
@@ -0,0 +1,84 @@
+package srctest.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import server.TimingWheel;
+
+public class TestTimingWheel {
+
+    TimingWheel wheel;
+
+    @Before
+    public void beforeTest() {
+        // 8 slots of 1 ms: most timers wait several turns of the wheel
+        wheel = TimingWheel.start(TimeUnit.MILLISECONDS.toNanos(1), 8);
+    }
+
+    @After
+    public void afterTest() {
+        wheel.close();
+        System.out.println("Test TimingWheel over");
+    }
+
+    @Test
+    public void testExpireAndCancel() throws InterruptedException {
+        int numberTimers = 2000;
+        AtomicIntegerArray runs = new AtomicIntegerArray(numberTimers);
+        long[] deadlines = new long[numberTimers];
+        long[] ran = new long[numberTimers];
+        CountDownLatch expired = new CountDownLatch(numberTimers / 2);
+        List<TimingWheel.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < numberTimers; i++) {
+            int timer = i;
+            long delay = i % 50;
+            deadlines[i] = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+            timeouts.add(wheel.schedule(() -> {
+                ran[timer] = System.nanoTime();
+                runs.incrementAndGet(timer);
+                expired.countDown();
+            }, delay, TimeUnit.MILLISECONDS));
+        }
+        // Every odd timer is cancelled, some before they reach their slot
+        for (int i = 1; i < numberTimers; i += 2) {
+            Assert.assertTrue(timeouts.get(i).cancel() || timeouts.get(i).isExpired());
+        }
+        Assert.assertTrue(expired.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        for (int i = 0; i < numberTimers; i += 2) {
+            Assert.assertEquals(1, runs.get(i));
+            Assert.assertTrue(timeouts.get(i).isExpired());
+            Assert.assertFalse(timeouts.get(i).cancel());
+            // Never early
+            Assert.assertTrue(ran[i] >= deadlines[i]);
+        }
+        long cancelled = 0;
+        for (int i = 1; i < numberTimers; i += 2) {
+            cancelled += timeouts.get(i).isCancelled() ? 1 : 0;
+            Assert.assertEquals(timeouts.get(i).isCancelled() ? 0 : 1, runs.get(i));
+        }
+        Assert.assertEquals(0, wheel.getNumberPending());
+        Assert.assertEquals(cancelled, wheel.getNumberCancelled());
+        Assert.assertEquals(numberTimers - cancelled, wheel.getNumberExpired());
+        Assert.assertTrue(wheel.getMaxLag() > 0);
+        Assert.assertTrue(wheel.lagPercentile(0.5) <= wheel.lagPercentile(0.99));
+        Assert.assertTrue(wheel.lagPercentile(1) >= wheel.getMaxLag() / 2);
+    }
+
+    @Test
+    public void testInvalidWheel() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> TimingWheel.start(1000, 6));
+        Assert.assertThrows(IllegalArgumentException.class, () -> TimingWheel.start(0, 8));
+        wheel.close();
+        Assert.assertThrows(IllegalStateException.class, () -> wheel.schedule(() -> {
+        }, 1, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,117 @@
+package srctest.simulation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import deck.DealSource;
+import game.Game;
+import game.ListenerGroup;
+import replay.GameRecorder;
+import replay.RecordSink;
+import simulation.Tournament;
+import simulation.TournamentStats;
+
+public class TestTournament {
+
+    static final int NUMBER_GAMES = 1000;
+
+    Tournament tournament;
+
+    @Before
+    public void beforeTest() {
+        tournament = new Tournament(4, 42);
+    }
+
+    @After
+    public void afterTest() {
+        tournament.shutdown();
+        System.out.println("Test Tournament over");
+    }
+
+    @Test
+    public void testPlay() {
+        TournamentStats stats = tournament.play(NUMBER_GAMES);
+
+        Assert.assertEquals(NUMBER_GAMES, stats.getNumberGames());
+        // Every game is either won by one seat or a tie
+        double totalWinRate = 0;
+        for (int seat = 0; seat < Game.NUMBER_PLAYERS; seat++) {
+            totalWinRate += stats.getWinRate(seat);
+        }
+        Assert.assertEquals(NUMBER_GAMES, totalWinRate * NUMBER_GAMES + stats.getNumberTies(), 1e-6);
+        // A game lasts at least until one player lost their 10 life points
+        Assert.assertTrue(stats.getAverageRounds() >= 1);
+        Assert.assertTrue(stats.getGamesPerSecond() > 0);
+    }
+
+    @Test
+    public void testSameSeed() {
+        TournamentStats stats1 = tournament.play(NUMBER_GAMES);
+        Tournament tournament2 = new Tournament(2, 42);
+        TournamentStats stats2 = tournament2.play(NUMBER_GAMES);
+        tournament2.shutdown();
+
+        // The games only depend on the seed, not on the threads playing them
+        Assert.assertEquals(stats1.getNumberRounds(), stats2.getNumberRounds());
+        Assert.assertEquals(stats1.getNumberTies(), stats2.getNumberTies());
+        for (int seat = 0; seat < Game.NUMBER_PLAYERS; seat++) {
+            Assert.assertEquals(stats1.getWinRate(seat), stats2.getWinRate(seat), 0);
+        }
+    }
+
+    @Test
+    public void testRecordsThroughRings() {
+        Map<Long, byte[]> records = new ConcurrentHashMap<>();
+        tournament.setRecords(new RecordSink() {
+            @Override
+            public void append(byte[] record) {
+                Assert.fail("Every game of a tournament has its number");
+            }
+
+            @Override
+            public void append(long game, byte[] record) {
+                Assert.assertNull(records.put(game, record));
+            }
+        });
+        TournamentStats stats = tournament.play(NUMBER_GAMES);
+        Assert.assertEquals(0, tournament.getNumberEventsLost());
+
+        // The records written by the processors are the ones of the games played alone
+        DealSource deals = new DealSource(42);
+        TournamentStats directStats = new TournamentStats();
+        Assert.assertEquals(NUMBER_GAMES, records.size());
+        for (long gameIndex = 0; gameIndex < NUMBER_GAMES; gameIndex++) {
+            byte[][] record = new byte[1][];
+            GameRecorder recorder = new GameRecorder(bytes -> record[0] = bytes);
+            Tournament.createGame(deals, gameIndex, new ListenerGroup(recorder, directStats)).play();
+            Assert.assertArrayEquals(record[0], records.get(gameIndex));
+        }
+        Assert.assertEquals(directStats.getNumberRounds(), stats.getNumberRounds());
+        Assert.assertEquals(directStats.getAverageLifeLost(5), stats.getAverageLifeLost(5), 1e-9);
+    }
+
+    @Test
+    public void testMerge() {
+        TournamentStats stats1 = new TournamentStats();
+        TournamentStats stats2 = new TournamentStats();
+        stats1.onRoundStart(5);
+        stats1.onLifeLost(null, 2);
+        stats1.recordGame(0);
+        stats2.onRoundStart(5);
+        stats2.onLifeLost(null, 4);
+        stats2.recordGame(-1);
+
+        TournamentStats merged = stats1.merge(stats2);
+
+        Assert.assertEquals(2, merged.getNumberGames());
+        Assert.assertEquals(1, merged.getNumberTies());
+        Assert.assertEquals(2, merged.getNumberRounds());
+        Assert.assertEquals(0.5, merged.getWinRate(0), 1e-9);
+        Assert.assertEquals(3.0, merged.getAverageLifeLost(5), 1e-9);
+    }
+}